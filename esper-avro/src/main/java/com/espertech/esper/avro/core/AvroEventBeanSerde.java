@@ -0,0 +1,53 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.avro.core;
+
+import com.espertech.esper.event.serde.EventBeanSerde;
+import org.apache.avro.Schema;
+import org.apache.avro.generic.GenericData;
+import org.apache.avro.generic.GenericDatumReader;
+import org.apache.avro.generic.GenericDatumWriter;
+import org.apache.avro.io.BinaryEncoder;
+import org.apache.avro.io.DecoderFactory;
+import org.apache.avro.io.EncoderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Serde for Avro events using the Avro binary encoding.
+ */
+public class AvroEventBeanSerde implements EventBeanSerde {
+    private final GenericDatumWriter<GenericData.Record> writer;
+    private final GenericDatumReader<GenericData.Record> reader;
+
+    public AvroEventBeanSerde(Schema schema) {
+        this.writer = new GenericDatumWriter<>(schema);
+        this.reader = new GenericDatumReader<>(schema);
+    }
+
+    public void write(Object underlying, DataOutputStream stream) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        BinaryEncoder encoder = EncoderFactory.get().binaryEncoder(buf, null);
+        writer.write((GenericData.Record) underlying, encoder);
+        encoder.flush();
+        stream.writeInt(buf.size());
+        buf.writeTo(stream);
+    }
+
+    public Object read(DataInputStream stream) throws IOException {
+        byte[] bytes = new byte[stream.readInt()];
+        stream.readFully(bytes);
+        return reader.read(null, DecoderFactory.get().binaryDecoder(bytes, null));
+    }
+}
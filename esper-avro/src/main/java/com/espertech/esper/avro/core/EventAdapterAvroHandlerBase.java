@@ -20,6 +20,7 @@ import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.event.*;
 import com.espertech.esper.event.avro.AvroSchemaEventType;
 import com.espertech.esper.event.avro.EventAdapterAvroHandler;
+import com.espertech.esper.event.serde.EventBeanSerde;
 import com.espertech.esper.util.JavaClassHelper;
 import com.espertech.esper.util.TypeWidenerCustomizer;
 import org.apache.avro.Schema;
@@ -211,6 +212,10 @@ public abstract class EventAdapterAvroHandlerBase implements EventAdapterAvroHan
         return optionalWidenerFactory == null ? AvroTypeWidenerCustomizerDefault.INSTANCE : new AvroTypeWidenerCustomizerWHook(optionalWidenerFactory, eventType);
     }
 
+    public EventBeanSerde getEventBeanSerde(AvroSchemaEventType avroSchemaEventType) {
+        return new AvroEventBeanSerde(((AvroEventType) avroSchemaEventType).getSchemaAvro());
+    }
+
     private AvroEventType checkAvroEventTpe(String propertyName, EventType eventType) throws ExprValidationException {
         if (!(eventType instanceof AvroEventType)) {
             throw new ExprValidationException("Property '" + propertyName + "' is incompatible with event type '" + eventType.getName() + "' underlying type " + eventType.getUnderlyingType().getSimpleName());
@@ -0,0 +1,137 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import java.util.Random;
+
+/**
+ * Generates reproducible benchmark data: for the same seed, symbol count and size the same events are generated
+ * in the same order, so that results are comparable between runs and between releases.
+ */
+public class BenchmarkDataGenerator {
+    /**
+     * Default seed.
+     */
+    public final static long DEFAULT_SEED = 20170101L;
+
+    private final Random random;
+    private final String[] symbols;
+
+    /**
+     * Ctor.
+     *
+     * @param seed       random seed
+     * @param numSymbols number of distinct symbols
+     */
+    public BenchmarkDataGenerator(long seed, int numSymbols) {
+        this.random = new Random(seed);
+        this.symbols = makeSymbols(numSymbols);
+    }
+
+    /**
+     * Returns symbols, each symbol is prefixed with "S" and suffixed with "A" so all symbols have the same length.
+     *
+     * @param numSymbols number of symbols
+     * @return symbols
+     */
+    public static String[] makeSymbols(int numSymbols) {
+        int length = Integer.toString(numSymbols).length() + 1;
+        String[] symbols = new String[numSymbols];
+        for (int i = 0; i < symbols.length; i++) {
+            StringBuilder builder = new StringBuilder("S").append(i);
+            while (builder.length() < length) {
+                builder.append('A');
+            }
+            symbols[i] = builder.toString();
+        }
+        return symbols;
+    }
+
+    public String[] getSymbols() {
+        return symbols;
+    }
+
+    /**
+     * Generates ticks with symbols picked at random and prices following a random walk per symbol.
+     *
+     * @param count number of ticks
+     * @return ticks
+     */
+    public BenchmarkTick[] makeTicks(int count) {
+        double[] prices = new double[symbols.length];
+        for (int i = 0; i < prices.length; i++) {
+            prices[i] = 50 + random.nextInt(50);
+        }
+        BenchmarkTick[] ticks = new BenchmarkTick[count];
+        for (int i = 0; i < count; i++) {
+            int index = random.nextInt(symbols.length);
+            prices[index] = nextPrice(prices[index]);
+            ticks[i] = new BenchmarkTick(symbols[index], prices[index], random.nextInt(1000) + 1);
+        }
+        return ticks;
+    }
+
+    /**
+     * Generates orders with symbols picked at random and one account per symbol.
+     *
+     * @param count number of orders
+     * @return orders
+     */
+    public BenchmarkOrder[] makeOrders(int count) {
+        return makeOrders(count, symbols.length);
+    }
+
+    /**
+     * Generates orders with symbols and accounts picked at random.
+     *
+     * @param count       number of orders
+     * @param numAccounts number of distinct accounts
+     * @return orders
+     */
+    public BenchmarkOrder[] makeOrders(int count, int numAccounts) {
+        BenchmarkOrder[] orders = new BenchmarkOrder[count];
+        for (int i = 0; i < count; i++) {
+            long accountId = 1000000000L + random.nextInt(numAccounts);
+            orders[i] = new BenchmarkOrder("O" + i, accountId, symbols[random.nextInt(symbols.length)], random.nextInt(100) + 1);
+        }
+        return orders;
+    }
+
+    /**
+     * Generates a non-decreasing sequence of times starting at the start time.
+     *
+     * @param count       number of times
+     * @param start       start time
+     * @param maxInterval maximum interval between two times
+     * @return times
+     */
+    public long[] makeTimes(int count, long start, int maxInterval) {
+        long[] times = new long[count];
+        long current = start;
+        for (int i = 0; i < count; i++) {
+            current += random.nextInt(maxInterval + 1);
+            times[i] = current;
+        }
+        return times;
+    }
+
+    private double nextPrice(double price) {
+        int percentVar = random.nextInt(9) + 1;
+        switch (random.nextInt(3)) {
+            case 0:
+                return price * (1.0d - percentVar * 0.01d);
+            case 2:
+                return price * (1.0d + percentVar * 0.01d);
+            default:
+                return price;
+        }
+    }
+}
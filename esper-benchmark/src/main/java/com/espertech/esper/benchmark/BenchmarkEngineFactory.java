@@ -0,0 +1,71 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.UpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+
+/**
+ * Creates engine instances for benchmarks. Engines use external timer control so that benchmarks are not
+ * influenced by the internal timer thread and time-based results are reproducible.
+ */
+public class BenchmarkEngineFactory {
+
+    /**
+     * Returns a default configuration with the benchmark event types registered and the internal timer disabled.
+     *
+     * @return configuration
+     */
+    public static Configuration getConfiguration() {
+        Configuration config = new Configuration();
+        config.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        config.getEngineDefaults().getLogging().setEnableExecutionDebug(false);
+        config.getEngineDefaults().getLogging().setEnableTimerDebug(false);
+        config.addEventType(BenchmarkTick.class);
+        config.addEventType(BenchmarkOrder.class);
+        return config;
+    }
+
+    /**
+     * Allocates and initializes an engine with its clock set to zero.
+     *
+     * @param name   engine URI
+     * @param config configuration
+     * @return engine
+     */
+    public static EPServiceProvider createEngine(String name, Configuration config) {
+        EPServiceProvider engine = EPServiceProviderManager.getProvider(name, config);
+        engine.initialize();
+        engine.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        return engine;
+    }
+
+    /**
+     * Listener that counts delivered events, so that statements produce output like they would in an application.
+     */
+    public static class CountingListener implements UpdateListener {
+        private long count;
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+            if (newEvents != null) {
+                count += newEvents.length;
+            }
+        }
+
+        public long getCount() {
+            return count;
+        }
+    }
+}
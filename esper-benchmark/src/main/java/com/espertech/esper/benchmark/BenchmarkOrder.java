@@ -0,0 +1,52 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+/**
+ * Order event used by benchmarks, joins to ticks by symbol.
+ */
+public class BenchmarkOrder {
+    private final String orderId;
+    private final long accountId;
+    private final String symbol;
+    private final int quantity;
+
+    /**
+     * Ctor.
+     *
+     * @param orderId   order id
+     * @param accountId account id
+     * @param symbol    symbol
+     * @param quantity  quantity
+     */
+    public BenchmarkOrder(String orderId, long accountId, String symbol, int quantity) {
+        this.orderId = orderId;
+        this.accountId = accountId;
+        this.symbol = symbol;
+        this.quantity = quantity;
+    }
+
+    public String getOrderId() {
+        return orderId;
+    }
+
+    public long getAccountId() {
+        return accountId;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public int getQuantity() {
+        return quantity;
+    }
+}
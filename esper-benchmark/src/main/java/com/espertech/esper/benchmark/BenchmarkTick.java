@@ -8,30 +8,38 @@
  *  a copy of which has been included with this distribution in the license.txt file.  *
  ***************************************************************************************
  */
-package com.espertech.esper.view.ext;
-
-import com.espertech.esper.collection.MixedEventBeanAndCollectionIteratorBase;
-
-import java.util.SortedMap;
+package com.espertech.esper.benchmark;
 
 /**
- * Iterator for use by {@link com.espertech.esper.view.ext.RankWindowView}.
+ * Market data tick event used by benchmarks.
  */
-public final class RankWindowIterator extends MixedEventBeanAndCollectionIteratorBase {
-    private final SortedMap<Object, Object> window;
+public class BenchmarkTick {
+    private final String symbol;
+    private final double price;
+    private final long volume;
 
     /**
      * Ctor.
      *
-     * @param window - sorted map with events
+     * @param symbol symbol
+     * @param price  price
+     * @param volume volume
      */
-    public RankWindowIterator(SortedMap<Object, Object> window) {
-        super(window.keySet().iterator());
-        this.window = window;
-        init();
+    public BenchmarkTick(String symbol, double price, long volume) {
+        this.symbol = symbol;
+        this.price = price;
+        this.volume = volume;
+    }
+
+    public String getSymbol() {
+        return symbol;
+    }
+
+    public double getPrice() {
+        return price;
     }
 
-    protected Object getValue(Object iteratorKeyValue) {
-        return window.get(iteratorKeyValue);
+    public long getVolume() {
+        return volume;
     }
 }
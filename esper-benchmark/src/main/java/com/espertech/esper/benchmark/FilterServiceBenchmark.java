@@ -0,0 +1,88 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.filter.FilterHandle;
+import com.espertech.esper.filter.FilterService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter matching: evaluates events against the filter service directly, with filters registered by
+ * equals-statements per symbol and by range statements on price.
+ * The READWRITE profile is the {@link com.espertech.esper.filter.FilterServiceLockFine} implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterServiceBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    @Param({"READMOSTLY", "READWRITE", "LOCKFREE"})
+    private ConfigurationEngineDefaults.FilterServiceProfile profile;
+
+    @Param({"100", "1000"})
+    private int numStatements;
+
+    private EPServiceProvider engine;
+    private FilterService filterService;
+    private EventBean[] events;
+    private List<FilterHandle> matches;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration config = BenchmarkEngineFactory.getConfiguration();
+        config.getEngineDefaults().getExecution().setFilterServiceProfile(profile);
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + profile + "_" + numStatements, config);
+
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, numStatements);
+        String[] symbols = generator.getSymbols();
+        for (int i = 0; i < numStatements; i++) {
+            if (i % 2 == 0) {
+                engine.getEPAdministrator().createEPL("select * from BenchmarkTick(symbol='" + symbols[i] + "')");
+            } else {
+                engine.getEPAdministrator().createEPL("select * from BenchmarkTick(symbol='" + symbols[i] + "', price between " + (i % 100) + " and " + (i % 100 + 10) + ")");
+            }
+        }
+
+        filterService = ((EPServiceProviderSPI) engine).getFilterService();
+        BenchmarkTick[] ticks = generator.makeTicks(NUM_EVENTS);
+        events = new EventBean[ticks.length];
+        for (int i = 0; i < ticks.length; i++) {
+            events[i] = ((EPServiceProviderSPI) engine).getEventAdapterService().adapterForBean(ticks[i]);
+        }
+        matches = new ArrayList<FilterHandle>();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public int evaluate() {
+        matches.clear();
+        filterService.evaluate(events[index++ & (NUM_EVENTS - 1)], matches);
+        return matches.size();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouped aggregation without data window and without access aggregations, which is handled by
+ * {@link com.espertech.esper.epl.agg.service.AggSvcGroupByNoAccessImpl}, for a varying number of groups,
+ * grouping ticks by a string symbol or orders by a long account id.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GroupByAggregationBenchmark {
+    private final static int NUM_EVENTS = 1 << 20;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    private int numGroups;
+
+    @Param({"string", "long"})
+    private String keyType;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private Object[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + numGroups + "_" + keyType, BenchmarkEngineFactory.getConfiguration());
+        String epl;
+        if (keyType.equals("long")) {
+            epl = "@Hint('disable_reclaim_group') select accountId, count(*) as cnt, sum(quantity) as sumQuantity from BenchmarkOrder group by accountId";
+            events = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, 100).makeOrders(NUM_EVENTS, numGroups);
+        } else {
+            epl = "@Hint('disable_reclaim_group') select symbol, count(*) as cnt, sum(volume) as sumVolume, avg(price) as avgPrice from BenchmarkTick group by symbol";
+            events = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, numGroups).makeTicks(NUM_EVENTS);
+        }
+        engine.getEPAdministrator().createEPL(epl).addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(events[index++ & (NUM_EVENTS - 1)]);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Two-stream join on symbol between the last tick per symbol and a length window of orders,
+ * each operation sends one tick and one order.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JoinBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    @Param({"100", "10000"})
+    private int numSymbols;
+
+    @Param({"1000"})
+    private int orderWindowSize;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private BenchmarkOrder[] orders;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + numSymbols + "_" + orderWindowSize, BenchmarkEngineFactory.getConfiguration());
+        engine.getEPAdministrator().createEPL("select o.orderId as orderId, t.price * o.quantity as amount " +
+                "from BenchmarkTick#unique(symbol) as t, BenchmarkOrder#length(" + orderWindowSize + ") as o where t.symbol = o.symbol")
+                .addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+        BenchmarkDataGenerator generator = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, numSymbols);
+        ticks = generator.makeTicks(NUM_EVENTS);
+        orders = generator.makeOrders(NUM_EVENTS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvents() {
+        int current = index++ & (NUM_EVENTS - 1);
+        runtime.sendEvent(ticks[current]);
+        runtime.sendEvent(orders[current]);
+    }
+}
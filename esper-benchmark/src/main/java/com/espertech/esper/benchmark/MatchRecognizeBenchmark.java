@@ -0,0 +1,61 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match-recognize: partitioned by symbol, detects a price rise followed by a drop.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchRecognizeBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    @Param({"10", "10000"})
+    private int numSymbols;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + numSymbols, BenchmarkEngineFactory.getConfiguration());
+        engine.getEPAdministrator().createEPL("select * from BenchmarkTick match_recognize (" +
+                "partition by symbol " +
+                "measures A.symbol as symbol, A.price as startPrice, last(B.price) as topPrice, C.price as endPrice " +
+                "pattern (A B+ C) " +
+                "define B as B.price > prev(B.price), C as C.price < prev(C.price))")
+                .addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+        ticks = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, numSymbols).makeTicks(NUM_EVENTS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Match-recognize: all matches of a pattern over ticks categorized by volume, comparing evaluation of event-local
+ * define conditions once per event (transition table) with evaluation per partial match.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchRecognizeTransitionTableBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+    private final static String DEFINE_ABC = "A as A.volume <= 333, B as B.volume between 334 and 666, C as C.volume > 666";
+
+    /**
+     * Pattern shapes.
+     */
+    public enum Shape {
+        SEQUENCE("pattern (A B C) define " + DEFINE_ABC),
+        ONEORMORE("pattern (A B+ C) define " + DEFINE_ABC),
+        ZEROORMORERELUCTANT("pattern (A B*? C) define " + DEFINE_ABC),
+        ALTERNATION("pattern (A (B | D)+ C) define " + DEFINE_ABC + ", D as D.volume > 950"),
+        REPEATRANGE("pattern (A B{2,4} C) define A as A.volume <= 333, B as B.volume > 100, C as C.volume > 666"),
+        NONLOCAL("pattern (A B+ C) define A as A.volume <= 333, B as B.price > A.price, C as C.volume > 666");
+
+        private final String pattern;
+
+        Shape(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+    }
+
+    @Param({"SEQUENCE", "ONEORMORE", "ZEROORMORERELUCTANT", "ALTERNATION", "REPEATRANGE", "NONLOCAL"})
+    private Shape shape;
+
+    @Param({"true", "false"})
+    private boolean transitionTable;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + shape + "_" + transitionTable, BenchmarkEngineFactory.getConfiguration());
+        String hint = transitionTable ? "" : "@Hint('disable_matchrecog_transition_table') ";
+        engine.getEPAdministrator().createEPL(hint + "select * from BenchmarkTick match_recognize (" +
+                "measures A.symbol as a, C.symbol as c " +
+                "all matches " + shape.getPattern() + ")")
+                .addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+        ticks = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, 10).makeTicks(NUM_EVENTS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named window on-merge: each tick updates the row for its symbol or inserts a new row.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NamedWindowMergeBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    @Param({"100", "10000"})
+    private int numSymbols;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + numSymbols, BenchmarkEngineFactory.getConfiguration());
+        engine.getEPAdministrator().createEPL("create window PositionWindow#unique(symbol) as (symbol string, lastPrice double, totalVolume long)");
+        engine.getEPAdministrator().createEPL("on BenchmarkTick as t merge PositionWindow as w where w.symbol = t.symbol " +
+                "when matched then update set lastPrice = t.price, totalVolume = totalVolume + t.volume " +
+                "when not matched then insert select t.symbol as symbol, t.price as lastPrice, t.volume as totalVolume");
+        runtime = engine.getEPRuntime();
+        ticks = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, numSymbols).makeTicks(NUM_EVENTS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern: every tick followed by a higher-priced tick of the same symbol within a time interval,
+ * each operation advances time by one millisecond and sends a tick.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PatternBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    @Param({"100", "1000"})
+    private int withinMsec;
+
+    @Param({"100"})
+    private int numSymbols;
+
+    @Param({"SORTED", "TIMINGWHEEL"})
+    private ConfigurationEngineDefaults.SchedulingServiceProfile profile;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private long time;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration config = BenchmarkEngineFactory.getConfiguration();
+        config.getEngineDefaults().getExecution().setSchedulingServiceProfile(profile);
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + withinMsec + "_" + numSymbols + "_" + profile, config);
+        engine.getEPAdministrator().createEPL("select a.symbol as symbol from pattern [" +
+                "every a=BenchmarkTick -> b=BenchmarkTick(symbol = a.symbol, price > a.price) where timer:within(" + withinMsec + " msec)]")
+                .addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+        ticks = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, numSymbols).makeTicks(NUM_EVENTS);
+        time = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(new CurrentTimeEvent(++time));
+        runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.schedule.ScheduleHandle;
+import com.espertech.esper.schedule.SchedulingServiceProvider;
+import com.espertech.esper.schedule.SchedulingServiceSPI;
+import com.espertech.esper.timer.TimeSourceServiceImpl;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scheduling service: keeps a steady number of schedules. The "advance" operation advances time by one millisecond,
+ * evaluates due schedules and reschedules the triggered handles with a random delay. The "addRemove" operation adds
+ * a schedule and removes it before it fires, as for pattern timers that end early.
+ * Compares the sorted (default) and the timing wheel scheduling service profiles on the same workloads.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SchedulingServiceBenchmark {
+    @Param({"SORTED", "TIMINGWHEEL"})
+    private ConfigurationEngineDefaults.SchedulingServiceProfile profile;
+
+    @Param({"1000", "100000"})
+    private int numHandles;
+
+    @Param({"1000", "60000"})
+    private int maxDelay;
+
+    private SchedulingServiceSPI schedulingService;
+    private Random random;
+    private List<ScheduleHandle> triggered;
+    private long time;
+    private BenchmarkScheduleHandle[] churnHandles;
+    private int churnIndex;
+
+    @Setup
+    public void setup() {
+        schedulingService = SchedulingServiceProvider.newService(profile, new TimeSourceServiceImpl());
+        random = new Random(BenchmarkDataGenerator.DEFAULT_SEED);
+        triggered = new ArrayList<ScheduleHandle>();
+        time = 0;
+        schedulingService.setTime(time);
+        for (int i = 0; i < numHandles; i++) {
+            schedulingService.add(1 + random.nextInt(maxDelay), new BenchmarkScheduleHandle(i), i);
+        }
+        churnHandles = new BenchmarkScheduleHandle[1024];
+        for (int i = 0; i < churnHandles.length; i++) {
+            churnHandles[i] = new BenchmarkScheduleHandle(numHandles + i);
+        }
+        churnIndex = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        schedulingService.destroy();
+    }
+
+    @Benchmark
+    public int advance() {
+        time++;
+        schedulingService.setTime(time);
+        triggered.clear();
+        schedulingService.evaluate(triggered);
+        for (ScheduleHandle handle : triggered) {
+            BenchmarkScheduleHandle benchmarkHandle = (BenchmarkScheduleHandle) handle;
+            schedulingService.add(1 + random.nextInt(maxDelay), benchmarkHandle, benchmarkHandle.getStatementId());
+        }
+        return triggered.size();
+    }
+
+    @Benchmark
+    public int addRemove() {
+        BenchmarkScheduleHandle handle = churnHandles[churnIndex++ & (churnHandles.length - 1)];
+        schedulingService.add(1 + random.nextInt(maxDelay), handle, handle.getStatementId());
+        schedulingService.remove(handle, handle.getStatementId());
+        return handle.getStatementId();
+    }
+
+    private static class BenchmarkScheduleHandle implements ScheduleHandle {
+        private final int id;
+
+        private BenchmarkScheduleHandle(int id) {
+            this.id = id;
+        }
+
+        public int getStatementId() {
+            return id;
+        }
+
+        public int getAgentInstanceId() {
+            return -1;
+        }
+    }
+}
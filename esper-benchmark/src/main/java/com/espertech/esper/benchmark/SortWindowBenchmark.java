@@ -0,0 +1,70 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.EPServiceProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sort and rank window: each operation sends a tick into a full sorted window, or a ranked window unique by volume,
+ * selecting the event in the middle of the window by means of the "prev" function.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SortWindowBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    public enum WindowKind {
+        SORT,
+        RANK
+    }
+
+    @Param({"SORT", "RANK"})
+    private WindowKind windowKind;
+
+    @Param({"100", "10000"})
+    private int windowSize;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private int index;
+
+    @Setup
+    public void setup() {
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + windowKind + "_" + windowSize, BenchmarkEngineFactory.getConfiguration());
+        String window = windowKind == WindowKind.SORT ? "#sort(" + windowSize + ", price)" : "#rank(volume, " + windowSize + ", price)";
+        engine.getEPAdministrator().createEPL("select prev(" + (windowSize / 2) + ", price) as medianPrice from BenchmarkTick" + window)
+                .addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+        ticks = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, 100).makeTicks(NUM_EVENTS);
+        for (int i = 0; i < windowSize; i++) {
+            runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+    }
+}
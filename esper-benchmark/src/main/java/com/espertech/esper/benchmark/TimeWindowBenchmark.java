@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmark;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPRuntime;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time window: each operation advances time by one millisecond and sends a tick into a time window
+ * with an aggregation, so that the window holds approximately the number of events as the window size in milliseconds.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeWindowBenchmark {
+    private final static int NUM_EVENTS = 1 << 16;
+
+    @Param({"1000", "60000"})
+    private int windowMsec;
+
+    @Param({"SORTED", "TIMINGWHEEL"})
+    private ConfigurationEngineDefaults.SchedulingServiceProfile profile;
+
+    private EPServiceProvider engine;
+    private EPRuntime runtime;
+    private BenchmarkTick[] ticks;
+    private long time;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration config = BenchmarkEngineFactory.getConfiguration();
+        config.getEngineDefaults().getExecution().setSchedulingServiceProfile(profile);
+        engine = BenchmarkEngineFactory.createEngine(getClass().getSimpleName() + "_" + windowMsec + "_" + profile, config);
+        engine.getEPAdministrator().createEPL("select count(*) as cnt, avg(price) as avgPrice from BenchmarkTick#time(" + windowMsec + " msec)")
+                .addListener(new BenchmarkEngineFactory.CountingListener());
+        runtime = engine.getEPRuntime();
+        ticks = new BenchmarkDataGenerator(BenchmarkDataGenerator.DEFAULT_SEED, 100).makeTicks(NUM_EVENTS);
+        time = 0;
+    }
+
+    @TearDown
+    public void tearDown() {
+        engine.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.sendEvent(new CurrentTimeEvent(++time));
+        runtime.sendEvent(ticks[index++ & (NUM_EVENTS - 1)]);
+    }
+}
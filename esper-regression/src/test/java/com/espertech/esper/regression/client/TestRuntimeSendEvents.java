@@ -0,0 +1,159 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestRuntimeSendEvents extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestRuntimeSendEvents.class);
+
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.addEventType(SupportBean_S0.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+        listener = new SupportUpdateListener();
+    }
+
+    public void tearDown() {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+    }
+
+    public void testDispatchPerEvent() {
+        String[] fields = "theString,total".split(",");
+        epService.getEPAdministrator().createEPL("select theString, sum(intPrimitive) as total from SupportBean").addListener(listener);
+
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E1", 10), new SupportBean("E2", 20), new SupportBean("E3", 30)});
+        assertEquals(3, listener.getNewDataList().size());
+        EPAssertionUtil.assertProps(listener.getNewDataList().get(0)[0], fields, new Object[]{"E1", 10});
+        EPAssertionUtil.assertProps(listener.getNewDataList().get(1)[0], fields, new Object[]{"E2", 30});
+        EPAssertionUtil.assertProps(listener.getNewDataList().get(2)[0], fields, new Object[]{"E3", 60});
+        listener.reset();
+
+        epService.getEPRuntime().sendEvents(Arrays.asList(new SupportBean("E4", 1), new SupportBean("E5", 2)));
+        assertEquals(2, listener.getNewDataList().size());
+        EPAssertionUtil.assertProps(listener.getNewDataList().get(1)[0], fields, new Object[]{"E5", 63});
+        listener.reset();
+
+        // empty batch and null elements
+        epService.getEPRuntime().sendEvents(new Object[0]);
+        epService.getEPRuntime().sendEvents(new Object[] {null, new SupportBean("E6", 3), null});
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"E6", 66});
+    }
+
+    public void testInsertIntoOrder() {
+        epService.getEPAdministrator().createEPL("insert into MyStream select theString, intPrimitive from SupportBean");
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean -> b=MyStream(intPrimitive > a.intPrimitive)]").addListener(listener);
+
+        // the inserted-into event of the first event is processed before the second event
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3)});
+        assertEquals(2, listener.getNewDataList().size());
+        assertEquals("E1", ((SupportBean) listener.getNewDataList().get(0)[0].get("a")).getTheString());
+        assertEquals("E2", listener.getNewDataList().get(0)[0].get("b.theString"));
+        assertEquals("E2", ((SupportBean) listener.getNewDataList().get(1)[0].get("a")).getTheString());
+        assertEquals("E3", listener.getNewDataList().get(1)[0].get("b.theString"));
+    }
+
+    public void testTimeEventsInBatch() {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+        epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean -> timer:interval(1 sec)]").addListener(listener);
+
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean("E1", 1), new CurrentTimeEvent(500), new SupportBean("E2", 2),
+                new CurrentTimeEvent(1000), new SupportBean_S0(1), new CurrentTimeEvent(1500)});
+        assertEquals(2, listener.getNewDataList().size());
+        assertEquals("E1", ((SupportBean) listener.getNewDataList().get(0)[0].get("a")).getTheString());
+        assertEquals("E2", ((SupportBean) listener.getNewDataList().get(1)[0].get("a")).getTheString());
+        assertEquals(1500, epService.getEPRuntime().getCurrentTime());
+    }
+
+    public void testListenerCreatesStatement() {
+        final List<EventBean> received = new ArrayList<EventBean>();
+        epService.getEPAdministrator().createEPL("select * from SupportBean(theString = 'create')").addListener(new UpdateListener() {
+            public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                epService.getEPAdministrator().createEPL("select * from SupportBean_S0").addListener(new UpdateListener() {
+                    public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                        received.add(newEvents[0]);
+                    }
+                });
+            }
+        });
+
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean_S0(1), new SupportBean("create", 0), new SupportBean_S0(2)});
+        assertEquals(1, received.size());
+        assertEquals(2, received.get(0).get("id"));
+    }
+
+    public void testUnmatchedListener() {
+        final List<EventBean> unmatched = new ArrayList<EventBean>();
+        epService.getEPRuntime().setUnmatchedListener(new UnmatchedListener() {
+            public void update(EventBean theEvent) {
+                unmatched.add(theEvent);
+            }
+        });
+        epService.getEPAdministrator().createEPL("select * from SupportBean");
+
+        epService.getEPRuntime().sendEvents(new Object[] {new SupportBean_S0(1), new SupportBean("E1", 0), new SupportBean_S0(2)});
+        assertEquals(2, unmatched.size());
+        assertEquals(1, unmatched.get(0).get("id"));
+        assertEquals(2, unmatched.get(1).get("id"));
+    }
+
+    public void testPerfBatch() {
+        epService.getEPAdministrator().createEPL("select count(*) from SupportBean(intPrimitive > 0)#length(100)");
+        for (int i = 0; i < 100; i++) {
+            epService.getEPAdministrator().createEPL("select * from SupportBean(theString = 'E" + i + "')");
+        }
+
+        int numEvents = 200000;
+        int batchSize = 100;
+        SupportBean[] events = new SupportBean[batchSize];
+        for (int i = 0; i < batchSize; i++) {
+            events[i] = new SupportBean("X", i);
+        }
+
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(events[i % batchSize]);
+        }
+        long deltaSingle = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents / batchSize; i++) {
+            epService.getEPRuntime().sendEvents(events);
+        }
+        long deltaBatch = System.currentTimeMillis() - start;
+
+        log.info("Delta single=" + deltaSingle + " batch=" + deltaBatch);
+        assertTrue("Delta=" + deltaBatch, deltaBatch < 5000);
+    }
+}
@@ -0,0 +1,225 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestThreadedConfigInboundSharded extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestThreadedConfigInboundSharded.class);
+
+    public void testHashSegmented() throws Exception
+    {
+        runAssertionSharded("create context MyContext coalesce by consistent_hash_crc32(theString) from SupportBean granularity 64");
+    }
+
+    public void testKeyedSegmented() throws Exception
+    {
+        runAssertionSharded("create context MyContext partition by theString from SupportBean");
+    }
+
+    public void testNoContext() throws Exception
+    {
+        EPServiceProvider epService = getEngine(2);
+        MyThreadListener listener = new MyThreadListener();
+        epService.getEPAdministrator().createEPL("select * from SupportBean").addListener(listener);
+
+        for (int i = 0; i < 100; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+        awaitCount(listener, 100);
+
+        // without the context events are assigned round-robin
+        ThreadPoolExecutor[] shards = ((EPServiceProviderSPI) epService).getThreadingService().getInboundShardThreadPools();
+        assertEquals(2, shards.length);
+        awaitCompleted(shards, 100);
+        assertEquals(50, shards[0].getCompletedTaskCount());
+        assertEquals(50, shards[1].getCompletedTaskCount());
+        assertNull(((EPServiceProviderSPI) epService).getThreadingService().getInboundThreadPool());
+
+        epService.destroy();
+    }
+
+    public void testContextCreatedAndDestroyed() throws Exception
+    {
+        EPServiceProvider epService = getEngine(2);
+        ThreadPoolExecutor[] shards = ((EPServiceProviderSPI) epService).getThreadingService().getInboundShardThreadPools();
+
+        // before the context exists events are assigned round-robin
+        sendSameKey(epService, 10);
+        awaitCompleted(shards, 10);
+        assertShardCounts(shards, 5, 5);
+
+        // once the context is created all events of the key are assigned to one shard
+        epService.getEPAdministrator().createEPL("create context MyContext partition by theString from SupportBean");
+        sendSameKey(epService, 10);
+        awaitCompleted(shards, 20);
+        if (shards[0].getCompletedTaskCount() == 15) {
+            assertShardCounts(shards, 15, 5);
+        } else {
+            assertShardCounts(shards, 5, 15);
+        }
+        long shard0 = shards[0].getCompletedTaskCount();
+
+        // destroying the context returns to round-robin
+        epService.getEPAdministrator().destroyAllStatements();
+        sendSameKey(epService, 10);
+        awaitCompleted(shards, 30);
+        assertShardCounts(shards, shard0 + 5, 30 - shard0 - 5);
+
+        epService.destroy();
+    }
+
+    private void runAssertionSharded(String epl) throws Exception
+    {
+        EPServiceProvider epService = getEngine(4);
+        epService.getEPAdministrator().createEPL(epl);
+        MyThreadListener listener = new MyThreadListener();
+        epService.getEPAdministrator().createEPL("context MyContext select theString, intPrimitive from SupportBean").addListener(listener);
+        MyThreadListener listenerS0 = new MyThreadListener();
+        epService.getEPAdministrator().createEPL("select * from SupportBean_S0").addListener(listenerS0);
+
+        int numKeys = 50;
+        int numEvents = 20000;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("K" + (i % numKeys), i));
+            if (i % 100 == 0) {
+                epService.getEPRuntime().sendEvent(new SupportBean_S0(i));
+            }
+        }
+        awaitCount(listener, numEvents);
+        awaitCount(listenerS0, numEvents / 100);
+        long delta = System.currentTimeMillis() - start;
+
+        // each key is processed by a single thread and in the order sent
+        assertFalse(listener.isOutOfOrder());
+        assertEquals(numKeys, listener.getThreadsPerKey().size());
+        Set<String> threads = new HashSet<String>();
+        for (Set<String> keyThreads : listener.getThreadsPerKey().values()) {
+            assertEquals(1, keyThreads.size());
+            threads.addAll(keyThreads);
+        }
+        assertTrue(threads.size() > 1);
+
+        ThreadPoolExecutor[] shards = ((EPServiceProviderSPI) epService).getThreadingService().getInboundShardThreadPools();
+        assertEquals(4, shards.length);
+        awaitCompleted(shards, numEvents + numEvents / 100);
+        StringBuilder shardText = new StringBuilder();
+        for (int i = 0; i < shards.length; i++) {
+            assertEquals(0, shards[i].getQueue().size());
+            shardText.append(" shard ").append(i).append("=").append(shards[i].getCompletedTaskCount());
+        }
+        log.info("Delta=" + delta + " for " + epl + " processed" + shardText);
+
+        epService.destroy();
+    }
+
+    private EPServiceProvider getEngine(int numThreads) {
+        Configuration config = new Configuration();
+        config.getEngineDefaults().getThreading().setInternalTimerEnabled(false);
+        config.getEngineDefaults().getThreading().setThreadPoolInbound(true);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundNumThreads(numThreads);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundShardContext("MyContext");
+        config.addEventType(SupportBean.class);
+        config.addEventType(SupportBean_S0.class);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getSimpleName() + "_" + getName(), config);
+        epService.initialize();
+        return epService;
+    }
+
+    private static void sendSameKey(EPServiceProvider epService, int numEvents) {
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("K", i));
+        }
+    }
+
+    private static void assertShardCounts(ThreadPoolExecutor[] shards, long expected0, long expected1) {
+        assertEquals(expected0, shards[0].getCompletedTaskCount());
+        assertEquals(expected1, shards[1].getCompletedTaskCount());
+    }
+
+    private static void awaitCount(MyThreadListener listener, int count) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (listener.getCount() < count && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(10);
+        }
+        assertEquals(count, listener.getCount());
+    }
+
+    private static void awaitCompleted(ThreadPoolExecutor[] shards, int count) throws InterruptedException {
+        long start = System.currentTimeMillis();
+        while (System.currentTimeMillis() - start < 10000) {
+            long total = 0;
+            for (ThreadPoolExecutor shard : shards) {
+                total += shard.getCompletedTaskCount();
+            }
+            if (total == count) {
+                return;
+            }
+            Thread.sleep(10);
+        }
+        fail("Completed count not reached");
+    }
+
+    private static class MyThreadListener implements UpdateListener {
+        private final Map<String, Set<String>> threadsPerKey = new HashMap<String, Set<String>>();
+        private final Map<String, Integer> lastPerKey = new HashMap<String, Integer>();
+        private final AtomicInteger count = new AtomicInteger();
+        private boolean outOfOrder;
+
+        public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents) {
+            for (EventBean event : newEvents) {
+                if (event.getEventType().getPropertyType("theString") != null) {
+                    String key = (String) event.get("theString");
+                    Set<String> threads = threadsPerKey.get(key);
+                    if (threads == null) {
+                        threads = new HashSet<String>();
+                        threadsPerKey.put(key, threads);
+                    }
+                    threads.add(Thread.currentThread().getName());
+
+                    int value = (Integer) event.get("intPrimitive");
+                    Integer last = lastPerKey.put(key, value);
+                    if (last != null && last >= value) {
+                        outOfOrder = true;
+                    }
+                }
+                count.incrementAndGet();
+            }
+        }
+
+        public int getCount() {
+            return count.get();
+        }
+
+        public synchronized Map<String, Set<String>> getThreadsPerKey() {
+            return threadsPerKey;
+        }
+
+        public synchronized boolean isOutOfOrder() {
+            return outOfOrder;
+        }
+    }
+}
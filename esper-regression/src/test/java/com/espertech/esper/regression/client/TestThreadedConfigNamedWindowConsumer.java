@@ -0,0 +1,202 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.hook.ExceptionHandlerContext;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import com.espertech.esper.supportregression.client.SupportExceptionHandlerFactory;
+import com.espertech.esper.supportregression.epl.SupportStaticMethodLib;
+import com.espertech.esper.supportregression.util.SupportMTUpdateListener;
+import junit.framework.TestCase;
+
+import java.util.List;
+
+public class TestThreadedConfigNamedWindowConsumer extends TestCase {
+
+    public void testBarrier() throws Exception {
+        if (SupportConfigFactory.skipTest(TestThreadedConfigNamedWindowConsumer.class)) {
+            return;
+        }
+
+        EPServiceProvider epService = getEngine(true);
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+
+        int countStatements = 10;
+        SupportMTUpdateListener listener = new SupportMTUpdateListener();
+        for (int i = 0; i < countStatements; i++) {
+            EPStatement stmt = epService.getEPAdministrator().createEPL("select theString, SupportStaticMethodLib.sleep(50) from MyWindow");
+            stmt.addListener(listener);
+        }
+
+        // consumers run in parallel, and with preserve-order the sending thread returns after all consumers completed
+        long start = System.nanoTime();
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        long delta = (System.nanoTime() - start) / 1000000;
+        assertTrue("Delta is " + delta, delta < 400);
+        assertEquals(countStatements, listener.getNewDataListFlattened().length);
+
+        epService.destroy();
+    }
+
+    public void testOrderPerConsumer() throws Exception {
+        if (SupportConfigFactory.skipTest(TestThreadedConfigNamedWindowConsumer.class)) {
+            return;
+        }
+
+        EPServiceProvider epService = getEngine(false);
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+
+        int countStatements = 8;
+        int countEvents = 200;
+        SupportMTUpdateListener[] listeners = new SupportMTUpdateListener[countStatements];
+        for (int i = 0; i < countStatements; i++) {
+            listeners[i] = new SupportMTUpdateListener();
+            epService.getEPAdministrator().createEPL("select intPrimitive from MyWindow").addListener(listeners[i]);
+        }
+
+        for (int i = 0; i < countEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E", i));
+        }
+
+        for (SupportMTUpdateListener listener : listeners) {
+            EventBean[] received = awaitCount(listener, countEvents);
+            for (int i = 0; i < countEvents; i++) {
+                assertEquals(i, received[i].get("intPrimitive"));
+            }
+        }
+
+        epService.destroy();
+    }
+
+    public void testInsertIntoOrder() throws Exception {
+        if (SupportConfigFactory.skipTest(TestThreadedConfigNamedWindowConsumer.class)) {
+            return;
+        }
+
+        EPServiceProvider epService = getEngine(true);
+        epService.getEPAdministrator().createEPL("create window MyWindow#lastevent as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("insert into ConsumerStream select 'A' as src, intPrimitive from MyWindow");
+        epService.getEPAdministrator().createEPL("insert into ConsumerStream select 'B' as src, intPrimitive from MyWindow");
+        SupportMTUpdateListener listener = new SupportMTUpdateListener();
+        epService.getEPAdministrator().createEPL("select * from ConsumerStream").addListener(listener);
+
+        // the barrier delivers all consumer output of an event before processing the next event
+        for (int i = 0; i < 50; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E", i));
+            EventBean[] received = listener.getNewDataListFlattened();
+            assertEquals(2 * (i + 1), received.length);
+            assertEquals(i, received[2 * i].get("intPrimitive"));
+            assertEquals(i, received[2 * i + 1].get("intPrimitive"));
+        }
+
+        epService.destroy();
+    }
+
+    public void testConsumerInsertIntoCapacity() throws Exception {
+        if (SupportConfigFactory.skipTest(TestThreadedConfigNamedWindowConsumer.class)) {
+            return;
+        }
+
+        runAssertionConsumerInsertIntoCapacity(1);
+        runAssertionConsumerInsertIntoCapacity(3);
+    }
+
+    private void runAssertionConsumerInsertIntoCapacity(int numThreads) throws Exception {
+        Configuration config = getConfig(false);
+        config.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerNumThreads(numThreads);
+        config.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerCapacity(1);
+        EPServiceProvider epService = getEngine(config);
+        epService.getEPAdministrator().createEPL("create window MyWindow#lastevent as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("create window MyWindowTwo#lastevent as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindowTwo select * from MyWindow");
+        SupportMTUpdateListener listener = new SupportMTUpdateListener();
+        epService.getEPAdministrator().createEPL("select intPrimitive from MyWindowTwo").addListener(listener);
+
+        // a consumer thread dispatching to a full queue, possibly its own, does not wait and keeps the order of deliveries
+        int countEvents = 200;
+        for (int i = 0; i < countEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E", i));
+        }
+        EventBean[] received = awaitCount(listener, countEvents);
+        for (int i = 0; i < countEvents; i++) {
+            assertEquals(i, received[i].get("intPrimitive"));
+        }
+
+        epService.destroy();
+    }
+
+    public void testExceptionHandler() throws Exception {
+        if (SupportConfigFactory.skipTest(TestThreadedConfigNamedWindowConsumer.class)) {
+            return;
+        }
+
+        Configuration config = getConfig(true);
+        config.getEngineDefaults().getExceptionHandling().getHandlerFactories().clear();
+        config.getEngineDefaults().getExceptionHandling().addClass(SupportExceptionHandlerFactory.class);
+        config.addPlugInAggregationFunctionFactory("myinvalidagg", TestExceptionHandler.InvalidAggTestFactory.class.getName());
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(TestThreadedConfigNamedWindowConsumer.class.getSimpleName(), config);
+        SupportExceptionHandlerFactory.getFactoryContexts().clear();
+        SupportExceptionHandlerFactory.getHandlers().clear();
+        epService.initialize();
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("@Name('consumer') select myinvalidagg() from MyWindow");
+
+        // the failure of the consumer on the consumer thread goes to the engine exception handler
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        List<ExceptionHandlerContext> contexts = SupportExceptionHandlerFactory.getHandlers().get(0).getContexts();
+        assertEquals(1, contexts.size());
+        assertEquals("consumer", contexts.get(0).getStatementName());
+        assertEquals("Sample exception", contexts.get(0).getThrowable().getMessage());
+
+        epService.destroy();
+    }
+
+    private EPServiceProvider getEngine(boolean preserveOrder) {
+        return getEngine(getConfig(preserveOrder));
+    }
+
+    private EPServiceProvider getEngine(Configuration config) {
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(TestThreadedConfigNamedWindowConsumer.class.getSimpleName(), config);
+        epService.initialize();
+        return epService;
+    }
+
+    private Configuration getConfig(boolean preserveOrder) {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getExpression().setUdfCache(false);
+        config.getEngineDefaults().getThreading().setNamedWindowConsumerDispatchPreserveOrder(preserveOrder);
+        config.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumer(true);
+        config.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerNumThreads(5);
+        config.addEventType("SupportBean", SupportBean.class);
+        config.addImport(SupportStaticMethodLib.class.getName());
+        return config;
+    }
+
+    private static EventBean[] awaitCount(SupportMTUpdateListener listener, int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10000;
+        while (System.currentTimeMillis() < deadline) {
+            EventBean[] received = listener.getNewDataListFlattened();
+            if (received.length >= count) {
+                return received;
+            }
+            Thread.sleep(10);
+        }
+        fail("Timeout waiting for " + count + " events");
+        return null;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.client;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.core.thread.RingBufferBlockingQueue;
+import com.espertech.esper.core.thread.RingBufferThreadPoolExecutor;
+import com.espertech.esper.core.thread.ThreadingService;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestThreadedConfigRingBuffer extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestThreadedConfigRingBuffer.class);
+
+    public void testWaitStrategies() throws Exception
+    {
+        long deltaBlocking = runAssertion(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING);
+        long deltaYield = runAssertion(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.YIELD);
+        long deltaPark = runAssertion(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.PARK);
+
+        // busy-spin requires a CPU per spinning thread
+        long deltaSpin = -1;
+        if (Runtime.getRuntime().availableProcessors() >= 8) {
+            deltaSpin = runAssertion(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BUSYSPIN);
+        }
+        log.info("Delta blocking=" + deltaBlocking + " busyspin=" + deltaSpin + " yield=" + deltaYield + " park=" + deltaPark);
+    }
+
+    public void testFastShutdown() {
+        Configuration config = getConfig(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.PARK);
+        config.getEngineDefaults().getThreading().setThreadPoolInboundCapacity(100);
+        config.addPlugInSingleRowFunction("sleepaLittle", TestThreadedConfigInbound.class.getName(), "sleepaLittle");
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getSimpleName() + "_shutdown", config);
+        epService.initialize();
+
+        epService.getEPAdministrator().createEPL("select sleepaLittle(10) from SupportBean");
+        for (int i = 0; i < 200; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean());
+        }
+        epService.destroy();
+    }
+
+    private long runAssertion(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy strategy) throws Exception {
+        Configuration config = getConfig(strategy);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getSimpleName() + "_" + strategy, config);
+        epService.initialize();
+
+        ThreadingService threadingService = ((EPServiceProviderSPI) epService).getThreadingService();
+        boolean isRingBuffer = strategy != ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING;
+        assertEquals(isRingBuffer, threadingService.getInboundQueue() instanceof RingBufferBlockingQueue);
+        assertEquals(isRingBuffer, threadingService.getOutboundQueue() instanceof RingBufferBlockingQueue);
+        assertEquals(isRingBuffer, threadingService.getRouteQueue() instanceof RingBufferBlockingQueue);
+        assertEquals(isRingBuffer, threadingService.getTimerQueue() instanceof RingBufferBlockingQueue);
+        assertEquals(isRingBuffer, threadingService.getInboundThreadPool() instanceof RingBufferThreadPoolExecutor);
+        assertEquals(isRingBuffer, threadingService.getOutboundThreadPool() instanceof RingBufferThreadPoolExecutor);
+        assertFalse(threadingService.getRouteThreadPool() instanceof RingBufferThreadPoolExecutor);
+
+        final AtomicInteger count = new AtomicInteger();
+        epService.getEPAdministrator().createEPL("select * from SupportBean").addListener(new UpdateListener() {
+            public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                count.addAndGet(newEvents.length);
+            }
+        });
+
+        int numEvents = 100000;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+        }
+        while (count.get() < numEvents && System.currentTimeMillis() - start < 20000) {
+            Thread.sleep(1);
+        }
+        long delta = System.currentTimeMillis() - start;
+        assertEquals(numEvents, count.get());
+        assertEquals(0, threadingService.getInboundQueue().size());
+
+        // units executed in a batch are included in the completed count, the count also includes timer events
+        while (threadingService.getInboundThreadPool().getCompletedTaskCount() < numEvents && System.currentTimeMillis() - start < 20000) {
+            Thread.sleep(1);
+        }
+        assertTrue(threadingService.getInboundThreadPool().getCompletedTaskCount() >= numEvents);
+
+        epService.destroy();
+        return delta;
+    }
+
+    private Configuration getConfig(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy strategy) {
+        Configuration config = new Configuration();
+        ConfigurationEngineDefaults.Threading threading = config.getEngineDefaults().getThreading();
+        threading.setThreadPoolInbound(true);
+        threading.setThreadPoolInboundNumThreads(2);
+        threading.setThreadPoolInboundWaitStrategy(strategy);
+        threading.setThreadPoolOutbound(true);
+        threading.setThreadPoolOutboundNumThreads(2);
+        threading.setThreadPoolOutboundCapacity(1000);
+        threading.setThreadPoolOutboundWaitStrategy(strategy);
+        threading.setThreadPoolRouteExec(true);
+        threading.setThreadPoolRouteExecWaitStrategy(strategy);
+        threading.setThreadPoolTimerExec(true);
+        threading.setThreadPoolTimerExecWaitStrategy(strategy);
+        config.addEventType(SupportBean.class);
+        return config;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.epl;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import com.espertech.esper.util.EventRepresentationChoice;
+import junit.framework.TestCase;
+
+public class TestInsertIntoEventBeanPooling extends TestCase {
+    private EPServiceProvider epService;
+
+    public void setUp() {
+        Configuration configuration = SupportConfigFactory.getConfiguration();
+        configuration.getEngineDefaults().getExecution().setEventBeanPooling(true);
+        configuration.addEventType(SupportBean.class);
+        epService = EPServiceProviderManager.getDefaultProvider(configuration);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    public void testPipeline() {
+        for (EventRepresentationChoice rep : new EventRepresentationChoice[] {EventRepresentationChoice.ARRAY, EventRepresentationChoice.MAP}) {
+            runAssertionPipeline(rep);
+        }
+    }
+
+    private void runAssertionPipeline(EventRepresentationChoice rep) {
+        epService.getEPAdministrator().createEPL("create" + rep.getOutputTypeCreateSchemaName() + " schema MyStageOne(id int, v string)");
+        epService.getEPAdministrator().createEPL("create" + rep.getOutputTypeCreateSchemaName() + " schema MyStageTwo(id2 int, v2 string)");
+        EPStatement stmtProduceOne = epService.getEPAdministrator().createEPL("insert into MyStageOne select intPrimitive as id, theString as v from SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyStageTwo select id * 2 as id2, v as v2 from MyStageOne");
+        SupportUpdateListener listenerStageTwo = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("select id2, v2 from MyStageTwo").addListener(listenerStageTwo);
+        EPStatement stmtWindow = epService.getEPAdministrator().createEPL("select * from MyStageOne#length(3)");
+
+        String[] fieldsStageTwo = "id2,v2".split(",");
+        for (int i = 0; i < 10; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i));
+            EPAssertionUtil.assertProps(listenerStageTwo.assertOneGetNewAndReset(), fieldsStageTwo, new Object[] {i * 2, "E" + i});
+        }
+
+        // events retained in a data window are not reused
+        EPAssertionUtil.assertPropsPerRow(stmtWindow.iterator(), "id,v".split(","), new Object[][] {{7, "E7"}, {8, "E8"}, {9, "E9"}});
+
+        // events delivered to a listener of the inserting statement are not reused
+        SupportUpdateListener listenerStageOne = new SupportUpdateListener();
+        stmtProduceOne.addListener(listenerStageOne);
+        epService.getEPRuntime().sendEvent(new SupportBean("E10", 10));
+        epService.getEPRuntime().sendEvent(new SupportBean("E11", 11));
+        EPAssertionUtil.assertPropsPerRow(listenerStageOne.getNewDataListFlattened(), "id,v".split(","), new Object[][] {{10, "E10"}, {11, "E11"}});
+        EPAssertionUtil.assertPropsPerRow(listenerStageTwo.getNewDataListFlattened(), fieldsStageTwo, new Object[][] {{20, "E10"}, {22, "E11"}});
+        EPAssertionUtil.assertPropsPerRow(stmtWindow.iterator(), "id,v".split(","), new Object[][] {{9, "E9"}, {10, "E10"}, {11, "E11"}});
+
+        epService.getEPAdministrator().destroyAllStatements();
+        epService.getEPAdministrator().getConfiguration().removeEventType("MyStageOne", false);
+        epService.getEPAdministrator().getConfiguration().removeEventType("MyStageTwo", false);
+    }
+}
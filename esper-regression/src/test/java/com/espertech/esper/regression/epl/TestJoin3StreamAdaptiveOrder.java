@@ -0,0 +1,107 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.epl;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.bean.SupportBean_S1;
+import com.espertech.esper.supportregression.bean.SupportBean_S2;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+public class TestJoin3StreamAdaptiveOrder extends TestCase {
+    private static final Logger log = LoggerFactory.getLogger(TestJoin3StreamAdaptiveOrder.class);
+
+    private EPServiceProvider epServiceStatic;
+    private EPServiceProvider epServiceAdaptive;
+
+    public void setUp() {
+        epServiceStatic = EPServiceProviderManager.getProvider(TestJoin3StreamAdaptiveOrder.class.getSimpleName() + "_static", getConfig(0));
+        epServiceStatic.initialize();
+        epServiceAdaptive = EPServiceProviderManager.getProvider(TestJoin3StreamAdaptiveOrder.class.getSimpleName() + "_adaptive", getConfig(10));
+        epServiceAdaptive.initialize();
+    }
+
+    protected void tearDown() throws Exception {
+        epServiceStatic.destroy();
+        epServiceAdaptive.destroy();
+    }
+
+    public void testSameResultAsStatic() {
+        String epl = "select s0.id as id0, s1.id as id1, s2.id as id2 from SupportBean_S0#length(500) s0, SupportBean_S1#length(100) s1, SupportBean_S2#length(300) s2 " +
+                "where s0.p00 = s1.p10 and s1.p11 = s2.p20 and s0.p01 = s2.p21";
+        SupportUpdateListener listenerStatic = new SupportUpdateListener();
+        epServiceStatic.getEPAdministrator().createEPL(epl).addListener(listenerStatic);
+        SupportUpdateListener listenerAdaptive = new SupportUpdateListener();
+        epServiceAdaptive.getEPAdministrator().createEPL(epl).addListener(listenerAdaptive);
+
+        // phases in which stream sizes and key distribution change
+        Random random = new Random(1);
+        int id = 0;
+        int[][] phases = new int[][]{{8, 1, 1, 2}, {1, 8, 1, 20}, {1, 1, 8, 3}};
+        for (int[] phase : phases) {
+            for (int i = 0; i < 1000; i++) {
+                int stream = pick(random, phase);
+                Object theEvent;
+                String keyOne = "K" + random.nextInt(phase[3]);
+                String keyTwo = "K" + random.nextInt(phase[3]);
+                if (stream == 0) {
+                    theEvent = new SupportBean_S0(id++, keyOne, keyTwo);
+                } else if (stream == 1) {
+                    theEvent = new SupportBean_S1(id++, keyOne, keyTwo);
+                } else {
+                    theEvent = new SupportBean_S2(id++, keyOne, keyTwo);
+                }
+                epServiceStatic.getEPRuntime().sendEvent(theEvent);
+                epServiceAdaptive.getEPRuntime().sendEvent(theEvent);
+
+                assertEquals(toSortedRows(listenerStatic.getNewDataListFlattened()), toSortedRows(listenerAdaptive.getNewDataListFlattened()));
+                assertEquals(toSortedRows(listenerStatic.getOldDataListFlattened()), toSortedRows(listenerAdaptive.getOldDataListFlattened()));
+                listenerStatic.reset();
+                listenerAdaptive.reset();
+            }
+        }
+        log.info("Sent " + id + " events");
+    }
+
+    private static int pick(Random random, int[] phase) {
+        int value = random.nextInt(phase[0] + phase[1] + phase[2]);
+        if (value < phase[0]) {
+            return 0;
+        }
+        return value < phase[0] + phase[1] ? 1 : 2;
+    }
+
+    private static List<String> toSortedRows(EventBean[] events) {
+        List<String> rows = new ArrayList<String>();
+        for (EventBean event : events) {
+            rows.add(event.get("id0") + "/" + event.get("id1") + "/" + event.get("id2"));
+        }
+        rows.sort(null);
+        return rows;
+    }
+
+    private static Configuration getConfig(int joinReplanInterval) {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean_S0.class);
+        config.addEventType(SupportBean_S1.class);
+        config.addEventType(SupportBean_S2.class);
+        config.getEngineDefaults().getExecution().setJoinReplanInterval(joinReplanInterval);
+        return config;
+    }
+}
@@ -38,6 +38,14 @@ public class MyPlugInPropertiesEventSender implements EventSender
         runtimeSender.processWrappedEvent(eventBean);
     }
 
+    public void sendEvents(Object[] events)
+    {
+        for (Object theEvent : events)
+        {
+            sendEvent(theEvent);
+        }
+    }
+
     public void route(Object theEvent)
     {
         if (!(theEvent instanceof Properties))
@@ -120,6 +120,14 @@ public class TestEventInfraEventSender extends TestCase {
             assertSame(underlying, listener.assertOneGetNewAndReset().getUnderlying());
         }
 
+        sender.sendEvents(correctUnderlyings);
+        assertEquals(correctUnderlyings.length, listener.getNewDataList().size());
+        for (int i = 0; i < correctUnderlyings.length; i++) {
+            assertEquals(1, listener.getNewDataList().get(i).length);
+            assertSame(correctUnderlyings[i], listener.getNewDataList().get(i)[0].getUnderlying());
+        }
+        listener.reset();
+
         stmt.destroy();
     }
 
@@ -135,6 +143,14 @@ public class TestEventInfraEventSender extends TestCase {
         catch (EPException ex) {
             SupportMessageAssertUtil.assertMessage(ex, message);
         }
+
+        try {
+            sender.sendEvents(new Object[] {incorrectUnderlying});
+            fail();
+        }
+        catch (EPException ex) {
+            SupportMessageAssertUtil.assertMessage(ex, message);
+        }
     }
 
     private void addMapEventType() {
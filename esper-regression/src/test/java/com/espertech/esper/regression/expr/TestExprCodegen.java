@@ -0,0 +1,141 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.expr;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+public class TestExprCodegen extends TestCase
+{
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        Configuration configuration = SupportConfigFactory.getConfiguration();
+        configuration.getEngineDefaults().getExpression().setCodeGeneration(true);
+        configuration.addEventType(SupportBean.class);
+        configuration.addEventType(SupportBean_S0.class);
+        epService = EPServiceProviderManager.getDefaultProvider(configuration);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+        listener = new SupportUpdateListener();
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+    }
+
+    public void testSelectClause() {
+        String[] fields = "c0,c1,c2,c3,c4".split(",");
+        String epl = "select intPrimitive * 2 + intBoxed as c0, doubleBoxed / intPrimitive as c1, " +
+                "intPrimitive > 5 and not (intBoxed = longBoxed) as c2, intPrimitive % 3 as c3, " +
+                "longBoxed - intPrimitive as c4 from SupportBean";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+        assertEquals(Integer.class, stmt.getEventType().getPropertyType("c0"));
+        assertEquals(Double.class, stmt.getEventType().getPropertyType("c1"));
+        assertEquals(Boolean.class, stmt.getEventType().getPropertyType("c2"));
+        assertEquals(Long.class, stmt.getEventType().getPropertyType("c4"));
+
+        sendBean(10, 3, 5d, 3L);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{23, 0.5d, false, 1, -7L});
+
+        sendBean(0, null, null, 5L);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{null, null, false, 0, 5L});
+
+        sendBean(7, 1, 1d, null);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{15, 1d / 7, null, 1, null});
+
+        stmt.destroy();
+    }
+
+    public void testWhereClause() {
+        String epl = "select theString from SupportBean where intPrimitive * 2 > intBoxed and (doubleBoxed is null or doubleBoxed < 10)";
+        epService.getEPAdministrator().createEPL(epl).addListener(listener);
+
+        sendBean("E1", 5, 9, null, null);
+        assertEquals("E1", listener.assertOneGetNewAndReset().get("theString"));
+
+        sendBean("E2", 5, 10, null, null);
+        assertFalse(listener.isInvoked());
+
+        sendBean("E3", 5, null, null, null);
+        assertFalse(listener.isInvoked());
+
+        sendBean("E4", 5, 1, 10d, null);
+        assertFalse(listener.isInvoked());
+
+        sendBean("E5", 5, 1, 9.5d, null);
+        assertEquals("E5", listener.assertOneGetNewAndReset().get("theString"));
+    }
+
+    public void testFilter() {
+        String epl = "select * from SupportBean(intPrimitive + longBoxed >= 10 or intBoxed / intPrimitive = 2)";
+        epService.getEPAdministrator().createEPL(epl).addListener(listener);
+
+        sendBean(4, null, null, 6L);
+        assertTrue(listener.getAndClearIsInvoked());
+
+        sendBean(4, null, null, 5L);
+        assertFalse(listener.getAndClearIsInvoked());
+
+        sendBean(4, 8, null, null);
+        assertTrue(listener.getAndClearIsInvoked());
+
+        sendBean(0, 8, null, null);
+        assertFalse(listener.getAndClearIsInvoked());
+    }
+
+    public void testPatternFilter() {
+        String epl = "select * from pattern [every s0=SupportBean_S0 -> SupportBean(intPrimitive > s0.id * 2 and theString = s0.p00)]";
+        epService.getEPAdministrator().createEPL(epl).addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(3, "E1"));
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 6));
+        assertFalse(listener.getAndClearIsInvoked());
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 7));
+        assertTrue(listener.getAndClearIsInvoked());
+    }
+
+    public void testJoin() {
+        String epl = "select theString, id from SupportBean#keepall as sb, SupportBean_S0#keepall as s0 " +
+                "where sb.theString = s0.p00 and sb.intPrimitive + s0.id > 10";
+        epService.getEPAdministrator().createEPL(epl).addListener(listener);
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 5));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(5, "E1"));
+        assertFalse(listener.getAndClearIsInvoked());
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(6, "E1"));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "theString,id".split(","), new Object[]{"E1", 6});
+    }
+
+    private void sendBean(int intPrimitive, Integer intBoxed, Double doubleBoxed, Long longBoxed) {
+        sendBean("E", intPrimitive, intBoxed, doubleBoxed, longBoxed);
+    }
+
+    private void sendBean(String theString, int intPrimitive, Integer intBoxed, Double doubleBoxed, Long longBoxed) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setIntBoxed(intBoxed);
+        bean.setDoubleBoxed(doubleBoxed);
+        bean.setLongBoxed(longBoxed);
+        epService.getEPRuntime().sendEvent(bean);
+    }
+}
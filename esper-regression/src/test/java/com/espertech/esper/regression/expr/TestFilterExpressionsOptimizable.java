@@ -187,6 +187,86 @@ public class TestFilterExpressionsOptimizable extends TestCase
 
         epl = "select * from SupportBean(typeof(e) = 'SupportBean') as e";
         assertFilterSingle(epl, "typeof(e)", FilterOperator.EQUAL);
+
+        epl = "select * from SupportBean(intPrimitive + longPrimitive > 10)";
+        assertFilterSingle(epl, "intPrimitive+longPrimitive", FilterOperator.GREATER);
+
+        epl = "select * from SupportBean(10 > intPrimitive * 2)";
+        assertFilterSingle(epl, "intPrimitive*2", FilterOperator.LESS);
+
+        epl = "select * from SupportBean(intPrimitive + 1 > 5.5)";
+        assertFilterSingle(epl, ".boolean_expression", FilterOperator.BOOLEAN_EXPRESSION);
+    }
+
+    public void testMathAndSharedBooleanExpr() {
+        // arithmetic compared to a constant, each statement with a different constant
+        SupportUpdateListener[] listeners = new SupportUpdateListener[5];
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = new SupportUpdateListener();
+            epService.getEPAdministrator().createEPL("select * from SupportBean(intPrimitive + longPrimitive > " + (i * 10) + ")").addListener(listeners[i]);
+        }
+        epService.getEPRuntime().sendEvent(makeSupportBean("E1", 15, 10L));
+        assertListenersInvoked(listeners, true, true, true, false, false);
+
+        SupportBean nullValue = new SupportBean("E2", 40);
+        nullValue.setLongBoxed(null);
+        epService.getEPAdministrator().destroyAllStatements();
+        for (int i = 0; i < listeners.length; i++) {
+            epService.getEPAdministrator().createEPL("select * from SupportBean(" + (i * 10) + " = intPrimitive + longBoxed)").addListener(listeners[i]);
+        }
+        epService.getEPRuntime().sendEvent(nullValue);
+        assertListenersInvoked(listeners, false, false, false, false, false);
+        SupportBean twenty = new SupportBean("E3", 15);
+        twenty.setLongBoxed(5L);
+        epService.getEPRuntime().sendEvent(twenty);
+        assertListenersInvoked(listeners, false, false, true, false, false);
+
+        // same boolean expression in several statements
+        epService.getEPAdministrator().destroyAllStatements();
+        for (int i = 0; i < listeners.length; i++) {
+            String filter = i < 3 ? "theString like 'A%' or intPrimitive < 0" : "theString like 'B%'";
+            epService.getEPAdministrator().createEPL("select * from SupportBean(" + filter + ")").addListener(listeners[i]);
+        }
+        epService.getEPRuntime().sendEvent(new SupportBean("A1", 1));
+        assertListenersInvoked(listeners, true, true, true, false, false);
+        epService.getEPRuntime().sendEvent(new SupportBean("B1", -1));
+        assertListenersInvoked(listeners, true, true, true, true, true);
+        epService.getEPRuntime().sendEvent(new SupportBean("C1", 1));
+        assertListenersInvoked(listeners, false, false, false, false, false);
+
+        epService.getEPAdministrator().getStatement(epService.getEPAdministrator().getStatementNames()[0]).destroy();
+        epService.getEPRuntime().sendEvent(new SupportBean("A1", 1));
+        assertFalse(listeners[0].getAndClearIsInvoked());
+        assertListenersInvoked(Arrays.copyOfRange(listeners, 1, 5), true, true, false, false);
+
+        // a new shared expression takes over the result slot of a removed one
+        for (String name : epService.getEPAdministrator().getStatementNames()) {
+            EPStatement stmt = epService.getEPAdministrator().getStatement(name);
+            if (stmt.getText().contains("'B%'")) {
+                stmt.destroy();
+            }
+        }
+        for (int i = 3; i < listeners.length; i++) {
+            epService.getEPAdministrator().createEPL("select * from SupportBean(theString like 'C%')").addListener(listeners[i]);
+        }
+        epService.getEPRuntime().sendEvent(new SupportBean("C1", 1));
+        assertListenersInvoked(Arrays.copyOfRange(listeners, 1, 5), false, false, true, true);
+        epService.getEPRuntime().sendEvent(new SupportBean("A1", 1));
+        assertListenersInvoked(Arrays.copyOfRange(listeners, 1, 5), true, true, false, false);
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private static void assertListenersInvoked(SupportUpdateListener[] listeners, boolean... expected) {
+        for (int i = 0; i < listeners.length; i++) {
+            assertEquals("failed for listener " + i, expected[i], listeners[i].getAndClearIsInvoked());
+        }
+    }
+
+    private static SupportBean makeSupportBean(String theString, int intPrimitive, long longPrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setLongPrimitive(longPrimitive);
+        return bean;
     }
 
     public void testPatternUDFFilterOptimizable() {
@@ -38,6 +38,21 @@ public class TestMTContextInitatedTerminatedWithNowParallel extends TestCase {
     }
 
     public void testStartNowCountReliably() throws InterruptedException {
+        runAssertionStartNowCountReliably();
+    }
+
+    public void testStartNowCountReliablyLockFreeFilterService() throws InterruptedException {
+        Configuration configuration = SupportConfigFactory.getConfiguration();
+        configuration.addEventType("SupportBean", SupportBean.class);
+        configuration.getEngineDefaults().getExecution().setFilterServiceProfile(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE);
+        epService = EPServiceProviderManager.getProvider(TestMTContextInitatedTerminatedWithNowParallel.class.getSimpleName(), configuration);
+        epService.initialize();
+
+        runAssertionStartNowCountReliably();
+        epService.destroy();
+    }
+
+    private void runAssertionStartNowCountReliably() throws InterruptedException {
         epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
         epService.getEPAdministrator().createEPL("create context MyCtx start @now end after 1 second");
         EPStatement stmt = epService.getEPAdministrator().createEPL("context MyCtx select count(*) as cnt from SupportBean output last when terminated");
@@ -0,0 +1,210 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.multithread;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportMarketDataBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Test for multithread-safety of the lock-free filter service profile, and comparison of throughput
+ * against the fine-grained lock filter service profile.
+ */
+public class TestMTStmtFilterLockFree extends TestCase
+{
+    private EPServiceProvider engine;
+
+    public void tearDown()
+    {
+        if (engine != null) {
+            engine.destroy();
+        }
+    }
+
+    public void testStatementCreateSendAndStop() throws Exception
+    {
+        engine = makeEngine(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE);
+        String eventName = SupportMarketDataBean.class.getName();
+        Object[][] statements = new Object[][] {
+                {true, "select * from " + eventName + " (symbol = 'IBM')"},
+                {true, "select * from " + eventName + " (symbol='IBM', price>1, feed='RT')"},
+                {true, "select * from " + eventName + " (symbol='IBM', feed='RT') where price between 0 and 1000"},
+                {false, "every a=" + eventName + "(symbol='IBM', feed='RT')"},
+        };
+
+        int numThreads = 4;
+        ExecutorService threadPool = Executors.newFixedThreadPool(numThreads);
+        Future future[] = new Future[numThreads];
+        for (int i = 0; i < numThreads; i++)
+        {
+            future[i] = threadPool.submit(new StmtMgmtCallable(engine, statements, 20));
+        }
+
+        threadPool.shutdown();
+        threadPool.awaitTermination(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < numThreads; i++)
+        {
+            assertTrue((Boolean) future[i].get());
+        }
+    }
+
+    public void testFilterAddRemoveWhileSending() throws Exception
+    {
+        engine = makeEngine(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE);
+        engine.getEPAdministrator().getConfiguration().addEventType(SupportBean.class);
+        CountingSubscriber subscriber = new CountingSubscriber();
+        engine.getEPAdministrator().createEPL("select theString from SupportBean(theString = 'A')").setSubscriber(subscriber);
+
+        final AtomicBoolean shutdown = new AtomicBoolean();
+        Callable<Object> changeCallable = new Callable<Object>() {
+            public Object call() throws Exception {
+                int count = 0;
+                while (!shutdown.get()) {
+                    EPStatement stmt = engine.getEPAdministrator().createEPL("select * from SupportBean(theString = 'A', intPrimitive = " + (count % 10) + ")");
+                    EPStatement pattern = engine.getEPAdministrator().createPattern("every SupportBean(theString = 'B" + count + "')");
+                    stmt.destroy();
+                    pattern.destroy();
+                    count++;
+                }
+                return count > 0;
+            }
+        };
+
+        int numThreads = 4;
+        int numEvents = 10000;
+        ExecutorService threadPool = Executors.newFixedThreadPool(numThreads + 1);
+        Future<Object> changeFuture = threadPool.submit(changeCallable);
+        Future future[] = new Future[numThreads];
+        for (int i = 0; i < numThreads; i++)
+        {
+            future[i] = threadPool.submit(new SendEventCallable(i, engine, new GeneratorIterator(numEvents, new GeneratorIteratorCallback() {
+                public Object getObject(int numEvent) {
+                    return new SupportBean("A", numEvent);
+                }
+            })));
+        }
+
+        for (int i = 0; i < numThreads; i++)
+        {
+            assertTrue((Boolean) future[i].get(60, TimeUnit.SECONDS));
+        }
+        shutdown.set(true);
+        assertTrue((Boolean) changeFuture.get(10, TimeUnit.SECONDS));
+        threadPool.shutdown();
+        threadPool.awaitTermination(10, TimeUnit.SECONDS);
+
+        assertEquals(numThreads * numEvents, subscriber.getCount());
+        assertEquals(1, engine.getEPAdministrator().getStatementNames().length);
+    }
+
+    public void testThroughputComparison() throws Exception
+    {
+        int numEvents = 20000;
+        for (int numThreads : new int[] {1, 4, 16})
+        {
+            long deltaFine = tryThroughput(ConfigurationEngineDefaults.FilterServiceProfile.READWRITE, numThreads, numEvents);
+            long deltaLockFree = tryThroughput(ConfigurationEngineDefaults.FilterServiceProfile.LOCKFREE, numThreads, numEvents);
+            log.info("Filter service throughput for " + numThreads + " threads sending " + numEvents + " events each: " +
+                    "fine-grained took " + deltaFine + " msec, lock-free took " + deltaLockFree + " msec");
+        }
+    }
+
+    private long tryThroughput(ConfigurationEngineDefaults.FilterServiceProfile profile, int numThreads, int numEvents) throws Exception
+    {
+        engine = makeEngine(profile);
+        engine.getEPAdministrator().getConfiguration().addEventType(SupportBean.class);
+        int numStatements = 100;
+        CountingSubscriber[] subscribers = new CountingSubscriber[numStatements];
+        for (int i = 0; i < numStatements; i++)
+        {
+            subscribers[i] = new CountingSubscriber();
+            engine.getEPAdministrator().createEPL("select theString from SupportBean(theString = 'S" + i + "')").setSubscriber(subscribers[i]);
+        }
+
+        final int statementCount = numStatements;
+        ExecutorService threadPool = Executors.newFixedThreadPool(numThreads);
+        Future future[] = new Future[numThreads];
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numThreads; i++)
+        {
+            future[i] = threadPool.submit(new SendEventCallable(i, engine, new GeneratorIterator(numEvents, new GeneratorIteratorCallback() {
+                public Object getObject(int numEvent) {
+                    return new SupportBean("S" + (numEvent % statementCount), numEvent);
+                }
+            })));
+        }
+        threadPool.shutdown();
+        threadPool.awaitTermination(60, TimeUnit.SECONDS);
+        long delta = System.currentTimeMillis() - start;
+
+        Object[] results = new Object[numThreads];
+        for (int i = 0; i < numThreads; i++)
+        {
+            results[i] = future[i].get();
+        }
+        EPAssertionUtil.assertAllBooleanTrue(results);
+
+        long total = 0;
+        for (CountingSubscriber subscriber : subscribers)
+        {
+            total += subscriber.getCount();
+        }
+        assertEquals((long) numThreads * numEvents, total);
+
+        engine.destroy();
+        engine = null;
+        return delta;
+    }
+
+    private static EPServiceProvider makeEngine(ConfigurationEngineDefaults.FilterServiceProfile profile)
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getExecution().setFilterServiceProfile(profile);
+        EPServiceProvider engine = EPServiceProviderManager.getProvider(TestMTStmtFilterLockFree.class.getSimpleName() + "_" + profile, config);
+        engine.initialize();
+        return engine;
+    }
+
+    public static class CountingSubscriber
+    {
+        private final AtomicLong count = new AtomicLong();
+
+        public void update(String theString)
+        {
+            count.incrementAndGet();
+        }
+
+        public long getCount()
+        {
+            return count.get();
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(TestMTStmtFilterLockFree.class);
+}
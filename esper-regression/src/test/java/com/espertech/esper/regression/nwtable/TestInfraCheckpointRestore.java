@@ -0,0 +1,143 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestInfraCheckpointRestore extends TestCase {
+    private File directory;
+
+    public void setUp() throws Exception {
+        directory = Files.createTempDirectory("esperckpt").toFile();
+    }
+
+    protected void tearDown() throws Exception {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    public void testRestoreAfterDestroy() throws Exception {
+        String[] fields = "theString,intPrimitive".split(",");
+        String eplCreate = "create schema MyMap as (k string, v int);\n" +
+                "create window MyWindow#keepall as SupportBean;\n" +
+                "create window MyMapWindow#keepall as MyMap;\n" +
+                "create table MyTable(key string primary key, value int);\n" +
+                "create window MyAggWindow#keepall as SupportBean;\n";
+
+        EPServiceProvider epService = start();
+        epService.getEPAdministrator().getDeploymentAdmin().parseDeploy(eplCreate);
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean merge MyTable where theString = key " +
+                "when matched then update set value = intPrimitive " +
+                "when not matched then insert select theString as key, intPrimitive as value");
+        Map<String, Object> mapEvent = new HashMap<String, Object>();
+        mapEvent.put("k", "K1");
+        mapEvent.put("v", 100);
+        epService.getEPRuntime().sendEvent(mapEvent, "MyMap");
+        epService.getEPAdministrator().createEPL("insert into MyMapWindow select * from MyMap");
+        epService.getEPRuntime().sendEvent(mapEvent, "MyMap");
+
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 3));
+        epService.destroy();
+
+        assertTrue(new File(directory, "namedwindow.MyWindow.ckpt").exists());
+        assertTrue(new File(directory, "table.MyTable.ckpt").exists());
+
+        // new engine restores contents when the named window and table get created
+        epService = start();
+        epService.getEPAdministrator().getDeploymentAdmin().parseDeploy(eplCreate);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(select(epService, "MyWindow").iterator(), fields,
+                new Object[][]{{"E1", 1}, {"E2", 2}, {"E1", 3}});
+        EPAssertionUtil.assertPropsPerRowAnyOrder(select(epService, "MyTable").iterator(), "key,value".split(","),
+                new Object[][]{{"E1", 3}, {"E2", 2}});
+        EPAssertionUtil.assertPropsPerRowAnyOrder(select(epService, "MyMapWindow").iterator(), "k,v".split(","),
+                new Object[][]{{"K1", 100}});
+        assertFalse(select(epService, "MyAggWindow").iterator().hasNext());
+
+        // restored table rows are keyed
+        epService.getEPAdministrator().createEPL("on SupportBean merge MyTable where theString = key " +
+                "when matched then update set value = intPrimitive " +
+                "when not matched then insert select theString as key, intPrimitive as value");
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 20));
+        EPAssertionUtil.assertPropsPerRowAnyOrder(select(epService, "MyTable").iterator(), "key,value".split(","),
+                new Object[][]{{"E1", 3}, {"E2", 20}});
+        epService.destroy();
+    }
+
+    public void testIncompatibleType() {
+        EPServiceProvider epService = start();
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.destroy();
+
+        // named window of different type ignores the checkpoint
+        epService = start();
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as (theString string)");
+        assertFalse(select(epService, "MyWindow").iterator().hasNext());
+        epService.destroy();
+    }
+
+    public void testTimeBasedWindowNotRestored() throws Exception {
+        String eplCreate = "create window MyTimeWindow#time(10 sec) as SupportBean;\n" +
+                "create window MyUniqueTimeWindow#unique(theString)#time(10 sec) as SupportBean;\n" +
+                "create window MyLengthWindow#length(10) as SupportBean;\n";
+        EPServiceProvider epService = start();
+        epService.getEPAdministrator().getDeploymentAdmin().parseDeploy(eplCreate);
+        epService.getEPAdministrator().createEPL("insert into MyTimeWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyUniqueTimeWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyLengthWindow select * from SupportBean");
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.destroy();
+
+        // events of a time-based data window would restart their time, such windows are not restored
+        epService = start();
+        epService.getEPAdministrator().getDeploymentAdmin().parseDeploy(eplCreate);
+        assertFalse(select(epService, "MyTimeWindow").iterator().hasNext());
+        assertFalse(select(epService, "MyUniqueTimeWindow").iterator().hasNext());
+        EPAssertionUtil.assertPropsPerRowAnyOrder(select(epService, "MyLengthWindow").iterator(), "theString".split(","),
+                new Object[][]{{"E1"}});
+        epService.destroy();
+    }
+
+    private EPServiceProvider start() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.getEngineDefaults().getExecution().setCheckpointDirectory(directory.getAbsolutePath());
+        config.getEngineDefaults().getExecution().setCheckpointInterval(0);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(TestInfraCheckpointRestore.class.getSimpleName(), config);
+        epService.initialize();
+        return epService;
+    }
+
+    private static EPStatement select(EPServiceProvider epService, String name) {
+        return epService.getEPAdministrator().createEPL("select * from " + name);
+    }
+}
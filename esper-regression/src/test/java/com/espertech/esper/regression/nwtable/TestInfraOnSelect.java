@@ -838,11 +838,11 @@ public class TestInfraOnSelect extends TestCase implements IndexBackingTableInfo
         };
         assertIndexChoice(isNamedWindow, new String[0], preloadedEventsRelOp, "win:keepall()",
                 new IndexAssertion[] {
-                        new IndexAssertion(null, "9 < i1", null, isNamedWindow ? backingBtreeI1 : null, relOpAssertion),
-                        new IndexAssertion(null, "10 <= i1", null, isNamedWindow ? backingBtreeI1 : null, relOpAssertion),
-                        new IndexAssertion(null, "i1 <= 10", null, isNamedWindow ? backingBtreeI1 : null, relOpAssertion),
-                        new IndexAssertion(null, "i1 < 11", null, isNamedWindow ? backingBtreeI1 : null, relOpAssertion),
-                        new IndexAssertion(null, "11 > i1", null, isNamedWindow ? backingBtreeI1 : null, relOpAssertion),
+                        new IndexAssertion(null, "9 < i1", isNamedWindow ? null : "MyInfra-implicit-1", backingBtreeI1, relOpAssertion),
+                        new IndexAssertion(null, "10 <= i1", isNamedWindow ? null : "MyInfra-implicit-2", backingBtreeI1, relOpAssertion),
+                        new IndexAssertion(null, "i1 <= 10", isNamedWindow ? null : "MyInfra-implicit-3", backingBtreeI1, relOpAssertion),
+                        new IndexAssertion(null, "i1 < 11", isNamedWindow ? null : "MyInfra-implicit-4", backingBtreeI1, relOpAssertion),
+                        new IndexAssertion(null, "11 > i1", isNamedWindow ? null : "MyInfra-implicit-5", backingBtreeI1, relOpAssertion),
                 });
     }
 
@@ -0,0 +1,156 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.metric.StatementMetric;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+public class TestInfraOnTriggerImplicitIndex extends TestCase {
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+    private SupportUpdateListener metricListener;
+    private long currentTime;
+
+    public void setUp() {
+        Configuration configuration = SupportConfigFactory.getConfiguration();
+        configuration.getEngineDefaults().getMetricsReporting().setEnableMetricsReporting(true);
+        configuration.getEngineDefaults().getMetricsReporting().setThreading(false);
+        configuration.getEngineDefaults().getMetricsReporting().setStatementInterval(1000);
+        epService = EPServiceProviderManager.getDefaultProvider(configuration);
+        epService.initialize();
+        for (Class clazz : new Class[] {SupportBean.class, SupportBean_S0.class}) {
+            epService.getEPAdministrator().getConfiguration().addEventType(clazz);
+        }
+        listener = new SupportUpdateListener();
+        metricListener = new SupportUpdateListener();
+        currentTime = 0;
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(currentTime));
+        epService.getEPAdministrator().createEPL("select * from " + StatementMetric.class.getName()).addListener(metricListener);
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    public void tearDown() {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+        metricListener = null;
+    }
+
+    public void testTableImplicitIndexSharedAndReclaimed() {
+        String[] fields = "pkey,val".split(",");
+        epService.getEPAdministrator().createEPL("create table MyTable as (pkey string primary key, val int)");
+        epService.getEPAdministrator().createEPL("on SupportBean merge MyTable where pkey = theString when not matched then insert select theString as pkey, intPrimitive as val");
+        for (int i = 0; i < 5; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, i % 2));
+        }
+        TableMetadata metadata = ((EPServiceProviderSPI) epService).getServicesContext().getTableService().getTableMetadata("MyTable");
+        assertEquals(1, metadata.getEventTableIndexMetadataRepo().getIndexes().size());
+
+        // the trigger correlates on a non-key column, the engine adds an implicit index filled with existing rows
+        EPStatement stmtSelect = epService.getEPAdministrator().createEPL("on SupportBean_S0 select pkey, val from MyTable where val = id order by pkey", "select");
+        stmtSelect.addListener(listener);
+        assertEquals(2, metadata.getEventTableIndexMetadataRepo().getIndexes().size());
+        assertEquals(1, metadata.getState(-1).getIndexRepository().getExplicitIndexNames().length);
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1));
+        EPAssertionUtil.assertPropsPerRow(listener.getAndResetLastNewData(), fields, new Object[][]{{"E1", 1}, {"E3", 1}});
+        assertEquals(0, getNumFullTableScan("select")[0]);
+
+        // a second trigger shares the index, and updates to the indexed column maintain the index
+        EPStatement stmtUpdate = epService.getEPAdministrator().createEPL("on SupportBean_S0(p00 is not null) as s0 update MyTable set val = 1 where val = s0.id");
+        assertEquals(2, metadata.getEventTableIndexMetadataRepo().getIndexes().size());
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(0, "x"));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(0));
+        assertFalse(listener.isInvoked());
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1));
+        EPAssertionUtil.assertPropsPerRow(listener.getAndResetLastNewData(), fields, new Object[][]{{"E0", 1}, {"E1", 1}, {"E2", 1}, {"E3", 1}, {"E4", 1}});
+
+        // the implicit index remains while referenced
+        stmtSelect.destroy();
+        assertEquals(2, metadata.getEventTableIndexMetadataRepo().getIndexes().size());
+
+        // the implicit index is removed with the last referring statement, and remaining update strategies no longer maintain it
+        EPStatement stmtMerge = epService.getEPAdministrator().createEPL("on SupportBean_S0(p00 = 'merge') as s0 merge MyTable where pkey = 'E0' when matched then update set val = s0.id");
+        stmtUpdate.destroy();
+        assertEquals(1, metadata.getEventTableIndexMetadataRepo().getIndexes().size());
+        assertEquals(0, metadata.getState(-1).getIndexRepository().getExplicitIndexNames().length);
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(5, "merge"));
+        EPAssertionUtil.assertPropsPerRowAnyOrder(epService.getEPRuntime().executeQuery("select pkey, val from MyTable where pkey = 'E0'").getArray(), fields, new Object[][]{{"E0", 5}});
+        stmtMerge.destroy();
+    }
+
+    public void testTableNoImplicitIndexAggregationColumn() {
+        epService.getEPAdministrator().createEPL("create table MyTable as (pkey string primary key, total sum(int))");
+        epService.getEPAdministrator().createEPL("into table MyTable select sum(intPrimitive) as total from SupportBean group by theString");
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 10));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 20));
+
+        // aggregation columns are not indexed, the full table scan statement metric reflects each lookup
+        EPStatement stmt = epService.getEPAdministrator().createEPL("on SupportBean_S0 select pkey from MyTable where total = id", "select");
+        stmt.addListener(listener);
+        TableMetadata metadata = ((EPServiceProviderSPI) epService).getServicesContext().getTableService().getTableMetadata("MyTable");
+        assertEquals(1, metadata.getEventTableIndexMetadataRepo().getIndexes().size());
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(20));
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "pkey".split(","), new Object[]{"E2"});
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(30));
+        assertEquals(2, getNumFullTableScan("select")[0]);
+    }
+
+    public void testNamedWindowFullTableScanMetric() {
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPRuntime().sendEvent(new SupportBean("E1", 1));
+        epService.getEPRuntime().sendEvent(new SupportBean("E2", 2));
+
+        epService.getEPAdministrator().createEPL("on SupportBean_S0 delete from MyWindow where theString = p00", "indexed");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0 delete from MyWindow where intPrimitive != id", "scan");
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E1"));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E3"));
+
+        long[] numFullTableScan = getNumFullTableScan("indexed", "scan");
+        assertEquals(0, numFullTableScan[0]);
+        assertEquals(2, numFullTableScan[1]);
+
+        // totals are relative to the last metric report
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E4"));
+        assertEquals(1, getNumFullTableScan("scan")[0]);
+    }
+
+    private long[] getNumFullTableScan(String... statementNames) {
+        currentTime += 1000;
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(currentTime));
+        long[] result = new long[statementNames.length];
+        for (EventBean event : metricListener.getNewDataListFlattened()) {
+            StatementMetric metric = (StatementMetric) event.getUnderlying();
+            for (int i = 0; i < statementNames.length; i++) {
+                if (statementNames[i].equals(metric.getStatementName())) {
+                    result[i] += metric.getNumFullTableScan();
+                }
+            }
+        }
+        metricListener.reset();
+        return result;
+    }
+}
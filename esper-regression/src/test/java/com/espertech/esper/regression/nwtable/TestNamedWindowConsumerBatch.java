@@ -0,0 +1,133 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_A;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+public class TestNamedWindowConsumerBatch extends TestCase {
+
+    private EPServiceProvider epService;
+    private SupportUpdateListener listenerOne;
+    private SupportUpdateListener listenerTwo;
+
+    public void setUp() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.addEventType(SupportBean_A.class);
+        config.getEngineDefaults().getThreading().setNamedWindowConsumerDispatchBatchSize(3);
+        config.getEngineDefaults().getThreading().setNamedWindowConsumerDispatchBatchMaxDelay(1000);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+        listenerOne = new SupportUpdateListener();
+        listenerTwo = new SupportUpdateListener();
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listenerOne = null;
+        listenerTwo = null;
+    }
+
+    public void testBatchBySize() {
+        String[] fields = "theString,intPrimitive".split(",");
+        sendTimer(0);
+        epService.getEPAdministrator().createEPL("create window MyWindow#length(2) as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        EPStatement stmtOne = epService.getEPAdministrator().createEPL("select irstream * from MyWindow");
+        stmtOne.addListener(listenerOne);
+        EPStatement stmtTwo = epService.getEPAdministrator().createEPL("select irstream * from MyWindow(intPrimitive > 1)");
+        stmtTwo.addListener(listenerTwo);
+
+        sendEvent("E1", 1);
+        sendEvent("E2", 2);
+        assertFalse(listenerOne.isInvoked() || listenerTwo.isInvoked());
+
+        // the third window result completes the batch, each consumer receives a single update with all results
+        sendEvent("E3", 3);
+        assertEquals(1, listenerOne.getNewDataList().size());
+        EPAssertionUtil.assertPropsPerRow(listenerOne.getLastNewData(), fields, new Object[][]{{"E1", 1}, {"E2", 2}, {"E3", 3}});
+        EPAssertionUtil.assertPropsPerRow(listenerOne.getLastOldData(), fields, new Object[][]{{"E1", 1}});
+        listenerOne.reset();
+        assertEquals(1, listenerTwo.getNewDataList().size());
+        EPAssertionUtil.assertPropsPerRow(listenerTwo.getLastNewData(), fields, new Object[][]{{"E2", 2}, {"E3", 3}});
+        assertNull(listenerTwo.getLastOldData());
+        listenerTwo.reset();
+
+        // the window itself reflects changes immediately
+        sendEvent("E4", 4);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(epService.getEPRuntime().executeQuery("select * from MyWindow").getArray(), fields, new Object[][]{{"E3", 3}, {"E4", 4}});
+        assertFalse(listenerOne.isInvoked());
+    }
+
+    public void testBatchByTime() {
+        String[] fields = "theString".split(",");
+        sendTimer(0);
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_A delete from MyWindow where theString = id");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select irstream * from MyWindow");
+        stmt.addListener(listenerOne);
+
+        sendEvent("E1", 1);
+        sendTimer(500);
+        epService.getEPRuntime().sendEvent(new SupportBean_A("E1"));
+        sendTimer(999);
+        assertFalse(listenerOne.isInvoked());
+
+        sendTimer(1000);
+        EPAssertionUtil.assertPropsPerRow(listenerOne.getLastNewData(), fields, new Object[][]{{"E1"}});
+        EPAssertionUtil.assertPropsPerRow(listenerOne.getLastOldData(), fields, new Object[][]{{"E1"}});
+        listenerOne.reset();
+
+        // the maximum delay counts from the first result of a batch
+        sendTimer(5000);
+        sendEvent("E2", 2);
+        sendTimer(5999);
+        assertFalse(listenerOne.isInvoked());
+        sendEvent("E3", 3);
+        assertFalse(listenerOne.isInvoked());
+        sendTimer(6000);
+        EPAssertionUtil.assertPropsPerRow(listenerOne.getAndResetLastNewData(), fields, new Object[][]{{"E2"}, {"E3"}});
+    }
+
+    public void testConsumerDestroyed() {
+        sendTimer(0);
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select * from MyWindow");
+        stmt.addListener(listenerOne);
+
+        sendEvent("E1", 1);
+        stmt.destroy();
+        sendTimer(2000);
+        assertFalse(listenerOne.isInvoked());
+    }
+
+    private void sendEvent(String theString, int intPrimitive) {
+        epService.getEPRuntime().sendEvent(new SupportBean(theString, intPrimitive));
+    }
+
+    private void sendTimer(long time) {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(time));
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.context.ContextPartitionSelector;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.regression.context.SupportSelectorPartitioned;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class TestNamedWindowFAFParallel extends TestCase {
+    private final static int NUM_EVENTS = 5000;
+    private final static int NUM_GROUPS = 5;
+
+    private EPServiceProvider epService;
+
+    public void setUp() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.getEngineDefaults().getExecution().setParallelFireAndForgetThreshold(1000);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    public void testParallelFilter() {
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        sendEvents();
+
+        // rows retain order
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select * from MyWindow where intPrimitive % 3 = 0");
+        assertIntPrimitives(result, getExpected(null, 3));
+
+        // stream filter and where-clause
+        result = epService.getEPRuntime().executeQuery("select * from MyWindow(intPrimitive >= 1000) where intPrimitive % 7 = 0");
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int value : getExpected(null, 7)) {
+            if (value >= 1000) {
+                expected.add(value);
+            }
+        }
+        assertIntPrimitives(result, expected);
+
+        // aggregation, grouped and ungrouped
+        result = epService.getEPRuntime().executeQuery("select count(*) as cnt, sum(intPrimitive) as total from MyWindow where intPrimitive % 2 = 1");
+        assertEquals(1, result.getArray().length);
+        assertEquals((long) NUM_EVENTS / 2, result.getArray()[0].get("cnt"));
+        assertEquals(sum(getExpected(null, 2, 1)), result.getArray()[0].get("total"));
+
+        result = epService.getEPRuntime().executeQuery("select theString, count(*) as cnt from MyWindow where intPrimitive < 4000 group by theString order by theString");
+        Object[][] rows = new Object[NUM_GROUPS][];
+        for (int i = 0; i < NUM_GROUPS; i++) {
+            rows[i] = new Object[]{"G" + i, 800L};
+        }
+        EPAssertionUtil.assertPropsPerRow(result.getArray(), "theString,cnt".split(","), rows);
+
+        // no rows pass the filter
+        result = epService.getEPRuntime().executeQuery("select * from MyWindow where intPrimitive < 0");
+        assertEquals(0, result.getArray().length);
+
+        // segments are filtered on the engine parallel-compute pool
+        assertTrue(getParallelComputeTaskCount() > 0);
+    }
+
+    public void testVariableFilterOnExecutingThread() {
+        epService.getEPAdministrator().createEPL("create variable int maxValue = 10");
+        epService.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        sendEvents();
+        epService.getEPRuntime().setVariableValue("maxValue", 3);
+
+        // variable versions are thread-local, the executing thread filters
+        long taskCountBefore = getParallelComputeTaskCount();
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select * from MyWindow where intPrimitive < maxValue");
+        assertEquals(taskCountBefore, getParallelComputeTaskCount());
+        assertIntPrimitives(result, Arrays.asList(0, 1, 2));
+    }
+
+    public void testParallelFilterContext() {
+        epService.getEPAdministrator().createEPL("create context PartitionByString partition by theString from SupportBean");
+        epService.getEPAdministrator().createEPL("context PartitionByString create window MyWindow#keepall as SupportBean");
+        epService.getEPAdministrator().createEPL("context PartitionByString insert into MyWindow select * from SupportBean");
+        sendEvents();
+
+        // all context partitions
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("context PartitionByString select theString, intPrimitive from MyWindow where intPrimitive % 3 = 0");
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < NUM_GROUPS; i++) {
+            expected.addAll(getExpected("G" + i, 3));
+        }
+        assertIntPrimitivesAnyOrder(result, expected);
+
+        // selected context partitions, aggregated per context partition
+        ContextPartitionSelector selector = new SupportSelectorPartitioned(Arrays.asList(new Object[]{"G1"}, new Object[]{"G3"}));
+        result = epService.getEPRuntime().executeQuery("context PartitionByString select theString, sum(intPrimitive) as total from MyWindow where intPrimitive % 3 = 0 group by theString", new ContextPartitionSelector[]{selector});
+        EPAssertionUtil.assertPropsPerRowAnyOrder(result.getArray(), "theString,total".split(","),
+                new Object[][]{{"G1", sum(getExpected("G1", 3))}, {"G3", sum(getExpected("G3", 3))}});
+
+        // selected context partitions without declaring the context
+        result = epService.getEPRuntime().executeQuery("select * from MyWindow where intPrimitive % 3 = 0", new ContextPartitionSelector[]{new SupportSelectorPartitioned("G2")});
+        assertIntPrimitives(result, getExpected("G2", 3));
+    }
+
+    private long getParallelComputeTaskCount() {
+        return ((EPServiceProviderSPI) epService).getServicesContext().getThreadingService().getParallelComputeThreadPool().getCompletedTaskCount();
+    }
+
+    private void sendEvents() {
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            epService.getEPRuntime().sendEvent(new SupportBean("G" + (i % NUM_GROUPS), i));
+        }
+    }
+
+    private static List<Integer> getExpected(String group, int divisor) {
+        return getExpected(group, divisor, 0);
+    }
+
+    private static List<Integer> getExpected(String group, int divisor, int remainder) {
+        List<Integer> expected = new ArrayList<Integer>();
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            if (i % divisor == remainder && (group == null || group.equals("G" + (i % NUM_GROUPS)))) {
+                expected.add(i);
+            }
+        }
+        return expected;
+    }
+
+    private static int sum(List<Integer> values) {
+        int total = 0;
+        for (int value : values) {
+            total += value;
+        }
+        return total;
+    }
+
+    private static void assertIntPrimitives(EPOnDemandQueryResult result, List<Integer> expected) {
+        EventBean[] events = result.getArray();
+        assertEquals(expected.size(), events.length);
+        for (int i = 0; i < events.length; i++) {
+            assertEquals(expected.get(i), events[i].get("intPrimitive"));
+        }
+    }
+
+    private static void assertIntPrimitivesAnyOrder(EPOnDemandQueryResult result, List<Integer> expected) {
+        EventBean[] events = result.getArray();
+        Object[] actual = new Object[events.length];
+        for (int i = 0; i < events.length; i++) {
+            actual[i] = events[i].get("intPrimitive");
+        }
+        EPAssertionUtil.assertEqualsAnyOrder(expected.toArray(), actual);
+    }
+}
@@ -11,6 +11,7 @@
 package com.espertech.esper.regression.nwtable;
 
 import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPOnDemandQueryResult;
 import com.espertech.esper.client.EPServiceProviderManager;
 import com.espertech.esper.client.EPStatement;
 import com.espertech.esper.client.scopetest.EPAssertionUtil;
@@ -50,4 +51,30 @@ public class TestNamedWindowIndex extends TestCase
 
         EPAssertionUtil.assertPropsPerRowAnyOrder(stmtWindow.iterator(), "theString,intPrimitive".split(","), new Object[][]{{"E0", 5}, {"E1", 4}, {"E2", 3}});
     }
+
+    public void testParallelIndexBuild() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.getEngineDefaults().getExecution().setParallelIndexBuildThreshold(1000);
+        EPServiceProviderSPI engine = (EPServiceProviderSPI) EPServiceProviderManager.getProvider(TestNamedWindowIndex.class.getName() + "_parallel", config);
+        engine.initialize();
+
+        engine.getEPAdministrator().createEPL("create window MyWindow#keepall as SupportBean");
+        engine.getEPAdministrator().createEPL("insert into MyWindow select * from SupportBean");
+        for (int i = 0; i < 5000; i++) {
+            engine.getEPRuntime().sendEvent(new SupportBean("E" + (i % 100), i));
+        }
+
+        // indexes over existing events build on the engine parallel-compute pool
+        engine.getEPAdministrator().createEPL("create index IdxSorted on MyWindow(intPrimitive btree)");
+        engine.getEPAdministrator().createEPL("create index IdxHash on MyWindow(theString)");
+        assertTrue(engine.getServicesContext().getThreadingService().getParallelComputeThreadPool().getCompletedTaskCount() > 0);
+
+        EPOnDemandQueryResult result = engine.getEPRuntime().executeQuery("select intPrimitive from MyWindow where intPrimitive between 1000 and 1004");
+        EPAssertionUtil.assertPropsPerRowAnyOrder(result.getArray(), "intPrimitive".split(","), new Object[][]{{1000}, {1001}, {1002}, {1003}, {1004}});
+        result = engine.getEPRuntime().executeQuery("select intPrimitive from MyWindow where theString = 'E7' and intPrimitive < 300");
+        EPAssertionUtil.assertPropsPerRowAnyOrder(result.getArray(), "intPrimitive".split(","), new Object[][]{{7}, {107}, {207}});
+
+        engine.destroy();
+    }
 }
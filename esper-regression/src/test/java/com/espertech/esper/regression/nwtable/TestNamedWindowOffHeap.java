@@ -0,0 +1,173 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.nwtable;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.event.arr.ObjectArrayOffHeapEventBean;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.bean.SupportBean_S0;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import com.espertech.esper.supportregression.util.SupportMessageAssertUtil;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TestNamedWindowOffHeap extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestNamedWindowOffHeap.class);
+
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.addEventType(SupportBean_S0.class);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+        listener = new SupportUpdateListener();
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+    }
+
+    public void testOffHeapRows() {
+        String[] fields = "key,value,amount".split(",");
+        epService.getEPAdministrator().createEPL("create objectarray schema MyRow(key string, value int, amount double)");
+        EPStatement stmtWindow = epService.getEPAdministrator().createEPL("@Hint('off_heap') create window MyWindow#keepall as MyRow");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select theString as key, intPrimitive as value, doublePrimitive as amount from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0 as s0 delete from MyWindow as w where w.key = s0.p00");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0(id < 0) as s0 update MyWindow as w set value = -1 where w.key = s0.p01");
+        epService.getEPAdministrator().createEPL("select (select value from MyWindow as w where w.key = s0.p02) as val from SupportBean_S0 as s0").addListener(listener);
+
+        for (int i = 0; i < 10; i++) {
+            epService.getEPRuntime().sendEvent(makeBean("E" + i, i, i * 1.5));
+        }
+        EventBean first = stmtWindow.iterator().next();
+        assertTrue(first instanceof ObjectArrayOffHeapEventBean);
+        EPAssertionUtil.assertProps(first, fields, new Object[]{"E0", 0, 0d});
+
+        // subquery
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "-", "-", "E5"));
+        assertEquals(5, listener.assertOneGetNewAndReset().get("val"));
+
+        // on-delete
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E3"));
+        listener.reset();
+        assertEquals(9, EPAssertionUtil.iteratorToArray(stmtWindow.iterator()).length);
+
+        // on-update
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(-1, "-", "E4"));
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "-", "-", "E4"));
+        assertEquals(-1, listener.getLastNewData()[0].get("val"));
+        listener.reset();
+
+        // fire-and-forget
+        EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select * from MyWindow where key = 'E4'");
+        EPAssertionUtil.assertPropsPerRow(result.getArray(), fields, new Object[][]{{"E4", -1, 6d}});
+        epService.getEPRuntime().executeQuery("insert into MyWindow select 'E10' as key, 10 as value, 15d as amount");
+        epService.getEPRuntime().executeQuery("update MyWindow set value = 100 where key = 'E10'");
+        result = epService.getEPRuntime().executeQuery("select * from MyWindow where value >= 9");
+        EPAssertionUtil.assertPropsPerRowAnyOrder(result.getArray(), fields, new Object[][]{{"E9", 9, 13.5d}, {"E10", 100, 15d}});
+        epService.getEPRuntime().executeQuery("delete from MyWindow where key = 'E10'");
+        assertEquals(9, EPAssertionUtil.iteratorToArray(stmtWindow.iterator()).length);
+
+        // explicit index
+        epService.getEPAdministrator().createEPL("create index MyIndex on MyWindow(value)");
+        result = epService.getEPRuntime().executeQuery("select * from MyWindow where value = 7");
+        EPAssertionUtil.assertPropsPerRow(result.getArray(), fields, new Object[][]{{"E7", 7, 10.5d}});
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    public void testOnActionListenerReceivesHeldRow() {
+        epService.getEPAdministrator().createEPL("create objectarray schema MyRow(key string, value int, amount double)");
+        EPStatement stmtWindow = epService.getEPAdministrator().createEPL("@Hint('off_heap') create window MyWindow#unique(key) as MyRow");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select theString as key, intPrimitive as value, doublePrimitive as amount from SupportBean");
+        epService.getEPAdministrator().createEPL("on SupportBean_S0(id = 1) as s0 update MyWindow as w set value = -1 where w.key = s0.p00").addListener(listener);
+        SupportUpdateListener listenerMerge = new SupportUpdateListener();
+        epService.getEPAdministrator().createEPL("on SupportBean_S0(id = 2) as s0 merge MyWindow as w where w.key = s0.p00 " +
+                "when matched then update set value = -2 " +
+                "when not matched then insert select s0.p00 as key, 0 as value, 0d as amount").addListener(listenerMerge);
+
+        epService.getEPRuntime().sendEvent(makeBean("E1", 1, 1));
+
+        // the on-update listener receives the row that the named window holds
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(1, "E1"));
+        EventBean updated = listener.getLastNewData()[0];
+        listener.reset();
+        assertTrue(updated instanceof ObjectArrayOffHeapEventBean);
+        assertSame(stmtWindow.iterator().next(), updated);
+
+        // the on-merge listener receives the rows that the named window holds, for update and insert
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(2, "E1"));
+        EventBean merged = listenerMerge.getLastNewData()[0];
+        listenerMerge.reset();
+        assertSame(stmtWindow.iterator().next(), merged);
+        assertEquals(-2, merged.get("value"));
+
+        epService.getEPRuntime().sendEvent(new SupportBean_S0(2, "E2"));
+        EventBean inserted = listenerMerge.getLastNewData()[0];
+        assertTrue(inserted instanceof ObjectArrayOffHeapEventBean);
+        boolean found = false;
+        for (EventBean held : EPAssertionUtil.iteratorToArray(stmtWindow.iterator())) {
+            found |= held == inserted;
+        }
+        assertTrue(found);
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    public void testInvalid() {
+        epService.getEPAdministrator().createEPL("create map schema MyMapRow(key string)");
+        SupportMessageAssertUtil.tryInvalid(epService, "@Hint('off_heap') create window MyWindow#keepall as MyMapRow",
+                "Error starting statement: The OFF_HEAP hint requires a named window of an object-array event type");
+    }
+
+    public void testPerfLoad() {
+        epService.getEPAdministrator().createEPL("create objectarray schema MyRow(key string, value int, amount double)");
+        epService.getEPAdministrator().createEPL("@Hint('off_heap') create window MyWindow#unique(key) as MyRow");
+        epService.getEPAdministrator().createEPL("insert into MyWindow select theString as key, intPrimitive as value, doublePrimitive as amount from SupportBean");
+
+        int numRows = 200000;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numRows; i++) {
+            epService.getEPRuntime().sendEvent(makeBean("E" + i, i, i));
+        }
+        long delta = System.currentTimeMillis() - start;
+
+        start = System.currentTimeMillis();
+        epService.getEPAdministrator().createEPL("create unique index MyIndex on MyWindow(key)");
+        for (int i = 0; i < 1000; i++) {
+            EPOnDemandQueryResult result = epService.getEPRuntime().executeQuery("select value from MyWindow where key = 'E" + i + "'");
+            assertEquals(i, result.getArray()[0].get("value"));
+        }
+        long deltaQuery = System.currentTimeMillis() - start;
+        log.info("Delta load=" + delta + " query=" + deltaQuery);
+        assertTrue("Delta=" + delta, delta < 10000);
+        assertTrue("Delta=" + deltaQuery, deltaQuery < 10000);
+
+        epService.getEPAdministrator().destroyAllStatements();
+    }
+
+    private SupportBean makeBean(String theString, int intPrimitive, double doublePrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setDoublePrimitive(doublePrimitive);
+        return bean;
+    }
+}
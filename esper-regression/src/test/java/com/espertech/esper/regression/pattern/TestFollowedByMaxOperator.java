@@ -18,7 +18,9 @@ import com.espertech.esper.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.client.scopetest.SupportUpdateListener;
 import com.espertech.esper.client.soda.EPStatementObjectModel;
 import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.core.service.EPStatementSPI;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.pattern.pool.PatternStateNodeStmtCounter;
 import com.espertech.esper.supportregression.bean.*;
 import com.espertech.esper.supportregression.client.SupportConditionHandlerFactory;
 import com.espertech.esper.supportregression.client.SupportConfigFactory;
@@ -77,19 +79,25 @@ public class TestFollowedByMaxOperator extends TestCase implements SupportBeanCo
         stmt.addListener(listener);
         String fields[] = new String[] {"a", "b", "c"};
 
+        PatternStateNodeStmtCounter counter = ((EPStatementSPI) stmt).getStatementContext().getPatternStateNodeCounter();
+
         epService.getEPRuntime().sendEvent(new SupportBean_A("A1"));
         epService.getEPRuntime().sendEvent(new SupportBean_A("A2"));
+        assertEquals(2, counter.getNumActive());
         epService.getEPRuntime().sendEvent(new SupportBean_B("B1"));
         epService.getEPRuntime().sendEvent(new SupportBean_A("A3"));
         epService.getEPRuntime().sendEvent(new SupportBean_A("A4"));
         assertTrue(handler.getContexts().isEmpty());
+        assertEquals(4, counter.getNumActive());
         
         epService.getEPRuntime().sendEvent(new SupportBean_B("B2"));
         assertContext(epService, stmt, handler.getContexts(), 3);
+        assertEquals(3, counter.getNumActive());
 
         epService.getEPRuntime().sendEvent(new SupportBean_C("C1"));
         assertTrue(handler.getContexts().isEmpty());
         EPAssertionUtil.assertPropsPerRow(listener.getAndResetLastNewData(), fields, new Object[][]{{"A1", "B1", "C1"}, {"A2", "B1", "C1"}, {"A3", "B2", "C1"}});
+        assertEquals(0, counter.getNumActive());
     }
 
     public void testMixed() {
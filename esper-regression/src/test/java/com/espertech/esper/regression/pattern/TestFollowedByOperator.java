@@ -14,9 +14,12 @@ import com.espertech.esper.client.*;
 import com.espertech.esper.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.client.scopetest.SupportUpdateListener;
 import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
 import com.espertech.esper.core.service.EPStatementSPI;
 import com.espertech.esper.core.service.StatementType;
+import com.espertech.esper.filter.FilterServiceSPI;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.pattern.pool.PatternStateNodeStmtCounter;
 import com.espertech.esper.supportregression.bean.*;
 import com.espertech.esper.supportregression.client.SupportConfigFactory;
 import com.espertech.esper.supportregression.patternassert.*;
@@ -486,6 +489,110 @@ public class TestFollowedByOperator extends TestCase implements SupportBeanConst
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
     }
 
+    public void testFilterStateReuse() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        EPServiceProvider epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+
+        String[] fields = "a.id,b.id".split(",");
+        EPStatement statement = epService.getEPAdministrator().createPattern("every a=" + EVENT_A_CLASS + " -> b=" + EVENT_B_CLASS + "(id=a.id)");
+        SupportUpdateListener listener = new SupportUpdateListener();
+        statement.addListener(listener);
+        FilterServiceSPI filterService = (FilterServiceSPI) ((EPServiceProviderSPI) epService).getFilterService();
+        PatternStateNodeStmtCounter counter = ((EPStatementSPI) statement).getStatementContext().getPatternStateNodeCounter();
+        assertEquals(1, filterService.getFilterCountApprox());
+        assertEquals(0, counter.getNumActive());
+
+        sendA("A1", epService);
+        sendA("A2", epService);
+        sendA("A3", epService);
+        assertEquals(4, filterService.getFilterCountApprox());
+        assertEquals(3, counter.getNumActive());
+
+        sendB("A1", epService);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A1", "A1"});
+        sendB("A2", epService);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A2", "A2"});
+        assertEquals(2, filterService.getFilterCountApprox());
+        assertEquals(1, counter.getNumActive());
+
+        // filter state of a prior match is reused
+        sendA("A4", epService);
+        assertEquals(3, filterService.getFilterCountApprox());
+        assertEquals(2, counter.getNumActive());
+        sendB("A4", epService);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A4", "A4"});
+        sendB("A1", epService);
+        assertFalse(listener.isInvoked());
+        sendB("A3", epService);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A3", "A3"});
+        assertEquals(1, filterService.getFilterCountApprox());
+        assertEquals(0, counter.getNumActive());
+        sendA("A5", epService);
+        assertEquals(1, counter.getNumActive());
+        statement.destroy();
+        assertEquals(0, filterService.getFilterCountApprox());
+        assertEquals(0, counter.getNumActive());
+
+        // the same event matches multiple filter states that then get reused
+        statement = epService.getEPAdministrator().createPattern("every a=" + EVENT_A_CLASS + " -> b=" + EVENT_B_CLASS);
+        statement.addListener(listener);
+        sendA("A1", epService);
+        sendA("A2", epService);
+        sendB("B1", epService);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(listener.getNewDataListFlattened(), fields, new Object[][]{{"A1", "B1"}, {"A2", "B1"}});
+        listener.reset();
+        sendA("A3", epService);
+        sendA("A4", epService);
+        sendA("A5", epService);
+        assertEquals(4, filterService.getFilterCountApprox());
+        sendB("B2", epService);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(listener.getNewDataListFlattened(), fields, new Object[][]{{"A3", "B2"}, {"A4", "B2"}, {"A5", "B2"}});
+        listener.reset();
+        sendB("B3", epService);
+        assertFalse(listener.isInvoked());
+        assertEquals(1, filterService.getFilterCountApprox());
+
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    public void testAndOrFilterBatchPerProfile() {
+        for (ConfigurationEngineDefaults.FilterServiceProfile profile : ConfigurationEngineDefaults.FilterServiceProfile.values()) {
+            Configuration config = SupportConfigFactory.getConfiguration();
+            config.getEngineDefaults().getExecution().setFilterServiceProfile(profile);
+            EPServiceProvider epService = EPServiceProviderManager.getProvider(this.getClass().getSimpleName() + "_" + profile, config);
+            epService.initialize();
+            FilterServiceSPI filterService = (FilterServiceSPI) ((EPServiceProviderSPI) epService).getFilterService();
+            SupportUpdateListener listener = new SupportUpdateListener();
+
+            // the "and" and "or" operators register and remove the filters of their children together
+            EPStatement stmtAnd = epService.getEPAdministrator().createPattern("every a=" + EVENT_A_CLASS + " -> (b=" + EVENT_B_CLASS + "(id=a.id) and c=" + EVENT_C_CLASS + "(id=a.id))");
+            stmtAnd.addListener(listener);
+            sendA("A1", epService);
+            assertEquals(3, filterService.getFilterCountApprox());
+            sendB("A1", epService);
+            assertEquals(2, filterService.getFilterCountApprox());
+            epService.getEPRuntime().sendEvent(new SupportBean_C("A1"));
+            EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "a.id,b.id,c.id".split(","), new Object[]{"A1", "A1", "A1"});
+            assertEquals(1, filterService.getFilterCountApprox());
+            stmtAnd.destroy();
+
+            EPStatement stmtOr = epService.getEPAdministrator().createPattern("every a=" + EVENT_A_CLASS + " -> (b=" + EVENT_B_CLASS + "(id=a.id) or c=" + EVENT_C_CLASS + "(id=a.id))");
+            stmtOr.addListener(listener);
+            sendA("A1", epService);
+            sendA("A2", epService);
+            assertEquals(5, filterService.getFilterCountApprox());
+            sendB("A1", epService);
+            EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "a.id,b.id".split(","), new Object[]{"A1", "A1"});
+            assertEquals(3, filterService.getFilterCountApprox());
+            stmtOr.destroy();
+            assertEquals(0, filterService.getFilterCountApprox());
+
+            epService.destroy();
+        }
+    }
+
     private long dateToLong(String dateText) throws ParseException
     {
         SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss.SSS");
@@ -0,0 +1,65 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.pattern;
+
+import com.espertech.esper.client.*;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.core.service.EPServiceProviderSPI;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+public class TestPerfSchedulingServiceProfile extends TestCase {
+    private static final Logger log = LoggerFactory.getLogger(TestPerfSchedulingServiceProfile.class);
+
+    // Compares the scheduling service profiles for a large number of concurrently-scheduled pattern timers
+    public void testPerfManySchedules() {
+        long deltaSorted = runAssertionManySchedules(ConfigurationEngineDefaults.SchedulingServiceProfile.SORTED);
+        long deltaWheel = runAssertionManySchedules(ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL);
+        log.info("Delta sorted=" + deltaSorted + " timingwheel=" + deltaWheel);
+    }
+
+    private long runAssertionManySchedules(ConfigurationEngineDefaults.SchedulingServiceProfile profile) {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.getEngineDefaults().getExecution().setSchedulingServiceProfile(profile);
+        config.addEventType(SupportBean.class);
+        EPServiceProvider epService = EPServiceProviderManager.getProvider(TestPerfSchedulingServiceProfile.class.getSimpleName() + "_" + profile, config);
+        epService.initialize();
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(0));
+
+        final int[] count = new int[1];
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select * from pattern [every a=SupportBean -> timer:interval(a.intPrimitive)]");
+        stmt.addListener(new UpdateListener() {
+            public void update(EventBean[] newEvents, EventBean[] oldEvents) {
+                count[0] += newEvents.length;
+            }
+        });
+
+        long start = System.currentTimeMillis();
+        int numEvents = 50000;
+        for (int i = 0; i < numEvents; i++) {
+            epService.getEPRuntime().sendEvent(new CurrentTimeEvent(i));
+            epService.getEPRuntime().sendEvent(new SupportBean("E" + i, 1 + i % 1000));
+        }
+        for (int i = numEvents; i <= numEvents + 1000000; i += 1000) {
+            epService.getEPRuntime().sendEvent(new CurrentTimeEvent(i));
+        }
+        long delta = System.currentTimeMillis() - start;
+
+        assertEquals(numEvents, count[0]);
+        assertEquals(0, ((EPServiceProviderSPI) epService).getSchedulingService().getScheduleHandleCount());
+        assertTrue("Delta=" + delta, delta < 10000);
+        epService.destroy();
+        return delta;
+    }
+}
@@ -75,6 +75,28 @@ public class TestAggregateRowForAll extends TestCase
         runAssert();
     }
 
+    public void testPrimitiveTypedAggregation()
+    {
+        String[] fields = "c0,c1,c2,c3,c4,c5".split(",");
+        String epl = "select sum(doublePrimitive * intPrimitive) as c0, sum(longPrimitive) as c1, sum(intPrimitive) as c2, " +
+                "avg(doublePrimitive) as c3, max(doublePrimitive) as c4, maxever(doublePrimitive) as c5, stddev(intPrimitive) as c6 " +
+                "from " + SupportBean.class.getName() + "#length(2)";
+        selectTestView = epService.getEPAdministrator().createEPL(epl);
+        selectTestView.addListener(listener);
+
+        sendEventPrimitive(10, 100, 1.5);
+        EPAssertionUtil.assertProps(listener.assertOneGetNew(), fields, new Object[]{15d, 100L, 10, 1.5d, 1.5d, 1.5d});
+        assertNull(listener.assertOneGetNewAndReset().get("c6"));
+
+        sendEventPrimitive(20, 200, 2.5);
+        EPAssertionUtil.assertProps(listener.assertOneGetNew(), fields, new Object[]{65d, 300L, 30, 2d, 2.5d, 2.5d});
+        assertEquals(Math.sqrt(50), (Double) listener.assertOneGetNewAndReset().get("c6"), 1e-9);
+
+        sendEventPrimitive(30, 300, 0.5);
+        EPAssertionUtil.assertProps(listener.assertOneGetNew(), fields, new Object[]{65d, 500L, 50, 1.5d, 2.5d, 2.5d});
+        assertEquals(Math.sqrt(50), (Double) listener.assertOneGetNewAndReset().get("c6"), 1e-9);
+    }
+
     private void runAssert()
     {
         // assert select result type
@@ -259,6 +281,14 @@ public class TestAggregateRowForAll extends TestCase
         epService.getEPRuntime().sendEvent(bean);
     }
 
+    private void sendEventPrimitive(int intPrimitive, long longPrimitive, double doublePrimitive)
+    {
+        SupportBean bean = new SupportBean("E", intPrimitive);
+        bean.setLongPrimitive(longPrimitive);
+        bean.setDoublePrimitive(doublePrimitive);
+        epService.getEPRuntime().sendEvent(bean);
+    }
+
     private void sendEvent(long longBoxed)
     {
         sendEvent(longBoxed, 0, (short)0);
@@ -0,0 +1,148 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.resultset;
+
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import junit.framework.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestGroupByPrimitiveKey extends TestCase
+{
+    private static final Logger log = LoggerFactory.getLogger(TestGroupByPrimitiveKey.class);
+
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp()
+    {
+        listener = new SupportUpdateListener();
+        epService = EPServiceProviderManager.getDefaultProvider(SupportConfigFactory.getConfiguration());
+        epService.initialize();
+        epService.getEPAdministrator().getConfiguration().addEventType(SupportBean.class);
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+    }
+
+    public void testKeyTypes() {
+        String[] hints = new String[] {"", "@Hint('disable_reclaim_group') "};
+        String[] aggs = new String[] {"sum(intBoxed) as value", "window(*).aggregate(0, (result, e) => result + e.intBoxed) as value", "sum(intBoxed) as value, window(*) as win"};
+        for (String hint : hints) {
+            for (String agg : aggs) {
+                runAssertionKeyTypes(hint, agg, "intPrimitive", 1, 2);
+                runAssertionKeyTypes(hint, agg, "longBoxed", 1L, null);
+                runAssertionKeyTypes(hint, agg, "theString", "A", null);
+            }
+        }
+    }
+
+    public void testMismatchedValueType() {
+        epService.getEPAdministrator().createEPL("create map schema MyKeyEvent(k long, v int)");
+        EPStatement stmt = epService.getEPAdministrator().createEPL("select k, sum(v) as value from MyKeyEvent#keepall group by k");
+        stmt.addListener(listener);
+
+        // a value that does not match the declared type is its own group, as when keys are kept in a HashMap
+        sendMapEvent(1L, 10);
+        listener.reset();
+        sendMapEvent(1, 20);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "k,value".split(","), new Object[] {1, 20});
+        sendMapEvent(1L, 30);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "k,value".split(","), new Object[] {1L, 40});
+        sendMapEvent(null, 5);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), "k,value".split(","), new Object[] {null, 5});
+
+        EPAssertionUtil.assertPropsPerRowAnyOrder(stmt.iterator(), "k,value".split(","), new Object[][] {{1L, 40}, {1, 20}, {null, 5}});
+    }
+
+    public void testManyGroups() {
+        epService.getEPAdministrator().createEPL("select longBoxed, count(*) as cnt from SupportBean#length(50000) group by longBoxed").addListener(listener);
+
+        int numGroups = 100000;
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < numGroups * 2; i++) {
+            SupportBean bean = new SupportBean();
+            bean.setLongBoxed((long) (i % numGroups));
+            epService.getEPRuntime().sendEvent(bean);
+        }
+        long delta = System.currentTimeMillis() - start;
+        log.info("Delta=" + delta);
+        assertEquals(1L, listener.getLastNewData()[0].get("cnt"));
+        assertTrue("Delta=" + delta, delta < 10000);
+    }
+
+    private void runAssertionKeyTypes(String hint, String agg, String key, Object keyOne, Object keyTwo) {
+        String[] fields = "key,value".split(",");
+        EPStatement stmt = epService.getEPAdministrator().createEPL(hint + "select " + key + " as key, " + agg + " from SupportBean#length(3) group by " + key);
+        stmt.addListener(listener);
+
+        sendEvent(keyOne, 10);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[] {keyOne, 10});
+        sendEvent(keyTwo, 20);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[] {keyTwo, 20});
+        sendEvent(keyOne, 30);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[] {keyOne, 40});
+        EPAssertionUtil.assertPropsPerRowAnyOrder(stmt.iterator(), fields, new Object[][] {{keyOne, 40}, {keyTwo, 20}});
+
+        // first event leaves the window
+        sendEvent(keyTwo, 40);
+        EventBean[] newData = listener.getNewDataListFlattened();
+        assertEquals(2, newData.length);
+        EPAssertionUtil.assertPropsPerRowAnyOrder(newData, fields, new Object[][] {{keyOne, 30}, {keyTwo, 60}});
+        listener.reset();
+
+        // all events for the first key leave the window
+        sendEvent(keyTwo, 50);
+        sendEvent(keyTwo, 60);
+        listener.reset();
+        EPAssertionUtil.assertPropsPerRowAnyOrder(stmt.iterator(), fields, new Object[][] {{keyTwo, 150}});
+
+        stmt.destroy();
+    }
+
+    private void sendEvent(Object key, int value) {
+        SupportBean bean = new SupportBean();
+        bean.setIntBoxed(value);
+        if (key instanceof Integer) {
+            bean.setIntPrimitive((Integer) key);
+        } else if (key instanceof Long) {
+            bean.setLongBoxed((Long) key);
+        } else if (key instanceof String) {
+            bean.setTheString((String) key);
+        } else {
+            // null key, must be the second key of the long or string assertion
+            bean.setLongBoxed(null);
+            bean.setTheString(null);
+        }
+        epService.getEPRuntime().sendEvent(bean);
+    }
+
+    private void sendMapEvent(Object k, int v) {
+        Map<String, Object> theEvent = new HashMap<String, Object>();
+        theEvent.put("k", k);
+        theEvent.put("v", v);
+        epService.getEPRuntime().sendEvent(theEvent, "MyKeyEvent");
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regression.rowrecog;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.EPServiceProvider;
+import com.espertech.esper.client.EPServiceProviderManager;
+import com.espertech.esper.client.EPStatement;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.client.time.CurrentTimeEvent;
+import com.espertech.esper.core.service.EPStatementSPI;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.rowregex.MatchRecognizeStatePoolStmtSvc;
+import com.espertech.esper.supportregression.bean.SupportBean;
+import com.espertech.esper.supportregression.client.SupportConfigFactory;
+import com.espertech.esper.supportregression.util.SupportMessageAssertUtil;
+import junit.framework.TestCase;
+
+public class TestRowPatternPartitionEvict extends TestCase {
+
+    private EPServiceProvider epService;
+    private SupportUpdateListener listener;
+
+    public void setUp() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType(SupportBean.class);
+        config.getEngineDefaults().getMatchRecognize().setMaxStates(1000L);
+        epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+        listener = new SupportUpdateListener();
+    }
+
+    protected void tearDown() throws Exception {
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+        listener = null;
+    }
+
+    public void testEvictLeastRecentlyUsed() {
+        String[] fields = "c0,c1".split(",");
+        String epl = "@Hint('matchrecog_partition_max=4') select * from SupportBean " +
+                "match_recognize (" +
+                "  partition by theString, longPrimitive " +
+                "  measures P1.theString as c0, P2.intPrimitive as c1" +
+                "  pattern (P1 P2) " +
+                "  define " +
+                "    P1 as P1.intPrimitive = 1," +
+                "    P2 as P2.intPrimitive = 2" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+
+        sendEvent("A", 1);
+        for (String key : "B,C,D".split(",")) {
+            sendEvent(key, 0);
+        }
+        assertEvicted(stmt, 0);
+
+        // each further idle partition evicts the least-recently used partition without partial matches
+        sendEvent("E", 0);
+        assertEvicted(stmt, 1);
+        sendEvent("C", 0);
+        sendEvent("F", 0);
+        assertEvicted(stmt, 2);
+        sendEvent("G", 0);
+        assertEvicted(stmt, 3);
+
+        // the partition with a partial match is retained
+        sendEvent("A", 2);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A", 2});
+
+        // an evicted partition gets created anew
+        sendEvent("B", 1);
+        sendEvent("B", 2);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"B", 2});
+    }
+
+    public void testEvictAged() {
+        String[] fields = "c0,c1".split(",");
+        sendTimer(0);
+        String epl = "@Hint('matchrecog_partition_aged=10') select * from SupportBean " +
+                "match_recognize (" +
+                "  partition by theString " +
+                "  measures P1.theString as c0, P2.intPrimitive as c1" +
+                "  pattern (P1 P2) " +
+                "  define " +
+                "    P1 as P1.intPrimitive = 1," +
+                "    P2 as P2.intPrimitive = 2" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+
+        sendEvent("A", 1);
+        sendEvent("B", 0);
+        sendEvent("C", 0);
+
+        sendTimer(5000);
+        sendEvent("D", 0);
+        assertEvicted(stmt, 0);
+
+        sendTimer(10000);
+        sendEvent("E", 0);
+        assertEvicted(stmt, 2);
+
+        sendTimer(15000);
+        sendEvent("F", 0);
+        assertEvicted(stmt, 2);
+
+        sendTimer(20000);
+        sendEvent("G", 0);
+        assertEvicted(stmt, 4);
+
+        sendEvent("A", 2);
+        EPAssertionUtil.assertProps(listener.assertOneGetNewAndReset(), fields, new Object[]{"A", 2});
+    }
+
+    public void testRemoveOldIsNotAccess() {
+        sendTimer(0);
+        String epl = "@Hint('matchrecog_partition_aged=10') select * from SupportBean#length(2) " +
+                "match_recognize (" +
+                "  partition by theString " +
+                "  measures P1.theString as c0, P2.intPrimitive as c1" +
+                "  pattern (P1 P2) " +
+                "  define " +
+                "    P1 as P1.intPrimitive = 1," +
+                "    P2 as P2.intPrimitive = 2 and prev(P2.intPrimitive) = 1" +
+                ")";
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        stmt.addListener(listener);
+
+        sendEvent("A", 0);
+        sendEvent("B", 0);
+
+        // expiring the events of partitions A and B does not count as access to A and B
+        sendTimer(8000);
+        sendEvent("C", 0);
+        sendTimer(12000);
+        sendEvent("D", 0);
+        assertEvicted(stmt, 2);
+        assertFalse(listener.isInvoked());
+    }
+
+    public void testInvalid() {
+        SupportMessageAssertUtil.tryInvalid(epService, "@Hint('matchrecog_partition_max=10') select * from SupportBean match_recognize (measures A as a pattern (A) define A as true)",
+                "Error starting statement: Hint 'MATCHRECOG_PARTITION_MAX' requires match-recognize partition-by");
+        SupportMessageAssertUtil.tryInvalid(epService, "@Hint('matchrecog_partition_aged=x') select * from SupportBean match_recognize (partition by theString measures A as a pattern (A) define A as true)",
+                "Error starting statement: Required hint value for hint 'MATCHRECOG_PARTITION_AGED' value 'x' could not be parsed as a double value");
+    }
+
+    private void assertEvicted(EPStatement stmt, long expected) {
+        MatchRecognizeStatePoolStmtSvc poolSvc = ((EPStatementSPI) stmt).getStatementContext().getMatchRecognizeStatePoolStmtSvc();
+        assertEquals(expected, poolSvc.getStmtHandler().getCountPartitionsEvicted());
+        assertEquals(expected, poolSvc.getEngineSvc().getPartitionsEvictedCount());
+    }
+
+    private void sendEvent(String theString, int intPrimitive) {
+        epService.getEPRuntime().sendEvent(new SupportBean(theString, intPrimitive));
+    }
+
+    private void sendTimer(long time) {
+        epService.getEPRuntime().sendEvent(new CurrentTimeEvent(time));
+    }
+}
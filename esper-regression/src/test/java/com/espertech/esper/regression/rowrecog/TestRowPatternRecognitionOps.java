@@ -22,6 +22,10 @@ import junit.framework.TestCase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 public class TestRowPatternRecognitionOps extends TestCase {
 
     private static final Logger log = LoggerFactory.getLogger(TestRowPatternRecognitionOps.class);
@@ -582,6 +586,63 @@ public class TestRowPatternRecognitionOps extends TestCase {
         if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
     }
 
+    public void testTransitionTable() {
+        Configuration config = SupportConfigFactory.getConfiguration();
+        config.addEventType("MyEvent", SupportRecogBean.class);
+        config.addImport(SupportTransitionTableFunction.class);
+        EPServiceProvider epService = EPServiceProviderManager.getDefaultProvider(config);
+        epService.initialize();
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.startTest(epService, this.getClass(), getName());}
+
+        Random random = new Random(1);
+        List<SupportRecogBean> events = new ArrayList<SupportRecogBean>();
+        for (int i = 0; i < 2000; i++) {
+            events.add(new SupportRecogBean("E" + i, Integer.toString(1 + random.nextInt(3)), random.nextInt(100)));
+        }
+
+        // event-local conditions evaluated once per event produce the same output as evaluation per partial match
+        String[] patterns = new String[]{
+            "pattern (A B C) define A as A.cat = '1', B as B.cat = '2', C as C.cat = '3'",
+            "pattern (A B+ C) define A as A.cat = '1', B as B.cat = '2', C as C.cat = '3'",
+            "pattern (A B*? C) define A as A.cat = '1', B as B.cat = '2', C as C.cat = '3'",
+            "pattern (A (B | D)+ C) define A as A.cat = '1', B as B.cat = '2', C as C.cat = '3', D as D.value > 95",
+            "pattern (A B{2,4} C) define A as A.cat = '1', B as B.value > 10, C as C.cat = '3'",
+            "pattern (A B+ C) define A as A.cat = '1', B as B.value > A.value, C as C.cat = '3'",
+        };
+        for (String pattern : patterns) {
+            String epl = "select * from MyEvent match_recognize (measures A.theString as a, C.theString as c all matches " + pattern + ")";
+            assertEquals(pattern, sendGetRows(epService, "@Hint('disable_matchrecog_transition_table') " + epl, events), sendGetRows(epService, epl, events));
+        }
+
+        // conditions that call a function are evaluated for each partial match, the undefined variable X keeps multiple partial matches waiting for C
+        String epl = "select * from MyEvent match_recognize (measures A.theString as a, C.theString as c all matches " +
+                "pattern (A X*? C) define A as A.cat = '1', C as SupportTransitionTableFunction.isCat(C.cat, '3'))";
+        List<SupportRecogBean> eventsFunction = events.subList(0, 100);
+        SupportTransitionTableFunction.reset();
+        List<String> rowsNoTable = sendGetRows(epService, "@Hint('disable_matchrecog_transition_table') " + epl, eventsFunction);
+        int countNoTable = SupportTransitionTableFunction.reset();
+        List<String> rowsTable = sendGetRows(epService, epl, eventsFunction);
+        assertEquals(rowsNoTable, rowsTable);
+        assertEquals(countNoTable, SupportTransitionTableFunction.reset());
+
+        if (InstrumentationHelper.ENABLED) { InstrumentationHelper.endTest();}
+    }
+
+    private static List<String> sendGetRows(EPServiceProvider epService, String epl, List<SupportRecogBean> events) {
+        EPStatement stmt = epService.getEPAdministrator().createEPL(epl);
+        SupportUpdateListener listener = new SupportUpdateListener();
+        stmt.addListener(listener);
+        for (SupportRecogBean theEvent : events) {
+            epService.getEPRuntime().sendEvent(theEvent);
+        }
+        List<String> rows = new ArrayList<String>();
+        for (EventBean event : listener.getNewDataListFlattened()) {
+            rows.add(event.get("a") + "/" + event.get("c"));
+        }
+        stmt.destroy();
+        return rows;
+    }
+
     public void testRegex()
     {
         assertTrue("aq".matches("^aq|^id"));
@@ -592,4 +653,19 @@ public class TestRowPatternRecognitionOps extends TestCase {
         assertFalse("aed".matches("a(q|i)?d"));
         assertFalse("a".matches("(a(b?)c)?"));
     }
+
+    public static class SupportTransitionTableFunction {
+        private static int countInvoked;
+
+        public static boolean isCat(String cat, String expected) {
+            countInvoked++;
+            return expected.equals(cat);
+        }
+
+        public static int reset() {
+            int count = countInvoked;
+            countInvoked = 0;
+            return count;
+        }
+    }
 }
@@ -294,6 +294,8 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean isNamedWindowConsumerDispatchPreserveOrder;
         private long namedWindowConsumerDispatchTimeout;
         private Locking namedWindowConsumerDispatchLocking;
+        private int namedWindowConsumerDispatchBatchSize;
+        private long namedWindowConsumerDispatchBatchMaxDelay;
 
         private long internalTimerMsecResolution;
         private boolean internalTimerEnabled;
@@ -302,14 +304,23 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean isThreadPoolInbound;
         private boolean isThreadPoolRouteExec;
         private boolean isThreadPoolOutbound;
+        private boolean isThreadPoolNamedWindowConsumer;
         private int threadPoolTimerExecNumThreads;
         private int threadPoolInboundNumThreads;
         private int threadPoolRouteExecNumThreads;
         private int threadPoolOutboundNumThreads;
+        private int threadPoolNamedWindowConsumerNumThreads;
         private Integer threadPoolTimerExecCapacity;
         private Integer threadPoolInboundCapacity;
         private Integer threadPoolRouteExecCapacity;
         private Integer threadPoolOutboundCapacity;
+        private Integer threadPoolNamedWindowConsumerCapacity;
+        private String threadPoolInboundShardContext;
+        private ThreadPoolWaitStrategy threadPoolTimerExecWaitStrategy;
+        private ThreadPoolWaitStrategy threadPoolInboundWaitStrategy;
+        private ThreadPoolWaitStrategy threadPoolRouteExecWaitStrategy;
+        private ThreadPoolWaitStrategy threadPoolOutboundWaitStrategy;
+        private ThreadPoolWaitStrategy threadPoolNamedWindowConsumerWaitStrategy;
 
         private boolean engineFairlock;
 
@@ -328,6 +339,8 @@ public class ConfigurationEngineDefaults implements Serializable {
             namedWindowConsumerDispatchTimeout = Long.MAX_VALUE;
             isNamedWindowConsumerDispatchPreserveOrder = true;
             namedWindowConsumerDispatchLocking = Locking.SPIN;
+            namedWindowConsumerDispatchBatchSize = 0;
+            namedWindowConsumerDispatchBatchMaxDelay = 100;
 
             internalTimerEnabled = true;
             internalTimerMsecResolution = 100;
@@ -336,11 +349,19 @@ public class ConfigurationEngineDefaults implements Serializable {
             isThreadPoolOutbound = false;
             isThreadPoolRouteExec = false;
             isThreadPoolTimerExec = false;
+            isThreadPoolNamedWindowConsumer = false;
 
             threadPoolTimerExecNumThreads = 2;
             threadPoolInboundNumThreads = 2;
             threadPoolRouteExecNumThreads = 2;
             threadPoolOutboundNumThreads = 2;
+            threadPoolNamedWindowConsumerNumThreads = 2;
+
+            threadPoolTimerExecWaitStrategy = ThreadPoolWaitStrategy.BLOCKING;
+            threadPoolInboundWaitStrategy = ThreadPoolWaitStrategy.BLOCKING;
+            threadPoolRouteExecWaitStrategy = ThreadPoolWaitStrategy.BLOCKING;
+            threadPoolOutboundWaitStrategy = ThreadPoolWaitStrategy.BLOCKING;
+            threadPoolNamedWindowConsumerWaitStrategy = ThreadPoolWaitStrategy.BLOCKING;
         }
 
         /**
@@ -690,6 +711,27 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.threadPoolInboundCapacity = capacity;
         }
 
+        /**
+         * Returns the name of the context that shards inbound threading, or null if inbound threading is not sharded (the default).
+         *
+         * @return context name or null if none defined
+         */
+        public String getThreadPoolInboundShardContext() {
+            return threadPoolInboundShardContext;
+        }
+
+        /**
+         * Sets the name of a hash-segmented or keyed-segmented context that shards inbound threading, or null if inbound threading is not sharded (the default).
+         * <p>
+         * When set, each inbound thread has its own queue and events are assigned to a thread based on the
+         * context partition key, so that each context partition is always processed by the same thread.
+         *
+         * @param contextName context name or null if none defined
+         */
+        public void setThreadPoolInboundShardContext(String contextName) {
+            this.threadPoolInboundShardContext = contextName;
+        }
+
         /**
          * Returns the capacity of the route execution queue, or null if none defined (the unbounded case, default).
          *
@@ -726,6 +768,152 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.threadPoolOutboundCapacity = capacity;
         }
 
+        /**
+         * Returns the wait strategy of the timer execution queue (default is blocking).
+         *
+         * @return wait strategy
+         */
+        public ThreadPoolWaitStrategy getThreadPoolTimerExecWaitStrategy() {
+            return threadPoolTimerExecWaitStrategy;
+        }
+
+        /**
+         * Sets the wait strategy of the timer execution queue (default is blocking).
+         *
+         * @param waitStrategy wait strategy
+         */
+        public void setThreadPoolTimerExecWaitStrategy(ThreadPoolWaitStrategy waitStrategy) {
+            this.threadPoolTimerExecWaitStrategy = waitStrategy;
+        }
+
+        /**
+         * Returns the wait strategy of the inbound queue (default is blocking).
+         *
+         * @return wait strategy
+         */
+        public ThreadPoolWaitStrategy getThreadPoolInboundWaitStrategy() {
+            return threadPoolInboundWaitStrategy;
+        }
+
+        /**
+         * Sets the wait strategy of the inbound queue (default is blocking).
+         *
+         * @param waitStrategy wait strategy
+         */
+        public void setThreadPoolInboundWaitStrategy(ThreadPoolWaitStrategy waitStrategy) {
+            this.threadPoolInboundWaitStrategy = waitStrategy;
+        }
+
+        /**
+         * Returns the wait strategy of the route execution queue (default is blocking).
+         *
+         * @return wait strategy
+         */
+        public ThreadPoolWaitStrategy getThreadPoolRouteExecWaitStrategy() {
+            return threadPoolRouteExecWaitStrategy;
+        }
+
+        /**
+         * Sets the wait strategy of the route execution queue (default is blocking).
+         *
+         * @param waitStrategy wait strategy
+         */
+        public void setThreadPoolRouteExecWaitStrategy(ThreadPoolWaitStrategy waitStrategy) {
+            this.threadPoolRouteExecWaitStrategy = waitStrategy;
+        }
+
+        /**
+         * Returns true for named window consumer dispatch threading enabled, the default is false for not enabled.
+         *
+         * @return indicator whether named window consumer dispatch threading is enabled
+         */
+        public boolean isThreadPoolNamedWindowConsumer() {
+            return isThreadPoolNamedWindowConsumer;
+        }
+
+        /**
+         * Set to true for named window consumer dispatch threading enabled, the default is false for not enabled.
+         * When enabled, named window results are delivered to consuming statements by a pool of threads partitioned by
+         * consuming statement, preserving the order of delivery per consuming statement.
+         *
+         * @param threadPoolNamedWindowConsumer indicator whether named window consumer dispatch threading is enabled
+         */
+        public void setThreadPoolNamedWindowConsumer(boolean threadPoolNamedWindowConsumer) {
+            isThreadPoolNamedWindowConsumer = threadPoolNamedWindowConsumer;
+        }
+
+        /**
+         * Returns the number of threads in the named window consumer dispatch thread pool.
+         *
+         * @return number of threads
+         */
+        public int getThreadPoolNamedWindowConsumerNumThreads() {
+            return threadPoolNamedWindowConsumerNumThreads;
+        }
+
+        /**
+         * Sets the number of threads in the thread pool for named window consumer dispatch threading.
+         *
+         * @param num number of threads
+         */
+        public void setThreadPoolNamedWindowConsumerNumThreads(int num) {
+            this.threadPoolNamedWindowConsumerNumThreads = num;
+        }
+
+        /**
+         * Returns the capacity of each named window consumer dispatch queue, or null if none defined (the unbounded case, default).
+         *
+         * @return capacity or null if none defined
+         */
+        public Integer getThreadPoolNamedWindowConsumerCapacity() {
+            return threadPoolNamedWindowConsumerCapacity;
+        }
+
+        /**
+         * Sets the capacity of each named window consumer dispatch queue, or null if none defined (the unbounded case, default).
+         *
+         * @param capacity capacity or null if none defined
+         */
+        public void setThreadPoolNamedWindowConsumerCapacity(Integer capacity) {
+            this.threadPoolNamedWindowConsumerCapacity = capacity;
+        }
+
+        /**
+         * Returns the wait strategy of the named window consumer dispatch queues (default is blocking).
+         *
+         * @return wait strategy
+         */
+        public ThreadPoolWaitStrategy getThreadPoolNamedWindowConsumerWaitStrategy() {
+            return threadPoolNamedWindowConsumerWaitStrategy;
+        }
+
+        /**
+         * Sets the wait strategy of the named window consumer dispatch queues (default is blocking).
+         *
+         * @param waitStrategy wait strategy
+         */
+        public void setThreadPoolNamedWindowConsumerWaitStrategy(ThreadPoolWaitStrategy waitStrategy) {
+            this.threadPoolNamedWindowConsumerWaitStrategy = waitStrategy;
+        }
+
+        /**
+         * Returns the wait strategy of the outbound queue (default is blocking).
+         *
+         * @return wait strategy
+         */
+        public ThreadPoolWaitStrategy getThreadPoolOutboundWaitStrategy() {
+            return threadPoolOutboundWaitStrategy;
+        }
+
+        /**
+         * Sets the wait strategy of the outbound queue (default is blocking).
+         *
+         * @param waitStrategy wait strategy
+         */
+        public void setThreadPoolOutboundWaitStrategy(ThreadPoolWaitStrategy waitStrategy) {
+            this.threadPoolOutboundWaitStrategy = waitStrategy;
+        }
+
         /**
          * Returns true if the engine-level lock is configured as a fair lock (default is false).
          * <p>
@@ -810,6 +998,47 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.namedWindowConsumerDispatchLocking = namedWindowConsumerDispatchLocking;
         }
 
+        /**
+         * Returns the number of named window results that are accumulated per consumer before delivery to
+         * named window consumers, or zero or one when results are delivered as they occur (the default).
+         *
+         * @return batch size
+         */
+        public int getNamedWindowConsumerDispatchBatchSize() {
+            return namedWindowConsumerDispatchBatchSize;
+        }
+
+        /**
+         * Sets the number of named window results that are accumulated per consumer before delivery to
+         * named window consumers. Any value greater than one enables micro-batching: consumers receive the
+         * accumulated insert and remove stream in a single update.
+         *
+         * @param namedWindowConsumerDispatchBatchSize batch size
+         */
+        public void setNamedWindowConsumerDispatchBatchSize(int namedWindowConsumerDispatchBatchSize) {
+            this.namedWindowConsumerDispatchBatchSize = namedWindowConsumerDispatchBatchSize;
+        }
+
+        /**
+         * Returns the maximum engine time in milliseconds that named window results are held in a micro-batch
+         * before delivery to named window consumers (default is 100).
+         *
+         * @return maximum delay milliseconds
+         */
+        public long getNamedWindowConsumerDispatchBatchMaxDelay() {
+            return namedWindowConsumerDispatchBatchMaxDelay;
+        }
+
+        /**
+         * Sets the maximum engine time in milliseconds that named window results are held in a micro-batch
+         * before delivery to named window consumers. Only applicable when a batch size greater than one is set.
+         *
+         * @param namedWindowConsumerDispatchBatchMaxDelay maximum delay milliseconds
+         */
+        public void setNamedWindowConsumerDispatchBatchMaxDelay(long namedWindowConsumerDispatchBatchMaxDelay) {
+            this.namedWindowConsumerDispatchBatchMaxDelay = namedWindowConsumerDispatchBatchMaxDelay;
+        }
+
         /**
          * Enumeration of blocking techniques.
          */
@@ -826,6 +1055,36 @@ public class ConfigurationEngineDefaults implements Serializable {
              */
             SUSPEND
         }
+
+        /**
+         * Enumeration of queue and wait strategies for thread pools.
+         * <p>
+         * Other than the blocking strategy, all strategies use a pre-allocated lock-free ring buffer as the queue
+         * and differ in how a thread waits for the ring buffer to become non-empty (consumers) or non-full (producers).
+         * The ring buffer capacity is the configured capacity rounded up to a power of two.
+         * </p>
+         */
+        public enum ThreadPoolWaitStrategy {
+            /**
+             * Lock-based blocking queue, the default.
+             */
+            BLOCKING,
+
+            /**
+             * Ring buffer and waiting threads busy-spin, for lowest latency at the cost of occupying a CPU per waiting thread.
+             */
+            BUSYSPIN,
+
+            /**
+             * Ring buffer and waiting threads yield.
+             */
+            YIELD,
+
+            /**
+             * Ring buffer and waiting threads park for a short time.
+             */
+            PARK
+        }
     }
 
     /**
@@ -1564,6 +1823,7 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean duckTyping;
         private MathContext mathContext;
         private TimeZone timeZone;
+        private boolean codeGeneration;
 
         /**
          * Ctor.
@@ -1739,6 +1999,29 @@ public class ConfigurationEngineDefaults implements Serializable {
         public void setTimeZone(TimeZone timeZone) {
             this.timeZone = timeZone;
         }
+
+        /**
+         * Returns true to compile validated where-clause, select-clause and filter expressions into
+         * generated byte code, or false (the default) to evaluate expressions by walking the evaluator tree.
+         * <p>
+         * Only expressions whose root is arithmetic, relational, equals or boolean logic are compiled,
+         * with primitive-typed paths for numeric operands. Any other sub-expression is invoked through its evaluator.
+         *
+         * @return indicator
+         */
+        public boolean isCodeGeneration() {
+            return codeGeneration;
+        }
+
+        /**
+         * Set to true to compile validated where-clause, select-clause and filter expressions into
+         * generated byte code, or false (the default) to evaluate expressions by walking the evaluator tree.
+         *
+         * @param codeGeneration indicator
+         */
+        public void setCodeGeneration(boolean codeGeneration) {
+            this.codeGeneration = codeGeneration;
+        }
     }
 
     /**
@@ -1751,8 +2034,15 @@ public class ConfigurationEngineDefaults implements Serializable {
         private boolean allowIsolatedService;
         private ThreadingProfile threadingProfile = ThreadingProfile.NORMAL;
         private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
+        private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTED;
         private int filterServiceMaxFilterWidth = 16;
         private int declaredExprValueCacheSize = 1;
+        private int parallelIndexBuildThreshold;
+        private int parallelFireAndForgetThreshold;
+        private int joinReplanInterval;
+        private boolean eventBeanPooling;
+        private String checkpointDirectory;
+        private long checkpointInterval = 60000;
 
         private static final long serialVersionUID = 0L;
 
@@ -1877,6 +2167,24 @@ public class ConfigurationEngineDefaults implements Serializable {
             this.filterServiceProfile = filterServiceProfile;
         }
 
+        /**
+         * Returns the scheduling service profile for tuning time-based operations.
+         *
+         * @return scheduling service profile
+         */
+        public SchedulingServiceProfile getSchedulingServiceProfile() {
+            return schedulingServiceProfile;
+        }
+
+        /**
+         * Set the scheduling service profile for tuning time-based operations.
+         *
+         * @param schedulingServiceProfile scheduling service profile
+         */
+        public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+            this.schedulingServiceProfile = schedulingServiceProfile;
+        }
+
         /**
          * Returns the maximum width for breaking up "or" expression in filters to
          * subexpressions for reverse indexing.
@@ -1914,6 +2222,126 @@ public class ConfigurationEngineDefaults implements Serializable {
         public void setDeclaredExprValueCacheSize(int declaredExprValueCacheSize) {
             this.declaredExprValueCacheSize = declaredExprValueCacheSize;
         }
+
+        /**
+         * Returns the minimum number of existing events for which building an index computes keys and sorts in parallel,
+         * or zero (the default) if index build is not parallel.
+         *
+         * @return threshold
+         */
+        public int getParallelIndexBuildThreshold() {
+            return parallelIndexBuildThreshold;
+        }
+
+        /**
+         * Sets the minimum number of existing events for which building an index computes keys and sorts in parallel
+         * using the engine parallel-compute thread pool, or zero to not build indexes in parallel.
+         *
+         * @param parallelIndexBuildThreshold threshold
+         */
+        public void setParallelIndexBuildThreshold(int parallelIndexBuildThreshold) {
+            this.parallelIndexBuildThreshold = parallelIndexBuildThreshold;
+        }
+
+        /**
+         * Returns the minimum number of rows for which a fire-and-forget query evaluates filter expressions in parallel,
+         * or zero (the default) if fire-and-forget queries evaluate filters using the calling thread.
+         *
+         * @return threshold
+         */
+        public int getParallelFireAndForgetThreshold() {
+            return parallelFireAndForgetThreshold;
+        }
+
+        /**
+         * Sets the minimum number of rows for which a fire-and-forget query evaluates filter expressions in parallel
+         * using the engine parallel-compute thread pool, or zero to not evaluate fire-and-forget query filters in parallel.
+         *
+         * @param parallelFireAndForgetThreshold threshold
+         */
+        public void setParallelFireAndForgetThreshold(int parallelFireAndForgetThreshold) {
+            this.parallelFireAndForgetThreshold = parallelFireAndForgetThreshold;
+        }
+
+        /**
+         * Returns the number of lookups after which joins of three or more streams re-evaluate the order of lookups
+         * based on the number of events per stream and index keys, or zero (the default) for a lookup order that is fixed at planning time.
+         *
+         * @return interval in number of lookups
+         */
+        public int getJoinReplanInterval() {
+            return joinReplanInterval;
+        }
+
+        /**
+         * Sets the number of lookups after which joins of three or more streams re-evaluate the order of lookups
+         * based on the number of events per stream and index keys, or zero for a lookup order that is fixed at planning time.
+         *
+         * @param joinReplanInterval interval in number of lookups
+         */
+        public void setJoinReplanInterval(int joinReplanInterval) {
+            this.joinReplanInterval = joinReplanInterval;
+        }
+
+        /**
+         * Returns indicator whether statements that insert object-array or map events into a stream reuse the event wrappers
+         * of routed events that no consuming statement retains, default false.
+         *
+         * @return indicator whether event wrappers are pooled
+         */
+        public boolean isEventBeanPooling() {
+            return eventBeanPooling;
+        }
+
+        /**
+         * Sets indicator whether statements that insert object-array or map events into a stream reuse the event wrappers
+         * of routed events that no consuming statement retains.
+         *
+         * @param eventBeanPooling indicator whether event wrappers are pooled
+         */
+        public void setEventBeanPooling(boolean eventBeanPooling) {
+            this.eventBeanPooling = eventBeanPooling;
+        }
+
+        /**
+         * Returns the directory that the engine writes checkpoints of named window and table contents to and restores
+         * them from, or null (the default) for no checkpoints.
+         *
+         * @return checkpoint directory
+         */
+        public String getCheckpointDirectory() {
+            return checkpointDirectory;
+        }
+
+        /**
+         * Sets the directory that the engine writes checkpoints of named window and table contents to and restores
+         * them from, or null for no checkpoints.
+         *
+         * @param checkpointDirectory checkpoint directory
+         */
+        public void setCheckpointDirectory(String checkpointDirectory) {
+            this.checkpointDirectory = checkpointDirectory;
+        }
+
+        /**
+         * Returns the number of milliseconds between checkpoints, default 60000, or zero to only write a checkpoint
+         * when the engine is destroyed.
+         *
+         * @return checkpoint interval in milliseconds
+         */
+        public long getCheckpointInterval() {
+            return checkpointInterval;
+        }
+
+        /**
+         * Sets the number of milliseconds between checkpoints, or zero to only write a checkpoint
+         * when the engine is destroyed.
+         *
+         * @param checkpointInterval checkpoint interval in milliseconds
+         */
+        public void setCheckpointInterval(long checkpointInterval) {
+            this.checkpointInterval = checkpointInterval;
+        }
     }
 
     /**
@@ -1943,7 +2371,29 @@ public class ConfigurationEngineDefaults implements Serializable {
         /**
          * For very dynamic filters that come and go in a highly threaded environment.
          */
-        READWRITE
+        READWRITE,
+
+        /**
+         * For many threads evaluating events against equals-type filters: evaluation reads copy-on-write snapshots
+         * and does not acquire locks, at the cost of copying upon filter changes.
+         */
+        LOCKFREE
+    }
+
+    /**
+     * Scheduling service profile.
+     */
+    public enum SchedulingServiceProfile {
+        /**
+         * Schedules kept sorted by time and slot, the default.
+         */
+        SORTED,
+
+        /**
+         * For a large number of schedules that are frequently added and removed, such as with many context partitions
+         * each having time windows or pattern timers.
+         */
+        TIMINGWHEEL
     }
 
     /**
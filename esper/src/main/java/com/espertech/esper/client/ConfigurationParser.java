@@ -930,6 +930,16 @@ class ConfigurationParser {
                     configuration.getEngineDefaults().getThreading().setNamedWindowConsumerDispatchLocking(
                             ConfigurationEngineDefaults.Threading.Locking.valueOf(value.toUpperCase(Locale.ENGLISH)));
                 }
+
+                if (subElement.getAttributes().getNamedItem("batch-size") != null) {
+                    String batchSizeText = subElement.getAttributes().getNamedItem("batch-size").getTextContent();
+                    configuration.getEngineDefaults().getThreading().setNamedWindowConsumerDispatchBatchSize(Integer.parseInt(batchSizeText));
+                }
+
+                if (subElement.getAttributes().getNamedItem("batch-max-delay-msec") != null) {
+                    String batchMaxDelayText = subElement.getAttributes().getNamedItem("batch-max-delay-msec").getTextContent();
+                    configuration.getEngineDefaults().getThreading().setNamedWindowConsumerDispatchBatchMaxDelay(Long.parseLong(batchMaxDelayText));
+                }
             }
             if (subElement.getNodeName().equals("internal-timer")) {
                 String enabledText = getRequiredAttribute(subElement, "enabled");
@@ -944,24 +954,36 @@ class ConfigurationParser {
                 configuration.getEngineDefaults().getThreading().setThreadPoolInbound(result.isEnabled());
                 configuration.getEngineDefaults().getThreading().setThreadPoolInboundNumThreads(result.getNumThreads());
                 configuration.getEngineDefaults().getThreading().setThreadPoolInboundCapacity(result.getCapacity());
+                configuration.getEngineDefaults().getThreading().setThreadPoolInboundWaitStrategy(result.getWaitStrategy());
+                configuration.getEngineDefaults().getThreading().setThreadPoolInboundShardContext(getOptionalAttribute(subElement, "shard-context"));
             }
             if (subElement.getNodeName().equals("threadpool-outbound")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 configuration.getEngineDefaults().getThreading().setThreadPoolOutbound(result.isEnabled());
                 configuration.getEngineDefaults().getThreading().setThreadPoolOutboundNumThreads(result.getNumThreads());
                 configuration.getEngineDefaults().getThreading().setThreadPoolOutboundCapacity(result.getCapacity());
+                configuration.getEngineDefaults().getThreading().setThreadPoolOutboundWaitStrategy(result.getWaitStrategy());
             }
             if (subElement.getNodeName().equals("threadpool-timerexec")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 configuration.getEngineDefaults().getThreading().setThreadPoolTimerExec(result.isEnabled());
                 configuration.getEngineDefaults().getThreading().setThreadPoolTimerExecNumThreads(result.getNumThreads());
                 configuration.getEngineDefaults().getThreading().setThreadPoolTimerExecCapacity(result.getCapacity());
+                configuration.getEngineDefaults().getThreading().setThreadPoolTimerExecWaitStrategy(result.getWaitStrategy());
             }
             if (subElement.getNodeName().equals("threadpool-routeexec")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 configuration.getEngineDefaults().getThreading().setThreadPoolRouteExec(result.isEnabled());
                 configuration.getEngineDefaults().getThreading().setThreadPoolRouteExecNumThreads(result.getNumThreads());
                 configuration.getEngineDefaults().getThreading().setThreadPoolRouteExecCapacity(result.getCapacity());
+                configuration.getEngineDefaults().getThreading().setThreadPoolRouteExecWaitStrategy(result.getWaitStrategy());
+            }
+            if (subElement.getNodeName().equals("threadpool-nwconsumer")) {
+                ThreadPoolConfig result = parseThreadPoolConfig(subElement);
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumer(result.isEnabled());
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerNumThreads(result.getNumThreads());
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerCapacity(result.getCapacity());
+                configuration.getEngineDefaults().getThreading().setThreadPoolNamedWindowConsumerWaitStrategy(result.getWaitStrategy());
             }
         }
     }
@@ -979,7 +1001,13 @@ class ConfigurationParser {
             capacity = Integer.parseInt(capacityStr);
         }
 
-        return new ThreadPoolConfig(isEnabled, numThreads, capacity);
+        String waitStrategyStr = getOptionalAttribute(parentElement, "wait-strategy");
+        ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy waitStrategy = ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING;
+        if (waitStrategyStr != null) {
+            waitStrategy = ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.valueOf(waitStrategyStr.toUpperCase(Locale.ENGLISH));
+        }
+
+        return new ThreadPoolConfig(isEnabled, numThreads, capacity, waitStrategy);
     }
 
     private static void handleDefaultsViewResources(Configuration configuration, Element parentElement) {
@@ -1251,6 +1279,12 @@ class ConfigurationParser {
             TimeZone timeZone = TimeZone.getTimeZone(timeZoneStr);
             configuration.getEngineDefaults().getExpression().setTimeZone(timeZone);
         }
+
+        String codeGenerationStr = getOptionalAttribute(parentElement, "code-generation");
+        if (codeGenerationStr != null) {
+            boolean codeGeneration = Boolean.parseBoolean(codeGenerationStr);
+            configuration.getEngineDefaults().getExpression().setCodeGeneration(codeGeneration);
+        }
     }
 
     private static void handleExecution(Configuration configuration, Element parentElement) {
@@ -1279,6 +1313,11 @@ class ConfigurationParser {
             ConfigurationEngineDefaults.FilterServiceProfile profile = ConfigurationEngineDefaults.FilterServiceProfile.valueOf(filterServiceProfileStr.toUpperCase(Locale.ENGLISH));
             configuration.getEngineDefaults().getExecution().setFilterServiceProfile(profile);
         }
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null) {
+            ConfigurationEngineDefaults.SchedulingServiceProfile profile = ConfigurationEngineDefaults.SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase(Locale.ENGLISH));
+            configuration.getEngineDefaults().getExecution().setSchedulingServiceProfile(profile);
+        }
         String filterServiceMaxFilterWidthStr = getOptionalAttribute(parentElement, "filter-service-max-filter-width");
         if (filterServiceMaxFilterWidthStr != null) {
             configuration.getEngineDefaults().getExecution().setFilterServiceMaxFilterWidth(Integer.parseInt(filterServiceMaxFilterWidthStr));
@@ -1292,6 +1331,30 @@ class ConfigurationParser {
         if (declExprValueCacheSizeStr != null) {
             configuration.getEngineDefaults().getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
         }
+        String parallelIndexBuildThresholdStr = getOptionalAttribute(parentElement, "parallel-index-build-threshold");
+        if (parallelIndexBuildThresholdStr != null) {
+            configuration.getEngineDefaults().getExecution().setParallelIndexBuildThreshold(Integer.parseInt(parallelIndexBuildThresholdStr));
+        }
+        String parallelFireAndForgetThresholdStr = getOptionalAttribute(parentElement, "parallel-fire-and-forget-threshold");
+        if (parallelFireAndForgetThresholdStr != null) {
+            configuration.getEngineDefaults().getExecution().setParallelFireAndForgetThreshold(Integer.parseInt(parallelFireAndForgetThresholdStr));
+        }
+        String joinReplanIntervalStr = getOptionalAttribute(parentElement, "join-replan-interval");
+        if (joinReplanIntervalStr != null) {
+            configuration.getEngineDefaults().getExecution().setJoinReplanInterval(Integer.parseInt(joinReplanIntervalStr));
+        }
+        String eventBeanPoolingStr = getOptionalAttribute(parentElement, "event-bean-pooling");
+        if (eventBeanPoolingStr != null) {
+            configuration.getEngineDefaults().getExecution().setEventBeanPooling(Boolean.parseBoolean(eventBeanPoolingStr));
+        }
+        String checkpointDirectoryStr = getOptionalAttribute(parentElement, "checkpoint-directory");
+        if (checkpointDirectoryStr != null) {
+            configuration.getEngineDefaults().getExecution().setCheckpointDirectory(checkpointDirectoryStr);
+        }
+        String checkpointIntervalStr = getOptionalAttribute(parentElement, "checkpoint-interval");
+        if (checkpointIntervalStr != null) {
+            configuration.getEngineDefaults().getExecution().setCheckpointInterval(Long.parseLong(checkpointIntervalStr));
+        }
     }
 
     private static void handleDefaultScriptConfig(Configuration configuration, Element parentElement) {
@@ -1465,11 +1528,13 @@ class ConfigurationParser {
         private boolean enabled;
         private int numThreads;
         private Integer capacity;
+        private ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy waitStrategy;
 
-        public ThreadPoolConfig(boolean enabled, int numThreads, Integer capacity) {
+        public ThreadPoolConfig(boolean enabled, int numThreads, Integer capacity, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy waitStrategy) {
             this.enabled = enabled;
             this.numThreads = numThreads;
             this.capacity = capacity;
+            this.waitStrategy = waitStrategy;
         }
 
         public boolean isEnabled() {
@@ -1483,6 +1548,10 @@ class ConfigurationParser {
         public Integer getCapacity() {
             return capacity;
         }
+
+        public ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
     }
 
     private static Logger log = LoggerFactory.getLogger(ConfigurationParser.class);
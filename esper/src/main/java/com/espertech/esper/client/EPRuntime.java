@@ -37,6 +37,29 @@ public interface EPRuntime {
      */
     public void sendEvent(Object object) throws EPException;
 
+    /**
+     * Send a batch of events represented by plain Java objects to the event stream processing runtime.
+     * <p>
+     * Sending a batch is equivalent to sending each event in the same order by means of {@link #sendEvent(Object)}:
+     * results are dispatched to listeners and inserted-into events are processed after each event.
+     * For events that do not cause any output the runtime retains the main processing lock and thread-local state
+     * between events, reducing the per-event overhead.
+     *
+     * @param objects are the events to sent to the runtime
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    public void sendEvents(Object[] objects) throws EPException;
+
+    /**
+     * Send a batch of events represented by plain Java objects to the event stream processing runtime.
+     * <p>
+     * Equivalent to {@link #sendEvents(Object[])}.
+     *
+     * @param objects are the events to sent to the runtime
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    public void sendEvents(List<?> objects) throws EPException;
+
     /**
      * Send a map containing event property values to the event stream processing runtime.
      * <p>
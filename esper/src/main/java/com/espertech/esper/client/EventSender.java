@@ -32,6 +32,17 @@ public interface EventSender {
      */
     public void sendEvent(Object theEvent) throws EPException;
 
+    /**
+     * Processes the event objects in the order provided.
+     * <p>
+     * Processing a batch of event objects is equivalent to processing each event object by means of {@link #sendEvent(Object)}
+     * in the same order, however the runtime may reduce the per-event overhead of locking and thread-local access.
+     *
+     * @param events to process
+     * @throws EPException if a runtime error occured.
+     */
+    public void sendEvents(Object[] events) throws EPException;
+
     /**
      * Route the event object back to the event stream processing runtime for internal dispatching,
      * to avoid the possibility of a stack overflow due to nested calls to sendEvent.
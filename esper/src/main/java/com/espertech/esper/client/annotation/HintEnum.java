@@ -26,6 +26,24 @@ public enum HintEnum {
      */
     ITERATE_ONLY("ITERATE_ONLY", false, false, false),
 
+    /**
+     * For use with match_recognize, disables evaluating each define-clause condition that only depends on the current event
+     * once per event and instead evaluates conditions for each active state.
+     */
+    DISABLE_MATCHRECOG_TRANSITION_TABLE("DISABLE_MATCHRECOG_TRANSITION_TABLE", false, false, false),
+
+    /**
+     * For use with match_recognize and partition-by, evict partitions that have no partial matches based on time. The number of seconds after
+     * which a partition that receives no events is evicted.
+     */
+    MATCHRECOG_PARTITION_AGED("MATCHRECOG_PARTITION_AGED", true, true, false),
+
+    /**
+     * For use with match_recognize and partition-by, evict the least-recently used partitions that have no partial matches
+     * when the number of partitions exceeds this number.
+     */
+    MATCHRECOG_PARTITION_MAX("MATCHRECOG_PARTITION_MAX", true, true, false),
+
     /**
      * For use with group-by, disabled reclaim groups.
      */
@@ -105,7 +123,12 @@ public enum HintEnum {
     /**
      * For use with output rate limiting to enable certain optimization that may however change output.
      */
-    ENABLE_OUTPUTLIMIT_OPT("ENABLE_OUTPUTLIMIT_OPT", false, false, false);
+    ENABLE_OUTPUTLIMIT_OPT("ENABLE_OUTPUTLIMIT_OPT", false, false, false),
+
+    /**
+     * For use with create-named-window statements for object-array event types, to keep the column values of rows held by the named window outside of the Java heap.
+     */
+    OFF_HEAP("OFF_HEAP", false, false, false);
 
     private final String value;
     private final boolean acceptsParameters;
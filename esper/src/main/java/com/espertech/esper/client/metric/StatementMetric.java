@@ -23,6 +23,7 @@ public class StatementMetric extends MetricEvent {
     private AtomicLong numInput;
     private AtomicLong numOutputRStream;
     private AtomicLong numOutputIStream;
+    private AtomicLong numFullTableScan;
 
     /**
      * Ctor.
@@ -38,6 +39,7 @@ public class StatementMetric extends MetricEvent {
         this.numOutputIStream = new AtomicLong();
         this.numOutputRStream = new AtomicLong();
         this.numInput = new AtomicLong();
+        this.numFullTableScan = new AtomicLong();
     }
 
     /**
@@ -156,4 +158,22 @@ public class StatementMetric extends MetricEvent {
     public void addNumInput(long numInputAdd) {
         numInput.addAndGet(numInputAdd);
     }
+
+    /**
+     * Returns the number of full table scans performed by on-trigger statements against a named window or table.
+     *
+     * @return number of full table scans
+     */
+    public long getNumFullTableScan() {
+        return numFullTableScan.get();
+    }
+
+    /**
+     * Adds number of full table scans.
+     *
+     * @param numFullTableScanAdd to add
+     */
+    public void addNumFullTableScan(long numFullTableScanAdd) {
+        numFullTableScan.addAndGet(numFullTableScanAdd);
+    }
 }
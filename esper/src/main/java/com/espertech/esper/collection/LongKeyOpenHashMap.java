@@ -0,0 +1,257 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import java.util.*;
+
+/**
+ * Hash map for group keys that are boxed long values, storing keys as primitive long values in an open-addressing
+ * table with linear probing, for use in place of a HashMap when grouping by a single long-typed expression.
+ * <p>
+ * The map does not allocate entry objects and does not retain the boxed key instances.
+ * Keys are returned as Long instances when iterating.
+ * Null keys, as well as keys that are not Long instances, which can only occur when an event provides a value that does not
+ * match the declared property type, are kept in a separate HashMap. The map does not allow null values.
+ * </p>
+ *
+ * @param <V> value type
+ */
+public class LongKeyOpenHashMap<V> extends AbstractMap<Object, V> {
+    private final static int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+    private Map<Object, V> otherKeys;
+    private int modCount;
+    private EntrySet entrySet;
+
+    /**
+     * Ctor.
+     */
+    public LongKeyOpenHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    public V get(Object key) {
+        if (!(key instanceof Long)) {
+            return otherKeys == null ? null : otherKeys.get(key);
+        }
+        int slot = find((Long) key);
+        return slot == -1 ? null : (V) values[slot];
+    }
+
+    public boolean containsKey(Object key) {
+        if (!(key instanceof Long)) {
+            return otherKeys != null && otherKeys.containsKey(key);
+        }
+        return find((Long) key) != -1;
+    }
+
+    public V put(Object key, V value) {
+        if (value == null) {
+            throw new NullPointerException("Collection does not allow null values");
+        }
+        if (!(key instanceof Long)) {
+            if (otherKeys == null) {
+                otherKeys = new HashMap<Object, V>();
+            }
+            V existing = otherKeys.put(key, value);
+            if (existing == null) {
+                size++;
+                modCount++;
+            }
+            return existing;
+        }
+        long theKey = (Long) key;
+        int slot = hash(theKey) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == theKey) {
+                V existing = (V) values[slot];
+                values[slot] = value;
+                return existing;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = theKey;
+        values[slot] = value;
+        size++;
+        modCount++;
+        if (size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return null;
+    }
+
+    public V remove(Object key) {
+        if (!(key instanceof Long)) {
+            if (otherKeys == null) {
+                return null;
+            }
+            V existing = otherKeys.remove(key);
+            if (existing != null) {
+                size--;
+                modCount++;
+            }
+            return existing;
+        }
+        int slot = find((Long) key);
+        if (slot == -1) {
+            return null;
+        }
+        V existing = (V) values[slot];
+        removeSlot(slot);
+        return existing;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (values.length > INITIAL_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        } else {
+            Arrays.fill(values, null);
+        }
+        otherKeys = null;
+        size = 0;
+        modCount++;
+    }
+
+    public Set<Entry<Object, V>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private int find(long key) {
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    private void removeSlot(int slot) {
+        // shift back following entries of the same probe sequence so that lookups need no tombstones
+        int free = slot;
+        int current = slot;
+        while (true) {
+            current = (current + 1) & mask;
+            if (values[current] == null) {
+                break;
+            }
+            int home = hash(keys[current]) & mask;
+            boolean isBetween = free <= current ? free < home && home <= current : free < home || home <= current;
+            if (!isBetween) {
+                keys[free] = keys[current];
+                values[free] = values[current];
+                free = current;
+            }
+        }
+        values[free] = null;
+        size--;
+        modCount++;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) {
+                continue;
+            }
+            int slot = hash(oldKeys[i]) & mask;
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity >> 1;
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private class EntrySet extends AbstractSet<Entry<Object, V>> {
+        public Iterator<Entry<Object, V>> iterator() {
+            return new EntryIterator();
+        }
+
+        public int size() {
+            return size;
+        }
+    }
+
+    private class EntryIterator implements Iterator<Entry<Object, V>> {
+        private final int expectedModCount = modCount;
+        private final Iterator<Entry<Object, V>> otherKeysIterator = otherKeys == null ? null : otherKeys.entrySet().iterator();
+        private int slot = -1;
+
+        EntryIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return slot < values.length || (otherKeysIterator != null && otherKeysIterator.hasNext());
+        }
+
+        public Entry<Object, V> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (slot >= values.length) {
+                if (otherKeysIterator == null) {
+                    throw new NoSuchElementException();
+                }
+                return otherKeysIterator.next();
+            }
+            Entry<Object, V> entry = new AbstractMap.SimpleImmutableEntry<Object, V>(keys[slot], (V) values[slot]);
+            advance();
+            return entry;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException("Remove not supported");
+        }
+
+        private void advance() {
+            slot++;
+            while (slot < values.length && values[slot] == null) {
+                slot++;
+            }
+        }
+    }
+}
@@ -35,15 +35,7 @@ public final class MultiKeyUntyped implements MetaDefItem, Serializable {
             throw new IllegalArgumentException("The array of keys must not be null");
         }
 
-        int total = 0;
-        for (int i = 0; i < keys.length; i++) {
-            if (keys[i] != null) {
-                total *= 31;
-                total ^= keys[i].hashCode();
-            }
-        }
-
-        this.hashCode = total;
+        this.hashCode = computeHashCode(keys);
         this.keys = keys;
     }
 
@@ -132,6 +124,23 @@ public final class MultiKeyUntyped implements MetaDefItem, Serializable {
         return hashCode;
     }
 
+    /**
+     * Computes the hash code for the key objects, returning the same value as the hash code of a multi-key of the same key objects.
+     *
+     * @param keys key objects
+     * @return hash code
+     */
+    public static int computeHashCode(Object[] keys) {
+        int total = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) {
+                total *= 31;
+                total ^= keys[i].hashCode();
+            }
+        }
+        return total;
+    }
+
     public final String toString() {
         return "MultiKeyUntyped" + Arrays.asList(keys).toString();
     }
@@ -0,0 +1,425 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+
+import java.util.*;
+
+/**
+ * Sorted collection of events keyed by a sort key that supports positional access, for use by sorted and ranked data windows.
+ * <p>
+ * The collection is a balanced (AVL) binary tree in which each node holds a single event and the number of
+ * nodes in its subtree. Events are ordered by sort key using the comparator provided and, for equal sort keys,
+ * by the order of insertion: events added via {@link #addFirst} sort before existing events of the same key and
+ * events added via {@link #addLast} sort after existing events of the same key.
+ * </p>
+ * <p>
+ * Insertion, removal and lookup of the event at a given position all take logarithmic time.
+ * The nodes returned by the add methods can be used as handles for removal without a search.
+ * </p>
+ */
+public final class OrderStatisticEventTree extends AbstractCollection<EventBean> {
+    private final Comparator<Object> comparator;
+    private Node root;
+    private long frontSequence;
+    private long backSequence;
+    private int modCount;
+    private Node removedMin;
+    private boolean removedFound;
+
+    /**
+     * Ctor.
+     *
+     * @param comparator comparator for sort keys
+     */
+    public OrderStatisticEventTree(Comparator<Object> comparator) {
+        this.comparator = comparator;
+    }
+
+    /**
+     * Add an event to sort before any other event of the same sort key.
+     *
+     * @param key   sort key
+     * @param event event
+     * @return node handle for the event
+     */
+    public Node addFirst(Object key, EventBean event) {
+        Node node = new Node(key, --frontSequence, event);
+        root = insert(root, node);
+        modCount++;
+        return node;
+    }
+
+    /**
+     * Add an event to sort after any other event of the same sort key.
+     *
+     * @param key   sort key
+     * @param event event
+     * @return node handle for the event
+     */
+    public Node addLast(Object key, EventBean event) {
+        Node node = new Node(key, backSequence++, event);
+        root = insert(root, node);
+        modCount++;
+        return node;
+    }
+
+    /**
+     * Remove an event given its sort key, the event is compared by equals.
+     *
+     * @param key   sort key
+     * @param event event to remove
+     * @return true if removed, false if not found
+     */
+    public boolean remove(Object key, EventBean event) {
+        Node node = find(root, key, event);
+        if (node == null) {
+            return false;
+        }
+        return remove(node);
+    }
+
+    /**
+     * Remove an event given the node handle returned when it was added.
+     *
+     * @param node node handle
+     * @return true if removed, false if the node was not part of the tree
+     */
+    public boolean remove(Node node) {
+        removedFound = false;
+        root = remove(root, node);
+        if (removedFound) {
+            modCount++;
+        }
+        return removedFound;
+    }
+
+    /**
+     * Remove and return the last event.
+     *
+     * @return last node or null if empty
+     */
+    public Node removeLast() {
+        Node last = lastNode();
+        if (last != null) {
+            remove(last);
+        }
+        return last;
+    }
+
+    /**
+     * Remove and return the first event among those events that have the last sort key.
+     *
+     * @return removed node or null if empty
+     */
+    public Node removeFirstOfLastKey() {
+        Node last = lastNode();
+        if (last == null) {
+            return null;
+        }
+        Node first = lowerBound(last.key);
+        remove(first);
+        return first;
+    }
+
+    /**
+     * Returns the event at the given position.
+     *
+     * @param index position starting at zero
+     * @return event or null if the position is out of range
+     */
+    public EventBean get(int index) {
+        if (index < 0 || index >= size(root)) {
+            return null;
+        }
+        Node node = root;
+        while (node != null) {
+            int leftSize = size(node.left);
+            if (index < leftSize) {
+                node = node.left;
+            } else if (index == leftSize) {
+                return node.event;
+            } else {
+                index -= leftSize + 1;
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the last sort key.
+     *
+     * @return sort key or null if empty
+     */
+    public Object lastKey() {
+        Node last = lastNode();
+        return last == null ? null : last.key;
+    }
+
+    public int size() {
+        return size(root);
+    }
+
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    public void clear() {
+        root = null;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator in sort order, the iterator does not support removal.
+     *
+     * @return iterator
+     */
+    public Iterator<EventBean> iterator() {
+        return new TreeIterator();
+    }
+
+    private Node lastNode() {
+        Node node = root;
+        if (node == null) {
+            return null;
+        }
+        while (node.right != null) {
+            node = node.right;
+        }
+        return node;
+    }
+
+    private Node lowerBound(Object key) {
+        Node node = root;
+        Node best = null;
+        while (node != null) {
+            if (comparator.compare(key, node.key) <= 0) {
+                best = node;
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return best;
+    }
+
+    private Node find(Node node, Object key, EventBean event) {
+        while (node != null) {
+            int compared = comparator.compare(key, node.key);
+            if (compared < 0) {
+                node = node.left;
+            } else if (compared > 0) {
+                node = node.right;
+            } else {
+                if (node.event.equals(event)) {
+                    return node;
+                }
+                Node found = find(node.left, key, event);
+                if (found != null) {
+                    return found;
+                }
+                node = node.right;
+            }
+        }
+        return null;
+    }
+
+    private int compare(Node node, Object key, long sequence) {
+        int compared = comparator.compare(key, node.key);
+        if (compared != 0) {
+            return compared;
+        }
+        return Long.compare(sequence, node.sequence);
+    }
+
+    private Node insert(Node node, Node inserted) {
+        if (node == null) {
+            return inserted;
+        }
+        if (compare(node, inserted.key, inserted.sequence) < 0) {
+            node.left = insert(node.left, inserted);
+        } else {
+            node.right = insert(node.right, inserted);
+        }
+        return balance(node);
+    }
+
+    private Node remove(Node node, Node removed) {
+        if (node == null) {
+            return null;
+        }
+        int compared = compare(node, removed.key, removed.sequence);
+        if (compared < 0) {
+            node.left = remove(node.left, removed);
+        } else if (compared > 0) {
+            node.right = remove(node.right, removed);
+        } else {
+            if (node != removed) {
+                return node;
+            }
+            removedFound = true;
+            Node left = node.left;
+            Node right = node.right;
+            node.left = null;
+            node.right = null;
+            node.size = 1;
+            node.height = 1;
+            if (left == null) {
+                return right;
+            }
+            if (right == null) {
+                return left;
+            }
+            // relink the successor node in place of the removed node so that node handles remain valid
+            right = removeMin(right);
+            Node successor = removedMin;
+            removedMin = null;
+            successor.left = left;
+            successor.right = right;
+            return balance(successor);
+        }
+        return balance(node);
+    }
+
+    private Node removeMin(Node node) {
+        if (node.left == null) {
+            removedMin = node;
+            return node.right;
+        }
+        node.left = removeMin(node.left);
+        return balance(node);
+    }
+
+    private Node balance(Node node) {
+        update(node);
+        int factor = height(node.left) - height(node.right);
+        if (factor > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        update(node);
+        update(left);
+        return left;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        update(node);
+        update(right);
+        return right;
+    }
+
+    private static void update(Node node) {
+        node.size = size(node.left) + size(node.right) + 1;
+        node.height = Math.max(height(node.left), height(node.right)) + 1;
+    }
+
+    private static int size(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Tree node holding a single event.
+     */
+    public final static class Node {
+        private final Object key;
+        private final long sequence;
+        private final EventBean event;
+        private Node left;
+        private Node right;
+        private int size = 1;
+        private int height = 1;
+
+        private Node(Object key, long sequence, EventBean event) {
+            this.key = key;
+            this.sequence = sequence;
+            this.event = event;
+        }
+
+        /**
+         * Returns the sort key.
+         *
+         * @return sort key
+         */
+        public Object getKey() {
+            return key;
+        }
+
+        /**
+         * Returns the event.
+         *
+         * @return event
+         */
+        public EventBean getEvent() {
+            return event;
+        }
+    }
+
+    private class TreeIterator implements Iterator<EventBean> {
+        private final ArrayDeque<Node> stack = new ArrayDeque<Node>();
+        private final int expectedModCount;
+
+        TreeIterator() {
+            expectedModCount = modCount;
+            pushLeft(root);
+        }
+
+        public boolean hasNext() {
+            return !stack.isEmpty();
+        }
+
+        public EventBean next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node node = stack.pop();
+            pushLeft(node.right);
+            return node.event;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void pushLeft(Node node) {
+            while (node != null) {
+                stack.push(node);
+                node = node.left;
+            }
+        }
+    }
+}
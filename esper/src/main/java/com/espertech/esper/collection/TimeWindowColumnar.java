@@ -0,0 +1,305 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.view.DataWindowViewFactory;
+import com.espertech.esper.view.ViewDataVisitor;
+
+import java.util.*;
+
+/**
+ * Container for events and their timestamps that keeps timestamps in a primitive long array and events
+ * in a parallel array, both used as a ring buffer that grows as needed.
+ * Events can be expired from the window via the expireEvents method when their timestamp is before
+ * (or less then) an expiry timestamp passed in. Expiry removes the events from the window and copies them
+ * in bulk into the returned array.
+ * <p>
+ * It is assumed that the timestamp passed to the add method is ascending. Adding an event does not allocate
+ * unless the arrays must grow. Removal of individual events is supported if remove stream support is requested,
+ * in which case a reverse index is built on the first removal and maintained thereafter.
+ * Removed events leave an empty slot in the arrays until their timestamp expires.
+ * </p>
+ */
+public final class TimeWindowColumnar implements Iterable<EventBean> {
+    private final static int INITIAL_CAPACITY = 16;
+
+    private final boolean isSupportRemoveStream;
+    private long[] timestamps;
+    private EventBean[] events;
+    private int mask;
+    private int head;
+    private int count;
+    private int size;
+    private long headSequence;
+    private Map<EventBean, Long> reverseIndex;
+
+    /**
+     * Ctor.
+     *
+     * @param isSupportRemoveStream true to indicate the time window should support effective removal of events
+     *                              in the window based on the remove stream events received, or false to not accomodate removal at all
+     */
+    public TimeWindowColumnar(boolean isSupportRemoveStream) {
+        this.isSupportRemoveStream = isSupportRemoveStream;
+        this.timestamps = new long[INITIAL_CAPACITY];
+        this.events = new EventBean[INITIAL_CAPACITY];
+        this.mask = INITIAL_CAPACITY - 1;
+    }
+
+    /**
+     * Adjust expiry dates.
+     *
+     * @param delta delta to adjust for
+     */
+    public void adjust(long delta) {
+        for (int i = 0; i < count; i++) {
+            timestamps[(head + i) & mask] += delta;
+        }
+    }
+
+    /**
+     * Adds event to the time window for the specified timestamp.
+     *
+     * @param timestamp - the time slot for the event
+     * @param bean      - event to add
+     */
+    public void add(long timestamp, EventBean bean) {
+        if (count == events.length) {
+            grow();
+        }
+        int slot = (head + count) & mask;
+        timestamps[slot] = timestamp;
+        events[slot] = bean;
+        if (reverseIndex != null) {
+            reverseIndex.put(bean, headSequence + count);
+        }
+        count++;
+        size++;
+    }
+
+    /**
+     * Removes the event from the window, if remove stream handling is enabled.
+     *
+     * @param theEvent to remove
+     */
+    public void remove(EventBean theEvent) {
+        if (!isSupportRemoveStream) {
+            throw new UnsupportedOperationException("Time window does not accept event removal");
+        }
+        if (reverseIndex == null) {
+            reverseIndex = new HashMap<EventBean, Long>();
+            for (int i = 0; i < count; i++) {
+                EventBean bean = events[(head + i) & mask];
+                if (bean != null) {
+                    reverseIndex.put(bean, headSequence + i);
+                }
+            }
+        }
+        Long sequence = reverseIndex.remove(theEvent);
+        if (sequence == null) {
+            return;
+        }
+        int slot = (head + (int) (sequence - headSequence)) & mask;
+        events[slot] = null;
+        size--;
+        trimHead();
+    }
+
+    /**
+     * Return and remove events with timestamps earlier (less) then the timestamp passed in,
+     * returning the events expired.
+     *
+     * @param expireBefore is the timestamp from which on to keep events in the window
+     * @return events expired and removed from the window, or null if none expired
+     */
+    public EventBean[] expireEvents(long expireBefore) {
+        int numExpired = 0;
+        while (numExpired < count && timestamps[(head + numExpired) & mask] < expireBefore) {
+            numExpired++;
+        }
+        if (numExpired == 0) {
+            return null;
+        }
+
+        // copy the expired range, which is at most two segments of the ring
+        EventBean[] expired = new EventBean[numExpired];
+        int first = Math.min(numExpired, events.length - head);
+        System.arraycopy(events, head, expired, 0, first);
+        if (first < numExpired) {
+            System.arraycopy(events, 0, expired, first, numExpired - first);
+        }
+        Arrays.fill(events, head, head + first, null);
+        if (first < numExpired) {
+            Arrays.fill(events, 0, numExpired - first, null);
+        }
+        head = (head + numExpired) & mask;
+        count -= numExpired;
+        headSequence += numExpired;
+
+        // remove empty slots left by removed events
+        int numEvents = 0;
+        for (int i = 0; i < expired.length; i++) {
+            if (expired[i] != null) {
+                if (numEvents != i) {
+                    expired[numEvents] = expired[i];
+                }
+                numEvents++;
+            }
+        }
+        if (numEvents != expired.length) {
+            expired = numEvents == 0 ? null : Arrays.copyOf(expired, numEvents);
+        }
+
+        if (expired != null) {
+            size -= expired.length;
+            if (reverseIndex != null) {
+                for (EventBean bean : expired) {
+                    reverseIndex.remove(bean);
+                }
+            }
+        }
+        trimHead();
+        return expired;
+    }
+
+    /**
+     * Returns event iterator.
+     *
+     * @return iterator over events currently in window
+     */
+    public Iterator<EventBean> iterator() {
+        return new ColumnarIterator();
+    }
+
+    /**
+     * Returns the oldest timestamp in the collection if there is at least one entry,
+     * else it returns null if the window is empty.
+     *
+     * @return null if empty, oldest timestamp if not empty
+     */
+    public Long getOldestTimestamp() {
+        if (size == 0) {
+            return null;
+        }
+        return timestamps[head];
+    }
+
+    /**
+     * Returns true if the window is currently empty.
+     *
+     * @return true if empty, false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of events in the window.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the reverse index, for testing purposes.
+     *
+     * @return reverse index or null if not yet built
+     */
+    public Map<EventBean, Long> getReverseIndex() {
+        return reverseIndex;
+    }
+
+    /**
+     * Returns the events currently in the window in timestamp order.
+     *
+     * @return events
+     */
+    public EventBean[] toArray() {
+        EventBean[] result = new EventBean[size];
+        int index = 0;
+        for (int i = 0; i < count; i++) {
+            EventBean bean = events[(head + i) & mask];
+            if (bean != null) {
+                result[index++] = bean;
+            }
+        }
+        return result;
+    }
+
+    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
+        viewDataVisitor.visitPrimary(toArray(), viewFactory.getViewName());
+    }
+
+    private void trimHead() {
+        // empty slots at the head are released so that the head always holds the oldest event
+        while (count > 0 && events[head] == null) {
+            head = (head + 1) & mask;
+            count--;
+            headSequence++;
+        }
+    }
+
+    private void grow() {
+        int capacity = events.length << 1;
+        long[] newTimestamps = new long[capacity];
+        EventBean[] newEvents = new EventBean[capacity];
+        int first = events.length - head;
+        System.arraycopy(timestamps, head, newTimestamps, 0, first);
+        System.arraycopy(timestamps, 0, newTimestamps, first, head);
+        System.arraycopy(events, head, newEvents, 0, first);
+        System.arraycopy(events, 0, newEvents, first, head);
+        timestamps = newTimestamps;
+        events = newEvents;
+        mask = capacity - 1;
+        head = 0;
+    }
+
+    private class ColumnarIterator implements Iterator<EventBean> {
+        private int index;
+        private EventBean next;
+
+        ColumnarIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        public EventBean next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            EventBean result = next;
+            advance();
+            return result;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance() {
+            next = null;
+            while (index < count) {
+                EventBean bean = events[(head + index) & mask];
+                index++;
+                if (bean != null) {
+                    next = bean;
+                    return;
+                }
+            }
+        }
+    }
+}
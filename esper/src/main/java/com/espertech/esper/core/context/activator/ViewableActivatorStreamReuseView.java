@@ -16,8 +16,13 @@ import com.espertech.esper.core.service.EPServicesContext;
 import com.espertech.esper.core.service.ExprEvaluatorContextStatement;
 import com.espertech.esper.core.service.StatementAgentInstanceLock;
 import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.epl.expression.visitor.ExprNodeEventReferenceVisitor;
 import com.espertech.esper.epl.spec.FilterStreamSpecCompiled;
+import com.espertech.esper.epl.spec.SelectClauseElementCompiled;
+import com.espertech.esper.epl.spec.SelectClauseExprCompiledSpec;
 import com.espertech.esper.epl.spec.StatementSpecCompiled;
+import com.espertech.esper.filter.FilterSpecParam;
+import com.espertech.esper.filter.FilterSpecParamExprNode;
 import com.espertech.esper.util.StopCallback;
 import com.espertech.esper.view.EventStream;
 
@@ -56,7 +61,8 @@ public class ViewableActivatorStreamReuseView implements ViewableActivator, Stop
                 statementContext.getAnnotations(),
                 statementContext.isStatelessSelect(),
                 streamNum,
-                isCanIterateUnbound);
+                isCanIterateUnbound,
+                isNonRetaining());
         return new ViewableActivationResult(pair.getFirst(), this, pair.getSecond(), null, null, false, false, null);
     }
 
@@ -64,6 +70,37 @@ public class ViewableActivatorStreamReuseView implements ViewableActivator, Stop
         services.getStreamService().dropStream(filterStreamSpec.getFilterSpec(), statementContext.getFilterService(), join, statementSpec.getOrderByList().length > 0, filterSubselectSameStream, statementContext.isStatelessSelect());
     }
 
+    /**
+     * Determines whether the statement does not keep a reference to the events of the stream beyond the processing of
+     * an event, so that the engine can reuse pooled event wrappers, see {@link com.espertech.esper.event.EventBeanPool}.
+     */
+    private boolean isNonRetaining() {
+        if (!statementContext.isStatelessSelect() || join || !services.getConfigSnapshot().getEngineDefaults().getExecution().isEventBeanPooling()) {
+            return false;
+        }
+        ExprNodeEventReferenceVisitor visitor = new ExprNodeEventReferenceVisitor();
+        for (SelectClauseElementCompiled element : statementSpec.getSelectClauseSpec().getSelectExprList()) {
+            if (!(element instanceof SelectClauseExprCompiledSpec)) {
+                return false;
+            }
+            ((SelectClauseExprCompiledSpec) element).getSelectExpression().accept(visitor);
+        }
+        if (statementSpec.getFilterRootNode() != null) {
+            statementSpec.getFilterRootNode().accept(visitor);
+        }
+        if (statementSpec.getHavingExprRootNode() != null) {
+            statementSpec.getHavingExprRootNode().accept(visitor);
+        }
+        for (FilterSpecParam[] params : filterStreamSpec.getFilterSpec().getParameters()) {
+            for (FilterSpecParam param : params) {
+                if (param instanceof FilterSpecParamExprNode) {
+                    ((FilterSpecParamExprNode) param).getExprNode().accept(visitor);
+                }
+            }
+        }
+        return !visitor.isHasEventReference();
+    }
+
     public FilterStreamSpecCompiled getFilterStreamSpec() {
         return filterStreamSpec;
     }
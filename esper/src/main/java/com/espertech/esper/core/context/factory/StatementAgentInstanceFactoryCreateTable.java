@@ -10,7 +10,9 @@
  */
 package com.espertech.esper.core.context.factory;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.core.service.CheckpointService;
 import com.espertech.esper.epl.agg.service.AggregationServiceTable;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
 import com.espertech.esper.epl.table.mgmt.TableStateInstance;
@@ -19,13 +21,23 @@ import com.espertech.esper.util.CollectionUtil;
 
 public class StatementAgentInstanceFactoryCreateTable implements StatementAgentInstanceFactory {
     private final TableMetadata tableMetadata;
+    private final CheckpointService checkpointService;
 
-    public StatementAgentInstanceFactoryCreateTable(TableMetadata tableMetadata) {
+    public StatementAgentInstanceFactoryCreateTable(TableMetadata tableMetadata, CheckpointService checkpointService) {
         this.tableMetadata = tableMetadata;
+        this.checkpointService = checkpointService;
     }
 
     public StatementAgentInstanceFactoryCreateTableResult newContext(final AgentInstanceContext agentInstanceContext, boolean isRecoveringResilient) {
         TableStateInstance tableState = tableMetadata.getTableStateFactory().makeTableState(agentInstanceContext);
+        if (checkpointService != null && tableMetadata.getContextName() == null && !isRecoveringResilient) {
+            EventBean[] rows = checkpointService.restoreTable(tableMetadata);
+            if (rows != null) {
+                for (EventBean row : rows) {
+                    tableState.addEventUnadorned(row);
+                }
+            }
+        }
         AggregationServiceTable aggregationReportingService = new AggregationServiceTable(tableState);
         TableStateViewablePublic finalView = new TableStateViewablePublic(tableMetadata, tableState);
         return new StatementAgentInstanceFactoryCreateTableResult(finalView, CollectionUtil.STOP_CALLBACK_NONE, agentInstanceContext, aggregationReportingService);
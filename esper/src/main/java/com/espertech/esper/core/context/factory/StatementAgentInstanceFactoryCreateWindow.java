@@ -32,11 +32,17 @@ import com.espertech.esper.epl.view.OutputProcessViewFactory;
 import com.espertech.esper.epl.virtualdw.VirtualDWView;
 import com.espertech.esper.util.StopCallback;
 import com.espertech.esper.view.*;
+import com.espertech.esper.view.ext.TimeOrderViewFactory;
+import com.espertech.esper.view.ext.TimeToLiveViewFactory;
+import com.espertech.esper.view.internal.IntersectViewFactory;
+import com.espertech.esper.view.internal.UnionViewFactory;
+import com.espertech.esper.view.window.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.naming.NamingException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
@@ -166,8 +172,25 @@ public class StatementAgentInstanceFactoryCreateWindow extends StatementAgentIns
             // obtain post load
             postLoad = processorInstance.getPostLoad();
 
+            // Restore contents from the last checkpoint, if any
+            boolean restored = false;
+            if (services.getCheckpointService() != null && contextName == null && environmentStopCallback == null && !isRecoveringStatement && !isRecoveringResilient) {
+                EventBean[] events = services.getCheckpointService().restoreNamedWindow(windowName, rootView.getEventType());
+                if (events != null && isTimeBased(unmaterializedViewChain.getViewFactoryChain())) {
+                    // restored events would enter with the current time and not with the time of their original arrival
+                    log.warn("Named window '" + windowName + "' declares a time-based data window, not restoring " + events.length + " events from checkpoint");
+                    events = null;
+                }
+                if (events != null) {
+                    if (events.length > 0) {
+                        rootView.update(events, null);
+                    }
+                    restored = true;
+                }
+            }
+
             // Handle insert case
-            if (statementSpec.getCreateWindowDesc().isInsert() && !isRecoveringStatement && !isRecoveringResilient) {
+            if (statementSpec.getCreateWindowDesc().isInsert() && !restored && !isRecoveringStatement && !isRecoveringResilient) {
                 String insertFromWindow = statementSpec.getCreateWindowDesc().getInsertFromWindow();
                 NamedWindowProcessor namedWindowProcessor = services.getNamedWindowMgmtService().getProcessor(insertFromWindow);
                 NamedWindowProcessorInstance sourceWindowInstances = namedWindowProcessor.getProcessorInstance(agentInstanceContext);
@@ -216,6 +239,30 @@ public class StatementAgentInstanceFactoryCreateWindow extends StatementAgentIns
     public void assignExpressions(StatementAgentInstanceFactoryResult result) {
     }
 
+    private static boolean isTimeBased(Collection<ViewFactory> viewFactories) {
+        for (ViewFactory viewFactory : viewFactories) {
+            if (viewFactory instanceof TimeWindowViewFactory ||
+                    viewFactory instanceof TimeBatchViewFactory ||
+                    viewFactory instanceof TimeLengthBatchViewFactory ||
+                    viewFactory instanceof TimeAccumViewFactory ||
+                    viewFactory instanceof FirstTimeViewFactory ||
+                    viewFactory instanceof ExternallyTimedWindowViewFactory ||
+                    viewFactory instanceof ExternallyTimedBatchViewFactory ||
+                    viewFactory instanceof ExpressionViewFactoryBase ||
+                    viewFactory instanceof TimeOrderViewFactory ||
+                    viewFactory instanceof TimeToLiveViewFactory) {
+                return true;
+            }
+            if (viewFactory instanceof IntersectViewFactory && isTimeBased(((IntersectViewFactory) viewFactory).getViewFactoriesContained())) {
+                return true;
+            }
+            if (viewFactory instanceof UnionViewFactory && isTimeBased(((UnionViewFactory) viewFactory).getViewFactoriesContained())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public void unassignExpressions() {
     }
 }
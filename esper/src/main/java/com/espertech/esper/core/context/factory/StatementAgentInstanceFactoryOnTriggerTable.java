@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.core.context.factory;
 
+import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.context.activator.ViewableActivator;
@@ -26,7 +27,10 @@ import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.epl.join.hint.ExcludePlanHint;
 import com.espertech.esper.epl.join.hint.IndexHint;
 import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.lookup.EventTableIndexMetadataEntry;
+import com.espertech.esper.epl.lookup.IndexedPropDesc;
 import com.espertech.esper.epl.lookup.SubordWMatchExprLookupStrategy;
+import com.espertech.esper.epl.lookup.SubordinateQueryIndexDesc;
 import com.espertech.esper.epl.lookup.SubordinateQueryPlanner;
 import com.espertech.esper.epl.lookup.SubordinateQueryPlannerUtil;
 import com.espertech.esper.epl.lookup.SubordinateWMatchExprQueryPlanResult;
@@ -34,6 +38,7 @@ import com.espertech.esper.epl.spec.OnTriggerType;
 import com.espertech.esper.epl.spec.OnTriggerWindowDesc;
 import com.espertech.esper.epl.spec.StatementSpecCompiled;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.epl.table.mgmt.TableMetadataColumnPlain;
 import com.espertech.esper.epl.table.mgmt.TableServiceImpl;
 import com.espertech.esper.epl.table.mgmt.TableStateInstance;
 import com.espertech.esper.epl.table.onaction.TableOnViewBase;
@@ -64,10 +69,19 @@ public class StatementAgentInstanceFactoryOnTriggerTable extends StatementAgentI
         IndexHint indexHint = pair.getIndexHint();
         ExcludePlanHint excludePlanHint = pair.getExcludePlanHint();
 
-        queryPlanResult = SubordinateQueryPlanner.planOnExpression(
-                validatedJoin, activatorResultEventType, indexHint, true, -1, excludePlanHint,
-                false, tableMetadata.getEventTableIndexMetadataRepo(), tableMetadata.getInternalEventType(),
-                tableMetadata.getUniqueKeyProps(), true, statementContext.getStatementName(), statementContext.getStatementId(), statementContext.getAnnotations());
+        // plan an implicit index if there is no suitable index, for tables that have primary key columns
+        boolean planImplicitIndex = tableMetadata.getKeyTypes().length > 0;
+        SubordinateWMatchExprQueryPlanResult plan = planOnExpression(validatedJoin, activatorResultEventType, indexHint, excludePlanHint, tableMetadata, !planImplicitIndex, statementContext);
+        if (plan.getIndexDescs() != null && planImplicitIndex) {
+            SubordinateQueryIndexDesc[] indexDescs = addImplicitIndexes(plan.getIndexDescs(), tableMetadata, services, statementContext.getStatementName());
+            if (indexDescs == null) {
+                plan = planOnExpression(validatedJoin, activatorResultEventType, indexHint, excludePlanHint, tableMetadata, true, statementContext);
+            } else {
+                plan = new SubordinateWMatchExprQueryPlanResult(plan.getFactory(), indexDescs);
+            }
+        }
+        queryPlanResult = plan;
+
         if (queryPlanResult.getIndexDescs() != null) {
             for (int i = 0; i < queryPlanResult.getIndexDescs().length; i++) {
                 tableMetadata.addIndexReference(queryPlanResult.getIndexDescs()[i].getIndexName(), statementContext.getStatementName());
@@ -90,7 +104,18 @@ public class StatementAgentInstanceFactoryOnTriggerTable extends StatementAgentI
         } else {
             indexes = new EventTable[queryPlanResult.getIndexDescs().length];
             for (int i = 0; i < indexes.length; i++) {
-                indexes[i] = state.getIndexRepository().getIndexByDesc(queryPlanResult.getIndexDescs()[i].getIndexMultiKey());
+                SubordinateQueryIndexDesc desc = queryPlanResult.getIndexDescs()[i];
+                indexes[i] = state.getIndexRepository().getIndexByDesc(desc.getIndexMultiKey());
+                if (indexes[i] == null) {
+                    // implicit index not yet present for this agent instance
+                    EventTableIndexMetadataEntry entry = state.getTableMetadata().getEventTableIndexMetadataRepo().getIndexes().get(desc.getIndexMultiKey());
+                    try {
+                        state.addExplicitIndex(desc.getIndexName(), entry.getQueryPlanIndexItem(), isRecoveringReslient, true);
+                    } catch (ExprValidationException ex) {
+                        throw new EPException("Failed to create index: " + ex.getMessage(), ex);
+                    }
+                    indexes[i] = state.getIndexRepository().getIndexByDesc(desc.getIndexMultiKey());
+                }
             }
         }
         SubordWMatchExprLookupStrategy strategy = queryPlanResult.getFactory().realize(indexes, agentInstanceContext, state.getIterableTableScan(), null);
@@ -112,4 +137,50 @@ public class StatementAgentInstanceFactoryOnTriggerTable extends StatementAgentI
 
         return onExprView;
     }
+
+    private static SubordinateWMatchExprQueryPlanResult planOnExpression(ExprNode validatedJoin, EventType activatorResultEventType, IndexHint indexHint, ExcludePlanHint excludePlanHint, TableMetadata tableMetadata, boolean onlyUseExistingIndexes, StatementContext statementContext) {
+        return SubordinateQueryPlanner.planOnExpression(
+                validatedJoin, activatorResultEventType, indexHint, true, -1, excludePlanHint,
+                false, tableMetadata.getEventTableIndexMetadataRepo(), tableMetadata.getInternalEventType(),
+                tableMetadata.getUniqueKeyProps(), onlyUseExistingIndexes, statementContext.getStatementName(), statementContext.getStatementId(), statementContext.getAnnotations());
+    }
+
+    /**
+     * Add the indexes that the planner suggested to the table, naming them so that update strategies can maintain them.
+     * Returns null, and adds no index, when any suggested index is not on plain columns or cannot be added.
+     */
+    private static SubordinateQueryIndexDesc[] addImplicitIndexes(SubordinateQueryIndexDesc[] indexDescs, TableMetadata tableMetadata, EPServicesContext services, String statementName) {
+        for (SubordinateQueryIndexDesc desc : indexDescs) {
+            if (desc.getIndexName() == null && (!isPlainColumns(desc.getIndexMultiKey().getHashIndexedProps(), tableMetadata) || !isPlainColumns(desc.getIndexMultiKey().getRangeIndexedProps(), tableMetadata))) {
+                return null;
+            }
+        }
+
+        SubordinateQueryIndexDesc[] named = new SubordinateQueryIndexDesc[indexDescs.length];
+        for (int i = 0; i < indexDescs.length; i++) {
+            SubordinateQueryIndexDesc desc = indexDescs[i];
+            if (desc.getIndexName() != null) {
+                named[i] = desc;
+                continue;
+            }
+            String indexName = tableMetadata.allocateImplicitIndexName();
+            try {
+                services.getTableService().validateAddIndex(statementName, tableMetadata, indexName, desc.getQueryPlanIndexItem(), desc.getIndexMultiKey());
+            } catch (ExprValidationException ex) {
+                tableMetadata.removeIndexReferencesStatement(statementName);
+                return null;
+            }
+            named[i] = new SubordinateQueryIndexDesc(desc.getOptionalIndexKeyInfo(), indexName, desc.getIndexMultiKey(), desc.getQueryPlanIndexItem());
+        }
+        return named;
+    }
+
+    private static boolean isPlainColumns(IndexedPropDesc[] props, TableMetadata tableMetadata) {
+        for (IndexedPropDesc prop : props) {
+            if (!(tableMetadata.getTableColumns().get(prop.getIndexPropName()) instanceof TableMetadataColumnPlain)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
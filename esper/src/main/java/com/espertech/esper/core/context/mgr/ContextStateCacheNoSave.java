@@ -14,9 +14,11 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.epl.spec.ContextDetailInitiatedTerminated;
 import com.espertech.esper.event.EventAdapterService;
-import com.espertech.esper.util.SerializerUtil;
+import com.espertech.esper.event.serde.EventBeanSerdeFactory;
+import com.espertech.esper.util.Serializer;
+import com.espertech.esper.util.SerializerFactory;
 
-import java.io.Serializable;
+import java.io.*;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
@@ -65,66 +67,74 @@ public class ContextStateCacheNoSave implements ContextStateCache {
      */
     public static class MyContextStatePathValueBindingSerializable implements ContextStatePathValueBinding {
         public Object byteArrayToObject(byte[] bytes, EventAdapterService eventAdapterService) {
-            return SerializerUtil.byteArrToObject(bytes);
+            return SerializerFactory.deserializeObject(bytes);
         }
 
         public byte[] toByteArray(Object contextInfo) {
-            return SerializerUtil.objectToByteArr(contextInfo);
+            return SerializerFactory.serializeObject(contextInfo);
         }
     }
 
     /**
      * For testing, only used within SPIs; Replaced by applicable EsperHA bindings.
-     * Simple binding where any events get changed to type name and byte array.
+     * Simple binding where any events get changed to type name and the bytes provided by the default serde of the event type.
      */
     public static class ContextStateCacheNoSaveInitTermBinding implements ContextStatePathValueBinding {
 
         public Object byteArrayToObject(byte[] bytes, EventAdapterService eventAdapterService) {
-            ContextControllerInitTermState state = (ContextControllerInitTermState) SerializerUtil.byteArrToObject(bytes);
-            for (Map.Entry<String, Object> entry : state.getPatternData().entrySet()) {
-                if (entry.getValue() instanceof EventBeanNameValuePair) {
-                    EventBeanNameValuePair event = (EventBeanNameValuePair) entry.getValue();
-                    EventType type = eventAdapterService.getExistsTypeByName(event.getEventTypeName());
-                    Object underlying = SerializerUtil.byteArrToObject(event.getBytes());
-                    state.getPatternData().put(entry.getKey(), eventAdapterService.adapterForType(underlying, type));
+            DataInputStream stream = new DataInputStream(new ByteArrayInputStream(bytes));
+            Serializer serializer = SerializerFactory.getObjectSerializer();
+            try {
+                long startTime = stream.readLong();
+                int numEntries = stream.readInt();
+                Map<String, Object> patternData = null;
+                if (numEntries >= 0) {
+                    patternData = new HashMap<String, Object>();
+                    for (int i = 0; i < numEntries; i++) {
+                        String key = stream.readUTF();
+                        if (stream.readBoolean()) {
+                            EventType type = eventAdapterService.getExistsTypeByName(stream.readUTF());
+                            Object underlying = EventBeanSerdeFactory.getDefaultSerde(type).read(stream);
+                            patternData.put(key, eventAdapterService.adapterForType(underlying, type));
+                        } else {
+                            patternData.put(key, serializer.deserialize(stream));
+                        }
+                    }
                 }
+                return new ContextControllerInitTermState(startTime, patternData);
+            } catch (IOException e) {
+                throw new RuntimeException("IO error de-serializing context state: " + e.getMessage(), e);
             }
-            return state;
         }
 
         public byte[] toByteArray(Object contextInfo) {
             ContextControllerInitTermState state = (ContextControllerInitTermState) contextInfo;
-            Map<String, Object> serializableProps = new HashMap<String, Object>();
-            if (state.getPatternData() != null) {
-                serializableProps.putAll(state.getPatternData());
-                for (Map.Entry<String, Object> entry : state.getPatternData().entrySet()) {
-                    if (entry.getValue() instanceof EventBean) {
-                        EventBean event = (EventBean) entry.getValue();
-                        serializableProps.put(entry.getKey(), new EventBeanNameValuePair(event.getEventType().getName(), SerializerUtil.objectToByteArr(event.getUnderlying())));
+            ByteArrayOutputStream buf = new ByteArrayOutputStream();
+            DataOutputStream stream = new DataOutputStream(buf);
+            Serializer serializer = SerializerFactory.getObjectSerializer();
+            try {
+                stream.writeLong(state.getStartTime());
+                if (state.getPatternData() == null) {
+                    stream.writeInt(-1);
+                } else {
+                    stream.writeInt(state.getPatternData().size());
+                    for (Map.Entry<String, Object> entry : state.getPatternData().entrySet()) {
+                        stream.writeUTF(entry.getKey());
+                        if (entry.getValue() instanceof EventBean) {
+                            EventBean event = (EventBean) entry.getValue();
+                            stream.writeBoolean(true);
+                            stream.writeUTF(event.getEventType().getName());
+                            EventBeanSerdeFactory.getDefaultSerde(event.getEventType()).write(event.getUnderlying(), stream);
+                        } else {
+                            stream.writeBoolean(false);
+                            serializer.serialize(entry.getValue(), stream);
+                        }
                     }
                 }
+            } catch (IOException e) {
+                throw new RuntimeException("IO error serializing context state: " + e.getMessage(), e);
             }
-            ContextControllerInitTermState serialized = new ContextControllerInitTermState(state.getStartTime(), serializableProps);
-            return SerializerUtil.objectToByteArr(serialized);
-        }
-    }
-
-    private static class EventBeanNameValuePair implements Serializable {
-        private static final long serialVersionUID = 1385687612285835734L;
-        private final String eventTypeName;
-        private final byte[] bytes;
-
-        private EventBeanNameValuePair(String eventTypeName, byte[] bytes) {
-            this.eventTypeName = eventTypeName;
-            this.bytes = bytes;
-        }
-
-        public String getEventTypeName() {
-            return eventTypeName;
-        }
-
-        public byte[] getBytes() {
-            return bytes;
+            return buf.toByteArray();
         }
     }
 }
@@ -0,0 +1,47 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.epl.table.mgmt.TableMetadata;
+
+/**
+ * Service for writing checkpoints of the contents of named windows and tables to local files and restoring them.
+ */
+public interface CheckpointService {
+    /**
+     * Writes a checkpoint for each named window and table whose contents changed since the last checkpoint.
+     */
+    public void checkpoint();
+
+    /**
+     * Returns the events of a named window as of the last checkpoint.
+     *
+     * @param windowName named window name
+     * @param eventType  event type of the named window
+     * @return events, or null if there is no checkpoint for the named window
+     */
+    public EventBean[] restoreNamedWindow(String windowName, EventType eventType);
+
+    /**
+     * Returns the rows of a table as of the last checkpoint.
+     *
+     * @param tableMetadata table
+     * @return rows of the internal event type of the table, or null if there is no checkpoint for the table
+     */
+    public EventBean[] restoreTable(TableMetadata tableMetadata);
+
+    /**
+     * Writes a final checkpoint and stops writing checkpoints.
+     */
+    public void destroy();
+}
@@ -0,0 +1,293 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.service;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.EventPropertyDescriptor;
+import com.espertech.esper.epl.named.NamedWindowMgmtService;
+import com.espertech.esper.epl.named.NamedWindowProcessor;
+import com.espertech.esper.epl.named.NamedWindowProcessorInstance;
+import com.espertech.esper.epl.table.mgmt.TableMetadata;
+import com.espertech.esper.epl.table.mgmt.TableMetadataColumn;
+import com.espertech.esper.epl.table.mgmt.TableMetadataColumnAggregation;
+import com.espertech.esper.epl.table.mgmt.TableService;
+import com.espertech.esper.epl.table.mgmt.TableStateInstance;
+import com.espertech.esper.event.EventAdapterService;
+import com.espertech.esper.event.ObjectArrayBackedEventBean;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.avro.AvroSchemaEventType;
+import com.espertech.esper.event.bean.BeanEventType;
+import com.espertech.esper.event.map.MapEventType;
+import com.espertech.esper.event.serde.EventBeanSerde;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.zip.CRC32;
+
+/**
+ * Checkpoint service writing one file per named window and per table into a directory.
+ * <p>
+ * Each file holds the event type name, a signature of the event type properties and the underlying events as
+ * written by the serde of the event type. A file is written to a temporary file and moved into place so that a
+ * checkpoint file is either the previous or the new checkpoint. A file is not rewritten when its contents did not
+ * change since the last checkpoint.
+ * </p>
+ * <p>
+ * Named windows and tables that are declared with a context, virtual data windows and tables that have aggregation
+ * columns are not checkpointed.
+ * </p>
+ */
+public class CheckpointServiceImpl implements CheckpointService {
+    private static final Logger log = LoggerFactory.getLogger(CheckpointServiceImpl.class);
+
+    private static final int MAGIC = 0x45434b31;
+    private static final String PREFIX_NAMED_WINDOW = "namedwindow.";
+    private static final String PREFIX_TABLE = "table.";
+    private static final String SUFFIX = ".ckpt";
+
+    private final String engineURI;
+    private final File directory;
+    private final NamedWindowMgmtService namedWindowMgmtService;
+    private final TableService tableService;
+    private final EventAdapterService eventAdapterService;
+    private final Map<String, Long> checksums = new HashMap<String, Long>();
+    private ScheduledThreadPoolExecutor executor;
+
+    /**
+     * Ctor.
+     *
+     * @param engineURI              engine URI
+     * @param directory              directory for checkpoint files
+     * @param interval               number of milliseconds between checkpoints, or zero for no periodic checkpoints
+     * @param namedWindowMgmtService named windows
+     * @param tableService           tables
+     * @param eventAdapterService    event adapters and serdes
+     */
+    public CheckpointServiceImpl(String engineURI, File directory, long interval, NamedWindowMgmtService namedWindowMgmtService, TableService tableService, EventAdapterService eventAdapterService) {
+        this.engineURI = engineURI == null ? "default" : engineURI;
+        this.directory = directory;
+        this.namedWindowMgmtService = namedWindowMgmtService;
+        this.tableService = tableService;
+        this.eventAdapterService = eventAdapterService;
+
+        if (!directory.exists() && !directory.mkdirs()) {
+            log.warn("Failed to create checkpoint directory '" + directory + "'");
+        }
+
+        if (interval > 0) {
+            executor = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+                // set new thread as daemon thread and name appropriately
+                public Thread newThread(Runnable r) {
+                    Thread t = new Thread(r, "com.espertech.esper.Checkpoint-" + CheckpointServiceImpl.this.engineURI);
+                    t.setDaemon(true);
+                    return t;
+                }
+            });
+            executor.setExecuteExistingDelayedTasksAfterShutdownPolicy(false);
+            executor.setContinueExistingPeriodicTasksAfterShutdownPolicy(false);
+            executor.scheduleWithFixedDelay(new Runnable() {
+                public void run() {
+                    checkpoint();
+                }
+            }, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public synchronized void checkpoint() {
+        for (String windowName : namedWindowMgmtService.getNamedWindows()) {
+            try {
+                checkpointNamedWindow(windowName);
+            } catch (RuntimeException | IOException ex) {
+                log.error("Failed to checkpoint named window '" + windowName + "': " + ex.getMessage(), ex);
+            }
+        }
+        for (String tableName : tableService.getTables()) {
+            try {
+                checkpointTable(tableName);
+            } catch (RuntimeException | IOException ex) {
+                log.error("Failed to checkpoint table '" + tableName + "': " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    public synchronized EventBean[] restoreNamedWindow(String windowName, EventType eventType) {
+        if (!isSupportedType(eventType)) {
+            return null;
+        }
+        return restore(PREFIX_NAMED_WINDOW + windowName + SUFFIX, eventType);
+    }
+
+    public synchronized EventBean[] restoreTable(TableMetadata tableMetadata) {
+        if (!isSupportedTable(tableMetadata)) {
+            return null;
+        }
+        return restore(PREFIX_TABLE + tableMetadata.getTableName() + SUFFIX, tableMetadata.getInternalEventType());
+    }
+
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdown();
+            executor = null;
+        }
+        checkpoint();
+    }
+
+    private void checkpointNamedWindow(String windowName) throws IOException {
+        NamedWindowProcessor processor = namedWindowMgmtService.getProcessor(windowName);
+        if (processor == null || processor.getContextName() != null || processor.isVirtualDataWindow() || !isSupportedType(processor.getNamedWindowType())) {
+            return;
+        }
+        NamedWindowProcessorInstance instance = processor.getProcessorInstanceNoContext();
+        if (instance == null) {
+            return;
+        }
+
+        // the tail view iterates a snapshot taken under the statement lock
+        List<Object> underlyings = new ArrayList<Object>();
+        for (EventBean event : instance.getTailViewInstance()) {
+            underlyings.add(event.getUnderlying());
+        }
+        write(PREFIX_NAMED_WINDOW + windowName + SUFFIX, processor.getNamedWindowType(), underlyings);
+    }
+
+    private void checkpointTable(String tableName) throws IOException {
+        TableMetadata metadata = tableService.getTableMetadata(tableName);
+        if (metadata == null || !isSupportedTable(metadata)) {
+            return;
+        }
+        TableStateInstance state = metadata.getState(-1);
+        if (state == null) {
+            return;
+        }
+
+        // the first column of a row holds aggregation state, which is recreated when the row is restored
+        List<Object> underlyings = new ArrayList<Object>();
+        Lock lock = state.getTableLevelRWLock().readLock();
+        lock.lock();
+        try {
+            for (EventBean event : state.getEventCollection()) {
+                Object[] row = ((ObjectArrayBackedEventBean) event).getProperties().clone();
+                row[0] = null;
+                underlyings.add(row);
+            }
+        } finally {
+            lock.unlock();
+        }
+        write(PREFIX_TABLE + tableName + SUFFIX, metadata.getInternalEventType(), underlyings);
+    }
+
+    private void write(String filename, EventType eventType, List<Object> underlyings) throws IOException {
+        EventBeanSerde serde = eventAdapterService.getEventBeanSerdeRegistry().getSerde(eventType);
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(buf);
+        out.writeInt(MAGIC);
+        out.writeUTF(eventType.getName());
+        out.writeInt(getSignature(eventType));
+        out.writeInt(underlyings.size());
+        for (Object underlying : underlyings) {
+            serde.write(underlying, out);
+        }
+        out.flush();
+        byte[] bytes = buf.toByteArray();
+
+        long checksum = checksum(bytes);
+        Long previous = checksums.get(filename);
+        if (previous != null && previous == checksum) {
+            return;
+        }
+
+        File target = new File(directory, filename);
+        File temp = new File(directory, filename + ".tmp");
+        FileOutputStream fos = new FileOutputStream(temp);
+        try {
+            fos.write(bytes);
+            fos.getFD().sync();
+        } finally {
+            fos.close();
+        }
+        Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        checksums.put(filename, checksum);
+    }
+
+    private EventBean[] restore(String filename, EventType eventType) {
+        File file = new File(directory, filename);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+            if (in.readInt() != MAGIC) {
+                log.warn("Checkpoint file '" + file + "' is not a checkpoint file, ignoring file");
+                return null;
+            }
+            String typeName = in.readUTF();
+            if (!typeName.equals(eventType.getName()) || in.readInt() != getSignature(eventType)) {
+                log.warn("Checkpoint file '" + file + "' was written for a different event type, ignoring file");
+                return null;
+            }
+            EventBeanSerde serde = eventAdapterService.getEventBeanSerdeRegistry().getSerde(eventType);
+            EventBean[] events = new EventBean[in.readInt()];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = eventAdapterService.adapterForType(serde.read(in), eventType);
+            }
+            checksums.put(filename, checksum(bytes));
+            return events;
+        } catch (IOException | RuntimeException ex) {
+            log.error("Failed to restore checkpoint file '" + file + "': " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private static boolean isSupportedType(EventType eventType) {
+        return eventType instanceof ObjectArrayEventType || eventType instanceof MapEventType ||
+                eventType instanceof AvroSchemaEventType || eventType instanceof BeanEventType;
+    }
+
+    private static boolean isSupportedTable(TableMetadata metadata) {
+        if (metadata.getContextName() != null) {
+            return false;
+        }
+        for (TableMetadataColumn column : metadata.getTableColumns().values()) {
+            if (column instanceof TableMetadataColumnAggregation) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int getSignature(EventType eventType) {
+        int signature = 0;
+        for (EventPropertyDescriptor desc : eventType.getPropertyDescriptors()) {
+            signature = 31 * signature + desc.getPropertyName().hashCode();
+            signature = 31 * signature + (desc.getPropertyType() == null ? 0 : desc.getPropertyType().getName().hashCode());
+        }
+        return signature;
+    }
+
+    private static long checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return crc.getValue();
+    }
+}
@@ -43,6 +43,7 @@ import com.espertech.esper.epl.spec.util.StatementSpecRawAnalyzer;
 import com.espertech.esper.epl.table.mgmt.TableExprEvaluatorContext;
 import com.espertech.esper.epl.variable.VariableMetaData;
 import com.espertech.esper.epl.variable.VariableReader;
+import com.espertech.esper.event.EventBeanPooled;
 import com.espertech.esper.event.util.EventRendererImpl;
 import com.espertech.esper.filter.FilterHandle;
 import com.espertech.esper.filter.FilterHandleCallback;
@@ -223,6 +224,29 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         }
     }
 
+    public void sendEvents(Object[] objects) throws EPException {
+        if (objects == null) {
+            log.error(".sendEvents Null array supplied");
+            return;
+        }
+
+        if ((ThreadingOption.isThreadingEnabled) && (services.getThreadingService().isInboundThreading())) {
+            for (Object theEvent : objects) {
+                sendEvent(theEvent);
+            }
+        } else {
+            processEvents(objects);
+        }
+    }
+
+    public void sendEvents(List<?> objects) throws EPException {
+        if (objects == null) {
+            log.error(".sendEvents Null list supplied");
+            return;
+        }
+        sendEvents(objects.toArray());
+    }
+
     public void sendEvent(org.w3c.dom.Node document) throws EPException {
         if (document == null) {
             log.error(".sendEvent Null object supplied");
@@ -442,10 +466,115 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         processWrappedEvent(eventBean);
     }
 
+    /**
+     * Process a batch of unwrapped events.
+     *
+     * @param events to process
+     */
+    public void processEvents(Object[] events) {
+        EventBean[] eventBeans = new EventBean[events.length];
+        int count = 0;
+        for (Object theEvent : events) {
+            if (theEvent == null) {
+                log.error(".sendEvents Null object supplied");
+                continue;
+            }
+
+            if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+                if ((!(theEvent instanceof CurrentTimeEvent)) || (ExecutionPathDebugLog.isTimerDebugEnabled)) {
+                    log.debug(".sendEvents Processing event " + theEvent);
+                }
+            }
+
+            // time events are processed in order with the other events of the batch
+            if (theEvent instanceof TimerEvent) {
+                processWrappedEvents(eventBeans, count);
+                count = 0;
+                processTimeEvent((TimerEvent) theEvent);
+                continue;
+            }
+
+            if (theEvent instanceof EventBean) {
+                eventBeans[count++] = (EventBean) theEvent;
+            } else {
+                eventBeans[count++] = wrapEvent(theEvent);
+            }
+        }
+        processWrappedEvents(eventBeans, count);
+    }
+
     public EventBean wrapEvent(Object theEvent) {
         return services.getEventAdapterService().adapterForBean(theEvent);
     }
 
+    public void processWrappedEvents(EventBean[] eventBeans) {
+        processWrappedEvents(eventBeans, eventBeans.length);
+    }
+
+    private void processWrappedEvents(EventBean[] eventBeans, int numEvents) {
+        if (numEvents == 0) {
+            return;
+        }
+
+        // Preprocessing may route and dispatch, process each event by itself
+        if (internalEventRouter.isHasPreprocessing()) {
+            for (int i = 0; i < numEvents; i++) {
+                processWrappedEvent(eventBeans[i]);
+            }
+            return;
+        }
+
+        ArrayBackedCollection<FilterHandle> matches = matchesArrayThreadLocal.get();
+        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
+        DualWorkQueue queues = threadWorkQueue.getThreadQueue();
+        boolean locked = false;
+
+        try {
+            for (int i = 0; i < numEvents; i++) {
+                EventBean eventBean = eventBeans[i];
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qStimulantEvent(eventBean, services.getEngineURI());
+                }
+
+                // Acquire main processing lock which locks out statement management, retained between events that have no output
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qEvent(eventBean, services.getEngineURI(), true);
+                }
+                if (!locked) {
+                    services.getEventProcessingRWLock().acquireReadLock();
+                    locked = true;
+                }
+                try {
+                    processMatches(eventBean, matches, stmtCallbacks);
+                } catch (RuntimeException ex) {
+                    matches.clear();
+                    throw new EPException(ex);
+                } finally {
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aEvent();
+                    }
+                }
+
+                // Dispatch results to listeners and work off the event queue, outside of the read-lock
+                if (!services.getDispatchService().isEmpty() || !services.getNamedWindowDispatchService().isEmpty() ||
+                        !queues.getFrontQueue().isEmpty() || !queues.getBackQueue().isEmpty()) {
+                    services.getEventProcessingRWLock().releaseReadLock();
+                    locked = false;
+                    dispatch();
+                    processThreadWorkQueue(queues);
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aStimulantEvent();
+                }
+            }
+        } finally {
+            if (locked) {
+                services.getEventProcessingRWLock().releaseReadLock();
+            }
+        }
+    }
+
     public void processWrappedEvent(EventBean eventBean) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qStimulantEvent(eventBean, services.getEngineURI());
@@ -745,8 +874,10 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
      * Works off the thread's work queue.
      */
     public void processThreadWorkQueue() {
-        DualWorkQueue queues = threadWorkQueue.getThreadQueue();
+        processThreadWorkQueue(threadWorkQueue.getThreadQueue());
+    }
 
+    private void processThreadWorkQueue(DualWorkQueue queues) {
         if (queues.getFrontQueue().isEmpty()) {
             boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
             if (haveDispatched) {
@@ -822,6 +953,7 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         }
 
         dispatch();
+        releaseIfPooled(eventBean);
     }
 
     private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch) {
@@ -846,6 +978,7 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         }
 
         dispatch();
+        releaseIfPooled(eventBean);
     }
 
     private void processThreadWorkQueueUnlatched(Object item) {
@@ -873,12 +1006,39 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
         }
 
         dispatch();
+        releaseIfPooled(eventBean);
+    }
+
+    private void releaseIfPooled(EventBean eventBean) {
+        if (eventBean instanceof EventBeanPooled) {
+            EventBeanPooled pooled = (EventBeanPooled) eventBean;
+            pooled.getPool().release(pooled);
+        }
+    }
+
+    private boolean isMatchesNonRetaining(ArrayBackedCollection<FilterHandle> matches) {
+        if (matches.size() == 0) {
+            return unmatchedListener == null;
+        }
+        Object[] matchArray = matches.getArray();
+        for (int i = 0; i < matches.size(); i++) {
+            if (!((EPStatementHandleCallback) matchArray[i]).isNonRetaining()) {
+                return false;
+            }
+        }
+        return true;
     }
 
     protected void processMatches(EventBean theEvent) {
+        processMatches(theEvent, matchesArrayThreadLocal.get(), null);
+    }
+
+    private void processMatches(EventBean theEvent, ArrayBackedCollection<FilterHandle> matches, Map<EPStatementAgentInstanceHandle, Object> stmtCallbacksProvided) {
         // get matching filters
-        ArrayBackedCollection<FilterHandle> matches = matchesArrayThreadLocal.get();
         long version = services.getFilterService().evaluate(theEvent, matches);
+        if (theEvent instanceof EventBeanPooled) {
+            ((EventBeanPooled) theEvent).setReleasable(isMatchesNonRetaining(matches));
+        }
 
         if (ThreadLogUtil.ENABLED_TRACE) {
             ThreadLogUtil.trace("Found matches for underlying ", matches.size(), theEvent.getUnderlying());
@@ -899,7 +1059,7 @@ public class EPRuntimeImpl implements EPRuntimeSPI, EPRuntimeEventSender, TimerC
             return;
         }
 
-        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = matchesPerStmtThreadLocal.get();
+        Map<EPStatementAgentInstanceHandle, Object> stmtCallbacks = stmtCallbacksProvided != null ? stmtCallbacksProvided : matchesPerStmtThreadLocal.get();
         Object[] matchArray = matches.getArray();
         int entryCount = matches.size();
 
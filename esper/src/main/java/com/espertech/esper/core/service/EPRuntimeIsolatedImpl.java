@@ -171,6 +171,17 @@ public class EPRuntimeIsolatedImpl implements EPRuntimeIsolatedSPI, InternalEven
         processWrappedEvent(eventBean);
     }
 
+    /**
+     * Process a batch of wrapped events.
+     *
+     * @param eventBeans to process
+     */
+    public void processWrappedEvents(EventBean[] eventBeans) {
+        for (EventBean eventBean : eventBeans) {
+            processWrappedEvent(eventBean);
+        }
+    }
+
     /**
      * Process a wrapped event.
      *
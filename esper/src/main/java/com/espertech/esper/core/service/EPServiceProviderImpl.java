@@ -320,6 +320,11 @@ public class EPServiceProviderImpl implements EPServiceProviderSPI {
                 Thread.currentThread().interrupt();
             }
 
+            // final checkpoint of named window and table contents
+            if (engineToDestroy.getServices().getCheckpointService() != null) {
+                engineToDestroy.getServices().getCheckpointService().destroy();
+            }
+
             // plugin-loaders - destroy in opposite order
             List<ConfigurationPluginLoader> pluginLoaders = engineToDestroy.getServices().getConfigSnapshot().getPluginLoaders();
             if (!pluginLoaders.isEmpty()) {
@@ -392,7 +397,8 @@ public class EPServiceProviderImpl implements EPServiceProviderSPI {
                 configSnapshot.getEngineDefaults().getThreading().isThreadPoolTimerExec() ||
                 configSnapshot.getEngineDefaults().getThreading().isThreadPoolInbound() ||
                 configSnapshot.getEngineDefaults().getThreading().isThreadPoolRouteExec() ||
-                configSnapshot.getEngineDefaults().getThreading().isThreadPoolOutbound());
+                configSnapshot.getEngineDefaults().getThreading().isThreadPoolOutbound() ||
+                configSnapshot.getEngineDefaults().getThreading().isThreadPoolNamedWindowConsumer());
 
         if (engine != null) {
             engine.getServices().getTimerService().stopInternalClock(false);
@@ -403,6 +409,10 @@ public class EPServiceProviderImpl implements EPServiceProviderSPI {
                 Thread.currentThread().interrupt();
             }
 
+            if (engine.getServices().getCheckpointService() != null) {
+                engine.getServices().getCheckpointService().destroy();
+            }
+
             if (configSnapshot.getEngineDefaults().getMetricsReporting().isJmxEngineMetrics()) {
                 destroyEngineMetrics(engine.getServices().getEngineURI());
             }
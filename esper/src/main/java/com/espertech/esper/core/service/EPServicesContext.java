@@ -123,6 +123,7 @@ public final class EPServicesContext {
     private DataFlowService dataFlowService;
     private ExprDeclaredService exprDeclaredService;
     private ExpressionResultCacheService expressionResultCacheSharable;
+    private CheckpointService checkpointService;
 
     public EPServicesContext(String engineURI,
                              SchedulingServiceSPI schedulingService,
@@ -488,6 +489,7 @@ public final class EPServicesContext {
      */
     public void initialize() {
         this.statementLifecycleSvc = null;
+        this.checkpointService = null;
         this.engineURI = null;
         this.schedulingService = null;
         this.eventAdapterService = null;
@@ -643,6 +645,24 @@ public final class EPServicesContext {
         this.statementIsolationService = statementIsolationService;
     }
 
+    /**
+     * Returns the service for checkpointing named window and table contents.
+     *
+     * @return checkpoint service, or null if not checkpointing
+     */
+    public CheckpointService getCheckpointService() {
+        return checkpointService;
+    }
+
+    /**
+     * Sets the service for checkpointing named window and table contents.
+     *
+     * @param checkpointService checkpoint service
+     */
+    public void setCheckpointService(CheckpointService checkpointService) {
+        this.checkpointService = checkpointService;
+    }
+
     public DeploymentStateService getDeploymentStateService() {
         return deploymentStateService;
     }
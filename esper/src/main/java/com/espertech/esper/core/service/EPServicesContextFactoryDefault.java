@@ -78,6 +78,7 @@ import com.espertech.esper.view.stream.StreamFactoryServiceProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.net.URI;
@@ -127,7 +128,7 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         ManagedReadWriteLock eventProcessingRWLock = new ManagedReadWriteLock("EventProcLock", false);
 
         TimeSourceService timeSourceService = makeTimeSource(configSnapshot);
-        SchedulingServiceSPI schedulingService = SchedulingServiceProvider.newService(timeSourceService);
+        SchedulingServiceSPI schedulingService = SchedulingServiceProvider.newService(configSnapshot.getEngineDefaults().getExecution().getSchedulingServiceProfile(), timeSourceService);
         SchedulingMgmtService schedulingMgmtService = new SchedulingMgmtServiceImpl();
         EngineSettingsService engineSettingsService = new EngineSettingsService(configSnapshot.getEngineDefaults(), configSnapshot.getPlugInEventTypeResolutionURIs());
         DatabaseConfigService databaseConfigService = makeDatabaseRefService(configSnapshot, schedulingService, schedulingMgmtService, engineImportService);
@@ -170,7 +171,11 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         FilterServiceSPI filterService = FilterServiceProvider.newService(configSnapshot.getEngineDefaults().getExecution().getFilterServiceProfile(), configSnapshot.getEngineDefaults().getExecution().isAllowIsolatedService());
         MetricReportingServiceImpl metricsReporting = new MetricReportingServiceImpl(configSnapshot.getEngineDefaults().getMetricsReporting(), epServiceProvider.getURI());
         NamedWindowMgmtService namedWindowMgmtService = new NamedWindowMgmtServiceImpl(configSnapshot.getEngineDefaults().getLogging().isEnableQueryPlan(), metricsReporting);
-        NamedWindowDispatchService namedWindowDispatchService = new NamedWindowDispatchServiceImpl(schedulingService, variableService, tableService, engineSettingsService.getEngineSettings().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricsReporting);
+        ThreadingService threadingService = new ThreadingServiceImpl(configSnapshot.getEngineDefaults().getThreading());
+        NamedWindowDispatchService namedWindowDispatchService = new NamedWindowDispatchServiceImpl(schedulingService, variableService, tableService, engineSettingsService.getEngineSettings().getExecution().isPrioritized(), eventProcessingRWLock, exceptionHandlingService, metricsReporting,
+                configSnapshot.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchBatchSize(),
+                engineImportService.getTimeAbacus().deltaForSecondsDouble(configSnapshot.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchBatchMaxDelay() / 1000d),
+                threadingService);
 
         ValueAddEventService valueAddEventService = new ValueAddEventServiceImpl();
         valueAddEventService.init(configSnapshot.getRevisionEventTypes(), configSnapshot.getVariantStreams(), eventAdapterService, eventTypeIdGenerator);
@@ -178,7 +183,6 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         StatementEventTypeRef statementEventTypeRef = new StatementEventTypeRefImpl();
         StatementVariableRef statementVariableRef = new StatementVariableRefImpl(variableService, tableService, namedWindowMgmtService);
 
-        ThreadingService threadingService = new ThreadingServiceImpl(configSnapshot.getEngineDefaults().getThreading());
 
         InternalEventRouterImpl internalEventRouterImpl = new InternalEventRouterImpl(epServiceProvider.getURI());
 
@@ -238,6 +242,13 @@ public class EPServicesContextFactoryDefault implements EPServicesContextFactory
         // Circular dependency
         statementIsolationService.setEpServicesContext(services);
 
+        // Checkpoints of named window and table contents
+        String checkpointDirectory = configSnapshot.getEngineDefaults().getExecution().getCheckpointDirectory();
+        if (checkpointDirectory != null) {
+            services.setCheckpointService(new CheckpointServiceImpl(epServiceProvider.getURI(), new File(checkpointDirectory),
+                    configSnapshot.getEngineDefaults().getExecution().getCheckpointInterval(), namedWindowMgmtService, tableService, eventAdapterService));
+        }
+
         return services;
     }
 
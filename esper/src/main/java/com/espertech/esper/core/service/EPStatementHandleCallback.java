@@ -27,6 +27,7 @@ public class EPStatementHandleCallback implements FilterHandle, ScheduleHandle {
     private EPStatementAgentInstanceHandle agentInstanceHandle;
     private FilterHandleCallback filterCallback;
     private ScheduleHandleCallback scheduleCallback;
+    private boolean nonRetaining;
 
     /**
      * Ctor.
@@ -92,4 +93,24 @@ public class EPStatementHandleCallback implements FilterHandle, ScheduleHandle {
     public void setFilterCallback(FilterHandleCallback filterCallback) {
         this.filterCallback = filterCallback;
     }
+
+    /**
+     * Returns indicator whether the filter callback is known to not keep a reference to a matching event
+     * beyond the processing of the event.
+     *
+     * @return non-retaining indicator
+     */
+    public boolean isNonRetaining() {
+        return nonRetaining;
+    }
+
+    /**
+     * Sets indicator whether the filter callback is known to not keep a reference to a matching event
+     * beyond the processing of the event.
+     *
+     * @param nonRetaining non-retaining indicator
+     */
+    public void setNonRetaining(boolean nonRetaining) {
+        this.nonRetaining = nonRetaining;
+    }
 }
@@ -16,6 +16,7 @@ import com.espertech.esper.core.context.mgr.ContextControllerFactoryService;
 import com.espertech.esper.core.context.mgr.ContextManagementService;
 import com.espertech.esper.core.context.stmt.StatementAIResourceRegistry;
 import com.espertech.esper.core.context.util.ContextDescriptor;
+import com.espertech.esper.core.thread.ThreadingService;
 import com.espertech.esper.epl.agg.service.AggregationServiceFactoryService;
 import com.espertech.esper.epl.core.EngineImportService;
 import com.espertech.esper.epl.core.EngineSettingsService;
@@ -37,6 +38,7 @@ import com.espertech.esper.filter.FilterService;
 import com.espertech.esper.pattern.PatternContextFactory;
 import com.espertech.esper.pattern.PatternNodeFactory;
 import com.espertech.esper.pattern.PatternObjectResolutionService;
+import com.espertech.esper.pattern.pool.PatternStateNodeStmtCounter;
 import com.espertech.esper.pattern.pool.PatternSubexpressionPoolStmtSvc;
 import com.espertech.esper.rowregex.MatchRecognizeStatePoolStmtSvc;
 import com.espertech.esper.rowregex.RegexHandlerFactory;
@@ -82,6 +84,7 @@ public final class StatementContext {
     private final Object statementUserObject;
     private final StatementSemiAnonymousTypeRegistry statementSemiAnonymousTypeRegistry;
     private final int priority;
+    private final PatternStateNodeStmtCounter patternStateNodeCounter = new PatternStateNodeStmtCounter();
 
     // settable for view-sharing
     private StatementAgentInstanceLock defaultAgentInstanceLock;
@@ -462,6 +465,15 @@ public final class StatementContext {
         return patternSubexpressionPoolSvc;
     }
 
+    /**
+     * Returns the counter of active pattern instances of the statement.
+     *
+     * @return counter
+     */
+    public PatternStateNodeStmtCounter getPatternStateNodeCounter() {
+        return patternStateNodeCounter;
+    }
+
     public MatchRecognizeStatePoolStmtSvc getMatchRecognizeStatePoolStmtSvc() {
         return matchRecognizeStatePoolStmtSvc;
     }
@@ -582,6 +594,10 @@ public final class StatementContext {
         return stmtEngineServices.getEngineImportService();
     }
 
+    public ThreadingService getThreadingService() {
+        return stmtEngineServices.getThreadingService();
+    }
+
     public TimeAbacus getTimeAbacus() {
         return stmtEngineServices.getEngineImportService().getTimeAbacus();
     }
@@ -12,6 +12,7 @@ package com.espertech.esper.core.service;
 
 import com.espertech.esper.client.ConfigurationInformation;
 import com.espertech.esper.core.context.mgr.ContextManagementService;
+import com.espertech.esper.core.thread.ThreadingService;
 import com.espertech.esper.epl.agg.factory.AggregationFactoryFactory;
 import com.espertech.esper.epl.core.EngineImportService;
 import com.espertech.esper.epl.core.EngineSettingsService;
@@ -62,8 +63,9 @@ public final class StatementContextEngineServices {
     private final AggregationFactoryFactory aggregationFactoryFactory;
     private final SchedulingService schedulingService;
     private final ExprDeclaredService exprDeclaredService;
+    private final ThreadingService threadingService;
 
-    public StatementContextEngineServices(String engineURI, EventAdapterService eventAdapterService, NamedWindowMgmtService namedWindowMgmtService, VariableService variableService, TableService tableService, EngineSettingsService engineSettingsService, ValueAddEventService valueAddEventService, ConfigurationInformation configSnapshot, MetricReportingServiceSPI metricReportingService, ViewService viewService, ExceptionHandlingService exceptionHandlingService, ExpressionResultCacheService expressionResultCacheService, StatementEventTypeRef statementEventTypeRef, TableExprEvaluatorContext tableExprEvaluatorContext, EngineLevelExtensionServicesContext engineLevelExtensionServicesContext, RegexHandlerFactory regexHandlerFactory, StatementLockFactory statementLockFactory, ContextManagementService contextManagementService, ViewServicePreviousFactory viewServicePreviousFactory, EventTableIndexService eventTableIndexService, PatternNodeFactory patternNodeFactory, FilterBooleanExpressionFactory filterBooleanExpressionFactory, TimeSourceService timeSourceService, EngineImportService engineImportService, AggregationFactoryFactory aggregationFactoryFactory, SchedulingService schedulingService, ExprDeclaredService exprDeclaredService) {
+    public StatementContextEngineServices(String engineURI, EventAdapterService eventAdapterService, NamedWindowMgmtService namedWindowMgmtService, VariableService variableService, TableService tableService, EngineSettingsService engineSettingsService, ValueAddEventService valueAddEventService, ConfigurationInformation configSnapshot, MetricReportingServiceSPI metricReportingService, ViewService viewService, ExceptionHandlingService exceptionHandlingService, ExpressionResultCacheService expressionResultCacheService, StatementEventTypeRef statementEventTypeRef, TableExprEvaluatorContext tableExprEvaluatorContext, EngineLevelExtensionServicesContext engineLevelExtensionServicesContext, RegexHandlerFactory regexHandlerFactory, StatementLockFactory statementLockFactory, ContextManagementService contextManagementService, ViewServicePreviousFactory viewServicePreviousFactory, EventTableIndexService eventTableIndexService, PatternNodeFactory patternNodeFactory, FilterBooleanExpressionFactory filterBooleanExpressionFactory, TimeSourceService timeSourceService, EngineImportService engineImportService, AggregationFactoryFactory aggregationFactoryFactory, SchedulingService schedulingService, ExprDeclaredService exprDeclaredService, ThreadingService threadingService) {
         this.engineURI = engineURI;
         this.eventAdapterService = eventAdapterService;
         this.namedWindowMgmtService = namedWindowMgmtService;
@@ -91,6 +93,7 @@ public final class StatementContextEngineServices {
         this.aggregationFactoryFactory = aggregationFactoryFactory;
         this.schedulingService = schedulingService;
         this.exprDeclaredService = exprDeclaredService;
+        this.threadingService = threadingService;
     }
 
     public String getEngineURI() {
@@ -204,4 +207,8 @@ public final class StatementContextEngineServices {
     public ExprDeclaredService getExprDeclaredService() {
         return exprDeclaredService;
     }
+
+    public ThreadingService getThreadingService() {
+        return threadingService;
+    }
 }
@@ -11,22 +11,34 @@
 package com.espertech.esper.core.start;
 
 import com.espertech.esper.client.EPException;
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.context.ContextPartitionSelector;
 import com.espertech.esper.client.context.ContextPartitionSelectorAll;
 import com.espertech.esper.core.context.mgr.ContextManagementService;
 import com.espertech.esper.core.context.mgr.ContextManager;
+import com.espertech.esper.core.thread.ParallelComputeUtil;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.expression.core.ExprNodeUtility;
 import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.epl.spec.NamedWindowConsumerStreamSpec;
 import com.espertech.esper.epl.spec.StatementSpecCompiled;
 import com.espertech.esper.epl.spec.StreamSpecCompiled;
 import com.espertech.esper.epl.spec.TableQueryStreamSpec;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Starts and provides the stop method for EPL statements.
  */
 public class EPPreparedExecuteMethodHelper {
+    private final static int PARALLEL_FILTER_MIN_SEGMENT_SIZE = 1024;
+
     protected static void validateFAFQuery(StatementSpecCompiled statementSpec) throws ExprValidationException {
         for (int i = 0; i < statementSpec.getStreamSpecs().length; i++) {
             StreamSpecCompiled streamSpec = statementSpec.getStreamSpecs()[i];
@@ -55,4 +67,60 @@ public class EPPreparedExecuteMethodHelper {
         }
         return agentInstanceIds;
     }
+
+    /**
+     * Applies filter expressions to the rows of one or more context partitions, splitting rows into segments
+     * and evaluating segments in parallel using the engine parallel-compute thread pool. Retains the order of rows.
+     * Only filter evaluation is parallel, the caller aggregates, groups and sorts the filtered rows.
+     *
+     * @param rowsPerPartition     rows for each context partition
+     * @param filterExpressions    filter expressions, must not depend on variables as variable versions are thread-local
+     * @param exprEvaluatorContext evaluation context
+     * @param parallelComputePool  engine parallel-compute thread pool
+     * @return rows that pass the filter, for each context partition
+     */
+    protected static EventBean[][] applyFilterExpressionsParallel(final EventBean[][] rowsPerPartition, final List<ExprNode> filterExpressions, final ExprEvaluatorContext exprEvaluatorContext, ThreadPoolExecutor parallelComputePool) {
+        int total = 0;
+        for (EventBean[] rows : rowsPerPartition) {
+            total += rows.length;
+        }
+        int segmentSize = Math.max(PARALLEL_FILTER_MIN_SEGMENT_SIZE, total / ((parallelComputePool.getMaximumPoolSize() + 1) * 4));
+
+        // determine segments as partition number, start and end offset
+        final List<int[]> segments = new ArrayList<int[]>();
+        for (int partition = 0; partition < rowsPerPartition.length; partition++) {
+            int length = rowsPerPartition[partition].length;
+            for (int start = 0; start < length; start += segmentSize) {
+                segments.add(new int[]{partition, start, Math.min(length, start + segmentSize)});
+            }
+        }
+
+        final ArrayDeque<EventBean>[] resultPerSegment = new ArrayDeque[segments.size()];
+        ParallelComputeUtil.compute(parallelComputePool, segments.size(), new ParallelComputeUtil.Part() {
+            public void compute(int part) {
+                int[] segment = segments.get(part);
+                List<EventBean> rows = Arrays.asList(rowsPerPartition[segment[0]]).subList(segment[1], segment[2]);
+                ArrayDeque<EventBean> result = new ArrayDeque<EventBean>();
+                ExprNodeUtility.applyFilterExpressionsIterable(rows, filterExpressions, exprEvaluatorContext, result);
+                resultPerSegment[part] = result;
+            }
+        });
+
+        // assemble segment results in order
+        ArrayDeque<EventBean>[] resultPerPartition = new ArrayDeque[rowsPerPartition.length];
+        for (int index = 0; index < segments.size(); index++) {
+            int partition = segments.get(index)[0];
+            if (resultPerPartition[partition] == null) {
+                resultPerPartition[partition] = resultPerSegment[index];
+            } else {
+                resultPerPartition[partition].addAll(resultPerSegment[index]);
+            }
+        }
+        EventBean[][] filtered = new EventBean[rowsPerPartition.length][];
+        for (int partition = 0; partition < rowsPerPartition.length; partition++) {
+            ArrayDeque<EventBean> result = resultPerPartition[partition];
+            filtered[partition] = result == null ? new EventBean[0] : result.toArray(new EventBean[result.size()]);
+        }
+        return filtered;
+    }
 }
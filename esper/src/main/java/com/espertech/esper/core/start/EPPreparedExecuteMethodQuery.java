@@ -35,6 +35,7 @@ import com.espertech.esper.event.EventBeanReader;
 import com.espertech.esper.event.EventBeanReaderDefaultImpl;
 import com.espertech.esper.event.EventBeanUtility;
 import com.espertech.esper.event.EventTypeSPI;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.util.AuditPath;
 import com.espertech.esper.view.Viewable;
 import org.slf4j.Logger;
@@ -58,6 +59,7 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod {
     private JoinSetComposerPrototype joinSetComposerPrototype;
     private final QueryGraph queryGraph;
     private boolean hasTableAccess;
+    private final int parallelFilterThreshold;
 
     /**
      * Ctor.
@@ -85,6 +87,11 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod {
         this.statementSpec = statementSpec;
         this.services = services;
 
+        // table access acquires locks that are held by the executing thread, and variable versions are thread-local,
+        // therefore filter using the executing thread
+        boolean isFilterOnExecutingThread = hasTableAccess || statementSpec.isHasVariables();
+        this.parallelFilterThreshold = isFilterOnExecutingThread ? 0 : services.getConfigSnapshot().getEngineDefaults().getExecution().getParallelFireAndForgetThreshold();
+
         EPPreparedExecuteMethodHelper.validateFAFQuery(statementSpec);
 
         int numStreams = statementSpec.getStreamSpecs().length;
@@ -188,6 +195,7 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod {
      */
     public EPPreparedQueryResult execute(ContextPartitionSelector[] contextPartitionSelectors) {
         try {
+            services.getVariableService().setLocalVersion();    // get current version of variables
             int numStreams = processors.length;
 
             if (contextPartitionSelectors != null && contextPartitionSelectors.length != numStreams) {
@@ -224,14 +232,31 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod {
                 }
             }
 
+            // filter context partitions, in parallel when the total number of rows reaches the threshold
+            EventBean[][] rowsPerPartition = new EventBean[contextPartitionResults.size()][];
+            int totalRows = 0;
+            for (int i = 0; i < rowsPerPartition.length; i++) {
+                Collection<EventBean> snapshot = contextPartitionResults.get(i).getEvents();
+                rowsPerPartition[i] = snapshot.toArray(new EventBean[snapshot.size()]);
+                totalRows += rowsPerPartition[i].length;
+            }
+            if (statementSpec.getFilterRootNode() != null) {
+                List<ExprNode> filterExpressions = Collections.singletonList(statementSpec.getFilterRootNode());
+                if (isParallelFilter(totalRows)) {
+                    rowsPerPartition = EPPreparedExecuteMethodHelper.applyFilterExpressionsParallel(rowsPerPartition, filterExpressions, agentInstanceContext, services.getThreadingService().getParallelComputeThreadPool());
+                } else {
+                    for (int i = 0; i < rowsPerPartition.length; i++) {
+                        Collection<EventBean> filtered = getFiltered(Arrays.asList(rowsPerPartition[i]), filterExpressions);
+                        rowsPerPartition[i] = filtered.toArray(new EventBean[filtered.size()]);
+                    }
+                }
+            }
+
             // process context partitions
             ArrayDeque<EventBean[]> events = new ArrayDeque<EventBean[]>();
-            for (ContextPartitionResult contextPartitionResult : contextPartitionResults) {
-                Collection<EventBean> snapshot = contextPartitionResult.getEvents();
-                if (statementSpec.getFilterRootNode() != null) {
-                    snapshot = getFiltered(snapshot, Collections.singletonList(statementSpec.getFilterRootNode()));
-                }
-                EventBean[] rows = snapshot.toArray(new EventBean[snapshot.size()]);
+            for (int i = 0; i < rowsPerPartition.length; i++) {
+                ContextPartitionResult contextPartitionResult = contextPartitionResults.get(i);
+                EventBean[] rows = rowsPerPartition[i];
                 resultSetProcessor.setAgentInstanceContext(contextPartitionResult.getContext());
                 UniformPair<EventBean[]> results = resultSetProcessor.processViewResult(rows, null, true);
                 if (results != null && results.getFirst() != null && results.getFirst().length > 0) {
@@ -339,11 +364,19 @@ public class EPPreparedExecuteMethodQuery implements EPPreparedExecuteMethod {
     }
 
     private Collection<EventBean> getFiltered(Collection<EventBean> snapshot, List<ExprNode> filterExpressions) {
+        if (isParallelFilter(snapshot.size())) {
+            EventBean[][] rows = new EventBean[][]{snapshot.toArray(new EventBean[snapshot.size()])};
+            return Arrays.asList(EPPreparedExecuteMethodHelper.applyFilterExpressionsParallel(rows, filterExpressions, agentInstanceContext, services.getThreadingService().getParallelComputeThreadPool())[0]);
+        }
         ArrayDeque<EventBean> deque = new ArrayDeque<EventBean>(Math.min(snapshot.size(), 16));
         ExprNodeUtility.applyFilterExpressionsIterable(snapshot, filterExpressions, agentInstanceContext, deque);
         return deque;
     }
 
+    private boolean isParallelFilter(int numRows) {
+        return parallelFilterThreshold > 0 && numRows >= parallelFilterThreshold && !InstrumentationHelper.ENABLED;
+    }
+
     public EPServicesContext getServices() {
         return services;
     }
@@ -96,7 +96,7 @@ public class EPStatementStartMethodCreateTable extends EPStatementStartMethodBas
         }
 
         // allocate context factory
-        StatementAgentInstanceFactoryCreateTable contextFactory = new StatementAgentInstanceFactoryCreateTable(metadata);
+        StatementAgentInstanceFactoryCreateTable contextFactory = new StatementAgentInstanceFactoryCreateTable(metadata, services.getCheckpointService());
         statementContext.setStatementAgentInstanceFactory(contextFactory);
         Viewable outputView;
         EPStatementStopMethod stopStatementMethod;
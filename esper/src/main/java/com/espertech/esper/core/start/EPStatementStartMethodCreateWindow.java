@@ -35,6 +35,7 @@ import com.espertech.esper.epl.spec.StatementSpecCompiled;
 import com.espertech.esper.epl.view.OutputProcessViewFactory;
 import com.espertech.esper.epl.view.OutputProcessViewFactoryFactory;
 import com.espertech.esper.epl.virtualdw.VirtualDWViewFactory;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
 import com.espertech.esper.event.vaevent.ValueAddEventProcessor;
 import com.espertech.esper.metrics.instrumentation.InstrumentationAgent;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
@@ -97,6 +98,9 @@ public class EPStatementStartMethodCreateWindow extends EPStatementStartMethodBa
         }
         boolean isBatchingDataWindow = determineBatchingDataWindow(unmaterializedViewChain.getViewFactoryChain());
         final VirtualDWViewFactory virtualDataWindowFactory = determineVirtualDataWindow(unmaterializedViewChain.getViewFactoryChain());
+        if (HintEnum.OFF_HEAP.getHint(statementSpec.getAnnotations()) != null) {
+            verifyOffHeap(filterStreamSpec.getFilterSpec().getResultEventType(), optionalRevisionProcessor, virtualDataWindowFactory);
+        }
         Set<String> optionalUniqueKeyProps = ViewServiceHelper.getUniqueCandidateProperties(unmaterializedViewChain.getViewFactoryChain(), statementSpec.getAnnotations());
         NamedWindowProcessor processor = services.getNamedWindowMgmtService().addProcessor(windowName, contextName, filterStreamSpec.getFilterSpec().getResultEventType(), statementContext.getStatementResultService(), optionalRevisionProcessor, statementContext.getExpression(), statementContext.getStatementName(), isPrioritized, isEnableSubqueryIndexShare, isBatchingDataWindow, virtualDataWindowFactory != null, optionalUniqueKeyProps,
                 statementSpec.getCreateWindowDesc().getAsEventTypeName(),
@@ -212,6 +216,15 @@ public class EPStatementStartMethodCreateWindow extends EPStatementStartMethodBa
         return false;
     }
 
+    private void verifyOffHeap(EventType eventType, ValueAddEventProcessor optionalRevisionProcessor, VirtualDWViewFactory virtualDataWindowFactory) throws ExprValidationException {
+        if (!(eventType instanceof ObjectArrayEventType) || optionalRevisionProcessor != null) {
+            throw new ExprValidationException("The " + HintEnum.OFF_HEAP.getValue() + " hint requires a named window of an object-array event type");
+        }
+        if (virtualDataWindowFactory != null) {
+            throw new ExprValidationException("The " + HintEnum.OFF_HEAP.getValue() + " hint is not supported for virtual data windows");
+        }
+    }
+
     private void verifyDataWindowViewFactoryChain(List<ViewFactory> viewFactories) throws ExprValidationException {
 
         for (ViewFactory viewFactory : viewFactories) {
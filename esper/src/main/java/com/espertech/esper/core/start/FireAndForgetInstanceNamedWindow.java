@@ -37,7 +37,7 @@ public class FireAndForgetInstanceNamedWindow extends FireAndForgetInstance {
         EPPreparedExecuteTableHelper.assignTableAccessStrategies(insert.getServices(), insert.getOptionalTableNodes(), processorInstance.getTailViewInstance().getAgentInstanceContext());
         try {
             EventBean event = insert.getInsertHelper().process(new EventBean[0], true, true, insert.getExprEvaluatorContext());
-            EventBean[] inserted = new EventBean[]{event};
+            EventBean[] inserted = processorInstance.getRootViewInstance().adaptNewData(new EventBean[]{event});
 
             AgentInstanceContext ctx = processorInstance.getTailViewInstance().getAgentInstanceContext();
             StatementAgentInstanceLock ailock = ctx.getAgentInstanceLock();
@@ -0,0 +1,147 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.core.context.mgr.ContextManagementService;
+import com.espertech.esper.core.context.mgr.ContextManager;
+import com.espertech.esper.core.service.StatementLifecycleEvent;
+import com.espertech.esper.core.service.StatementLifecycleObserver;
+import com.espertech.esper.epl.spec.*;
+import com.espertech.esper.event.EventTypeUtility;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Assigns inbound events to inbound shards based on the partition key of a hash-segmented or keyed-segmented context,
+ * such that events that belong to the same context partition are always assigned to the same shard.
+ * <p>
+ * Events that do not carry a key for the context, for example because the event type is not part of the context
+ * or the context is not yet created, are assigned to shards in round-robin fashion.
+ * <p>
+ * Key getters are cached per event type. The cache is rebuilt when statements are created, started, stopped or destroyed,
+ * so that routing an event does not need to consult context management or take the engine lock.
+ */
+public class InboundShardRouter implements StatementLifecycleObserver {
+    private static final EventPropertyGetter[] NO_KEY = new EventPropertyGetter[0];
+
+    private final String contextName;
+    private final ContextManagementService contextManagementService;
+    private final int numShards;
+    private final AtomicInteger roundRobin = new AtomicInteger();
+    private volatile KeyGetterCache cache;
+
+    /**
+     * Ctor.
+     *
+     * @param contextName              name of the context providing the partition key
+     * @param contextManagementService context management
+     * @param numShards                number of shards
+     */
+    public InboundShardRouter(String contextName, ContextManagementService contextManagementService, int numShards) {
+        this.contextName = contextName;
+        this.contextManagementService = contextManagementService;
+        this.numShards = numShards;
+        this.cache = new KeyGetterCache(contextManagementService.getContextManager(contextName));
+    }
+
+    public void observe(StatementLifecycleEvent theEvent) {
+        // invoked by the administrative thread that changes context management, the routing threads see the new cache
+        if (theEvent.getEventType() == StatementLifecycleEvent.LifecycleEventType.CREATE ||
+            theEvent.getEventType() == StatementLifecycleEvent.LifecycleEventType.STATECHANGE) {
+            invalidate();
+        }
+    }
+
+    /**
+     * Discards cached key getters and re-reads the context.
+     */
+    public void invalidate() {
+        cache = new KeyGetterCache(contextManagementService.getContextManager(contextName));
+    }
+
+    /**
+     * Returns the shard for the event.
+     *
+     * @param theEvent event or null if the unit carries no event
+     * @return shard number between zero and the number of shards
+     */
+    public int getShard(EventBean theEvent) {
+        EventPropertyGetter[] getters = theEvent == null ? NO_KEY : getKeyGetters(theEvent.getEventType());
+        if (getters.length == 0) {
+            return (roundRobin.getAndIncrement() & Integer.MAX_VALUE) % numShards;
+        }
+
+        int hash = 0;
+        for (EventPropertyGetter getter : getters) {
+            Object value = getter.get(theEvent);
+            hash = hash * 31 + (value == null ? 0 : value.hashCode());
+        }
+        return (hash & Integer.MAX_VALUE) % numShards;
+    }
+
+    private EventPropertyGetter[] getKeyGetters(EventType eventType) {
+        KeyGetterCache current = cache;
+        if (current.contextManager == null) {
+            return NO_KEY;
+        }
+
+        EventPropertyGetter[] getters = current.keyGetters.get(eventType);
+        if (getters == null) {
+            getters = determineKeyGetters(current.contextManager.getContextDescriptor().getContextDetail(), eventType);
+            current.keyGetters.put(eventType, getters);
+        }
+        return getters;
+    }
+
+    private static EventPropertyGetter[] determineKeyGetters(ContextDetail detail, EventType eventType) {
+        if (detail instanceof ContextDetailNested) {
+            ContextDetailNested nested = (ContextDetailNested) detail;
+            return determineKeyGetters(nested.getContexts().get(0).getContextDetail(), eventType);
+        }
+
+        if (detail instanceof ContextDetailHash) {
+            for (ContextDetailHashItem item : ((ContextDetailHash) detail).getItems()) {
+                if (item.getLookupable() != null && EventTypeUtility.isTypeOrSubTypeOf(eventType, item.getFilterSpecCompiled().getFilterForEventType())) {
+                    return new EventPropertyGetter[]{item.getLookupable().getGetter()};
+                }
+            }
+        } else if (detail instanceof ContextDetailPartitioned) {
+            for (ContextDetailPartitionItem item : ((ContextDetailPartitioned) detail).getItems()) {
+                if (!EventTypeUtility.isTypeOrSubTypeOf(eventType, item.getFilterSpecCompiled().getFilterForEventType())) {
+                    continue;
+                }
+                EventPropertyGetter[] getters = new EventPropertyGetter[item.getPropertyNames().size()];
+                for (int i = 0; i < getters.length; i++) {
+                    getters[i] = eventType.getGetter(item.getPropertyNames().get(i));
+                    if (getters[i] == null) {
+                        return NO_KEY;
+                    }
+                }
+                return getters;
+            }
+        }
+        return NO_KEY;
+    }
+
+    private static class KeyGetterCache {
+        private final ContextManager contextManager;
+        private final Map<EventType, EventPropertyGetter[]> keyGetters = new ConcurrentHashMap<EventType, EventPropertyGetter[]>();
+
+        private KeyGetterCache(ContextManager contextManager) {
+            this.contextManager = contextManager;
+        }
+    }
+}
@@ -10,8 +10,19 @@
  */
 package com.espertech.esper.core.thread;
 
+import com.espertech.esper.client.EventBean;
+
 /**
  * Interface for inbound runnables.
  */
 public interface InboundUnitRunnable extends Runnable {
+    /**
+     * Returns the event to process wrapped as an event bean, for use in assigning the unit to an inbound shard,
+     * or null if the unit does not carry an event or the event cannot be wrapped.
+     * <p>
+     * The unit retains the event bean for processing.
+     *
+     * @return event bean or null
+     */
+    public EventBean getEventBean();
 }
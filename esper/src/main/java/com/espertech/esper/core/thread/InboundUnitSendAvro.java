@@ -25,6 +25,7 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPServicesContext services;
     private final EPRuntimeImpl runtime;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -41,9 +42,22 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
         this.runtime = runtime;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventAdapterService().adapterForAvro(genericRecordDotData, eventTypeName);
+            } catch (RuntimeException e) {
+                // reported when the unit runs
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventAdapterService().adapterForAvro(genericRecordDotData, eventTypeName);
+            if (eventBean == null) {
+                eventBean = services.getEventAdapterService().adapterForAvro(genericRecordDotData, eventTypeName);
+            }
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             log.error("Unexpected error processing Object-array event: " + e.getMessage(), e);
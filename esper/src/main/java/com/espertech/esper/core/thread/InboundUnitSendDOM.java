@@ -25,6 +25,7 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
     private final org.w3c.dom.Node theEvent;
     private final EPServicesContext services;
     private final EPRuntimeImpl runtime;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -39,9 +40,22 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
         this.runtime = runtime;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventAdapterService().adapterForDOM(theEvent);
+            } catch (RuntimeException e) {
+                // reported when the unit runs
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventAdapterService().adapterForDOM(theEvent);
+            if (eventBean == null) {
+                eventBean = services.getEventAdapterService().adapterForDOM(theEvent);
+            }
             runtime.processEvent(eventBean);
         } catch (RuntimeException e) {
             log.error("Unexpected error processing DOM event: " + e.getMessage(), e);
@@ -10,6 +10,8 @@
  */
 package com.espertech.esper.core.thread;
 
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.time.TimerEvent;
 import com.espertech.esper.core.service.EPRuntimeImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -21,6 +23,7 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
     private static final Logger log = LoggerFactory.getLogger(InboundUnitSendEvent.class);
     private final Object theEvent;
     private final EPRuntimeImpl runtime;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -33,9 +36,24 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
         this.runtime = runtime;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null && !(theEvent instanceof TimerEvent)) {
+            try {
+                eventBean = theEvent instanceof EventBean ? (EventBean) theEvent : runtime.wrapEvent(theEvent);
+            } catch (RuntimeException e) {
+                // reported when the unit runs
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            runtime.processEvent(theEvent);
+            if (eventBean != null) {
+                runtime.processWrappedEvent(eventBean);
+            } else {
+                runtime.processEvent(theEvent);
+            }
         } catch (RuntimeException e) {
             log.error("Unexpected error processing unwrapped event: " + e.getMessage(), e);
         }
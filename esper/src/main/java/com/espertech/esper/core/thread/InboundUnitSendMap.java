@@ -27,6 +27,7 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPServicesContext services;
     private final EPRuntimeImpl runtime;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -43,9 +44,22 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
         this.runtime = runtime;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventAdapterService().adapterForMap(map, eventTypeName);
+            } catch (RuntimeException e) {
+                // reported when the unit runs
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventAdapterService().adapterForMap(map, eventTypeName);
+            if (eventBean == null) {
+                eventBean = services.getEventAdapterService().adapterForMap(map, eventTypeName);
+            }
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             log.error("Unexpected error processing Map event: " + e.getMessage(), e);
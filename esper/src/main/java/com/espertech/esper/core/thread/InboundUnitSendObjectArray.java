@@ -25,6 +25,7 @@ public class InboundUnitSendObjectArray implements InboundUnitRunnable {
     private final String eventTypeName;
     private final EPServicesContext services;
     private final EPRuntimeImpl runtime;
+    private EventBean eventBean;
 
     /**
      * Ctor.
@@ -41,9 +42,22 @@ public class InboundUnitSendObjectArray implements InboundUnitRunnable {
         this.runtime = runtime;
     }
 
+    public EventBean getEventBean() {
+        if (eventBean == null) {
+            try {
+                eventBean = services.getEventAdapterService().adapterForObjectArray(properties, eventTypeName);
+            } catch (RuntimeException e) {
+                // reported when the unit runs
+            }
+        }
+        return eventBean;
+    }
+
     public void run() {
         try {
-            EventBean eventBean = services.getEventAdapterService().adapterForObjectArray(properties, eventTypeName);
+            if (eventBean == null) {
+                eventBean = services.getEventAdapterService().adapterForObjectArray(properties, eventTypeName);
+            }
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
             log.error("Unexpected error processing Object-array event: " + e.getMessage(), e);
@@ -34,6 +34,10 @@ public class InboundUnitSendWrapped implements InboundUnitRunnable {
         this.runtime = runtime;
     }
 
+    public EventBean getEventBean() {
+        return eventBean;
+    }
+
     public void run() {
         try {
             runtime.processWrappedEvent(eventBean);
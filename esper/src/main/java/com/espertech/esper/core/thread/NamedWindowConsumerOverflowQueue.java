@@ -0,0 +1,64 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * Unbounded overflow for a named window consumer dispatch queue, for submissions by named window consumer dispatch threads
+ * that must not wait for queue capacity since the queue may be their own.
+ * <p>
+ * Once a unit overflows, further units submitted by consumer threads queue behind it until the partition thread,
+ * after executing each unit, has moved the overflow into the queue in order.
+ * </p>
+ */
+public class NamedWindowConsumerOverflowQueue {
+    private final BlockingQueue<Runnable> queue;
+    private final ArrayDeque<Runnable> overflow = new ArrayDeque<Runnable>();
+
+    /**
+     * Ctor.
+     *
+     * @param queue partition queue
+     */
+    public NamedWindowConsumerOverflowQueue(BlockingQueue<Runnable> queue) {
+        this.queue = queue;
+    }
+
+    /**
+     * Adds a unit to the partition queue if capacity is available and nothing overflowed before, or to the overflow otherwise.
+     *
+     * @param runnable unit
+     */
+    public synchronized void add(Runnable runnable) {
+        if (overflow.isEmpty() && queue.offer(runnable)) {
+            return;
+        }
+        overflow.addLast(runnable);
+    }
+
+    /**
+     * Moves overflow units into the partition queue in order, for as long as capacity is available.
+     */
+    public synchronized void transfer() {
+        while (!overflow.isEmpty() && queue.offer(overflow.peekFirst())) {
+            overflow.pollFirst();
+        }
+    }
+
+    /**
+     * Discards overflow units.
+     */
+    public synchronized void clear() {
+        overflow.clear();
+    }
+}
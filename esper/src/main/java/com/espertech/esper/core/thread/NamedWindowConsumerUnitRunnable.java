@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import com.espertech.esper.client.hook.ExceptionHandlerExceptionType;
+import com.espertech.esper.core.service.EPRuntimeImpl;
+import com.espertech.esper.core.service.ExceptionHandlingService;
+import com.espertech.esper.epl.named.NamedWindowConsumerDispatchUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Named window consumer dispatch unit.
+ */
+public class NamedWindowConsumerUnitRunnable implements Runnable {
+    private static final Logger log = LoggerFactory.getLogger(NamedWindowConsumerUnitRunnable.class);
+
+    private final EPRuntimeImpl runtime;
+    private final ExceptionHandlingService exceptionHandlingService;
+    private final NamedWindowConsumerDispatchUnit unit;
+    private final NamedWindowConsumerOverflowQueue overflow;
+
+    /**
+     * Ctor.
+     *
+     * @param runtime                  runtime to process
+     * @param exceptionHandlingService engine exception handling
+     * @param unit                     delivery to consumers of a statement
+     * @param overflow                 overflow of the partition queue
+     */
+    public NamedWindowConsumerUnitRunnable(EPRuntimeImpl runtime, ExceptionHandlingService exceptionHandlingService, NamedWindowConsumerDispatchUnit unit, NamedWindowConsumerOverflowQueue overflow) {
+        this.runtime = runtime;
+        this.exceptionHandlingService = exceptionHandlingService;
+        this.unit = unit;
+        this.overflow = overflow;
+    }
+
+    public void run() {
+        try {
+            unit.deliver();
+
+            runtime.dispatch();
+
+            runtime.processThreadWorkQueue();
+        } catch (RuntimeException e) {
+            handleException(e);
+        } finally {
+            unit.done();
+            overflow.transfer();
+        }
+    }
+
+    private void handleException(RuntimeException e) {
+        try {
+            exceptionHandlingService.handleException(e, unit.getHandle(), ExceptionHandlerExceptionType.PROCESS, null);
+        } catch (RuntimeException ex) {
+            log.error("Unexpected error processing named window consumer dispatch: " + ex.getMessage(), ex);
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import com.espertech.esper.client.EPException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Executes the parts of a computation on the engine parallel-compute thread pool, with the calling thread
+ * computing the first part and then waiting for the remaining parts to complete.
+ */
+public class ParallelComputeUtil {
+
+    /**
+     * Computes one part of a computation.
+     */
+    public interface Part {
+        /**
+         * Compute the part.
+         *
+         * @param part part number, starting at zero
+         */
+        public void compute(int part);
+    }
+
+    /**
+     * Returns the number of parts to split a computation into, for the given number of items and the minimum
+     * number of items per part.
+     *
+     * @param pool            thread pool
+     * @param numItems        number of items
+     * @param minItemsPerPart minimum number of items per part
+     * @return number of parts, at least one
+     */
+    public static int getNumParts(ThreadPoolExecutor pool, int numItems, int minItemsPerPart) {
+        int maxParts = Math.max(1, numItems / Math.max(1, minItemsPerPart));
+        return Math.max(1, Math.min(maxParts, pool.getMaximumPoolSize() + 1));
+    }
+
+    /**
+     * Computes all parts and returns when all parts completed. Parts that the pool rejects, for example because
+     * the engine is being destroyed, compute on the calling thread.
+     *
+     * @param pool     thread pool
+     * @param numParts number of parts
+     * @param part     computes a part, must be thread-safe
+     * @throws EPException if a part throws a checked exception or the calling thread is interrupted
+     */
+    public static void compute(ThreadPoolExecutor pool, int numParts, final Part part) {
+        List<Future<?>> futures = new ArrayList<Future<?>>(numParts);
+        try {
+            for (int i = 1; i < numParts; i++) {
+                final int partNum = i;
+                try {
+                    futures.add(pool.submit(new Runnable() {
+                        public void run() {
+                            part.compute(partNum);
+                        }
+                    }));
+                } catch (RejectedExecutionException ex) {
+                    part.compute(partNum);
+                }
+            }
+            part.compute(0);
+        } catch (RuntimeException ex) {
+            for (Future<?> future : futures) {
+                future.cancel(false);
+            }
+            throw ex;
+        }
+
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                futures.get(i).get();
+            } catch (InterruptedException ex) {
+                for (int j = i; j < futures.size(); j++) {
+                    futures.get(j).cancel(false);
+                }
+                Thread.currentThread().interrupt();
+                throw new EPException("Interrupted awaiting parallel computation", ex);
+            } catch (ExecutionException ex) {
+                for (int j = i + 1; j < futures.size(); j++) {
+                    futures.get(j).cancel(false);
+                }
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new EPException(cause);
+            }
+        }
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bounded lock-free multi-producer multi-consumer queue backed by a pre-allocated ring buffer.
+ * <p>
+ * Each slot carries a sequence number that indicates whether the slot is ready to be written for a given
+ * producer position or ready to be read for a given consumer position. Producers and consumers claim positions
+ * by compare-and-set and never lock. Blocking operations wait using the configured wait strategy.
+ * </p>
+ *
+ * @param <E> element type
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+    private final static long PARK_NANOS = 1000;
+
+    private final Object[] buffer;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy waitStrategy;
+    private final AtomicLong head = new AtomicLong();
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Ctor.
+     *
+     * @param capacity     minimum capacity, rounded up to a power of two
+     * @param waitStrategy strategy for waiting when empty or full
+     */
+    public RingBufferBlockingQueue(int capacity, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy waitStrategy) {
+        if (capacity < 1 || capacity > (1 << 30)) {
+            throw new IllegalArgumentException("Invalid capacity " + capacity);
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size = size << 1;
+        }
+        this.buffer = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Returns the ring buffer capacity.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return buffer.length;
+    }
+
+    public boolean offer(E e) {
+        if (e == null) {
+            throw new NullPointerException();
+        }
+        while (true) {
+            long pos = tail.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - pos;
+            if (diff == 0) {
+                if (tail.compareAndSet(pos, pos + 1)) {
+                    buffer[index] = e;
+                    sequences.lazySet(index, pos + 1);
+                    return true;
+                }
+            } else if (diff < 0) {
+                return false;
+            }
+        }
+    }
+
+    public E poll() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            long diff = sequences.get(index) - (pos + 1);
+            if (diff == 0) {
+                if (head.compareAndSet(pos, pos + 1)) {
+                    E e = (E) buffer[index];
+                    buffer[index] = null;
+                    sequences.lazySet(index, pos + mask + 1);
+                    return e;
+                }
+            } else if (diff < 0) {
+                return null;
+            }
+        }
+    }
+
+    public E peek() {
+        while (true) {
+            long pos = head.get();
+            int index = (int) (pos & mask);
+            if (sequences.get(index) != pos + 1) {
+                return null;
+            }
+            E e = (E) buffer[index];
+            if (e != null && head.get() == pos) {
+                return e;
+            }
+        }
+    }
+
+    public void put(E e) throws InterruptedException {
+        int counter = 0;
+        while (!offer(e)) {
+            counter = idle(counter);
+        }
+    }
+
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        while (!offer(e)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            counter = idle(counter);
+        }
+        return true;
+    }
+
+    public E take() throws InterruptedException {
+        int counter = 0;
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            counter = idle(counter);
+        }
+    }
+
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int counter = 0;
+        while (true) {
+            E e = poll();
+            if (e != null) {
+                return e;
+            }
+            if (System.nanoTime() - deadline >= 0) {
+                return null;
+            }
+            counter = idle(counter);
+        }
+    }
+
+    public int remainingCapacity() {
+        return buffer.length - size();
+    }
+
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Removes up to the maximum number of available elements, claiming all of them with a single compare-and-set
+     * of the consumer position so that a batching consumer does not contend per element.
+     *
+     * @param c           collection to add to
+     * @param maxElements maximum number of elements to remove
+     * @return number of elements removed
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        if (c == this) {
+            throw new IllegalArgumentException();
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+        while (true) {
+            long pos = head.get();
+            int available = 0;
+            while (available < maxElements && available <= mask && sequences.get((int) ((pos + available) & mask)) == pos + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                if (sequences.get((int) (pos & mask)) - (pos + 1) < 0) {
+                    return 0;
+                }
+                continue;
+            }
+            if (!head.compareAndSet(pos, pos + available)) {
+                continue;
+            }
+            for (int i = 0; i < available; i++) {
+                long current = pos + i;
+                int index = (int) (current & mask);
+                c.add((E) buffer[index]);
+                buffer[index] = null;
+                sequences.lazySet(index, current + mask + 1);
+            }
+            return available;
+        }
+    }
+
+    public int size() {
+        while (true) {
+            long before = head.get();
+            long current = tail.get();
+            long after = head.get();
+            if (before == after) {
+                long size = current - after;
+                return size < 0 ? 0 : (int) Math.min(size, buffer.length);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Removal of specific elements is not supported and always returns false.
+     *
+     * @param o element
+     * @return false
+     */
+    public boolean remove(Object o) {
+        return false;
+    }
+
+    /**
+     * Returns an iterator over a snapshot of the elements, the iterator does not support removal.
+     *
+     * @return iterator
+     */
+    public Iterator<E> iterator() {
+        List<E> snapshot = new ArrayList<E>();
+        long start = head.get();
+        long end = tail.get();
+        for (long pos = start; pos < end; pos++) {
+            int index = (int) (pos & mask);
+            E e = (E) buffer[index];
+            if (e != null && sequences.get(index) == pos + 1) {
+                snapshot.add(e);
+            }
+        }
+        return Collections.unmodifiableList(snapshot).iterator();
+    }
+
+    private int idle(int counter) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        switch (waitStrategy) {
+            case BUSYSPIN:
+                break;
+            case YIELD:
+                Thread.yield();
+                break;
+            default:
+                // spin briefly before parking
+                if (counter < 100) {
+                    return counter + 1;
+                }
+                LockSupport.parkNanos(PARK_NANOS);
+                break;
+        }
+        return counter;
+    }
+}
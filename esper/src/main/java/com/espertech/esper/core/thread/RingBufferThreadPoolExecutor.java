@@ -0,0 +1,87 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Thread pool for a ring buffer queue that consumes in batches: after executing a unit, the worker thread drains
+ * the units that are available in the ring buffer with a single claim and executes them in order before returning
+ * to the pool.
+ * <p>
+ * Units are expected to handle their own exceptions, as inbound and outbound units do.
+ * </p>
+ */
+public class RingBufferThreadPoolExecutor extends ThreadPoolExecutor {
+    private static final Logger log = LoggerFactory.getLogger(RingBufferThreadPoolExecutor.class);
+
+    private final RingBufferBlockingQueue<Runnable> queue;
+    private final int batchSize;
+    private final AtomicLong batchedCount = new AtomicLong();
+    private final ThreadLocal<ArrayList<Runnable>> batches = new ThreadLocal<ArrayList<Runnable>>() {
+        protected synchronized ArrayList<Runnable> initialValue() {
+            return new ArrayList<Runnable>();
+        }
+    };
+
+    /**
+     * Ctor.
+     *
+     * @param numThreads    number of threads
+     * @param queue         ring buffer queue
+     * @param threadFactory thread factory
+     * @param batchSize     maximum number of units to drain per batch
+     */
+    public RingBufferThreadPoolExecutor(int numThreads, RingBufferBlockingQueue<Runnable> queue, ThreadFactory threadFactory, int batchSize) {
+        super(numThreads, numThreads, 1, TimeUnit.SECONDS, queue, threadFactory);
+        this.queue = queue;
+        this.batchSize = batchSize;
+    }
+
+    protected void afterExecute(Runnable r, Throwable t) {
+        super.afterExecute(r, t);
+        if (isShutdown()) {
+            return;
+        }
+        ArrayList<Runnable> batch = batches.get();
+        if (queue.drainTo(batch, batchSize) == 0) {
+            return;
+        }
+        try {
+            for (Runnable unit : batch) {
+                try {
+                    unit.run();
+                } catch (RuntimeException ex) {
+                    log.error("Unexpected error executing unit: " + ex.getMessage(), ex);
+                }
+            }
+            batchedCount.addAndGet(batch.size());
+        } finally {
+            batch.clear();
+        }
+    }
+
+    /**
+     * Returns the count of completed units including those executed as part of a batch.
+     *
+     * @return completed count
+     */
+    public long getCompletedTaskCount() {
+        return super.getCompletedTaskCount() + batchedCount.get();
+    }
+}
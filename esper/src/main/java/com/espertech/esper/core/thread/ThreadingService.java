@@ -12,6 +12,7 @@ package com.espertech.esper.core.thread;
 
 import com.espertech.esper.core.service.EPRuntimeImpl;
 import com.espertech.esper.core.service.EPServicesContext;
+import com.espertech.esper.epl.named.NamedWindowConsumerDispatchUnit;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -75,6 +76,23 @@ public interface ThreadingService {
      */
     public void submitRoute(RouteUnitRunnable unit);
 
+    /**
+     * Returns true for named window consumer dispatch threading enabled.
+     *
+     * @return indicator
+     */
+    public boolean isNamedWindowConsumerThreading();
+
+    /**
+     * Submit named window consumer dispatch work unit, to the thread assigned to the consuming statement.
+     * When submitted by a named window consumer dispatch thread and the queue is full, the unit is held
+     * in an unbounded overflow, in order, instead of waiting for queue capacity.
+     *
+     * @param unit             unit of work
+     * @param isConsumerThread true when submitted by a named window consumer dispatch thread
+     */
+    public void submitNamedWindowConsumer(NamedWindowConsumerDispatchUnit unit, boolean isConsumerThread);
+
     /**
      * Returns true for outbound threading enabled.
      *
@@ -145,5 +163,23 @@ public interface ThreadingService {
      */
     public ThreadPoolExecutor getInboundThreadPool();
 
+    /**
+     * Returns the single-threaded pool of each inbound shard when inbound threading is sharded by context partition,
+     * or null when inbound threading is not sharded. The queue depth of a shard is the size of the pool queue
+     * and the number of events processed by a shard is the completed task count of the pool.
+     *
+     * @return thread pool per shard
+     */
+    public ThreadPoolExecutor[] getInboundShardThreadPools();
+
+    /**
+     * Returns the engine-owned thread pool that executes the parts of a computation that a single thread splits up
+     * and waits for, such as computing index keys over existing events. The pool has one thread per available
+     * processor and is started on first use.
+     *
+     * @return thread pool
+     */
+    public ThreadPoolExecutor getParallelComputeThreadPool();
+
     public Thread makeEventSourceThread(String engineURI, String sourceName, Runnable runnable);
 }
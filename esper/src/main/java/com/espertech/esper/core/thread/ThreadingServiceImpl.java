@@ -13,6 +13,9 @@ package com.espertech.esper.core.thread;
 import com.espertech.esper.client.ConfigurationEngineDefaults;
 import com.espertech.esper.core.service.EPRuntimeImpl;
 import com.espertech.esper.core.service.EPServicesContext;
+import com.espertech.esper.core.service.ExceptionHandlingService;
+import com.espertech.esper.core.service.StatementLifecycleSvc;
+import com.espertech.esper.epl.named.NamedWindowConsumerDispatchUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -24,11 +27,16 @@ import java.util.concurrent.*;
 public class ThreadingServiceImpl implements ThreadingService {
     private static final Logger log = LoggerFactory.getLogger(ThreadingServiceImpl.class);
 
+    private static final int RINGBUFFER_DEFAULT_CAPACITY = 64 * 1024;
+    private static final int RINGBUFFER_MAX_CAPACITY = 1 << 24;
+    private static final int RINGBUFFER_DRAIN_BATCH_SIZE = 256;
+
     private final ConfigurationEngineDefaults.Threading config;
     private final boolean isTimerThreading;
     private final boolean isInboundThreading;
     private final boolean isRouteThreading;
     private final boolean isOutboundThreading;
+    private final boolean isNamedWindowConsumerThreading;
 
     private BlockingQueue<Runnable> timerQueue;
     private BlockingQueue<Runnable> inboundQueue;
@@ -40,6 +48,18 @@ public class ThreadingServiceImpl implements ThreadingService {
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
 
+    private InboundShardRouter inboundShardRouter;
+    private StatementLifecycleSvc statementLifecycleSvc;
+    private ThreadPoolExecutor[] inboundShardThreadPools;
+
+    private EPRuntimeImpl runtime;
+    private ExceptionHandlingService exceptionHandlingService;
+    private ThreadPoolExecutor[] namedWindowConsumerThreadPools;
+    private NamedWindowConsumerOverflowQueue[] namedWindowConsumerOverflows;
+
+    private String engineURI;
+    private ThreadPoolExecutor parallelComputeThreadPool;
+
     /**
      * Ctor.
      *
@@ -52,11 +72,13 @@ public class ThreadingServiceImpl implements ThreadingService {
             isInboundThreading = threadingConfig.isThreadPoolInbound();
             isRouteThreading = threadingConfig.isThreadPoolRouteExec();
             isOutboundThreading = threadingConfig.isThreadPoolOutbound();
+            isNamedWindowConsumerThreading = threadingConfig.isThreadPoolNamedWindowConsumer();
         } else {
             isTimerThreading = false;
             isInboundThreading = false;
             isRouteThreading = false;
             isOutboundThreading = false;
+            isNamedWindowConsumerThreading = false;
         }
     }
 
@@ -76,29 +98,65 @@ public class ThreadingServiceImpl implements ThreadingService {
         return isOutboundThreading;
     }
 
+    public boolean isNamedWindowConsumerThreading() {
+        return isNamedWindowConsumerThreading;
+    }
+
     public void initThreading(EPServicesContext services, EPRuntimeImpl runtime) {
-        if (isInboundThreading) {
-            inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
-            inboundThreadPool = getThreadPool(services.getEngineURI(), "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+        engineURI = services.getEngineURI();
+        if (isInboundThreading && config.getThreadPoolInboundShardContext() != null) {
+            int numShards = Math.max(1, config.getThreadPoolInboundNumThreads());
+            inboundShardRouter = new InboundShardRouter(config.getThreadPoolInboundShardContext(), services.getContextManagementService(), numShards);
+            statementLifecycleSvc = services.getStatementLifecycleSvc();
+            statementLifecycleSvc.addObserver(inboundShardRouter);
+            inboundShardThreadPools = new ThreadPoolExecutor[numShards];
+            for (int i = 0; i < numShards; i++) {
+                inboundShardThreadPools[i] = getThreadPool(services.getEngineURI(), "Inbound-" + i, makeQueue(config.getThreadPoolInboundCapacity(), config.getThreadPoolInboundWaitStrategy()), 1, true);
+            }
+        } else if (isInboundThreading) {
+            inboundQueue = makeQueue(config.getThreadPoolInboundCapacity(), config.getThreadPoolInboundWaitStrategy());
+            inboundThreadPool = getThreadPool(services.getEngineURI(), "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads(), true);
         }
 
         if (isTimerThreading) {
-            timerQueue = makeQueue(config.getThreadPoolTimerExecCapacity());
+            timerQueue = makeQueue(config.getThreadPoolTimerExecCapacity(), config.getThreadPoolTimerExecWaitStrategy());
             timerThreadPool = getThreadPool(services.getEngineURI(), "TimerExec", timerQueue, config.getThreadPoolTimerExecNumThreads());
         }
 
         if (isRouteThreading) {
-            routeQueue = makeQueue(config.getThreadPoolRouteExecCapacity());
+            routeQueue = makeQueue(config.getThreadPoolRouteExecCapacity(), config.getThreadPoolRouteExecWaitStrategy());
             routeThreadPool = getThreadPool(services.getEngineURI(), "RouteExec", routeQueue, config.getThreadPoolRouteExecNumThreads());
         }
 
         if (isOutboundThreading) {
-            outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
-            outboundThreadPool = getThreadPool(services.getEngineURI(), "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
+            outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity(), config.getThreadPoolOutboundWaitStrategy());
+            outboundThreadPool = getThreadPool(services.getEngineURI(), "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads(), true);
+        }
+
+        if (isNamedWindowConsumerThreading) {
+            // a single thread per partition delivers in order to the consuming statements assigned to the partition
+            this.runtime = runtime;
+            this.exceptionHandlingService = services.getExceptionHandlingService();
+            int numPartitions = Math.max(1, config.getThreadPoolNamedWindowConsumerNumThreads());
+            namedWindowConsumerThreadPools = new ThreadPoolExecutor[numPartitions];
+            namedWindowConsumerOverflows = new NamedWindowConsumerOverflowQueue[numPartitions];
+            for (int i = 0; i < numPartitions; i++) {
+                BlockingQueue<Runnable> queue = makeQueue(config.getThreadPoolNamedWindowConsumerCapacity(), config.getThreadPoolNamedWindowConsumerWaitStrategy());
+                namedWindowConsumerThreadPools[i] = getThreadPool(services.getEngineURI(), "NamedWindowConsumer-" + i, queue, 1);
+                namedWindowConsumerOverflows[i] = new NamedWindowConsumerOverflowQueue(queue);
+            }
         }
     }
 
-    private BlockingQueue<Runnable> makeQueue(Integer threadPoolTimerExecCapacity) {
+    private BlockingQueue<Runnable> makeQueue(Integer threadPoolTimerExecCapacity, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy waitStrategy) {
+        if (waitStrategy != null && waitStrategy != ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING) {
+            if ((threadPoolTimerExecCapacity == null) ||
+                    (threadPoolTimerExecCapacity <= 0) ||
+                    (threadPoolTimerExecCapacity > RINGBUFFER_MAX_CAPACITY)) {
+                return new RingBufferBlockingQueue<Runnable>(RINGBUFFER_DEFAULT_CAPACITY, waitStrategy);
+            }
+            return new RingBufferBlockingQueue<Runnable>(threadPoolTimerExecCapacity, waitStrategy);
+        }
         if ((threadPoolTimerExecCapacity == null) ||
                 (threadPoolTimerExecCapacity <= 0) ||
                 (threadPoolTimerExecCapacity == Integer.MAX_VALUE)) {
@@ -118,6 +176,11 @@ public class ThreadingServiceImpl implements ThreadingService {
 
     public void submitInbound(InboundUnitRunnable unit) {
         try {
+            if (inboundShardRouter != null) {
+                int shard = inboundShardRouter.getShard(unit.getEventBean());
+                inboundShardThreadPools[shard].getQueue().put(unit);
+                return;
+            }
             inboundQueue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
@@ -132,6 +195,22 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
+    public void submitNamedWindowConsumer(NamedWindowConsumerDispatchUnit unit, boolean isConsumerThread) {
+        int partition = (unit.getHandle().hashCode() & Integer.MAX_VALUE) % namedWindowConsumerThreadPools.length;
+        NamedWindowConsumerUnitRunnable runnable = new NamedWindowConsumerUnitRunnable(runtime, exceptionHandlingService, unit, namedWindowConsumerOverflows[partition]);
+        if (isConsumerThread) {
+            // a consumer thread does not wait for queue capacity as the queue may be its own, it overflows in order instead
+            namedWindowConsumerOverflows[partition].add(runnable);
+            return;
+        }
+        try {
+            namedWindowConsumerThreadPools[partition].getQueue().put(runnable);
+        } catch (InterruptedException e) {
+            log.info("Submit interrupted:" + e);
+            unit.done();
+        }
+    }
+
     public void submitTimerWork(TimerUnit unit) {
         try {
             timerQueue.put(unit);
@@ -172,6 +251,21 @@ public class ThreadingServiceImpl implements ThreadingService {
         return inboundThreadPool;
     }
 
+    public ThreadPoolExecutor[] getInboundShardThreadPools() {
+        return inboundShardThreadPools;
+    }
+
+    public ThreadPoolExecutor[] getNamedWindowConsumerThreadPools() {
+        return namedWindowConsumerThreadPools;
+    }
+
+    public synchronized ThreadPoolExecutor getParallelComputeThreadPool() {
+        if (parallelComputeThreadPool == null) {
+            parallelComputeThreadPool = getThreadPool(engineURI, "ParallelCompute", new LinkedBlockingQueue<Runnable>(), Runtime.getRuntime().availableProcessors());
+        }
+        return parallelComputeThreadPool;
+    }
+
     public synchronized void destroy() {
         if (timerThreadPool != null) {
             stopPool(timerThreadPool, timerQueue, "TimerExec");
@@ -185,14 +279,42 @@ public class ThreadingServiceImpl implements ThreadingService {
         if (inboundThreadPool != null) {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
+        if (inboundShardThreadPools != null) {
+            for (int i = 0; i < inboundShardThreadPools.length; i++) {
+                stopPool(inboundShardThreadPools[i], inboundShardThreadPools[i].getQueue(), "Inbound-" + i);
+            }
+        }
+        if (parallelComputeThreadPool != null) {
+            stopPool(parallelComputeThreadPool, parallelComputeThreadPool.getQueue(), "ParallelCompute");
+        }
+        if (namedWindowConsumerThreadPools != null) {
+            for (int i = 0; i < namedWindowConsumerThreadPools.length; i++) {
+                namedWindowConsumerOverflows[i].clear();
+                stopPool(namedWindowConsumerThreadPools[i], namedWindowConsumerThreadPools[i].getQueue(), "NamedWindowConsumer-" + i);
+            }
+        }
 
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        inboundShardThreadPools = null;
+        if (inboundShardRouter != null) {
+            statementLifecycleSvc.removeObserver(inboundShardRouter);
+        }
+        inboundShardRouter = null;
+        statementLifecycleSvc = null;
+        namedWindowConsumerThreadPools = null;
+        namedWindowConsumerOverflows = null;
+        parallelComputeThreadPool = null;
+        runtime = null;
     }
 
     private ThreadPoolExecutor getThreadPool(String engineURI, String name, BlockingQueue<Runnable> queue, int numThreads) {
+        return getThreadPool(engineURI, name, queue, numThreads, false);
+    }
+
+    private ThreadPoolExecutor getThreadPool(String engineURI, String name, BlockingQueue<Runnable> queue, int numThreads, boolean batching) {
         if (log.isInfoEnabled()) {
             log.info("Starting pool " + name + " with " + numThreads + " threads");
         }
@@ -203,7 +325,14 @@ public class ThreadingServiceImpl implements ThreadingService {
 
         String threadGroupName = "com.espertech.esper." + engineURI + "-" + name;
         ThreadGroup threadGroup = new ThreadGroup(threadGroupName);
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numThreads, numThreads, 1, TimeUnit.SECONDS, queue, new EngineThreadFactory(engineURI, name, threadGroup, Thread.NORM_PRIORITY));
+        EngineThreadFactory threadFactory = new EngineThreadFactory(engineURI, name, threadGroup, Thread.NORM_PRIORITY);
+        ThreadPoolExecutor pool;
+        if (batching && queue instanceof RingBufferBlockingQueue) {
+            // inbound and outbound units handle their own exceptions and may be drained and executed in batches
+            pool = new RingBufferThreadPoolExecutor(numThreads, (RingBufferBlockingQueue<Runnable>) queue, threadFactory, RINGBUFFER_DRAIN_BATCH_SIZE);
+        } else {
+            pool = new ThreadPoolExecutor(numThreads, numThreads, 1, TimeUnit.SECONDS, queue, threadFactory);
+        }
         pool.prestartAllCoreThreads();
 
         return pool;
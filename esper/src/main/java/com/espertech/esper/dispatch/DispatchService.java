@@ -38,4 +38,11 @@ public interface DispatchService {
      */
     public void dispatch();
 
+    /**
+     * Returns true if there are no Dispatchable implementations waiting for dispatch by the current thread.
+     *
+     * @return indicator whether the dispatch queue of the current thread is empty
+     */
+    public boolean isEmpty();
+
 }
@@ -0,0 +1,50 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.agg.aggregator;
+
+import com.espertech.esper.type.MinMaxTypeEnum;
+
+/**
+ * Min/max aggregator for all double values, not considering events leaving the aggregation (i.e. ever).
+ */
+public class AggregatorMinMaxEverDouble extends AggregatorMinMaxEver implements AggregationMethodDouble {
+
+    /**
+     * Ctor.
+     *
+     * @param minMaxTypeEnum - enum indicating to return minimum or maximum values
+     */
+    public AggregatorMinMaxEverDouble(MinMaxTypeEnum minMaxTypeEnum) {
+        super(minMaxTypeEnum);
+    }
+
+    public void enterDouble(double value) {
+        if (currentMinMax == null) {
+            currentMinMax = value;
+            return;
+        }
+        // same ordering as Double.compareTo, the current value is only boxed when it changes
+        int compared = Double.compare((Double) currentMinMax, value);
+        if (minMaxTypeEnum == MinMaxTypeEnum.MAX) {
+            if (compared < 0) {
+                currentMinMax = value;
+            }
+        } else {
+            if (compared > 0) {
+                currentMinMax = value;
+            }
+        }
+    }
+
+    public void leaveDouble(double value) {
+        leave(value);
+    }
+}
@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Standard deviation always generates double-typed numbers.
  */
-public class AggregatorStddev implements AggregationMethod {
+public class AggregatorStddev implements AggregationMethodDouble {
     protected double mean;
     protected double qn;
     protected long numDataPoints;
@@ -28,9 +28,10 @@ public class AggregatorStddev implements AggregationMethod {
         if (object == null) {
             return;
         }
+        enterDouble(((Number) object).doubleValue());
+    }
 
-        double p = ((Number) object).doubleValue();
-
+    public void enterDouble(double p) {
         // compute running variance per Knuth's method
         if (numDataPoints == 0) {
             mean = p;
@@ -48,9 +49,10 @@ public class AggregatorStddev implements AggregationMethod {
         if (object == null) {
             return;
         }
+        leaveDouble(((Number) object).doubleValue());
+    }
 
-        double p = ((Number) object).doubleValue();
-
+    public void leaveDouble(double p) {
         // compute running variance per Knuth's method
         if (numDataPoints <= 1) {
             clear();
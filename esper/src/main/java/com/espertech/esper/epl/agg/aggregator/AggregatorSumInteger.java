@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for integer values.
  */
-public class AggregatorSumInteger implements AggregationMethod {
+public class AggregatorSumInteger implements AggregationMethodLong {
     protected int sum;
     protected long numDataPoints;
 
@@ -26,19 +26,27 @@ public class AggregatorSumInteger implements AggregationMethod {
         if (object == null) {
             return;
         }
+        enterLong((Integer) object);
+    }
+
+    public void enterLong(long value) {
         numDataPoints++;
-        sum += (Integer) object;
+        sum += (int) value;
     }
 
     public void leave(Object object) {
         if (object == null) {
             return;
         }
+        leaveLong((Integer) object);
+    }
+
+    public void leaveLong(long value) {
         if (numDataPoints <= 1) {
             clear();
         } else {
             numDataPoints--;
-            sum -= (Integer) object;
+            sum -= (int) value;
         }
     }
 
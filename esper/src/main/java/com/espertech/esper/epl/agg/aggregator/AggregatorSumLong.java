@@ -13,7 +13,7 @@ package com.espertech.esper.epl.agg.aggregator;
 /**
  * Sum for long values.
  */
-public class AggregatorSumLong implements AggregationMethod {
+public class AggregatorSumLong implements AggregationMethodLong {
     protected long sum;
     protected long numDataPoints;
 
@@ -26,19 +26,27 @@ public class AggregatorSumLong implements AggregationMethod {
         if (object == null) {
             return;
         }
+        enterLong((Long) object);
+    }
+
+    public void enterLong(long value) {
         numDataPoints++;
-        sum += (Long) object;
+        sum += value;
     }
 
     public void leave(Object object) {
         if (object == null) {
             return;
         }
+        leaveLong((Long) object);
+    }
+
+    public void leaveLong(long value) {
         if (numDataPoints <= 1) {
             clear();
         } else {
             numDataPoints--;
-            sum -= (Long) object;
+            sum -= value;
         }
     }
 
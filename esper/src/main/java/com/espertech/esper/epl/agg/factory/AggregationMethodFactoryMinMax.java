@@ -24,6 +24,7 @@ import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.epl.expression.methodagg.ExprMethodAggUtil;
 import com.espertech.esper.epl.expression.methodagg.ExprMinMaxAggrNode;
 import com.espertech.esper.type.MinMaxTypeEnum;
+import com.espertech.esper.util.JavaClassHelper;
 
 public class AggregationMethodFactoryMinMax implements AggregationMethodFactory {
     protected final ExprMinMaxAggrNode parent;
@@ -93,6 +94,9 @@ public class AggregationMethodFactoryMinMax implements AggregationMethodFactory
     private AggregationMethod makeMinMaxAggregator(MinMaxTypeEnum minMaxTypeEnum, Class targetType, boolean isHasDataWindows, boolean hasFilter) {
         if (!hasFilter) {
             if (!isHasDataWindows) {
+                if (JavaClassHelper.getBoxedType(targetType) == Double.class) {
+                    return new AggregatorMinMaxEverDouble(minMaxTypeEnum);
+                }
                 return new AggregatorMinMaxEver(minMaxTypeEnum);
             }
             return new AggregatorMinMax(minMaxTypeEnum);
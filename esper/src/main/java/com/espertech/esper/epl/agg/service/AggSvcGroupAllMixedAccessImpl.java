@@ -41,8 +41,12 @@ public class AggSvcGroupAllMixedAccessImpl extends AggregationServiceBaseUngroup
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, aggregators[i], aggregatorFactories[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            aggregators[i].enter(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(aggregators[i], evaluatorsPrimitive[i], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                aggregators[i].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, aggregators[i]);
             }
@@ -72,8 +76,12 @@ public class AggSvcGroupAllMixedAccessImpl extends AggregationServiceBaseUngroup
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, aggregators[i], aggregatorFactories[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            aggregators[i].leave(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(aggregators[i], evaluatorsPrimitive[i], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                aggregators[i].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, aggregators[i]);
             }
@@ -41,8 +41,12 @@ public class AggSvcGroupAllNoAccessImpl extends AggregationServiceBaseUngrouped
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, j, aggregators[j], aggregatorFactories[j].getAggregationExpression());
             }
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            aggregators[j].enter(columnResult);
+            if (evaluatorsPrimitive[j] != null) {
+                AggregatorUtil.applyPrimitive(aggregators[j], evaluatorsPrimitive[j], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[j].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                aggregators[j].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, j, aggregators[j]);
             }
@@ -60,8 +64,12 @@ public class AggSvcGroupAllNoAccessImpl extends AggregationServiceBaseUngrouped
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, j, aggregators[j], aggregatorFactories[j].getAggregationExpression());
             }
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            aggregators[j].leave(columnResult);
+            if (evaluatorsPrimitive[j] != null) {
+                AggregatorUtil.applyPrimitive(aggregators[j], evaluatorsPrimitive[j], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[j].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                aggregators[j].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, j, aggregators[j]);
             }
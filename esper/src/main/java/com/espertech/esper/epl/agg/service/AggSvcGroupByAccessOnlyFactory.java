@@ -21,6 +21,7 @@ public class AggSvcGroupByAccessOnlyFactory implements AggregationServiceFactory
     private final AggregationAccessorSlotPair[] accessors;
     private final AggregationStateFactory[] accessAggSpecs;
     private final boolean isJoin;
+    private final Class groupKeyType;
 
     /**
      * Ctor.
@@ -28,16 +29,19 @@ public class AggSvcGroupByAccessOnlyFactory implements AggregationServiceFactory
      * @param accessors      accessor definitions
      * @param accessAggSpecs access aggregations
      * @param isJoin         true for join, false for single-stream
+     * @param groupKeyType   group key type for a specialized group map, or null
      */
     public AggSvcGroupByAccessOnlyFactory(AggregationAccessorSlotPair[] accessors,
                                           AggregationStateFactory[] accessAggSpecs,
-                                          boolean isJoin) {
+                                          boolean isJoin,
+                                          Class groupKeyType) {
         this.accessors = accessors;
         this.accessAggSpecs = accessAggSpecs;
         this.isJoin = isJoin;
+        this.groupKeyType = groupKeyType;
     }
 
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
-        return new AggSvcGroupByAccessOnlyImpl(accessors, accessAggSpecs, isJoin);
+        return new AggSvcGroupByAccessOnlyImpl(accessors, accessAggSpecs, isJoin, groupKeyType);
     }
 }
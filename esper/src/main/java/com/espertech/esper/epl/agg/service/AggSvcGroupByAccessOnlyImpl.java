@@ -17,7 +17,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -38,11 +37,13 @@ public class AggSvcGroupByAccessOnlyImpl implements AggregationService, Aggregat
      * @param accessors      accessor definitions
      * @param accessAggSpecs access agg specs
      * @param isJoin         true for join, false for single-stream
+     * @param groupKeyType   group key type for a specialized group map, or null
      */
     public AggSvcGroupByAccessOnlyImpl(AggregationAccessorSlotPair[] accessors,
                                        AggregationStateFactory[] accessAggSpecs,
-                                       boolean isJoin) {
-        this.accessMap = new HashMap<Object, AggregationState[]>();
+                                       boolean isJoin,
+                                       Class groupKeyType) {
+        this.accessMap = AggSvcGroupByUtil.newGroupMap(groupKeyType);
         this.accessors = accessors;
         this.accessAggSpecs = accessAggSpecs;
         this.isJoin = isJoin;
@@ -22,6 +22,7 @@ public class AggSvcGroupByMixedAccessFactory extends AggregationServiceFactoryBa
     protected final AggregationAccessorSlotPair[] accessors;
     protected final AggregationStateFactory[] accessAggregations;
     protected final boolean isJoin;
+    protected final Class groupKeyType;
 
     /**
      * Ctor.
@@ -32,19 +33,22 @@ public class AggSvcGroupByMixedAccessFactory extends AggregationServiceFactoryBa
      * @param accessors          accessor definitions
      * @param accessAggregations access aggs
      * @param isJoin             true for join, false for single-stream
+     * @param groupKeyType       group key type for a specialized group map, or null
      */
     public AggSvcGroupByMixedAccessFactory(ExprEvaluator[] evaluators,
                                            AggregationMethodFactory[] prototypes,
                                            AggregationAccessorSlotPair[] accessors,
                                            AggregationStateFactory[] accessAggregations,
-                                           boolean isJoin) {
+                                           boolean isJoin,
+                                           Class groupKeyType) {
         super(evaluators, prototypes);
         this.accessors = accessors;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
+        this.groupKeyType = groupKeyType;
     }
 
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
-        return new AggSvcGroupByMixedAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin);
+        return new AggSvcGroupByMixedAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin, groupKeyType);
     }
 }
\ No newline at end of file
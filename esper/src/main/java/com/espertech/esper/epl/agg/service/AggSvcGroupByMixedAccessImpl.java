@@ -19,7 +19,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -47,17 +46,19 @@ public class AggSvcGroupByMixedAccessImpl extends AggregationServiceBaseGrouped
      * @param accessorsFactory   accessor definitions
      * @param accessAggregations access aggs
      * @param isJoin             true for join, false for single-stream
+     * @param groupKeyType       group key type for a specialized group map, or null
      */
     public AggSvcGroupByMixedAccessImpl(ExprEvaluator[] evaluators,
                                         AggregationMethodFactory[] prototypes,
                                         AggregationAccessorSlotPair[] accessorsFactory,
                                         AggregationStateFactory[] accessAggregations,
-                                        boolean isJoin) {
+                                        boolean isJoin,
+                                        Class groupKeyType) {
         super(evaluators, prototypes);
         this.accessorsFactory = accessorsFactory;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationRowPair>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.newGroupMap(groupKeyType);
     }
 
     public void clearResults(ExprEvaluatorContext exprEvaluatorContext) {
@@ -85,8 +86,12 @@ public class AggSvcGroupByMixedAccessImpl extends AggregationServiceBaseGrouped
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, groupAggMethods[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggMethods[i].enter(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggMethods[i], evaluatorsPrimitive[i], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                groupAggMethods[i].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, groupAggMethods[i]);
             }
@@ -130,8 +135,12 @@ public class AggSvcGroupByMixedAccessImpl extends AggregationServiceBaseGrouped
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, groupAggMethods[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggMethods[i].leave(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggMethods[i], evaluatorsPrimitive[i], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                groupAggMethods[i].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, groupAggMethods[i]);
             }
@@ -17,7 +17,6 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Collection;
-import java.util.HashMap;
 import java.util.Map;
 
 /**
@@ -38,10 +37,11 @@ public class AggSvcGroupByNoAccessImpl extends AggregationServiceBaseGrouped {
      * @param evaluators - evaluate the sub-expression within the aggregate function (ie. sum(4*myNum))
      * @param prototypes - collect the aggregation state that evaluators evaluate to, act as prototypes for new aggregations
      *                   aggregation states for each group
+     * @param groupKeyType - group key type for a specialized group map, or null
      */
-    public AggSvcGroupByNoAccessImpl(ExprEvaluator[] evaluators, AggregationMethodFactory[] prototypes) {
+    public AggSvcGroupByNoAccessImpl(ExprEvaluator[] evaluators, AggregationMethodFactory[] prototypes, Class groupKeyType) {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethod[]>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.newGroupMap(groupKeyType);
     }
 
     public void clearResults(ExprEvaluatorContext exprEvaluatorContext) {
@@ -66,8 +66,12 @@ public class AggSvcGroupByNoAccessImpl extends AggregationServiceBaseGrouped {
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, groupAggregators[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[i].enter(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[i], evaluatorsPrimitive[i], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                groupAggregators[i].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, groupAggregators[i]);
             }
@@ -95,8 +99,12 @@ public class AggSvcGroupByNoAccessImpl extends AggregationServiceBaseGrouped {
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, groupAggregators[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[i].leave(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[i], evaluatorsPrimitive[i], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                groupAggregators[i].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, groupAggregators[i]);
             }
@@ -112,8 +112,12 @@ public class AggSvcGroupByReclaimAgedImpl extends AggregationServiceBaseGrouped
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, currentAggregatorMethods[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[i].enter(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[i], evaluatorsPrimitive[i], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                groupAggregators[i].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, currentAggregatorMethods[i]);
             }
@@ -194,8 +198,12 @@ public class AggSvcGroupByReclaimAgedImpl extends AggregationServiceBaseGrouped
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, currentAggregatorMethods[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[i].leave(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[i], evaluatorsPrimitive[i], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                groupAggregators[i].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, currentAggregatorMethods[i]);
             }
@@ -38,11 +38,13 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
      * @param evaluators - evaluate the sub-expression within the aggregate function (ie. sum(4*myNum))
      * @param prototypes - collect the aggregation state that evaluators evaluate to, act as prototypes for new aggregations
      *                   aggregation states for each group
+     * @param groupKeyType - group key type for a specialized group map, or null
      */
     public AggSvcGroupByRefcountedNoAccessImpl(ExprEvaluator[] evaluators,
-                                               AggregationMethodFactory[] prototypes) {
+                                               AggregationMethodFactory[] prototypes,
+                                               Class groupKeyType) {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethodRow>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.newGroupMap(groupKeyType);
         removedKeys = new ArrayList<Object>();
     }
 
@@ -75,8 +77,12 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, i, groupAggregators[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[i].enter(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[i], evaluatorsPrimitive[i], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                groupAggregators[i].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, i, groupAggregators[i]);
             }
@@ -108,8 +114,12 @@ public class AggSvcGroupByRefcountedNoAccessImpl extends AggregationServiceBaseG
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, i, groupAggregators[i], aggregators[i].getAggregationExpression());
             }
-            Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[i].leave(columnResult);
+            if (evaluatorsPrimitive[i] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[i], evaluatorsPrimitive[i], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[i].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                groupAggregators[i].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, i, groupAggregators[i]);
             }
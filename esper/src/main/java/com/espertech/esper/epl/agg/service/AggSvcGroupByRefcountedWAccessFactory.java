@@ -22,6 +22,7 @@ public class AggSvcGroupByRefcountedWAccessFactory extends AggregationServiceFac
     protected final AggregationAccessorSlotPair[] accessors;
     protected final AggregationStateFactory[] accessAggregations;
     protected final boolean isJoin;
+    protected final Class groupKeyType;
 
     /**
      * Ctor.
@@ -32,19 +33,22 @@ public class AggSvcGroupByRefcountedWAccessFactory extends AggregationServiceFac
      * @param accessors          accessor definitions
      * @param accessAggregations access aggs
      * @param isJoin             true for join, false for single-stream
+     * @param groupKeyType       group key type for a specialized group map, or null
      */
     public AggSvcGroupByRefcountedWAccessFactory(ExprEvaluator[] evaluators,
                                                  AggregationMethodFactory[] prototypes,
                                                  AggregationAccessorSlotPair[] accessors,
                                                  AggregationStateFactory[] accessAggregations,
-                                                 boolean isJoin) {
+                                                 boolean isJoin,
+                                                 Class groupKeyType) {
         super(evaluators, prototypes);
         this.accessors = accessors;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
+        this.groupKeyType = groupKeyType;
     }
 
     public AggregationService makeService(AgentInstanceContext agentInstanceContext, EngineImportService engineImportService, boolean isSubquery, Integer subqueryNumber) {
-        return new AggSvcGroupByRefcountedWAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin);
+        return new AggSvcGroupByRefcountedWAccessImpl(evaluators, aggregators, accessors, accessAggregations, isJoin, groupKeyType);
     }
 }
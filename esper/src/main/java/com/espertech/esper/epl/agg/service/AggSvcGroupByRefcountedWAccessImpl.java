@@ -48,14 +48,16 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
      * @param accessors          accessor definitions
      * @param accessAggregations access aggs
      * @param isJoin             true for join, false for single-stream
+     * @param groupKeyType       group key type for a specialized group map, or null
      */
     public AggSvcGroupByRefcountedWAccessImpl(ExprEvaluator[] evaluators,
                                               AggregationMethodFactory[] prototypes,
                                               AggregationAccessorSlotPair[] accessors,
                                               AggregationStateFactory[] accessAggregations,
-                                              boolean isJoin) {
+                                              boolean isJoin,
+                                              Class groupKeyType) {
         super(evaluators, prototypes);
-        this.aggregatorsPerGroup = new HashMap<Object, AggregationMethodPairRow>();
+        this.aggregatorsPerGroup = AggSvcGroupByUtil.newGroupMap(groupKeyType);
         this.accessors = accessors;
         this.accessAggregations = accessAggregations;
         this.isJoin = isJoin;
@@ -95,8 +97,12 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(true, j, groupAggregators[j], aggregators[j].getAggregationExpression());
             }
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, true, exprEvaluatorContext);
-            groupAggregators[j].enter(columnResult);
+            if (evaluatorsPrimitive[j] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[j], evaluatorsPrimitive[j], eventsPerStream, true, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[j].evaluate(eventsPerStream, true, exprEvaluatorContext);
+                groupAggregators[j].enter(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(true, j, groupAggregators[j]);
             }
@@ -144,8 +150,12 @@ public class AggSvcGroupByRefcountedWAccessImpl extends AggregationServiceBaseGr
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().qAggNoAccessEnterLeave(false, j, groupAggregators[j], aggregators[j].getAggregationExpression());
             }
-            Object columnResult = evaluators[j].evaluate(eventsPerStream, false, exprEvaluatorContext);
-            groupAggregators[j].leave(columnResult);
+            if (evaluatorsPrimitive[j] != null) {
+                AggregatorUtil.applyPrimitive(groupAggregators[j], evaluatorsPrimitive[j], eventsPerStream, false, exprEvaluatorContext);
+            } else {
+                Object columnResult = evaluators[j].evaluate(eventsPerStream, false, exprEvaluatorContext);
+                groupAggregators[j].leave(columnResult);
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aAggNoAccessEnterLeave(false, j, groupAggregators[j]);
             }
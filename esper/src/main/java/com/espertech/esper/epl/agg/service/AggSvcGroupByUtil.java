@@ -13,6 +13,14 @@ package com.espertech.esper.epl.agg.service;
 import com.espertech.esper.epl.agg.access.AggregationServicePassThru;
 import com.espertech.esper.epl.agg.access.AggregationState;
 import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
+import com.espertech.esper.collection.IntKeyOpenHashMap;
+import com.espertech.esper.collection.LongKeyOpenHashMap;
+import com.espertech.esper.collection.StringKeyOpenHashMap;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.util.JavaClassHelper;
+
+import java.util.HashMap;
+import java.util.Map;
 
 public class AggSvcGroupByUtil {
     public static AggregationMethod[] newAggregators(AggregationMethodFactory[] prototypes) {
@@ -32,4 +40,40 @@ public class AggSvcGroupByUtil {
         }
         return row;
     }
+
+    /**
+     * Returns the group key type for which a specialized group map exists, when grouping by a single expression
+     * returning int, long or string values, or null when grouping by any other type or multiple expressions.
+     *
+     * @param groupByNodes group-by expressions
+     * @return key type or null
+     */
+    public static Class getSpecializedGroupKeyType(ExprNode[] groupByNodes) {
+        if (groupByNodes == null || groupByNodes.length != 1) {
+            return null;
+        }
+        Class type = JavaClassHelper.getBoxedType(groupByNodes[0].getExprEvaluator().getType());
+        if (type == Integer.class || type == Long.class || type == String.class) {
+            return type;
+        }
+        return null;
+    }
+
+    /**
+     * Returns a new map for holding aggregation rows per group key.
+     *
+     * @param groupKeyType key type as returned by {@link #getSpecializedGroupKeyType(ExprNode[])}, or null for a general-purpose map
+     * @param <V>          row type
+     * @return map
+     */
+    public static <V> Map<Object, V> newGroupMap(Class groupKeyType) {
+        if (groupKeyType == Long.class) {
+            return new LongKeyOpenHashMap<V>();
+        } else if (groupKeyType == Integer.class) {
+            return new IntKeyOpenHashMap<V>();
+        } else if (groupKeyType == String.class) {
+            return new StringKeyOpenHashMap<V>();
+        }
+        return new HashMap<Object, V>();
+    }
 }
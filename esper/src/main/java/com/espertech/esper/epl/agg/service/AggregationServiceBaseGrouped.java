@@ -11,6 +11,7 @@
 package com.espertech.esper.epl.agg.service;
 
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorPrimitive;
 
 /**
  * All aggregation services require evaluation nodes which supply the value to be aggregated (summed, averaged, etc.)
@@ -22,6 +23,11 @@ public abstract class AggregationServiceBaseGrouped implements AggregationServic
      */
     protected ExprEvaluator[] evaluators;
 
+    /**
+     * Evaluation nodes that provide non-null primitive values, or null entries if not available.
+     */
+    protected ExprEvaluatorPrimitive[] evaluatorsPrimitive;
+
     /**
      * Aggregation states and factories.
      */
@@ -36,6 +42,7 @@ public abstract class AggregationServiceBaseGrouped implements AggregationServic
     public AggregationServiceBaseGrouped(ExprEvaluator[] evaluators, AggregationMethodFactory[] aggregators) {
         this.evaluators = evaluators;
         this.aggregators = aggregators;
+        this.evaluatorsPrimitive = AggregatorUtil.getPrimitiveEvaluators(evaluators);
 
         if (evaluators.length != aggregators.length) {
             throw new IllegalArgumentException("Expected the same number of evaluates as computer prototypes");
@@ -12,6 +12,7 @@ package com.espertech.esper.epl.agg.service;
 
 import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorPrimitive;
 
 /**
  * All aggregation services require evaluation nodes which supply the value to be aggregated (summed, averaged, etc.)
@@ -23,6 +24,11 @@ public abstract class AggregationServiceBaseUngrouped implements AggregationServ
      */
     protected ExprEvaluator[] evaluators;
 
+    /**
+     * Evaluation nodes that provide non-null primitive values, or null entries if not available.
+     */
+    protected ExprEvaluatorPrimitive[] evaluatorsPrimitive;
+
     /**
      * Aggregation states.
      */
@@ -44,6 +50,7 @@ public abstract class AggregationServiceBaseUngrouped implements AggregationServ
         this.aggregators = aggregators;
         this.aggregatorFactories = aggregatorFactories;
         this.accessAggregations = accessAggregations;
+        this.evaluatorsPrimitive = AggregatorUtil.getPrimitiveEvaluators(evaluators);
 
         if (evaluators.length != aggregators.length) {
             throw new IllegalArgumentException("Expected the same number of evaluates as aggregation methods");
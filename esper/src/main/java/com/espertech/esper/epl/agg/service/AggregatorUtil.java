@@ -10,9 +10,72 @@
  */
 package com.espertech.esper.epl.agg.service;
 
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethod;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethodDouble;
+import com.espertech.esper.epl.agg.aggregator.AggregationMethodLong;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorPrimitive;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+
 public class AggregatorUtil {
     public static boolean checkFilter(Object[] object) {
         Boolean pass = (Boolean) object[1];
         return pass != null && pass;
     }
+
+    /**
+     * Returns per aggregation method the evaluator if it provides non-null primitive values, or null if
+     * the value must be obtained by the evaluate method.
+     *
+     * @param evaluators evaluators of the values to be aggregated
+     * @return primitive evaluators, with null entries for evaluators that may return null
+     */
+    public static ExprEvaluatorPrimitive[] getPrimitiveEvaluators(ExprEvaluator[] evaluators) {
+        ExprEvaluatorPrimitive[] primitives = new ExprEvaluatorPrimitive[evaluators.length];
+        if (InstrumentationHelper.ENABLED) {
+            return primitives;
+        }
+        for (int i = 0; i < evaluators.length; i++) {
+            if (evaluators[i] instanceof ExprEvaluatorPrimitive && ((ExprEvaluatorPrimitive) evaluators[i]).isPrimitiveNonNull()) {
+                primitives[i] = (ExprEvaluatorPrimitive) evaluators[i];
+            }
+        }
+        return primitives;
+    }
+
+    /**
+     * Apply a value as entering or leaving the aggregation, passing the unboxed value if the aggregation method accepts it.
+     *
+     * @param aggregator      aggregation method
+     * @param evaluator       evaluator providing non-null values
+     * @param eventsPerStream events
+     * @param enter           true for entering, false for leaving
+     * @param context         evaluation context
+     */
+    public static void applyPrimitive(AggregationMethod aggregator, ExprEvaluatorPrimitive evaluator, EventBean[] eventsPerStream, boolean enter, ExprEvaluatorContext context) {
+        if (aggregator instanceof AggregationMethodDouble) {
+            double value = evaluator.evaluateDouble(eventsPerStream, enter, context);
+            if (enter) {
+                ((AggregationMethodDouble) aggregator).enterDouble(value);
+            } else {
+                ((AggregationMethodDouble) aggregator).leaveDouble(value);
+            }
+        } else if (aggregator instanceof AggregationMethodLong) {
+            long value = evaluator.evaluateLong(eventsPerStream, enter, context);
+            if (enter) {
+                ((AggregationMethodLong) aggregator).enterLong(value);
+            } else {
+                ((AggregationMethodLong) aggregator).leaveLong(value);
+            }
+        } else {
+            Object value = evaluator.evaluate(eventsPerStream, enter, context);
+            if (enter) {
+                aggregator.enter(value);
+            } else {
+                aggregator.leave(value);
+            }
+        }
+    }
 }
@@ -41,6 +41,8 @@ import com.espertech.esper.epl.spec.*;
 import com.espertech.esper.epl.table.mgmt.TableMetadata;
 import com.espertech.esper.epl.view.OutputConditionPolledFactory;
 import com.espertech.esper.epl.view.OutputConditionPolledFactoryFactory;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.event.EventBeanPool;
 import com.espertech.esper.event.NativeEventType;
 import com.espertech.esper.util.CollectionUtil;
 import com.espertech.esper.util.JavaClassHelper;
@@ -310,6 +312,7 @@ public class ResultSetProcessorFactoryFactory {
         SelectExprEventTypeRegistry selectExprEventTypeRegistry = new SelectExprEventTypeRegistry(stmtContext.getStatementName(), stmtContext.getStatementEventTypeRef());
         SelectExprProcessor selectExprProcessor = SelectExprProcessorFactory.getProcessor(Collections.<Integer>emptyList(), selectClauseSpec.getSelectExprList(), isUsingWildcard, insertIntoDesc, null, statementSpec.getForClauseSpec(), typeService, stmtContext.getEventAdapterService(), stmtContext.getStatementResultService(), stmtContext.getValueAddEventService(), selectExprEventTypeRegistry, stmtContext.getEngineImportService(), evaluatorContextStmt,
                 stmtContext.getVariableService(), stmtContext.getTableService(), stmtContext.getTimeProvider(), stmtContext.getEngineURI(), stmtContext.getStatementId(), stmtContext.getStatementName(), stmtContext.getAnnotations(), stmtContext.getContextDescriptor(), stmtContext.getConfigSnapshot(), selectExprProcessorCallback, stmtContext.getNamedWindowMgmtService(), statementSpec.getIntoTableSpec(), groupByRollupInfo, stmtContext.getStatementExtensionServicesContext());
+        assignEventBeanPool(selectExprProcessor, statementSpec, stmtContext, isFireAndForget, isOnSelect);
 
         // Get a list of event properties being aggregated in the select clause, if any
         ExprNodePropOrStreamSet propertiesGroupBy = ExprNodeUtility.getGroupByPropertiesValidateHasOne(groupByNodesValidated);
@@ -464,6 +467,33 @@ public class ResultSetProcessorFactoryFactory {
         return new ResultSetProcessorFactoryDesc(factory, orderByProcessorFactory, aggregationServiceFactory);
     }
 
+    /**
+     * Lets the select clause take the wrappers of the object-array or map events it inserts into a stream from a pool,
+     * if enabled and if the statement itself does not hold on to its output events.
+     */
+    private static void assignEventBeanPool(SelectExprProcessor selectExprProcessor, StatementSpecCompiled statementSpec, StatementContext stmtContext, boolean isFireAndForget, boolean isOnSelect) {
+        if (stmtContext.getConfigSnapshot() == null || !stmtContext.getConfigSnapshot().getEngineDefaults().getExecution().isEventBeanPooling()) {
+            return;
+        }
+        if (isFireAndForget || isOnSelect || statementSpec.getOnTriggerDesc() != null || statementSpec.getInsertIntoDesc() == null ||
+                statementSpec.getOutputLimitSpec() != null || statementSpec.getIntoTableSpec() != null) {
+            return;
+        }
+        if (stmtContext.getConfigSnapshot().getEngineDefaults().getThreading().isThreadPoolRouteExec() || InstrumentationHelper.ENABLED) {
+            return;
+        }
+        if (stmtContext.getTableService().getTableMetadata(statementSpec.getInsertIntoDesc().getEventTypeName()) != null) {
+            return;
+        }
+        if (!(selectExprProcessor instanceof SelectExprResultProcessor)) {
+            return;
+        }
+        SelectExprProcessor synthetic = ((SelectExprResultProcessor) selectExprProcessor).getSyntheticProcessor();
+        if (synthetic instanceof SelectExprProcessorPoolable) {
+            ((SelectExprProcessorPoolable) synthetic).setEventBeanPool(new EventBeanPool(synthetic.getResultEventType(), stmtContext.getStatementResultService(), stmtContext.getEventAdapterService()));
+        }
+    }
+
     private static void validateOutputLimit(OutputLimitSpec outputLimitSpec, StatementContext statementContext) throws ExprValidationException {
         if (outputLimitSpec == null) {
             return;
@@ -493,11 +493,12 @@ public class SelectExprInsertEventBeanFactory {
         }
     }
 
-    public abstract static class SelectExprInsertNativeBase implements SelectExprProcessor {
+    public abstract static class SelectExprInsertNativeBase implements SelectExprProcessorPoolable {
 
         private final EventType eventType;
         protected final EventBeanManufacturer eventManufacturer;
         protected final ExprEvaluator[] exprEvaluators;
+        private EventBeanPool eventBeanPool;
 
         protected SelectExprInsertNativeBase(EventType eventType, EventBeanManufacturer eventManufacturer, ExprEvaluator[] exprEvaluators) {
             this.eventType = eventType;
@@ -508,6 +509,19 @@ public class SelectExprInsertEventBeanFactory {
         public EventType getResultEventType() {
             return eventType;
         }
+
+        public void setEventBeanPool(EventBeanPool eventBeanPool) {
+            if (eventManufacturer instanceof EventBeanManufacturerObjectArray || eventManufacturer instanceof EventBeanManufacturerMap) {
+                this.eventBeanPool = eventBeanPool;
+            }
+        }
+
+        protected EventBean make(Object[] values) {
+            if (eventBeanPool != null) {
+                return eventBeanPool.allocate(eventManufacturer.makeUnderlying(values));
+            }
+            return eventManufacturer.make(values);
+        }
     }
 
     public static class SelectExprInsertNativeWidening extends SelectExprInsertNativeBase {
@@ -530,7 +544,7 @@ public class SelectExprInsertEventBeanFactory {
                 values[i] = evalResult;
             }
 
-            return eventManufacturer.make(values);
+            return make(values);
         }
     }
 
@@ -548,7 +562,7 @@ public class SelectExprInsertEventBeanFactory {
                 values[i] = evalResult;
             }
 
-            return eventManufacturer.make(values);
+            return make(values);
         }
     }
 
@@ -15,6 +15,7 @@ import com.espertech.esper.client.util.EventUnderlyingType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.agg.service.AggregationGroupByRollupLevel;
 import com.espertech.esper.epl.core.eval.*;
+import com.espertech.esper.epl.expression.codegen.ExprCodegenCompiler;
 import com.espertech.esper.epl.expression.core.*;
 import com.espertech.esper.epl.named.NamedWindowMgmtService;
 import com.espertech.esper.epl.named.NamedWindowProcessor;
@@ -193,7 +194,7 @@ public class SelectExprProcessorHelper {
         for (int i = 0; i < selectionList.size(); i++) {
             SelectClauseExprCompiledSpec spec = selectionList.get(i);
             ExprNode expr = spec.getSelectExpression();
-            ExprEvaluator evaluator = expr.getExprEvaluator();
+            ExprEvaluator evaluator = ExprCodegenCompiler.getEvaluator(expr, configuration);
             exprNodes[i] = expr;
 
             // if there is insert-into specification, use that
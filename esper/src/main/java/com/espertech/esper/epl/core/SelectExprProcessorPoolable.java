@@ -0,0 +1,25 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.core;
+
+import com.espertech.esper.event.EventBeanPool;
+
+/**
+ * Select expression processor that can take its output event bean wrappers from a pool.
+ */
+public interface SelectExprProcessorPoolable extends SelectExprProcessor {
+    /**
+     * Sets the pool to take output event bean wrappers from.
+     *
+     * @param eventBeanPool pool
+     */
+    public void setEventBeanPool(EventBeanPool eventBeanPool);
+}
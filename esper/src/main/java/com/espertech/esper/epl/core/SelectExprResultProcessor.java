@@ -41,6 +41,15 @@ public class SelectExprResultProcessor implements SelectExprProcessor {
         this.bindProcessor = bindProcessor;
     }
 
+    /**
+     * Returns the processor generating synthetic events.
+     *
+     * @return synthetic event processor
+     */
+    public SelectExprProcessor getSyntheticProcessor() {
+        return syntheticProcessor;
+    }
+
     public EventType getResultEventType() {
         return syntheticProcessor.getResultEventType();
     }
@@ -12,18 +12,27 @@ package com.espertech.esper.epl.core.eval;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
-import com.espertech.esper.epl.core.SelectExprProcessor;
+import com.espertech.esper.epl.core.SelectExprProcessorPoolable;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.event.EventBeanPool;
 
 import java.util.Map;
 
-public class EvalInsertNoWildcardMap extends EvalBaseMap implements SelectExprProcessor {
+public class EvalInsertNoWildcardMap extends EvalBaseMap implements SelectExprProcessorPoolable {
+    private EventBeanPool eventBeanPool;
 
     public EvalInsertNoWildcardMap(SelectExprContext selectExprContext, EventType resultEventType) {
         super(selectExprContext, resultEventType);
     }
 
     public EventBean processSpecific(Map<String, Object> props, EventBean[] eventsPerStream, boolean isNewData, boolean isSynthesize, ExprEvaluatorContext exprEvaluatorContext) {
+        if (eventBeanPool != null) {
+            return eventBeanPool.allocate(props);
+        }
         return super.getEventAdapterService().adapterForTypedMap(props, super.getResultEventType());
     }
+
+    public void setEventBeanPool(EventBeanPool eventBeanPool) {
+        this.eventBeanPool = eventBeanPool;
+    }
 }
@@ -12,10 +12,12 @@ package com.espertech.esper.epl.core.eval;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
-import com.espertech.esper.epl.core.SelectExprProcessor;
+import com.espertech.esper.epl.core.SelectExprProcessorPoolable;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.event.EventBeanPool;
 
-public class EvalInsertNoWildcardObjectArray extends EvalBase implements SelectExprProcessor {
+public class EvalInsertNoWildcardObjectArray extends EvalBase implements SelectExprProcessorPoolable {
+    private EventBeanPool eventBeanPool;
 
     public EvalInsertNoWildcardObjectArray(SelectExprContext selectExprContext, EventType resultEventType) {
         super(selectExprContext, resultEventType);
@@ -27,6 +29,13 @@ public class EvalInsertNoWildcardObjectArray extends EvalBase implements SelectE
             result[i] = super.getExprNodes()[i].evaluate(eventsPerStream, isNewData, exprEvaluatorContext);
         }
 
+        if (eventBeanPool != null) {
+            return eventBeanPool.allocate(result);
+        }
         return super.getEventAdapterService().adapterForTypedObjectArray(result, super.getResultEventType());
     }
+
+    public void setEventBeanPool(EventBeanPool eventBeanPool) {
+        this.eventBeanPool = eventBeanPool;
+    }
 }
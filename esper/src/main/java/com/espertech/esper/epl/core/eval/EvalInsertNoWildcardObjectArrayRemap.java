@@ -12,15 +12,17 @@ package com.espertech.esper.epl.core.eval;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
-import com.espertech.esper.epl.core.SelectExprProcessor;
+import com.espertech.esper.epl.core.SelectExprProcessorPoolable;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.event.EventBeanPool;
 
-public class EvalInsertNoWildcardObjectArrayRemap implements SelectExprProcessor {
+public class EvalInsertNoWildcardObjectArrayRemap implements SelectExprProcessorPoolable {
 
     protected final SelectExprContext selectExprContext;
     protected final EventType resultEventType;
     protected final int[] remapped;
+    protected EventBeanPool eventBeanPool;
 
     public EvalInsertNoWildcardObjectArrayRemap(SelectExprContext selectExprContext, EventType resultEventType, int[] remapped) {
         this.selectExprContext = selectExprContext;
@@ -40,6 +42,13 @@ public class EvalInsertNoWildcardObjectArrayRemap implements SelectExprProcessor
             result[remapped[i]] = expressionNodes[i].evaluate(eventsPerStream, isNewData, exprEvaluatorContext);
         }
 
+        if (eventBeanPool != null) {
+            return eventBeanPool.allocate(result);
+        }
         return selectExprContext.getEventAdapterService().adapterForTypedObjectArray(result, resultEventType);
     }
+
+    public void setEventBeanPool(EventBeanPool eventBeanPool) {
+        this.eventBeanPool = eventBeanPool;
+    }
 }
@@ -38,6 +38,9 @@ public class EvalInsertNoWildcardObjectArrayRemapWWiden extends EvalInsertNoWild
             result[remapped[i]] = value;
         }
 
+        if (eventBeanPool != null) {
+            return eventBeanPool.allocate(result);
+        }
         return selectExprContext.getEventAdapterService().adapterForTypedObjectArray(result, resultEventType);
     }
 }
@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.codegen;
+
+/**
+ * Class loader for a single generated evaluator class, so that the class can be unloaded
+ * when the statement that uses it is destroyed.
+ */
+public class ExprCodegenClassLoader extends ClassLoader {
+
+    /**
+     * Ctor.
+     *
+     * @param parent loader that provides the engine classes
+     */
+    public ExprCodegenClassLoader(ClassLoader parent) {
+        super(parent);
+    }
+
+    /**
+     * Define the generated class.
+     *
+     * @param name  class name
+     * @param bytes class bytes
+     * @return class
+     */
+    public Class define(String name, byte[] bytes) {
+        return defineClass(name, bytes, 0, bytes.length);
+    }
+}
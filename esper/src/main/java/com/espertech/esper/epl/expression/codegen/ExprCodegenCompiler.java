@@ -0,0 +1,577 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.codegen;
+
+import com.espertech.esper.client.ConfigurationInformation;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.ops.*;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.type.MathArithTypeEnum;
+import com.espertech.esper.type.RelationalOpEnum;
+import com.espertech.esper.util.CoercionException;
+import com.espertech.esper.util.JavaClassHelper;
+import net.sf.cglib.asm.$ClassWriter;
+import net.sf.cglib.asm.$Label;
+import net.sf.cglib.asm.$MethodVisitor;
+import net.sf.cglib.asm.$Opcodes;
+import net.sf.cglib.asm.$Type;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Constructor;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Compiles a validated expression tree into a generated {@link ExprEvaluator} class.
+ * <p>
+ * Arithmetic, relational, equals and and/or/not-operators as well as event properties and constants are translated into
+ * straight-line byte code that operates on primitive values. Any other sub-expression is invoked through its evaluator.
+ * The generated code follows the null-handling, division and comparison semantics of the evaluator tree.
+ */
+public class ExprCodegenCompiler implements $Opcodes {
+    private static final Logger log = LoggerFactory.getLogger(ExprCodegenCompiler.class);
+
+    private static final String CLASS_NAME_PREFIX = ExprCodegenCompiler.class.getPackage().getName() + ".ExprCodegenEvaluatorGen";
+    private static final AtomicLong CLASS_NUMBER = new AtomicLong();
+
+    private static final String BASE_CLASS = $Type.getInternalName(ExprCodegenEvaluatorBase.class);
+    private static final String EVALUATOR_CLASS = $Type.getInternalName(ExprEvaluator.class);
+    private static final String GETTER_CLASS = $Type.getInternalName(EventPropertyGetter.class);
+    private static final String EVALUATORS_DESC = $Type.getDescriptor(ExprEvaluator[].class);
+    private static final String GETTERS_DESC = $Type.getDescriptor(EventPropertyGetter[].class);
+    private static final String CTOR_DESC = "(" + EVALUATORS_DESC + GETTERS_DESC + $Type.getDescriptor(Class.class) + ")V";
+    private static final String EVALUATE_DESC = "(" + $Type.getDescriptor(EventBean[].class) + "Z" + $Type.getDescriptor(ExprEvaluatorContext.class) + ")Ljava/lang/Object;";
+    private static final String GETTER_GET_DESC = "(" + $Type.getDescriptor(EventBean.class) + ")Ljava/lang/Object;";
+
+    private static final int LOCAL_EVENTS = 1;
+    private static final int LOCAL_ISNEWDATA = 2;
+    private static final int LOCAL_CONTEXT = 3;
+    private static final int LOCAL_FIRST_FREE = 4;
+
+    private enum Kind {
+        INT,
+        LONG,
+        DOUBLE,
+        BOOLEAN
+    }
+
+    /**
+     * Returns the evaluator to use for the expression: a generated evaluator if code generation is enabled
+     * and the expression can be compiled, or the expression's own evaluator otherwise.
+     *
+     * @param node          validated expression, or null if there is no expression
+     * @param configuration engine configuration
+     * @return evaluator or null if no expression was provided
+     */
+    public static ExprEvaluator getEvaluator(ExprNode node, ConfigurationInformation configuration) {
+        if (node == null) {
+            return null;
+        }
+        if (configuration == null || !configuration.getEngineDefaults().getExpression().isCodeGeneration()) {
+            return node.getExprEvaluator();
+        }
+        ExprEvaluator compiled = compile(node);
+        return compiled == null ? node.getExprEvaluator() : compiled;
+    }
+
+    /**
+     * Compile the validated expression into a generated evaluator.
+     *
+     * @param node validated expression
+     * @return generated evaluator, or null if the expression is not eligible for compilation
+     */
+    public static ExprEvaluator compile(ExprNode node) {
+        if (InstrumentationHelper.ENABLED || !isCompiledOp(node)) {
+            return null;
+        }
+        try {
+            return generate(node);
+        } catch (Exception ex) {
+            log.warn("Failed to generate byte code for expression '" + ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node) + "', using evaluator instead: " + ex.getMessage(), ex);
+            return null;
+        } catch (LinkageError ex) {
+            log.warn("Failed to load generated byte code for expression '" + ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node) + "', using evaluator instead: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private static ExprEvaluator generate(ExprNode node) throws Exception {
+        String className = CLASS_NAME_PREFIX + CLASS_NUMBER.incrementAndGet();
+        String internalName = className.replace('.', '/');
+
+        $ClassWriter cw = new $ClassWriter($ClassWriter.COMPUTE_MAXS);
+        cw.visit(V1_5, ACC_PUBLIC | ACC_SUPER | ACC_FINAL, internalName, null, BASE_CLASS, null);
+
+        $MethodVisitor ctor = cw.visitMethod(ACC_PUBLIC, "<init>", CTOR_DESC, null, null);
+        ctor.visitCode();
+        ctor.visitVarInsn(ALOAD, 0);
+        ctor.visitVarInsn(ALOAD, 1);
+        ctor.visitVarInsn(ALOAD, 2);
+        ctor.visitVarInsn(ALOAD, 3);
+        ctor.visitMethodInsn(INVOKESPECIAL, BASE_CLASS, "<init>", CTOR_DESC, false);
+        ctor.visitInsn(RETURN);
+        ctor.visitMaxs(0, 0);
+        ctor.visitEnd();
+
+        $MethodVisitor mv = cw.visitMethod(ACC_PUBLIC | ACC_FINAL, "evaluate", EVALUATE_DESC, null, null);
+        mv.visitCode();
+        Emitter emitter = new Emitter(mv);
+        $Label nullLabel = new $Label();
+        Kind kind = emitter.emitNatural(node, nullLabel);
+        emitter.box(kind);
+        mv.visitInsn(ARETURN);
+        mv.visitLabel(nullLabel);
+        mv.visitInsn(ACONST_NULL);
+        mv.visitInsn(ARETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+        cw.visitEnd();
+
+        ExprCodegenClassLoader loader = new ExprCodegenClassLoader(ExprCodegenEvaluatorBase.class.getClassLoader());
+        Class clazz = loader.define(className, cw.toByteArray());
+        Constructor constructor = clazz.getConstructor(ExprEvaluator[].class, EventPropertyGetter[].class, Class.class);
+        ExprEvaluator[] evaluators = emitter.evaluators.toArray(new ExprEvaluator[emitter.evaluators.size()]);
+        EventPropertyGetter[] getters = emitter.getters.toArray(new EventPropertyGetter[emitter.getters.size()]);
+        return (ExprEvaluator) constructor.newInstance(evaluators, getters, node.getExprEvaluator().getType());
+    }
+
+    private static boolean isCompiledOp(ExprNode node) {
+        if (node instanceof ExprMathNode) {
+            Class resultType = node.getExprEvaluator().getType();
+            if (resultType != Double.class && resultType != Long.class && resultType != Integer.class) {
+                return false;
+            }
+            return isNumeric(getKind(node.getChildNodes()[0])) && isNumeric(getKind(node.getChildNodes()[1]));
+        }
+        if (node instanceof ExprRelationalOpNodeImpl) {
+            return getCompareKind(node) != null;
+        }
+        if (node instanceof ExprEqualsNodeImpl) {
+            return !((ExprEqualsNodeImpl) node).isIs() && getCompareKind(node) != null;
+        }
+        if (node instanceof ExprAndNode || node instanceof ExprOrNode || node instanceof ExprNotNode) {
+            for (ExprNode child : node.getChildNodes()) {
+                if (getKind(child) != Kind.BOOLEAN) {
+                    return false;
+                }
+            }
+            return node.getChildNodes().length > 0;
+        }
+        return false;
+    }
+
+    private static Kind getCompareKind(ExprNode node) {
+        Class typeOne = JavaClassHelper.getBoxedType(node.getChildNodes()[0].getExprEvaluator().getType());
+        Class typeTwo = JavaClassHelper.getBoxedType(node.getChildNodes()[1].getExprEvaluator().getType());
+        if (!isNumeric(getKind(typeOne)) || !isNumeric(getKind(typeTwo))) {
+            return null;
+        }
+        if (typeOne == typeTwo && typeOne != Float.class) {
+            return getKind(typeOne);
+        }
+        Class coercionType;
+        try {
+            coercionType = JavaClassHelper.getCompareToCoercionType(typeOne, typeTwo);
+        } catch (CoercionException ex) {
+            return null;
+        }
+        if (coercionType == Double.class) {
+            return Kind.DOUBLE;
+        }
+        if (coercionType == Long.class) {
+            return Kind.LONG;
+        }
+        if (coercionType == Integer.class) {
+            return Kind.INT;
+        }
+        return null;
+    }
+
+    private static Kind getKind(ExprNode node) {
+        return getKind(node.getExprEvaluator().getType());
+    }
+
+    private static Kind getKind(Class type) {
+        Class boxed = JavaClassHelper.getBoxedType(type);
+        if (boxed == Double.class || boxed == Float.class) {
+            return Kind.DOUBLE;
+        }
+        if (boxed == Long.class) {
+            return Kind.LONG;
+        }
+        if (boxed == Integer.class || boxed == Short.class || boxed == Byte.class) {
+            return Kind.INT;
+        }
+        if (boxed == Boolean.class) {
+            return Kind.BOOLEAN;
+        }
+        return null;
+    }
+
+    private static boolean isNumeric(Kind kind) {
+        return kind != null && kind != Kind.BOOLEAN;
+    }
+
+    /**
+     * Emits the evaluate method body. Each emit method starts and ends with an empty operand stack apart from
+     * the single result value it pushes, and jumps to the null label with an empty operand stack,
+     * keeping intermediate values in fresh local variables.
+     */
+    private static class Emitter {
+        private final $MethodVisitor mv;
+        private final List<ExprEvaluator> evaluators = new ArrayList<ExprEvaluator>();
+        private final List<EventPropertyGetter> getters = new ArrayList<EventPropertyGetter>();
+        private int nextLocal = LOCAL_FIRST_FREE;
+
+        Emitter($MethodVisitor mv) {
+            this.mv = mv;
+        }
+
+        Kind emitNatural(ExprNode node, $Label nullLabel) {
+            if (node instanceof ExprMathNode) {
+                return emitMath((ExprMathNode) node, nullLabel);
+            }
+            if (node instanceof ExprRelationalOpNodeImpl) {
+                emitRelational((ExprRelationalOpNodeImpl) node, nullLabel);
+            } else if (node instanceof ExprEqualsNodeImpl) {
+                emitEquals((ExprEqualsNodeImpl) node, nullLabel);
+            } else if (node instanceof ExprNotNode) {
+                emitAs(node.getChildNodes()[0], Kind.BOOLEAN, nullLabel);
+                mv.visitInsn(ICONST_1);
+                mv.visitInsn(IXOR);
+            } else {
+                emitJunction(node, node instanceof ExprAndNode, nullLabel);
+            }
+            return Kind.BOOLEAN;
+        }
+
+        void emitAs(ExprNode node, Kind target, $Label nullLabel) {
+            if (isCompiledOp(node)) {
+                Kind kind = emitNatural(node, nullLabel);
+                convert(kind, target);
+                return;
+            }
+            if (node instanceof ExprConstantNodeImpl) {
+                Object value = ((ExprConstantNodeImpl) node).getConstantValue(null);
+                if (value != null) {
+                    emitConstant(value, target);
+                    return;
+                }
+            }
+            if (node instanceof ExprIdentNode) {
+                ExprIdentNodeEvaluator identEvaluator = ((ExprIdentNode) node).getExprEvaluatorIdent();
+                if (identEvaluator.getClass() == ExprIdentNodeEvaluatorImpl.class) {
+                    emitProperty((ExprIdentNodeEvaluatorImpl) identEvaluator, target, nullLabel);
+                    return;
+                }
+            }
+            emitEvaluator(node.getExprEvaluator(), target, nullLabel);
+        }
+
+        private Kind emitMath(ExprMathNode node, $Label nullLabel) {
+            Kind kind = getKind(node.getType());
+            int left = storeNew(node.getChildNodes()[0], kind, nullLabel);
+            int right = storeNew(node.getChildNodes()[1], kind, nullLabel);
+
+            MathArithTypeEnum op = node.getMathArithTypeEnum();
+            if (op == MathArithTypeEnum.DIVIDE) {
+                if (kind == Kind.DOUBLE) {
+                    if (node.isDivisionByZeroReturnsNull()) {
+                        load(kind, right);
+                        mv.visitInsn(DCONST_0);
+                        mv.visitInsn(DCMPL);
+                        mv.visitJumpInsn(IFEQ, nullLabel);
+                    }
+                } else if (kind == Kind.LONG) {
+                    load(kind, right);
+                    mv.visitInsn(LCONST_0);
+                    mv.visitInsn(LCMP);
+                    mv.visitJumpInsn(IFEQ, nullLabel);
+                } else {
+                    load(kind, right);
+                    mv.visitJumpInsn(IFEQ, nullLabel);
+                }
+            }
+
+            load(kind, left);
+            load(kind, right);
+            int offset = kind == Kind.INT ? 0 : (kind == Kind.LONG ? 1 : 3);
+            if (op == MathArithTypeEnum.ADD) {
+                mv.visitInsn(IADD + offset);
+            } else if (op == MathArithTypeEnum.SUBTRACT) {
+                mv.visitInsn(ISUB + offset);
+            } else if (op == MathArithTypeEnum.MULTIPLY) {
+                mv.visitInsn(IMUL + offset);
+            } else if (op == MathArithTypeEnum.DIVIDE) {
+                mv.visitInsn(IDIV + offset);
+            } else {
+                mv.visitInsn(IREM + offset);
+            }
+            return kind;
+        }
+
+        private void emitRelational(ExprRelationalOpNodeImpl node, $Label nullLabel) {
+            Kind kind = getCompareKind(node);
+            int left = storeNew(node.getChildNodes()[0], kind, nullLabel);
+            int right = storeNew(node.getChildNodes()[1], kind, nullLabel);
+
+            RelationalOpEnum op = node.getRelationalOpEnum();
+            $Label falseLabel = new $Label();
+            load(kind, left);
+            load(kind, right);
+            if (kind == Kind.INT) {
+                if (op == RelationalOpEnum.GT) {
+                    mv.visitJumpInsn(IF_ICMPLE, falseLabel);
+                } else if (op == RelationalOpEnum.GE) {
+                    mv.visitJumpInsn(IF_ICMPLT, falseLabel);
+                } else if (op == RelationalOpEnum.LT) {
+                    mv.visitJumpInsn(IF_ICMPGE, falseLabel);
+                } else {
+                    mv.visitJumpInsn(IF_ICMPGT, falseLabel);
+                }
+            } else {
+                // NaN must compare false: use the compare instruction that yields the failing result for NaN
+                if (kind == Kind.LONG) {
+                    mv.visitInsn(LCMP);
+                } else if (op == RelationalOpEnum.GT || op == RelationalOpEnum.GE) {
+                    mv.visitInsn(DCMPL);
+                } else {
+                    mv.visitInsn(DCMPG);
+                }
+                if (op == RelationalOpEnum.GT) {
+                    mv.visitJumpInsn(IFLE, falseLabel);
+                } else if (op == RelationalOpEnum.GE) {
+                    mv.visitJumpInsn(IFLT, falseLabel);
+                } else if (op == RelationalOpEnum.LT) {
+                    mv.visitJumpInsn(IFGE, falseLabel);
+                } else {
+                    mv.visitJumpInsn(IFGT, falseLabel);
+                }
+            }
+            emitBooleanResult(falseLabel, true);
+        }
+
+        private void emitEquals(ExprEqualsNodeImpl node, $Label nullLabel) {
+            // both sides are evaluated before checking for null, same as the equals-evaluators
+            Kind kind = getCompareKind(node);
+            int left = newLocal(kind);
+            pushZero(kind);
+            store(kind, left);
+            int leftIsNull = newLocal(Kind.BOOLEAN);
+            mv.visitInsn(ICONST_0);
+            mv.visitVarInsn(ISTORE, leftIsNull);
+
+            $Label leftNullLabel = new $Label();
+            $Label rightLabel = new $Label();
+            emitAs(node.getChildNodes()[0], kind, leftNullLabel);
+            store(kind, left);
+            mv.visitJumpInsn(GOTO, rightLabel);
+            mv.visitLabel(leftNullLabel);
+            mv.visitInsn(ICONST_1);
+            mv.visitVarInsn(ISTORE, leftIsNull);
+            mv.visitLabel(rightLabel);
+
+            int right = storeNew(node.getChildNodes()[1], kind, nullLabel);
+            mv.visitVarInsn(ILOAD, leftIsNull);
+            mv.visitJumpInsn(IFNE, nullLabel);
+
+            $Label notEqualsLabel = new $Label();
+            load(kind, left);
+            load(kind, right);
+            if (kind == Kind.DOUBLE) {
+                // same as Double.equals: NaN equals NaN, and negative and positive zero differ
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "compare", "(DD)I", false);
+                mv.visitJumpInsn(IFNE, notEqualsLabel);
+            } else if (kind == Kind.LONG) {
+                mv.visitInsn(LCMP);
+                mv.visitJumpInsn(IFNE, notEqualsLabel);
+            } else {
+                mv.visitJumpInsn(IF_ICMPNE, notEqualsLabel);
+            }
+            emitBooleanResult(notEqualsLabel, !node.isNotEquals());
+        }
+
+        private void emitJunction(ExprNode node, boolean isAnd, $Label nullLabel) {
+            // a null child makes the result null unless a later child decides the result
+            int sawNull = newLocal(Kind.BOOLEAN);
+            mv.visitInsn(ICONST_0);
+            mv.visitVarInsn(ISTORE, sawNull);
+
+            $Label decidedLabel = new $Label();
+            for (ExprNode child : node.getChildNodes()) {
+                $Label childNullLabel = new $Label();
+                $Label nextLabel = new $Label();
+                emitAs(child, Kind.BOOLEAN, childNullLabel);
+                mv.visitJumpInsn(isAnd ? IFEQ : IFNE, decidedLabel);
+                mv.visitJumpInsn(GOTO, nextLabel);
+                mv.visitLabel(childNullLabel);
+                mv.visitInsn(ICONST_1);
+                mv.visitVarInsn(ISTORE, sawNull);
+                mv.visitLabel(nextLabel);
+            }
+            mv.visitVarInsn(ILOAD, sawNull);
+            mv.visitJumpInsn(IFNE, nullLabel);
+            emitBooleanResult(decidedLabel, isAnd);
+        }
+
+        private void emitConstant(Object value, Kind target) {
+            if (target == Kind.BOOLEAN) {
+                mv.visitInsn((Boolean) value ? ICONST_1 : ICONST_0);
+            } else if (target == Kind.DOUBLE) {
+                mv.visitLdcInsn(((Number) value).doubleValue());
+            } else if (target == Kind.LONG) {
+                mv.visitLdcInsn(((Number) value).longValue());
+            } else {
+                mv.visitLdcInsn(((Number) value).intValue());
+            }
+        }
+
+        private void emitProperty(ExprIdentNodeEvaluatorImpl evaluator, Kind target, $Label nullLabel) {
+            int getterNum = getters.size();
+            getters.add(evaluator.getGetter());
+
+            int event = nextLocal++;
+            mv.visitVarInsn(ALOAD, LOCAL_EVENTS);
+            pushInt(evaluator.getStreamNum());
+            mv.visitInsn(AALOAD);
+            mv.visitVarInsn(ASTORE, event);
+            mv.visitVarInsn(ALOAD, event);
+            mv.visitJumpInsn(IFNULL, nullLabel);
+
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, BASE_CLASS, "getters", GETTERS_DESC);
+            pushInt(getterNum);
+            mv.visitInsn(AALOAD);
+            mv.visitVarInsn(ALOAD, event);
+            mv.visitMethodInsn(INVOKEINTERFACE, GETTER_CLASS, "get", GETTER_GET_DESC, true);
+            unboxNonNull(target, nullLabel);
+        }
+
+        private void emitEvaluator(ExprEvaluator evaluator, Kind target, $Label nullLabel) {
+            int evaluatorNum = evaluators.size();
+            evaluators.add(evaluator);
+
+            mv.visitVarInsn(ALOAD, 0);
+            mv.visitFieldInsn(GETFIELD, BASE_CLASS, "evaluators", EVALUATORS_DESC);
+            pushInt(evaluatorNum);
+            mv.visitInsn(AALOAD);
+            mv.visitVarInsn(ALOAD, LOCAL_EVENTS);
+            mv.visitVarInsn(ILOAD, LOCAL_ISNEWDATA);
+            mv.visitVarInsn(ALOAD, LOCAL_CONTEXT);
+            mv.visitMethodInsn(INVOKEINTERFACE, EVALUATOR_CLASS, "evaluate", EVALUATE_DESC, true);
+            unboxNonNull(target, nullLabel);
+        }
+
+        private void unboxNonNull(Kind target, $Label nullLabel) {
+            int value = nextLocal++;
+            mv.visitVarInsn(ASTORE, value);
+            mv.visitVarInsn(ALOAD, value);
+            mv.visitJumpInsn(IFNULL, nullLabel);
+            mv.visitVarInsn(ALOAD, value);
+            if (target == Kind.BOOLEAN) {
+                mv.visitTypeInsn(CHECKCAST, "java/lang/Boolean");
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Boolean", "booleanValue", "()Z", false);
+                return;
+            }
+            mv.visitTypeInsn(CHECKCAST, "java/lang/Number");
+            if (target == Kind.DOUBLE) {
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "doubleValue", "()D", false);
+            } else if (target == Kind.LONG) {
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "longValue", "()J", false);
+            } else {
+                mv.visitMethodInsn(INVOKEVIRTUAL, "java/lang/Number", "intValue", "()I", false);
+            }
+        }
+
+        void box(Kind kind) {
+            if (kind == Kind.DOUBLE) {
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Double", "valueOf", "(D)Ljava/lang/Double;", false);
+            } else if (kind == Kind.LONG) {
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Long", "valueOf", "(J)Ljava/lang/Long;", false);
+            } else if (kind == Kind.INT) {
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Integer", "valueOf", "(I)Ljava/lang/Integer;", false);
+            } else {
+                mv.visitMethodInsn(INVOKESTATIC, "java/lang/Boolean", "valueOf", "(Z)Ljava/lang/Boolean;", false);
+            }
+        }
+
+        private void convert(Kind from, Kind to) {
+            if (from == to) {
+                return;
+            }
+            if (from == Kind.INT) {
+                mv.visitInsn(to == Kind.LONG ? I2L : I2D);
+            } else if (from == Kind.LONG) {
+                mv.visitInsn(to == Kind.DOUBLE ? L2D : L2I);
+            } else if (from == Kind.DOUBLE) {
+                mv.visitInsn(to == Kind.LONG ? D2L : D2I);
+            } else {
+                throw new IllegalStateException("Cannot convert boolean value to " + to);
+            }
+        }
+
+        private void emitBooleanResult($Label otherLabel, boolean fallThroughValue) {
+            $Label endLabel = new $Label();
+            mv.visitInsn(fallThroughValue ? ICONST_1 : ICONST_0);
+            mv.visitJumpInsn(GOTO, endLabel);
+            mv.visitLabel(otherLabel);
+            mv.visitInsn(fallThroughValue ? ICONST_0 : ICONST_1);
+            mv.visitLabel(endLabel);
+        }
+
+        private int storeNew(ExprNode node, Kind kind, $Label nullLabel) {
+            emitAs(node, kind, nullLabel);
+            int local = newLocal(kind);
+            store(kind, local);
+            return local;
+        }
+
+        private int newLocal(Kind kind) {
+            int local = nextLocal;
+            nextLocal += kind == Kind.LONG || kind == Kind.DOUBLE ? 2 : 1;
+            return local;
+        }
+
+        private void pushZero(Kind kind) {
+            if (kind == Kind.DOUBLE) {
+                mv.visitInsn(DCONST_0);
+            } else if (kind == Kind.LONG) {
+                mv.visitInsn(LCONST_0);
+            } else {
+                mv.visitInsn(ICONST_0);
+            }
+        }
+
+        private void store(Kind kind, int local) {
+            mv.visitVarInsn(kind == Kind.DOUBLE ? DSTORE : (kind == Kind.LONG ? LSTORE : ISTORE), local);
+        }
+
+        private void load(Kind kind, int local) {
+            mv.visitVarInsn(kind == Kind.DOUBLE ? DLOAD : (kind == Kind.LONG ? LLOAD : ILOAD), local);
+        }
+
+        private void pushInt(int value) {
+            if (value <= 5) {
+                mv.visitInsn(ICONST_0 + value);
+            } else if (value <= Byte.MAX_VALUE) {
+                mv.visitIntInsn(BIPUSH, value);
+            } else if (value <= Short.MAX_VALUE) {
+                mv.visitIntInsn(SIPUSH, value);
+            } else {
+                mv.visitLdcInsn(value);
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.codegen;
+
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+
+/**
+ * Base class for evaluators generated by {@link ExprCodegenCompiler}.
+ * <p>
+ * The generated subclass implements the evaluate method and refers to the evaluators of sub-expressions that
+ * are not compiled and to the property getters of event properties by their index.
+ */
+public abstract class ExprCodegenEvaluatorBase implements ExprEvaluator {
+    protected final ExprEvaluator[] evaluators;
+    protected final EventPropertyGetter[] getters;
+    private final Class type;
+
+    /**
+     * Ctor.
+     *
+     * @param evaluators evaluators of sub-expressions that are not compiled
+     * @param getters    property getters for event properties
+     * @param type       result type
+     */
+    protected ExprCodegenEvaluatorBase(ExprEvaluator[] evaluators, EventPropertyGetter[] getters, Class type) {
+        this.evaluators = evaluators;
+        this.getters = getters;
+        this.type = type;
+    }
+
+    public Class getType() {
+        return type;
+    }
+}
@@ -18,7 +18,7 @@ import java.io.StringWriter;
 /**
  * Represents a constant in an expressiun tree.
  */
-public class ExprConstantNodeImpl extends ExprNodeBase implements ExprConstantNode, ExprEvaluator {
+public class ExprConstantNodeImpl extends ExprNodeBase implements ExprConstantNode, ExprEvaluatorPrimitive {
     private Object value;
     private final Class clazz;
     private static final long serialVersionUID = 3154169410675962539L;
@@ -107,6 +107,19 @@ public class ExprConstantNodeImpl extends ExprNodeBase implements ExprConstantNo
         return value;
     }
 
+    public boolean isPrimitiveNonNull() {
+        return value instanceof Double || value instanceof Float || value instanceof Long ||
+                value instanceof Integer || value instanceof Short || value instanceof Byte;
+    }
+
+    public double evaluateDouble(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return ((Number) value).doubleValue();
+    }
+
+    public long evaluateLong(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return ((Number) value).longValue();
+    }
+
     public ExprEvaluator getExprEvaluator() {
         return this;
     }
@@ -0,0 +1,49 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.core;
+
+import com.espertech.esper.client.EventBean;
+
+/**
+ * Evaluator for numeric expressions that can also return its result as an unboxed primitive value.
+ * <p>
+ * The primitive evaluation methods may only be invoked when {@link #isPrimitiveNonNull()} returns true
+ * and the event of each stream is provided, i.e. not null.
+ */
+public interface ExprEvaluatorPrimitive extends ExprEvaluator {
+    /**
+     * Returns true if the evaluator never returns a null value when all stream events are provided,
+     * and the primitive evaluation methods can therefore be used.
+     *
+     * @return indicator whether primitive evaluation is available
+     */
+    boolean isPrimitiveNonNull();
+
+    /**
+     * Evaluate event tuple and return the result as a double value.
+     *
+     * @param eventsPerStream - event tuple
+     * @param isNewData       - indicates whether we are dealing with new data (istream) or old data (rstream)
+     * @param context         context for expression evaluation
+     * @return evaluation result
+     */
+    double evaluateDouble(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context);
+
+    /**
+     * Evaluate event tuple and return the result as a long value.
+     *
+     * @param eventsPerStream - event tuple
+     * @param isNewData       - indicates whether we are dealing with new data (istream) or old data (rstream)
+     * @param context         context for expression evaluation
+     * @return evaluation result
+     */
+    long evaluateLong(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context);
+}
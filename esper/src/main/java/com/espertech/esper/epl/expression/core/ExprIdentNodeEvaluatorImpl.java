@@ -14,17 +14,32 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventPropertyGetter;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
-public class ExprIdentNodeEvaluatorImpl implements ExprIdentNodeEvaluator {
+public class ExprIdentNodeEvaluatorImpl implements ExprIdentNodeEvaluator, ExprEvaluatorPrimitive {
     private final int streamNum;
     private final EventPropertyGetter propertyGetter;
     private final Class propertyType;
     private final ExprIdentNode identNode;
+    private final boolean primitiveNonNull;
 
     public ExprIdentNodeEvaluatorImpl(int streamNum, EventPropertyGetter propertyGetter, Class propertyType, ExprIdentNode identNode) {
+        this(streamNum, propertyGetter, propertyType, identNode, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param streamNum        stream number
+     * @param propertyGetter   getter
+     * @param propertyType     property type
+     * @param identNode        ident node
+     * @param primitiveNonNull true if the getter returns a non-null numeric value for any event of the stream
+     */
+    public ExprIdentNodeEvaluatorImpl(int streamNum, EventPropertyGetter propertyGetter, Class propertyType, ExprIdentNode identNode, boolean primitiveNonNull) {
         this.streamNum = streamNum;
         this.propertyGetter = propertyGetter;
         this.propertyType = propertyType;
         this.identNode = identNode;
+        this.primitiveNonNull = primitiveNonNull;
     }
 
     public Object evaluate(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext exprEvaluatorContext) {
@@ -47,6 +62,18 @@ public class ExprIdentNodeEvaluatorImpl implements ExprIdentNodeEvaluator {
         return propertyGetter.get(theEvent);
     }
 
+    public boolean isPrimitiveNonNull() {
+        return primitiveNonNull;
+    }
+
+    public double evaluateDouble(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return ((Number) propertyGetter.get(eventsPerStream[streamNum])).doubleValue();
+    }
+
+    public long evaluateLong(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        return ((Number) propertyGetter.get(eventsPerStream[streamNum])).longValue();
+    }
+
     public Class getType() {
         return propertyType;
     }
@@ -17,10 +17,13 @@ import com.espertech.esper.client.annotation.Audit;
 import com.espertech.esper.client.annotation.AuditEnum;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.epl.core.PropertyResolutionDescriptor;
+import com.espertech.esper.epl.core.StreamTypeService;
 import com.espertech.esper.epl.expression.table.ExprTableIdentNode;
 import com.espertech.esper.epl.parse.ASTUtil;
+import com.espertech.esper.event.bean.BeanEventType;
 import com.espertech.esper.event.property.PropertyParser;
 import com.espertech.esper.filter.FilterSpecLookupable;
+import com.espertech.esper.util.JavaClassHelper;
 
 import java.io.StringWriter;
 
@@ -166,7 +169,8 @@ public class ExprIdentNodeImpl extends ExprNodeBase implements ExprIdentNode {
         if (audit != null) {
             evaluator = new ExprIdentNodeEvaluatorLogging(streamNum, propertyGetter, propertyType, this, resolvedPropertyName, validationContext.getStatementName(), validationContext.getStreamTypeService().getEngineURIQualifier());
         } else {
-            evaluator = new ExprIdentNodeEvaluatorImpl(streamNum, propertyGetter, propertyType, this);
+            boolean primitiveNonNull = isPrimitiveNonNull(validationContext.getStreamTypeService(), propertyInfoPair.getFirst().getStreamEventType(), resolvedPropertyName, propertyType);
+            evaluator = new ExprIdentNodeEvaluatorImpl(streamNum, propertyGetter, propertyType, this, primitiveNonNull);
         }
 
         // if running in a context, take the property value from context
@@ -299,4 +303,15 @@ public class ExprIdentNodeImpl extends ExprNodeBase implements ExprIdentNode {
     public ExprIdentNodeEvaluator getExprEvaluatorIdent() {
         return evaluator;
     }
+
+    private static boolean isPrimitiveNonNull(StreamTypeService streamTypeService, EventType streamEventType, String propertyName, Class propertyType) {
+        // a top-level primitive property of a bean is never null, provided that the single stream provides the event
+        if (streamTypeService.getEventTypes().length != 1 || !(streamEventType instanceof BeanEventType)) {
+            return false;
+        }
+        if (!propertyType.isPrimitive() || !JavaClassHelper.isNumeric(propertyType)) {
+            return false;
+        }
+        return streamEventType.getPropertyDescriptor(propertyName) != null;
+    }
 }
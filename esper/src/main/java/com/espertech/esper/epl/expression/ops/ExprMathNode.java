@@ -22,7 +22,7 @@ import java.math.BigDecimal;
 /**
  * Represents a simple Math (+/-/divide/*) in a filter expression tree.
  */
-public class ExprMathNode extends ExprNodeBase implements ExprEvaluator {
+public class ExprMathNode extends ExprNodeBase implements ExprEvaluatorPrimitive {
     private final MathArithTypeEnum mathArithTypeEnum;
     private final boolean isIntegerDivision;
     private final boolean isDivisionByZeroReturnsNull;
@@ -31,6 +31,8 @@ public class ExprMathNode extends ExprNodeBase implements ExprEvaluator {
     private Class resultType;
     private transient ExprEvaluator evaluatorLeft;
     private transient ExprEvaluator evaluatorRight;
+    private transient ExprEvaluatorPrimitive primitiveLeft;
+    private transient ExprEvaluatorPrimitive primitiveRight;
     private static final long serialVersionUID = 6479683588602862158L;
 
     /**
@@ -90,6 +92,17 @@ public class ExprMathNode extends ExprNodeBase implements ExprEvaluator {
         }
 
         arithTypeEnumComputer = mathArithTypeEnum.getComputer(resultType, childTypeOne, childTypeTwo, isIntegerDivision, isDivisionByZeroReturnsNull, validationContext.getEngineImportService().getDefaultMathContext());
+
+        primitiveLeft = null;
+        primitiveRight = null;
+        if (isPrimitiveEligible(evaluatorLeft) && isPrimitiveEligible(evaluatorRight)) {
+            // integer division and division returning null for zero can produce null values
+            boolean nullable = mathArithTypeEnum == MathArithTypeEnum.DIVIDE && (resultType != Double.class || isDivisionByZeroReturnsNull);
+            if (!nullable && (resultType == Double.class || resultType == Long.class || resultType == Integer.class)) {
+                primitiveLeft = (ExprEvaluatorPrimitive) evaluatorLeft;
+                primitiveRight = (ExprEvaluatorPrimitive) evaluatorRight;
+            }
+        }
         return null;
     }
 
@@ -131,6 +144,63 @@ public class ExprMathNode extends ExprNodeBase implements ExprEvaluator {
         return arithTypeEnumComputer.compute((Number) valueChildOne, (Number) valueChildTwo);
     }
 
+    public boolean isPrimitiveNonNull() {
+        return primitiveLeft != null;
+    }
+
+    public double evaluateDouble(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        if (resultType != Double.class) {
+            return evaluateLong(eventsPerStream, isNewData, context);
+        }
+        double left = primitiveLeft.evaluateDouble(eventsPerStream, isNewData, context);
+        double right = primitiveRight.evaluateDouble(eventsPerStream, isNewData, context);
+        switch (mathArithTypeEnum) {
+            case ADD:
+                return left + right;
+            case SUBTRACT:
+                return left - right;
+            case MULTIPLY:
+                return left * right;
+            case DIVIDE:
+                return left / right;
+            default:
+                return left % right;
+        }
+    }
+
+    public long evaluateLong(EventBean[] eventsPerStream, boolean isNewData, ExprEvaluatorContext context) {
+        if (resultType == Double.class) {
+            return (long) evaluateDouble(eventsPerStream, isNewData, context);
+        }
+        long left = primitiveLeft.evaluateLong(eventsPerStream, isNewData, context);
+        long right = primitiveRight.evaluateLong(eventsPerStream, isNewData, context);
+        if (resultType == Integer.class) {
+            // retain the int overflow behavior of the boxed computation
+            int leftInt = (int) left;
+            int rightInt = (int) right;
+            switch (mathArithTypeEnum) {
+                case ADD:
+                    return leftInt + rightInt;
+                case SUBTRACT:
+                    return leftInt - rightInt;
+                case MULTIPLY:
+                    return leftInt * rightInt;
+                default:
+                    return leftInt % rightInt;
+            }
+        }
+        switch (mathArithTypeEnum) {
+            case ADD:
+                return left + right;
+            case SUBTRACT:
+                return left - right;
+            case MULTIPLY:
+                return left * right;
+            default:
+                return left % right;
+        }
+    }
+
     public void toPrecedenceFreeEPL(StringWriter writer) {
         this.getChildNodes()[0].toEPL(writer, getPrecedence());
         writer.append(mathArithTypeEnum.getExpressionText());
@@ -169,4 +239,26 @@ public class ExprMathNode extends ExprNodeBase implements ExprEvaluator {
     public MathArithTypeEnum getMathArithTypeEnum() {
         return mathArithTypeEnum;
     }
+
+    /**
+     * Returns true for Java-standard integer division, false for division returning double values.
+     *
+     * @return integer division indicator
+     */
+    public boolean isIntegerDivision() {
+        return isIntegerDivision;
+    }
+
+    /**
+     * Returns true for division-by-zero returning null, false for returning infinity.
+     *
+     * @return division-by-zero indicator
+     */
+    public boolean isDivisionByZeroReturnsNull() {
+        return isDivisionByZeroReturnsNull;
+    }
+
+    private static boolean isPrimitiveEligible(ExprEvaluator evaluator) {
+        return evaluator instanceof ExprEvaluatorPrimitive && ((ExprEvaluatorPrimitive) evaluator).isPrimitiveNonNull();
+    }
 }
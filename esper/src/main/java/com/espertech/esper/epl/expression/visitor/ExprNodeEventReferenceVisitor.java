@@ -0,0 +1,42 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.visitor;
+
+import com.espertech.esper.epl.declexpr.ExprDeclaredNode;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.expression.core.ExprStreamUnderlyingNode;
+import com.espertech.esper.epl.expression.core.ExprWildcard;
+import com.espertech.esper.epl.expression.dot.ExprDotNode;
+import com.espertech.esper.epl.expression.subquery.ExprSubselectNode;
+
+/**
+ * Visitor that determines whether an expression may keep a reference to the events it evaluates against,
+ * or may cache results by event identity: stream selects, wildcard parameters, dot-expressions, declared expressions
+ * and subselects.
+ */
+public class ExprNodeEventReferenceVisitor implements ExprNodeVisitor {
+    private boolean hasEventReference;
+
+    public boolean isVisit(ExprNode exprNode) {
+        return !hasEventReference;
+    }
+
+    public void visit(ExprNode exprNode) {
+        if ((exprNode instanceof ExprStreamUnderlyingNode) || (exprNode instanceof ExprWildcard) ||
+                (exprNode instanceof ExprDotNode) || (exprNode instanceof ExprDeclaredNode) || (exprNode instanceof ExprSubselectNode)) {
+            hasEventReference = true;
+        }
+    }
+
+    public boolean isHasEventReference() {
+        return hasEventReference;
+    }
+}
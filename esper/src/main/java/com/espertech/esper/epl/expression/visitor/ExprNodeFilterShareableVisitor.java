@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.visitor;
+
+import com.espertech.esper.epl.expression.core.ExprConstantNodeImpl;
+import com.espertech.esper.epl.expression.core.ExprIdentNodeImpl;
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.expression.funcs.ExprCaseNode;
+import com.espertech.esper.epl.expression.funcs.ExprCoalesceNode;
+import com.espertech.esper.epl.expression.funcs.ExprInstanceofNode;
+import com.espertech.esper.epl.expression.funcs.ExprMinMaxRowNode;
+import com.espertech.esper.epl.expression.ops.*;
+
+/**
+ * Visitor that determines whether an expression only consists of operators, constants and properties of the
+ * filtered event, so that the expression result only depends on the event and is the same for any statement.
+ */
+public class ExprNodeFilterShareableVisitor implements ExprNodeVisitor {
+    private boolean shareable = true;
+
+    public boolean isVisit(ExprNode exprNode) {
+        return shareable;
+    }
+
+    public void visit(ExprNode exprNode) {
+        if (exprNode instanceof ExprIdentNodeImpl) {
+            if (!((ExprIdentNodeImpl) exprNode).getFilterLookupEligible()) {
+                shareable = false;
+            }
+            return;
+        }
+        // declared expressions are constant nodes as well and are not shareable since their text does not identify their body
+        if (exprNode instanceof ExprConstantNodeImpl ||
+                exprNode instanceof ExprMathNode ||
+                exprNode instanceof ExprRelationalOpNode ||
+                exprNode instanceof ExprEqualsNode ||
+                exprNode instanceof ExprAndNode ||
+                exprNode instanceof ExprOrNode ||
+                exprNode instanceof ExprNotNode ||
+                exprNode instanceof ExprBetweenNode ||
+                exprNode instanceof ExprInNode ||
+                exprNode instanceof ExprLikeNode ||
+                exprNode instanceof ExprRegexpNode ||
+                exprNode instanceof ExprConcatNode ||
+                exprNode instanceof ExprBitWiseNode ||
+                exprNode instanceof ExprCaseNode ||
+                exprNode instanceof ExprCoalesceNode ||
+                exprNode instanceof ExprMinMaxRowNode ||
+                exprNode instanceof ExprInstanceofNode) {
+            return;
+        }
+        shareable = false;
+    }
+
+    public boolean isShareable() {
+        return shareable;
+    }
+}
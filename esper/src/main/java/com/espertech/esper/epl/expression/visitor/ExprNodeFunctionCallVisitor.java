@@ -0,0 +1,40 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.visitor;
+
+import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.epl.expression.dot.ExprDotNode;
+import com.espertech.esper.epl.expression.funcs.ExprPlugInSingleRowNode;
+import com.espertech.esper.epl.script.ExprNodeScript;
+
+/**
+ * Visitor that determines whether an expression calls a plug-in single-row function, a static or instance method,
+ * or a script, all of which may execute application code that returns a different result each time it is called.
+ */
+public class ExprNodeFunctionCallVisitor implements ExprNodeVisitor {
+    private boolean hasFunctionCall;
+
+    public boolean isVisit(ExprNode exprNode) {
+        return !hasFunctionCall;
+    }
+
+    public void visit(ExprNode exprNode) {
+        if (exprNode instanceof ExprPlugInSingleRowNode ||
+                exprNode instanceof ExprDotNode ||
+                exprNode instanceof ExprNodeScript) {
+            hasFunctionCall = true;
+        }
+    }
+
+    public boolean isHasFunctionCall() {
+        return hasFunctionCall;
+    }
+}
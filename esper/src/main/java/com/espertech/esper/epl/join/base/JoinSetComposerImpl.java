@@ -15,6 +15,7 @@ import com.espertech.esper.collection.MultiKey;
 import com.espertech.esper.collection.UniformPair;
 import com.espertech.esper.core.context.factory.StatementAgentInstancePostLoadIndexVisitor;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.join.exec.base.JoinStreamCardinality;
 import com.espertech.esper.epl.join.plan.TableLookupIndexReqKey;
 import com.espertech.esper.epl.join.table.EventTable;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
@@ -35,19 +36,21 @@ public class JoinSetComposerImpl implements JoinSetComposer {
     private final boolean isPureSelfJoin;
     private final ExprEvaluatorContext exprEvaluatorContext;
     private final boolean joinRemoveStream;
+    private final JoinStreamCardinality streamCardinality;
 
     // Set semantic eliminates duplicates in result set, use Linked set to preserve order
     protected Set<MultiKey<EventBean>> oldResults = new LinkedHashSet<MultiKey<EventBean>>();
     protected Set<MultiKey<EventBean>> newResults = new LinkedHashSet<MultiKey<EventBean>>();
 
     public JoinSetComposerImpl(boolean allowInitIndex, Map<TableLookupIndexReqKey, EventTable>[] repositories, QueryStrategy[] queryStrategies, boolean isPureSelfJoin,
-                               ExprEvaluatorContext exprEvaluatorContext, boolean joinRemoveStream) {
+                               ExprEvaluatorContext exprEvaluatorContext, boolean joinRemoveStream, JoinStreamCardinality streamCardinality) {
         this.allowInitIndex = allowInitIndex;
         this.repositories = JoinSetComposerUtil.toArray(repositories);
         this.queryStrategies = queryStrategies;
         this.isPureSelfJoin = isPureSelfJoin;
         this.exprEvaluatorContext = exprEvaluatorContext;
         this.joinRemoveStream = joinRemoveStream;
+        this.streamCardinality = streamCardinality;
     }
 
     public boolean allowsInit() {
@@ -64,6 +67,9 @@ public class JoinSetComposerImpl implements JoinSetComposer {
                 for (int j = 0; j < repositories[i].length; j++) {
                     repositories[i][j].add(eventsPerStream[i], exprEvaluatorContext);
                 }
+                if (streamCardinality != null) {
+                    streamCardinality.update(i, eventsPerStream[i], null);
+                }
             }
         }
     }
@@ -114,6 +120,9 @@ public class JoinSetComposerImpl implements JoinSetComposer {
                     InstrumentationHelper.get().aJoinCompositionStepUpdIndex();
                 }
             }
+            if (streamCardinality != null) {
+                streamCardinality.update(stream, newDataPerStream[stream], oldDataPerStream[stream]);
+            }
         }
 
         // join new data
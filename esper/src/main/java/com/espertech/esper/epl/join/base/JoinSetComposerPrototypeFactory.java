@@ -111,11 +111,12 @@ public class JoinSetComposerPrototypeFactory {
         }
 
         // Historical index lists
+        int joinReplanInterval = isOnDemandQuery ? 0 : statementContext.getConfigSnapshot().getEngineDefaults().getExecution().getJoinReplanInterval();
         HistoricalStreamIndexList[] historicalStreamIndexLists = new HistoricalStreamIndexList[streamTypes.length];
 
         QueryPlan queryPlan = QueryPlanBuilder.getPlan(streamTypes, outerJoinDescList, queryGraph, streamNames,
                 historicalViewableDesc, historicalDependencyGraph, historicalStreamIndexLists,
-                streamJoinAnalysisResult, queryPlanLogging, statementContext.getAnnotations(), exprEvaluatorContext);
+                streamJoinAnalysisResult, queryPlanLogging, statementContext.getAnnotations(), exprEvaluatorContext, joinReplanInterval);
 
         // remove unused indexes - consider all streams or all unidirectional
         HashSet<TableLookupIndexReqKey> usedIndexes = new HashSet<TableLookupIndexReqKey>();
@@ -172,7 +173,7 @@ public class JoinSetComposerPrototypeFactory {
                 historicalStreamIndexLists,
                 joinRemoveStream,
                 isOuterJoins,
-                tableService, statementContext.getEventTableIndexService());
+                tableService, statementContext.getEventTableIndexService(), statementContext.getConfigSnapshot());
     }
 
     private static JoinSetComposerPrototype makeComposerHistorical2Stream(OuterJoinDesc[] outerJoinDescList,
@@ -10,13 +10,17 @@
  */
 package com.espertech.esper.epl.join.base;
 
+import com.espertech.esper.client.ConfigurationInformation;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
 import com.espertech.esper.core.service.StreamJoinAnalysisResult;
+import com.espertech.esper.epl.expression.codegen.ExprCodegenCompiler;
 import com.espertech.esper.epl.expression.core.*;
 import com.espertech.esper.epl.expression.ops.ExprAndNode;
+import com.espertech.esper.epl.join.exec.base.AdaptiveNestedIterationExecNode;
 import com.espertech.esper.epl.join.exec.base.ExecNode;
+import com.espertech.esper.epl.join.exec.base.JoinStreamCardinality;
 import com.espertech.esper.epl.join.plan.*;
 import com.espertech.esper.epl.join.table.EventTable;
 import com.espertech.esper.epl.join.table.EventTableUtil;
@@ -59,6 +63,8 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
     private final boolean isOuterJoins;
     private final TableService tableService;
     private final EventTableIndexService eventTableIndexService;
+    private final ExprEvaluator postJoinFilterEvaluator;
+    private final ExprEvaluator postJoinFilterEvaluatorInclOnClause;
 
     public JoinSetComposerPrototypeImpl(String statementName,
                                         int statementId,
@@ -76,7 +82,8 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
                                         boolean joinRemoveStream,
                                         boolean isOuterJoins,
                                         TableService tableService,
-                                        EventTableIndexService eventTableIndexService) {
+                                        EventTableIndexService eventTableIndexService,
+                                        ConfigurationInformation configuration) {
         this.statementName = statementName;
         this.statementId = statementId;
         this.outerJoinDescList = outerJoinDescList;
@@ -94,6 +101,11 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
         this.isOuterJoins = isOuterJoins;
         this.tableService = tableService;
         this.eventTableIndexService = eventTableIndexService;
+
+        // rewrite the filter expression for all-inner joins in case "on"-clause outer join syntax was used to include those expressions
+        ExprNode filterExpression = getFilterExpressionInclOnClause(optionalFilterNode, outerJoinDescList);
+        this.postJoinFilterEvaluator = ExprCodegenCompiler.getEvaluator(optionalFilterNode, configuration);
+        this.postJoinFilterEvaluatorInclOnClause = filterExpression == optionalFilterNode ? postJoinFilterEvaluator : ExprCodegenCompiler.getEvaluator(filterExpression, configuration);
     }
 
     public JoinSetComposerDesc create(Viewable[] streamViews, boolean isFireAndForget, AgentInstanceContext agentInstanceContext, boolean isRecoveringResilient) {
@@ -150,6 +162,7 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
         // Build strategies
         QueryPlanNode[] queryExecSpecs = queryPlan.getExecNodeSpecs();
         QueryStrategy[] queryStrategies = new QueryStrategy[queryExecSpecs.length];
+        List<AdaptiveNestedIterationExecNode> adaptiveExecNodes = null;
         for (int i = 0; i < queryExecSpecs.length; i++) {
             QueryPlanNode planNode = queryExecSpecs[i];
             if (planNode == null) {
@@ -165,6 +178,12 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
             }
 
             queryStrategies[i] = new ExecNodeQueryStrategy(i, streamTypes.length, executionNode);
+            if (executionNode instanceof AdaptiveNestedIterationExecNode) {
+                if (adaptiveExecNodes == null) {
+                    adaptiveExecNodes = new ArrayList<AdaptiveNestedIterationExecNode>();
+                }
+                adaptiveExecNodes.add((AdaptiveNestedIterationExecNode) executionNode);
+            }
         }
 
         // Remove indexes that are from tables as these are only available to query strategies
@@ -183,21 +202,23 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
                 if (isFireAndForget) {
                     composer = new JoinSetComposerFAFImpl(indexesPerStream, queryStrategies, streamJoinAnalysisResult.isPureSelfJoin(), exprEvaluatorContext, joinRemoveStream, isOuterJoins);
                 } else {
-                    composer = new JoinSetComposerImpl(eventTableIndexService.allowInitIndex(isRecoveringResilient), indexesPerStream, queryStrategies, streamJoinAnalysisResult.isPureSelfJoin(), exprEvaluatorContext, joinRemoveStream);
+                    // the composer maintains the number of events per stream for adaptive lookup order, unless indexes are external or temporary
+                    JoinStreamCardinality streamCardinality = null;
+                    if (adaptiveExecNodes != null && !hasExternalViews(externalViews) && !streamJoinAnalysisResult.isPureSelfJoin()) {
+                        streamCardinality = new JoinStreamCardinality(streamTypes.length);
+                        for (AdaptiveNestedIterationExecNode adaptiveExecNode : adaptiveExecNodes) {
+                            adaptiveExecNode.setStreamCardinality(streamCardinality);
+                        }
+                    }
+                    composer = new JoinSetComposerImpl(eventTableIndexService.allowInitIndex(isRecoveringResilient), indexesPerStream, queryStrategies, streamJoinAnalysisResult.isPureSelfJoin(), exprEvaluatorContext, joinRemoveStream, streamCardinality);
                 }
             }
 
-            // rewrite the filter expression for all-inner joins in case "on"-clause outer join syntax was used to include those expressions
-            ExprNode filterExpression = getFilterExpressionInclOnClause(optionalFilterNode, outerJoinDescList);
-
-            ExprEvaluator postJoinEval = filterExpression == null ? null : filterExpression.getExprEvaluator();
-            joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinEval);
+            joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinFilterEvaluatorInclOnClause);
         } else {
-            ExprEvaluator postJoinEval = optionalFilterNode == null ? null : optionalFilterNode.getExprEvaluator();
-
             if (streamJoinAnalysisResult.isUnidirectionalAll()) {
                 JoinSetComposer composer = new JoinSetComposerAllUnidirectionalOuter(queryStrategies);
-                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinEval);
+                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinFilterEvaluator);
             } else {
                 QueryStrategy driver;
                 int unidirectionalStream;
@@ -211,7 +232,7 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
 
                 JoinSetComposer composer = new JoinSetComposerStreamToWinImpl(eventTableIndexService.allowInitIndex(isRecoveringResilient), indexesPerStream, streamJoinAnalysisResult.isPureSelfJoin(),
                         unidirectionalStream, driver, streamJoinAnalysisResult.getUnidirectionalNonDriving());
-                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinEval);
+                joinSetComposerDesc = new JoinSetComposerDesc(composer, postJoinFilterEvaluator);
             }
         }
 
@@ -254,6 +275,15 @@ public class JoinSetComposerPrototypeImpl implements JoinSetComposerPrototype {
         return joinSetComposerDesc;
     }
 
+    private static boolean hasExternalViews(VirtualDWView[] externalViews) {
+        for (VirtualDWView view : externalViews) {
+            if (view != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Map<TableLookupIndexReqKey, EventTable>[] removeTableIndexes(Map<TableLookupIndexReqKey, EventTable>[] indexesPerStream, TableMetadata[] tablesPerStream) {
         Map<TableLookupIndexReqKey, EventTable>[] result = new Map[indexesPerStream.length];
         for (int i = 0; i < indexesPerStream.length; i++) {
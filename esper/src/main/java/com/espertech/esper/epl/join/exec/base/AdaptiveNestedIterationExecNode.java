@@ -0,0 +1,139 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.exec.base;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.join.table.EventTableOrganization;
+import com.espertech.esper.epl.join.table.EventTableOrganizationType;
+import com.espertech.esper.util.IndentWriter;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Execution node that chooses among nested iterations of different lookup order.
+ * <p>
+ * All candidate nested iterations produce the same join result. Initially the node uses the first candidate, which is the
+ * lookup order chosen at planning time. Every given number of lookups the node estimates the cost of each candidate from
+ * the current number of events per stream and the number of keys of the indexes looked up, and switches to the
+ * cheapest candidate when its estimated cost is less than half of the estimated cost of the current candidate.
+ * </p>
+ * <p>
+ * The node retains the planning-time lookup order unless the join set composer provides the number of events per stream.
+ * </p>
+ */
+public class AdaptiveNestedIterationExecNode extends ExecNode {
+    private final int[][] nestingOrders;
+    private final ExecNode[] candidates;
+    private final EventTable[][] indexesPerCandidate;
+    private final int replanInterval;
+    private JoinStreamCardinality streamCardinality;
+    private int current;
+    private int countdown;
+
+    /**
+     * Ctor.
+     *
+     * @param nestingOrders       order of streams for each candidate
+     * @param candidates          nested iteration for each candidate
+     * @param indexesPerCandidate index looked up for each candidate and each stream in the nesting order, or null if not known
+     * @param replanInterval      number of lookups between estimates
+     */
+    public AdaptiveNestedIterationExecNode(int[][] nestingOrders, ExecNode[] candidates, EventTable[][] indexesPerCandidate, int replanInterval) {
+        this.nestingOrders = nestingOrders;
+        this.candidates = candidates;
+        this.indexesPerCandidate = indexesPerCandidate;
+        this.replanInterval = replanInterval;
+        this.countdown = replanInterval;
+    }
+
+    /**
+     * Sets the number of events per stream.
+     *
+     * @param streamCardinality number of events per stream
+     */
+    public void setStreamCardinality(JoinStreamCardinality streamCardinality) {
+        this.streamCardinality = streamCardinality;
+    }
+
+    /**
+     * Returns the nesting order of the candidate currently in use.
+     *
+     * @return nesting order
+     */
+    public int[] getCurrentNestingOrder() {
+        return nestingOrders[current];
+    }
+
+    public void process(EventBean lookupEvent, EventBean[] prefillPath, Collection<EventBean[]> result, ExprEvaluatorContext exprEvaluatorContext) {
+        if (streamCardinality != null && --countdown <= 0) {
+            countdown = replanInterval;
+            replan();
+        }
+        candidates[current].process(lookupEvent, prefillPath, result, exprEvaluatorContext);
+    }
+
+    private void replan() {
+        double currentCost = estimateCost(current);
+        int best = current;
+        double bestCost = currentCost;
+        for (int i = 0; i < candidates.length; i++) {
+            double cost = estimateCost(i);
+            if (cost < bestCost) {
+                best = i;
+                bestCost = cost;
+            }
+        }
+        if (bestCost * 2 < currentCost) {
+            current = best;
+        }
+    }
+
+    /**
+     * Estimates the number of lookups plus the number of rows produced by a nested iteration for a single lookup event.
+     */
+    private double estimateCost(int candidate) {
+        int[] nestingOrder = nestingOrders[candidate];
+        double rows = 1;
+        double cost = 0;
+        for (int i = 0; i < nestingOrder.length; i++) {
+            cost += rows;
+            rows *= estimateRowsPerLookup(nestingOrder[i], indexesPerCandidate[candidate][i]);
+            cost += rows;
+        }
+        return cost;
+    }
+
+    private double estimateRowsPerLookup(int stream, EventTable index) {
+        long numEvents = streamCardinality.get(stream);
+        if (index == null || numEvents == 0) {
+            return numEvents;
+        }
+        EventTableOrganization organization = index.getOrganization();
+        if (organization == null || organization.getType() != EventTableOrganizationType.HASH) {
+            return numEvents;
+        }
+        if (organization.isUnique()) {
+            return 1;
+        }
+        int numKeys = index.getNumKeys();
+        return numKeys == 0 ? 0 : (double) numEvents / numKeys;
+    }
+
+    public void print(IndentWriter writer) {
+        writer.println("AdaptiveNestedIterationExecNode with nesting order " + Arrays.toString(nestingOrders[current]));
+        writer.incrIndent();
+        candidates[current].print(writer);
+        writer.decrIndent();
+    }
+}
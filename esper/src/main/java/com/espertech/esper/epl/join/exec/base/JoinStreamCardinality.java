@@ -0,0 +1,57 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.exec.base;
+
+/**
+ * Number of events per stream held by a join, maintained by the join set composer as events enter and leave
+ * and used by adaptive execution nodes to estimate the cost of lookup orders.
+ */
+public class JoinStreamCardinality {
+    private final long[] numEvents;
+
+    /**
+     * Ctor.
+     *
+     * @param numStreams number of streams
+     */
+    public JoinStreamCardinality(int numStreams) {
+        this.numEvents = new long[numStreams];
+    }
+
+    /**
+     * Account for events entering and leaving a stream.
+     *
+     * @param stream  stream number
+     * @param newData entering events or null
+     * @param oldData leaving events or null
+     */
+    public void update(int stream, Object[] newData, Object[] oldData) {
+        long count = numEvents[stream];
+        if (newData != null) {
+            count += newData.length;
+        }
+        if (oldData != null) {
+            count -= oldData.length;
+        }
+        // removed events may not have been added before, such as for artificial old data
+        numEvents[stream] = count < 0 ? 0 : count;
+    }
+
+    /**
+     * Returns the number of events for the stream.
+     *
+     * @param stream stream number
+     * @return number of events
+     */
+    public long get(int stream) {
+        return numEvents[stream];
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.plan;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.epl.join.exec.base.AdaptiveNestedIterationExecNode;
+import com.espertech.esper.epl.join.exec.base.ExecNode;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.join.table.HistoricalStreamIndexList;
+import com.espertech.esper.epl.virtualdw.VirtualDWView;
+import com.espertech.esper.util.IndentWriter;
+import com.espertech.esper.view.Viewable;
+
+import java.lang.annotation.Annotation;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Plan to perform a nested iteration choosing at runtime among candidate nested iterations of different lookup order.
+ * The first candidate is the lookup order that the planner would use without adaptive planning.
+ */
+public class AdaptiveNestedIterationNode extends QueryPlanNode {
+    private final List<NestedIterationNode> candidates;
+    private final int replanInterval;
+
+    /**
+     * Ctor.
+     *
+     * @param candidates     nested iterations, all providing the same join result
+     * @param replanInterval number of lookups between re-evaluating the lookup order
+     */
+    public AdaptiveNestedIterationNode(List<NestedIterationNode> candidates, int replanInterval) {
+        if (candidates.size() < 2) {
+            throw new IllegalArgumentException("Adaptive nested iteration requires at least two candidates");
+        }
+        this.candidates = candidates;
+        this.replanInterval = replanInterval;
+    }
+
+    /**
+     * Returns the candidate nested iterations.
+     *
+     * @return candidates
+     */
+    public List<NestedIterationNode> getCandidates() {
+        return candidates;
+    }
+
+    public ExecNode makeExec(String statementName, int statementId, Annotation[] annotations, Map<TableLookupIndexReqKey, EventTable>[] indexesPerStream, EventType[] streamTypes, Viewable[] streamViews, HistoricalStreamIndexList[] historicalStreamIndexLists, VirtualDWView[] viewExternal, Lock[] tableSecondaryIndexLocks) {
+        int[][] nestingOrders = new int[candidates.size()][];
+        ExecNode[] execNodes = new ExecNode[candidates.size()];
+        EventTable[][] indexesPerCandidate = new EventTable[candidates.size()][];
+        for (int i = 0; i < candidates.size(); i++) {
+            NestedIterationNode candidate = candidates.get(i);
+            nestingOrders[i] = candidate.getNestingOrder();
+            execNodes[i] = candidate.makeExec(statementName, statementId, annotations, indexesPerStream, streamTypes, streamViews, historicalStreamIndexLists, viewExternal, tableSecondaryIndexLocks);
+
+            // determine the index looked up by each child, for use in estimating cost
+            indexesPerCandidate[i] = new EventTable[nestingOrders[i].length];
+            int count = 0;
+            for (QueryPlanNode child : candidate.getChildNodes()) {
+                if (child instanceof TableLookupNode) {
+                    TableLookupPlan plan = ((TableLookupNode) child).getTableLookupPlan();
+                    Map<TableLookupIndexReqKey, EventTable> indexes = indexesPerStream[plan.getIndexedStream()];
+                    if (indexes != null && plan.getIndexNum().length == 1) {
+                        indexesPerCandidate[i][count] = indexes.get(plan.getIndexNum()[0]);
+                    }
+                }
+                count++;
+            }
+        }
+        return new AdaptiveNestedIterationExecNode(nestingOrders, execNodes, indexesPerCandidate, replanInterval);
+    }
+
+    public void addIndexes(HashSet<TableLookupIndexReqKey> usedIndexes) {
+        for (NestedIterationNode candidate : candidates) {
+            candidate.addIndexes(usedIndexes);
+        }
+    }
+
+    protected void print(IndentWriter writer) {
+        writer.println("AdaptiveNestedIterationNode with " + candidates.size() + " candidates and replan interval " + replanInterval);
+        writer.incrIndent();
+        for (NestedIterationNode candidate : candidates) {
+            candidate.print(writer);
+        }
+        writer.decrIndent();
+    }
+}
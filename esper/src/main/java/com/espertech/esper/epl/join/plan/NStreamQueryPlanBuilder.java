@@ -112,7 +112,8 @@ public class NStreamQueryPlanBuilder {
                                      HistoricalStreamIndexList[] historicalStreamIndexLists,
                                      boolean hasForceNestedIter,
                                      String[][][] indexedStreamsUniqueProps,
-                                     TableMetadata[] tablesPerStream) {
+                                     TableMetadata[] tablesPerStream,
+                                     int joinReplanInterval) {
         if (log.isDebugEnabled()) {
             log.debug(".build queryGraph=" + queryGraph);
         }
@@ -132,6 +133,9 @@ public class NStreamQueryPlanBuilder {
             }
         }
 
+        // adaptive lookup order requires the number of events per stream, which is not available for historical streams and tables
+        boolean isAdaptive = joinReplanInterval > 0 && !historicalViewableDesc.isHasHistorical() && !hasTable(tablesPerStream);
+
         QueryPlanNode[] planNodeSpecs = new QueryPlanNode[numStreams];
         int worstDepth = Integer.MAX_VALUE;
         for (int streamNo = 0; streamNo < numStreams; streamNo++) {
@@ -152,6 +156,20 @@ public class NStreamQueryPlanBuilder {
             }
 
             planNodeSpecs[streamNo] = createStreamPlan(streamNo, bestChain, queryGraph, indexSpecs, typesPerStream, historicalViewableDesc.getHistorical(), historicalStreamIndexLists, tablesPerStream);
+
+            // plan alternative lookup orders that are navigable by index for choosing at runtime
+            if (isAdaptive && bestChainResult.getDepth() == numStreams - 1) {
+                List<NestedIterationNode> candidates = new ArrayList<NestedIterationNode>();
+                candidates.add((NestedIterationNode) planNodeSpecs[streamNo]);
+                for (int[] chain : computeNavigableChains(streamNo, queryGraph, MAX_ADAPTIVE_CANDIDATES)) {
+                    if (!Arrays.equals(chain, bestChain)) {
+                        candidates.add((NestedIterationNode) createStreamPlan(streamNo, chain, queryGraph, indexSpecs, typesPerStream, historicalViewableDesc.getHistorical(), historicalStreamIndexLists, tablesPerStream));
+                    }
+                }
+                if (candidates.size() > 1) {
+                    planNodeSpecs[streamNo] = new AdaptiveNestedIterationNode(candidates, joinReplanInterval);
+                }
+            }
             if (log.isDebugEnabled()) {
                 log.debug(".build spec=" + planNodeSpecs[streamNo]);
             }
@@ -429,6 +447,42 @@ public class NStreamQueryPlanBuilder {
         return new BestChainResult(bestDepth, bestPermutation);
     }
 
+    /**
+     * Returns the chains of lookups for the lookup stream in which all streams can be accessed via an index,
+     * in the order of enumeration of permutations.
+     *
+     * @param lookupStream stream to start look up
+     * @param queryGraph   navigability between streams
+     * @param maxChains    maximum number of chains to return
+     * @return chains
+     */
+    protected static List<int[]> computeNavigableChains(int lookupStream, QueryGraph queryGraph, int maxChains) {
+        int[] defNestingorder = buildDefaultNestingOrder(queryGraph.getNumStreams(), lookupStream);
+        Enumeration<int[]> streamEnum;
+        if (defNestingorder.length < 6) {
+            streamEnum = new NumberSetPermutationEnumeration(defNestingorder);
+        } else {
+            streamEnum = new NumberSetShiftGroupEnumeration(defNestingorder);
+        }
+        List<int[]> chains = new ArrayList<int[]>();
+        while (streamEnum.hasMoreElements() && chains.size() < maxChains) {
+            int[] permutation = streamEnum.nextElement();
+            if (computeNavigableDepth(lookupStream, permutation, queryGraph) == queryGraph.getNumStreams() - 1) {
+                chains.add(permutation);
+            }
+        }
+        return chains;
+    }
+
+    private static boolean hasTable(TableMetadata[] tablesPerStream) {
+        for (TableMetadata table : tablesPerStream) {
+            if (table != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     /**
      * Determine if the proposed permutation of lookups passes dependencies
      *
@@ -605,5 +659,7 @@ public class NStreamQueryPlanBuilder {
         }
     }
 
+    private final static int MAX_ADAPTIVE_CANDIDATES = 24;
+
     private static Logger log = LoggerFactory.getLogger(NStreamQueryPlanBuilder.class);
 }
@@ -46,6 +46,7 @@ public class QueryPlanBuilder {
      * @param isQueryPlanLogging         for logging
      * @param exprEvaluatorContext       context
      * @param annotations                annotations
+     * @param joinReplanInterval         number of lookups between re-evaluating lookup order, or zero for a static lookup order
      * @return query plan
      * @throws ExprValidationException if the query plan fails
      */
@@ -59,7 +60,8 @@ public class QueryPlanBuilder {
                                     StreamJoinAnalysisResult streamJoinAnalysisResult,
                                     boolean isQueryPlanLogging,
                                     Annotation[] annotations,
-                                    ExprEvaluatorContext exprEvaluatorContext)
+                                    ExprEvaluatorContext exprEvaluatorContext,
+                                    int joinReplanInterval)
             throws ExprValidationException {
         String methodName = ".getPlan ";
 
@@ -94,7 +96,7 @@ public class QueryPlanBuilder {
             QueryPlan queryPlan = NStreamQueryPlanBuilder.build(queryGraph, typesPerStream,
                     historicalViewableDesc, dependencyGraph, historicalStreamIndexLists,
                     hasForceNestedIter, streamJoinAnalysisResult.getUniqueKeys(),
-                    streamJoinAnalysisResult.getTablesPerStream());
+                    streamJoinAnalysisResult.getTablesPerStream(), joinReplanInterval);
 
             if (queryPlan != null) {
                 removeUnidirectionalAndTable(queryPlan, streamJoinAnalysisResult);
@@ -0,0 +1,34 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.table;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Table of events that can add many events at once, for use when an index is built over existing events.
+ */
+public interface EventTableBulkLoad {
+    /**
+     * Add events to the table, equivalent to adding each event in array order.
+     * <p>
+     * Implementations compute the index keys for all events first and do so in parallel, using the engine parallel-compute
+     * thread pool, when one is provided. Implementations may organize the events more efficiently than per-event add when the table is empty.
+     * </p>
+     *
+     * @param events               to add
+     * @param parallelComputePool  pool to compute keys and sort in parallel, or null to add on the calling thread
+     * @param exprEvaluatorContext evaluator context
+     */
+    public void addBulk(EventBean[] events, ThreadPoolExecutor parallelComputePool, ExprEvaluatorContext exprEvaluatorContext);
+}
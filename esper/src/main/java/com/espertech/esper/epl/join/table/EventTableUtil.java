@@ -10,13 +10,37 @@
  */
 package com.espertech.esper.epl.join.table;
 
+import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.core.thread.ParallelComputeUtil;
 import com.espertech.esper.epl.join.plan.QueryPlanIndexItem;
 import com.espertech.esper.epl.lookup.EventTableIndexService;
 import com.espertech.esper.util.CollectionUtil;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+
 public class EventTableUtil {
+    private final static int PARALLEL_MIN_PART_SIZE = 1024;
+
+    /**
+     * Computes the index key for an event, for use by bulk-loading tables.
+     */
+    public interface KeyFunction {
+        /**
+         * Compute the key.
+         *
+         * @param theEvent event
+         * @return key
+         */
+        public Object computeKey(EventBean theEvent);
+    }
+
     /**
      * Build an index/table instance using the event properties for the event type.
      *
@@ -94,6 +118,169 @@ public class EventTableUtil {
         return table;
     }
 
+    /**
+     * Populate a new index with existing events, using a bulk load if the index supports bulk loading.
+     * The bulk load computes keys and sorts on the engine parallel-compute thread pool when the number of events reaches
+     * the configured parallel index build threshold.
+     *
+     * @param table                index to populate
+     * @param events               events to add
+     * @param agentInstanceContext context
+     */
+    public static void fillIndex(EventTable table, Iterable<EventBean> events, AgentInstanceContext agentInstanceContext) {
+        if (!(table instanceof EventTableBulkLoad)) {
+            EventBean[] single = new EventBean[1];
+            for (EventBean event : events) {
+                single[0] = event;
+                table.add(single, agentInstanceContext);
+            }
+            return;
+        }
+
+        EventBean[] eventArray;
+        if (events instanceof Collection) {
+            Collection<EventBean> collection = (Collection<EventBean>) events;
+            eventArray = collection.toArray(new EventBean[collection.size()]);
+        } else {
+            List<EventBean> list = new ArrayList<EventBean>();
+            for (EventBean event : events) {
+                list.add(event);
+            }
+            eventArray = list.toArray(new EventBean[list.size()]);
+        }
+        if (eventArray.length == 0) {
+            return;
+        }
+        int threshold = agentInstanceContext.getStatementContext().getConfigSnapshot().getEngineDefaults().getExecution().getParallelIndexBuildThreshold();
+        ThreadPoolExecutor parallelComputePool = null;
+        if (threshold > 0 && eventArray.length >= threshold) {
+            parallelComputePool = agentInstanceContext.getStatementContext().getThreadingService().getParallelComputeThreadPool();
+        }
+        ((EventTableBulkLoad) table).addBulk(eventArray, parallelComputePool, agentInstanceContext);
+    }
+
+    /**
+     * Compute the index key for each event, for use by bulk-loading tables.
+     *
+     * @param events              events
+     * @param parallelComputePool pool for computing keys in parallel, or null to compute keys on the calling thread
+     * @param keyFunction         computes the key for an event, must be thread-safe when computing in parallel
+     * @return keys in the same order as events
+     */
+    public static Object[] computeKeys(final EventBean[] events, ThreadPoolExecutor parallelComputePool, final KeyFunction keyFunction) {
+        final Object[] keys = new Object[events.length];
+        int numParts = parallelComputePool == null ? 1 : ParallelComputeUtil.getNumParts(parallelComputePool, events.length, PARALLEL_MIN_PART_SIZE);
+        if (numParts < 2) {
+            for (int i = 0; i < events.length; i++) {
+                keys[i] = keyFunction.computeKey(events[i]);
+            }
+            return keys;
+        }
+
+        final int[] bounds = getPartBounds(events.length, numParts);
+        ParallelComputeUtil.compute(parallelComputePool, numParts, new ParallelComputeUtil.Part() {
+            public void compute(int part) {
+                for (int i = bounds[part]; i < bounds[part + 1]; i++) {
+                    keys[i] = keyFunction.computeKey(events[i]);
+                }
+            }
+        });
+        return keys;
+    }
+
+    /**
+     * Sorts the first elements of an array, for use by bulk-loading tables. The sort is stable.
+     * In parallel, sorts parts of the array on the pool and then merges adjacent sorted parts on the pool
+     * until a single sorted part remains.
+     *
+     * @param array               to sort
+     * @param count               number of elements to sort
+     * @param comparator          comparator
+     * @param parallelComputePool pool for sorting in parallel, or null to sort on the calling thread
+     * @param <T>                 element type
+     */
+    public static <T> void sort(final T[] array, int count, final Comparator<? super T> comparator, ThreadPoolExecutor parallelComputePool) {
+        int numParts = parallelComputePool == null ? 1 : ParallelComputeUtil.getNumParts(parallelComputePool, count, PARALLEL_MIN_PART_SIZE);
+        if (numParts < 2) {
+            Arrays.sort(array, 0, count, comparator);
+            return;
+        }
+
+        final int[] bounds = getPartBounds(count, numParts);
+        ParallelComputeUtil.compute(parallelComputePool, numParts, new ParallelComputeUtil.Part() {
+            public void compute(int part) {
+                Arrays.sort(array, bounds[part], bounds[part + 1], comparator);
+            }
+        });
+
+        T[] source = array;
+        T[] target = Arrays.copyOf(array, count);
+        int[] runs = bounds;
+        while (runs.length > 2) {
+            final int numRuns = runs.length - 1;
+            final int numMerges = (numRuns + 1) / 2;
+            final int[] mergeRuns = runs;
+            final T[] mergeSource = source;
+            final T[] mergeTarget = target;
+            ParallelComputeUtil.compute(parallelComputePool, numMerges, new ParallelComputeUtil.Part() {
+                public void compute(int part) {
+                    int left = 2 * part;
+                    if (left + 1 == numRuns) {
+                        System.arraycopy(mergeSource, mergeRuns[left], mergeTarget, mergeRuns[left], mergeRuns[left + 1] - mergeRuns[left]);
+                    } else {
+                        merge(mergeSource, mergeRuns[left], mergeRuns[left + 1], mergeRuns[left + 2], mergeTarget, comparator);
+                    }
+                }
+            });
+
+            int[] merged = new int[numMerges + 1];
+            for (int i = 0; i < numMerges; i++) {
+                merged[i] = runs[2 * i];
+            }
+            merged[numMerges] = runs[numRuns];
+            runs = merged;
+            source = mergeTarget;
+            target = mergeSource;
+        }
+        if (source != array) {
+            System.arraycopy(source, 0, array, 0, count);
+        }
+    }
+
+    /**
+     * Returns the initial capacity for a hash map that holds the number of entries without resizing.
+     *
+     * @param numEntries number of entries
+     * @return capacity
+     */
+    public static int getHashMapCapacity(int numEntries) {
+        return (int) Math.min((long) (numEntries / 0.75f) + 1, 1 << 30);
+    }
+
+    private static int[] getPartBounds(int count, int numParts) {
+        int[] bounds = new int[numParts + 1];
+        for (int i = 0; i <= numParts; i++) {
+            bounds[i] = (int) ((long) count * i / numParts);
+        }
+        return bounds;
+    }
+
+    private static <T> void merge(T[] source, int start, int middle, int end, T[] target, Comparator<? super T> comparator) {
+        int left = start;
+        int right = middle;
+        int index = start;
+        while (left < middle && right < end) {
+            // take from the left run when equal, retaining the order of equal elements
+            if (comparator.compare(source[left], source[right]) <= 0) {
+                target[index++] = source[left++];
+            } else {
+                target[index++] = source[right++];
+            }
+        }
+        System.arraycopy(source, left, target, index, middle - left);
+        System.arraycopy(source, right, target, index + middle - left, end - right);
+    }
+
     private static Class[] normalize(Class[] types) {
         if (types == null) {
             return null;
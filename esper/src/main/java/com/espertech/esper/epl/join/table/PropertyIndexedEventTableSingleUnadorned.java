@@ -13,14 +13,16 @@ package com.espertech.esper.epl.join.table;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventPropertyGetter;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Index that organizes events by the event property values into hash buckets. Based on a HashMap
  * with {@link com.espertech.esper.collection.MultiKeyUntyped} keys that store the property values.
  */
-public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEventTableSingle {
+public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEventTableSingle implements EventTableBulkLoad {
     protected final Map<Object, Set<EventBean>> propertyIndex;
 
     public PropertyIndexedEventTableSingleUnadorned(EventPropertyGetter propertyGetter, EventTableOrganization organization) {
@@ -50,6 +52,26 @@ public class PropertyIndexedEventTableSingleUnadorned extends PropertyIndexedEve
         events.add(theEvent);
     }
 
+    public void addBulk(EventBean[] events, ThreadPoolExecutor parallelComputePool, ExprEvaluatorContext exprEvaluatorContext) {
+        if (InstrumentationHelper.ENABLED) {
+            add(events, exprEvaluatorContext);
+            return;
+        }
+        Object[] keys = EventTableUtil.computeKeys(events, parallelComputePool, new EventTableUtil.KeyFunction() {
+            public Object computeKey(EventBean theEvent) {
+                return getKey(theEvent);
+            }
+        });
+        for (int i = 0; i < events.length; i++) {
+            Set<EventBean> keyEvents = propertyIndex.get(keys[i]);
+            if (keyEvents == null) {
+                keyEvents = new LinkedHashSet<EventBean>();
+                propertyIndex.put(keys[i], keyEvents);
+            }
+            keyEvents.add(events[i]);
+        }
+    }
+
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
         Object key = getKey(theEvent);
 
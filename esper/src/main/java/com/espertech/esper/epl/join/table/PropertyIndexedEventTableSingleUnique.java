@@ -16,12 +16,13 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Unique index.
  */
-public class PropertyIndexedEventTableSingleUnique extends PropertyIndexedEventTableSingle implements EventTableAsSet {
-    private final Map<Object, EventBean> propertyIndex;
+public class PropertyIndexedEventTableSingleUnique extends PropertyIndexedEventTableSingle implements EventTableAsSet, EventTableBulkLoad {
+    private Map<Object, EventBean> propertyIndex;
     private final boolean canClear;
 
     public PropertyIndexedEventTableSingleUnique(EventPropertyGetter propertyGetter, EventTableOrganization organization) {
@@ -88,6 +89,28 @@ public class PropertyIndexedEventTableSingleUnique extends PropertyIndexedEventT
         }
     }
 
+    public void addBulk(EventBean[] events, ThreadPoolExecutor parallelComputePool, ExprEvaluatorContext exprEvaluatorContext) {
+        if (InstrumentationHelper.ENABLED) {
+            add(events, exprEvaluatorContext);
+            return;
+        }
+        Object[] keys = EventTableUtil.computeKeys(events, parallelComputePool, new EventTableUtil.KeyFunction() {
+            public Object computeKey(EventBean theEvent) {
+                return getKey(theEvent);
+            }
+        });
+        if (canClear && propertyIndex.isEmpty()) {
+            // size the map once as there is one entry per event
+            propertyIndex = new HashMap<Object, EventBean>(EventTableUtil.getHashMapCapacity(events.length));
+        }
+        for (int i = 0; i < events.length; i++) {
+            EventBean existing = propertyIndex.put(keys[i], events[i]);
+            if (existing != null && !existing.equals(events[i])) {
+                throw PropertyIndexedEventTableUnique.handleUniqueIndexViolation(organization.getIndexName(), keys[i]);
+            }
+        }
+    }
+
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
         Object key = getKey(theEvent);
         propertyIndex.remove(key);
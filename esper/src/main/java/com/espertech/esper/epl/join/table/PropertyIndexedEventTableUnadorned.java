@@ -14,10 +14,12 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventPropertyGetter;
 import com.espertech.esper.collection.MultiKeyUntyped;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
-public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTable {
+public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTable implements EventTableBulkLoad {
     protected final Map<MultiKeyUntyped, Set<EventBean>> propertyIndex;
 
     public PropertyIndexedEventTableUnadorned(EventPropertyGetter[] propertyGetters, EventTableOrganization organization) {
@@ -48,6 +50,27 @@ public class PropertyIndexedEventTableUnadorned extends PropertyIndexedEventTabl
         events.add(theEvent);
     }
 
+    public void addBulk(EventBean[] events, ThreadPoolExecutor parallelComputePool, ExprEvaluatorContext exprEvaluatorContext) {
+        if (InstrumentationHelper.ENABLED) {
+            add(events, exprEvaluatorContext);
+            return;
+        }
+        Object[] keys = EventTableUtil.computeKeys(events, parallelComputePool, new EventTableUtil.KeyFunction() {
+            public Object computeKey(EventBean theEvent) {
+                return getMultiKey(theEvent);
+            }
+        });
+        for (int i = 0; i < events.length; i++) {
+            MultiKeyUntyped key = (MultiKeyUntyped) keys[i];
+            Set<EventBean> keyEvents = propertyIndex.get(key);
+            if (keyEvents == null) {
+                keyEvents = new LinkedHashSet<EventBean>();
+                propertyIndex.put(key, keyEvents);
+            }
+            keyEvents.add(events[i]);
+        }
+    }
+
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
         MultiKeyUntyped key = getMultiKey(theEvent);
 
@@ -18,9 +18,10 @@ import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
-public class PropertyIndexedEventTableUnique extends PropertyIndexedEventTable implements EventTableAsSet {
-    protected final Map<MultiKeyUntyped, EventBean> propertyIndex;
+public class PropertyIndexedEventTableUnique extends PropertyIndexedEventTable implements EventTableAsSet, EventTableBulkLoad {
+    protected Map<MultiKeyUntyped, EventBean> propertyIndex;
     private final boolean canClear;
 
     public PropertyIndexedEventTableUnique(EventPropertyGetter[] propertyGetters, EventTableOrganization organization) {
@@ -79,6 +80,28 @@ public class PropertyIndexedEventTableUnique extends PropertyIndexedEventTable i
         }
     }
 
+    public void addBulk(EventBean[] events, ThreadPoolExecutor parallelComputePool, ExprEvaluatorContext exprEvaluatorContext) {
+        if (InstrumentationHelper.ENABLED) {
+            add(events, exprEvaluatorContext);
+            return;
+        }
+        Object[] keys = EventTableUtil.computeKeys(events, parallelComputePool, new EventTableUtil.KeyFunction() {
+            public Object computeKey(EventBean theEvent) {
+                return getMultiKey(theEvent);
+            }
+        });
+        if (canClear && propertyIndex.isEmpty()) {
+            // size the map once as there is one entry per event
+            propertyIndex = new HashMap<MultiKeyUntyped, EventBean>(EventTableUtil.getHashMapCapacity(events.length));
+        }
+        for (int i = 0; i < events.length; i++) {
+            EventBean existing = propertyIndex.put((MultiKeyUntyped) keys[i], events[i]);
+            if (existing != null && !existing.equals(events[i])) {
+                throw handleUniqueIndexViolation(organization.getIndexName(), keys[i]);
+            }
+        }
+    }
+
     public static EPException handleUniqueIndexViolation(String indexName, Object key) {
         String indexNameDisplay = indexName == null ? "" : " '" + indexName + "'";
         throw new EPException("Unique index violation, index" + indexNameDisplay + " is a unique index and key '" + key + "' already exists");
@@ -19,14 +19,16 @@ import com.espertech.esper.epl.join.exec.base.RangeIndexLookupValueEquals;
 import com.espertech.esper.epl.join.exec.base.RangeIndexLookupValueRange;
 import com.espertech.esper.epl.join.plan.QueryGraphRangeEnum;
 import com.espertech.esper.filter.Range;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.*;
+import java.util.concurrent.ThreadPoolExecutor;
 
 /**
  * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
  * with Object keys that store the property values.
  */
-public class PropertySortedEventTableImpl extends PropertySortedEventTable {
+public class PropertySortedEventTableImpl extends PropertySortedEventTable implements EventTableBulkLoad {
     /**
      * Index table.
      */
@@ -208,6 +210,40 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
         events.add(theEvent);
     }
 
+    public void addBulk(EventBean[] events, ThreadPoolExecutor parallelComputePool, ExprEvaluatorContext exprEvaluatorContext) {
+        if (InstrumentationHelper.ENABLED || !propertyIndex.isEmpty()) {
+            add(events, exprEvaluatorContext);
+            return;
+        }
+        Object[] keys = EventTableUtil.computeKeys(events, parallelComputePool, new EventTableUtil.KeyFunction() {
+            public Object computeKey(EventBean theEvent) {
+                return coerce(getIndexedValue(theEvent));
+            }
+        });
+
+        // sort the events by key, the sort is stable and retains the order of events with the same key
+        KeyedEvent[] keyed = new KeyedEvent[events.length];
+        int count = 0;
+        for (int i = 0; i < events.length; i++) {
+            if (keys[i] == null) {
+                nullKeyedValues.add(events[i]);
+            } else {
+                keyed[count++] = new KeyedEvent(keys[i], events[i]);
+            }
+        }
+        EventTableUtil.sort(keyed, count, KEYED_EVENT_COMPARATOR, parallelComputePool);
+
+        // group events by key and put each distinct key once, in ascending key order
+        Set<EventBean> keyEvents = null;
+        for (int i = 0; i < count; i++) {
+            if (keyEvents == null || KEYED_EVENT_COMPARATOR.compare(keyed[i - 1], keyed[i]) != 0) {
+                keyEvents = new LinkedHashSet<EventBean>();
+                propertyIndex.put(keyed[i].key, keyEvents);
+            }
+            keyEvents.add(keyed[i].event);
+        }
+    }
+
     public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
         Object key = getIndexedValue(theEvent);
 
@@ -301,4 +337,20 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
     public Class getProviderClass() {
         return PropertySortedEventTable.class;
     }
+
+    private final static Comparator<KeyedEvent> KEYED_EVENT_COMPARATOR = new Comparator<KeyedEvent>() {
+        public int compare(KeyedEvent o1, KeyedEvent o2) {
+            return ((Comparable) o1.key).compareTo(o2.key);
+        }
+    };
+
+    private final static class KeyedEvent {
+        private final Object key;
+        private final EventBean event;
+
+        private KeyedEvent(Object key, EventBean event) {
+            this.key = key;
+            this.event = event;
+        }
+    }
 }
@@ -168,11 +168,7 @@ public class EventTableIndexRepository {
         EventTable table = EventTableUtil.buildIndex(agentInstanceContext, 0, indexItem, indexedType, true, unique, indexName, optionalSerde, false);
 
         // fill table since its new
-        EventBean[] events = new EventBean[1];
-        for (EventBean prefilledEvent : prefilledEvents) {
-            events[0] = prefilledEvent;
-            table.add(events, agentInstanceContext);
-        }
+        EventTableUtil.fillIndex(table, prefilledEvents, agentInstanceContext);
 
         // add table
         tables.add(table);
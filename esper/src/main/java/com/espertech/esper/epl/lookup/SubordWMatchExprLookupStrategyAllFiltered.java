@@ -13,6 +13,9 @@ package com.espertech.esper.epl.lookup;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.epl.metric.MetricReportingPath;
+import com.espertech.esper.epl.metric.MetricReportingService;
+import com.espertech.esper.epl.metric.StatementMetricHandle;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.Iterator;
@@ -23,23 +26,32 @@ public class SubordWMatchExprLookupStrategyAllFiltered implements SubordWMatchEx
     private final ExprEvaluator joinExpr;
     private final EventBean[] eventsPerStream;
     private final Iterable<EventBean> iterableEvents;
+    private final StatementMetricHandle statementMetricHandle;
+    private final MetricReportingService metricReportingService;
 
     /**
      * Ctor.
      *
      * @param joinExpr is the where clause
      * @param iterable iterable
+     * @param statementMetricHandle statement metrics handle for accounting full table scans, or null if not reporting
+     * @param metricReportingService metrics reporting service
      */
-    public SubordWMatchExprLookupStrategyAllFiltered(ExprEvaluator joinExpr, Iterable<EventBean> iterable) {
+    public SubordWMatchExprLookupStrategyAllFiltered(ExprEvaluator joinExpr, Iterable<EventBean> iterable, StatementMetricHandle statementMetricHandle, MetricReportingService metricReportingService) {
         this.joinExpr = joinExpr;
         this.eventsPerStream = new EventBean[2];
         this.iterableEvents = iterable;
+        this.statementMetricHandle = statementMetricHandle;
+        this.metricReportingService = metricReportingService;
     }
 
     public EventBean[] lookup(EventBean[] newData, ExprEvaluatorContext exprEvaluatorContext) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qInfraTriggeredLookup(SubordWMatchExprLookupStrategyType.FULLTABLESCAN_FILTERED);
         }
+        if ((MetricReportingPath.isMetricsEnabled) && (statementMetricHandle != null) && (statementMetricHandle.isEnabled())) {
+            metricReportingService.accountFullTableScan(statementMetricHandle, 1);
+        }
 
         Set<EventBean> removeEvents = null;
 
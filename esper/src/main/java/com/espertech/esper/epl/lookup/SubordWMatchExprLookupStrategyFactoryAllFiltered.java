@@ -12,8 +12,10 @@ package com.espertech.esper.epl.lookup;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.epl.metric.StatementMetricHandle;
 import com.espertech.esper.epl.virtualdw.VirtualDWView;
 
 public class SubordWMatchExprLookupStrategyFactoryAllFiltered implements SubordWMatchExprLookupStrategyFactory {
@@ -24,7 +26,9 @@ public class SubordWMatchExprLookupStrategyFactoryAllFiltered implements SubordW
     }
 
     public SubordWMatchExprLookupStrategy realize(EventTable[] indexes, AgentInstanceContext agentInstanceContext, Iterable<EventBean> scanIterable, VirtualDWView virtualDataWindow) {
-        return new SubordWMatchExprLookupStrategyAllFiltered(exprEvaluator, scanIterable);
+        StatementContext statementContext = agentInstanceContext.getStatementContext();
+        StatementMetricHandle metricsHandle = statementContext.getEpStatementHandle() == null ? null : statementContext.getEpStatementHandle().getMetricsHandle();
+        return new SubordWMatchExprLookupStrategyAllFiltered(exprEvaluator, scanIterable, metricsHandle, statementContext.getMetricReportingService());
     }
 
     public String toQueryPlan() {
@@ -56,6 +56,14 @@ public interface MetricReportingService {
      */
     public void accountOutput(StatementMetricHandle handle, int numIStream, int numRStream);
 
+    /**
+     * Account for full table scans performed by a statement.
+     *
+     * @param handle           statement handle
+     * @param numFullTableScan number of full table scans
+     */
+    public void accountFullTableScan(StatementMetricHandle handle, long numFullTableScan);
+
     /**
      * Returns for a new statement a handle for later accounting.
      *
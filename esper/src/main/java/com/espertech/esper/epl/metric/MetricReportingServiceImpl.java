@@ -164,6 +164,10 @@ public class MetricReportingServiceImpl implements MetricReportingServiceSPI, Me
         stmtMetricRepository.accountOutput(handle, numIStream, numRStream);
     }
 
+    public void accountFullTableScan(StatementMetricHandle handle, long numFullTableScan) {
+        stmtMetricRepository.accountFullTableScan(handle, numFullTableScan);
+    }
+
     public StatementMetricHandle getStatementHandle(int statementId, String statementName) {
         if (!MetricReportingPath.isMetricsEnabled) {
             return null;
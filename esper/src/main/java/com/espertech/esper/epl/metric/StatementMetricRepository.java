@@ -145,6 +145,23 @@ public class StatementMetricRepository {
         }
     }
 
+    /**
+     * Account full table scans.
+     *
+     * @param handle           statement handle
+     * @param numFullTableScan num full table scans
+     */
+    public void accountFullTableScan(StatementMetricHandle handle, long numFullTableScan) {
+        StatementMetricArray array = groupMetrics[handle.getGroupNum()];
+        array.getRwLock().acquireReadLock();
+        try {
+            StatementMetric metric = array.getAddMetric(handle.getIndex());
+            metric.addNumFullTableScan(numFullTableScan);
+        } finally {
+            array.getRwLock().releaseReadLock();
+        }
+    }
+
     /**
      * Report for a given statement group.
      *
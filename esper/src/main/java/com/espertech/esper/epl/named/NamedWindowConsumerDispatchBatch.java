@@ -0,0 +1,153 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.named;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
+
+import java.util.*;
+
+/**
+ * Micro-batch of named window results accumulated per consuming statement and per consumer view,
+ * for delivery to each consumer view in a single update.
+ * <p>
+ * Not thread-safe: the dispatch service guards each batch. Maps and accumulators are recycled when the batch is cleared.
+ */
+public class NamedWindowConsumerDispatchBatch {
+    private final LinkedHashMap<EPStatementAgentInstanceHandle, LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator>> perHandle = new LinkedHashMap<EPStatementAgentInstanceHandle, LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator>>();
+    private final ArrayDeque<LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator>> freeMaps = new ArrayDeque<LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator>>();
+    private final ArrayDeque<DeltaAccumulator> freeAccumulators = new ArrayDeque<DeltaAccumulator>();
+    private int count;
+    private long firstTime;
+
+    /**
+     * Add a named window result for all of its consumers.
+     *
+     * @param latch the result and its consumers
+     * @param time  engine time
+     */
+    public void add(NamedWindowConsumerLatch latch, long time) {
+        if (count == 0) {
+            firstTime = time;
+        }
+        count++;
+
+        NamedWindowDeltaData delta = latch.getDeltaData();
+        for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+            LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator> perConsumer = perHandle.get(entry.getKey());
+            if (perConsumer == null) {
+                perConsumer = freeMaps.poll();
+                if (perConsumer == null) {
+                    perConsumer = new LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator>();
+                }
+                perHandle.put(entry.getKey(), perConsumer);
+            }
+            for (NamedWindowConsumerView consumerView : entry.getValue()) {
+                DeltaAccumulator accumulator = perConsumer.get(consumerView);
+                if (accumulator == null) {
+                    accumulator = freeAccumulators.poll();
+                    if (accumulator == null) {
+                        accumulator = new DeltaAccumulator();
+                    }
+                    perConsumer.put(consumerView, accumulator);
+                }
+                accumulator.add(delta);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of named window results in the batch.
+     *
+     * @return count
+     */
+    public int getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the engine time of the first named window result of the batch.
+     *
+     * @return time
+     */
+    public long getFirstTime() {
+        return firstTime;
+    }
+
+    /**
+     * Returns the accumulated results per statement handle and consumer view, in order of first arrival.
+     *
+     * @return accumulated results
+     */
+    public Map<EPStatementAgentInstanceHandle, LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator>> getPerHandle() {
+        return perHandle;
+    }
+
+    /**
+     * Clear the batch, retaining maps and accumulators for reuse but no references to events, statements or views.
+     */
+    public void clear() {
+        for (LinkedHashMap<NamedWindowConsumerView, DeltaAccumulator> perConsumer : perHandle.values()) {
+            for (DeltaAccumulator accumulator : perConsumer.values()) {
+                accumulator.clear();
+                freeAccumulators.add(accumulator);
+            }
+            perConsumer.clear();
+            freeMaps.add(perConsumer);
+        }
+        perHandle.clear();
+        count = 0;
+    }
+
+    /**
+     * Accumulates the insert and remove stream of a consumer view.
+     */
+    public static class DeltaAccumulator {
+        private final ArrayList<EventBean> newData = new ArrayList<EventBean>();
+        private final ArrayList<EventBean> oldData = new ArrayList<EventBean>();
+
+        private void add(NamedWindowDeltaData delta) {
+            addAll(newData, delta.getNewData());
+            addAll(oldData, delta.getOldData());
+        }
+
+        /**
+         * Returns the accumulated insert and remove stream.
+         *
+         * @return delta
+         */
+        public NamedWindowDeltaData toDeltaData() {
+            return new NamedWindowDeltaData(toArray(newData), toArray(oldData));
+        }
+
+        private void clear() {
+            newData.clear();
+            oldData.clear();
+        }
+
+        private static void addAll(ArrayList<EventBean> list, EventBean[] events) {
+            if (events == null) {
+                return;
+            }
+            list.ensureCapacity(list.size() + events.length);
+            for (EventBean event : events) {
+                list.add(event);
+            }
+        }
+
+        private static EventBean[] toArray(ArrayList<EventBean> list) {
+            if (list.isEmpty()) {
+                return null;
+            }
+            return list.toArray(new EventBean[list.size()]);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.named;
+
+import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivery of one or more named window results to the consumer views of a single consuming statement,
+ * for execution by a named window consumer dispatch thread.
+ */
+public class NamedWindowConsumerDispatchUnit {
+    private final NamedWindowDispatchServiceImpl dispatchService;
+    private final EPStatementAgentInstanceHandle handle;
+    private final List<NamedWindowConsumerView> consumers;
+    private final NamedWindowDeltaData deltaData;
+    private final Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer;
+    private final Object latches;
+
+    /**
+     * Ctor for a single result.
+     *
+     * @param dispatchService dispatch service
+     * @param handle          consuming statement
+     * @param consumers       consumer views
+     * @param latch           the result and its latch
+     */
+    public NamedWindowConsumerDispatchUnit(NamedWindowDispatchServiceImpl dispatchService, EPStatementAgentInstanceHandle handle, List<NamedWindowConsumerView> consumers, NamedWindowConsumerLatch latch) {
+        this.dispatchService = dispatchService;
+        this.handle = handle;
+        this.consumers = consumers;
+        this.deltaData = latch.getDeltaData();
+        this.deltaPerConsumer = null;
+        this.latches = latch;
+    }
+
+    /**
+     * Ctor for multiple results aggregated per consumer view.
+     *
+     * @param dispatchService  dispatch service
+     * @param handle           consuming statement
+     * @param deltaPerConsumer aggregated results per consumer view
+     * @param latches          the latches of the results
+     */
+    public NamedWindowConsumerDispatchUnit(NamedWindowDispatchServiceImpl dispatchService, EPStatementAgentInstanceHandle handle, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer, List<NamedWindowConsumerLatch> latches) {
+        this.dispatchService = dispatchService;
+        this.handle = handle;
+        this.consumers = null;
+        this.deltaData = null;
+        this.deltaPerConsumer = deltaPerConsumer;
+        this.latches = latches;
+    }
+
+    /**
+     * Returns the consuming statement, which determines the consumer dispatch thread.
+     *
+     * @return handle
+     */
+    public EPStatementAgentInstanceHandle getHandle() {
+        return handle;
+    }
+
+    /**
+     * Deliver to the consumer views.
+     */
+    public void deliver() {
+        if (deltaPerConsumer == null) {
+            dispatchService.deliverUnit(handle, consumers, deltaData);
+        } else {
+            dispatchService.deliverUnit(handle, deltaPerConsumer);
+        }
+    }
+
+    /**
+     * Indicate completion of the delivery, including any processing of the consuming statement's output, to the latches.
+     */
+    public void done() {
+        if (latches instanceof NamedWindowConsumerLatch) {
+            ((NamedWindowConsumerLatch) latches).consumerDone();
+            return;
+        }
+        for (NamedWindowConsumerLatch latch : (List<NamedWindowConsumerLatch>) latches) {
+            latch.consumerDone();
+        }
+    }
+}
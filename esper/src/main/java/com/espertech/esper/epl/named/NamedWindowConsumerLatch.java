@@ -14,10 +14,14 @@ import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
 
 public abstract class NamedWindowConsumerLatch {
+    private static final AtomicIntegerFieldUpdater<NamedWindowConsumerLatch> CONSUMERS_PENDING = AtomicIntegerFieldUpdater.newUpdater(NamedWindowConsumerLatch.class, "consumersPending");
+
     private final NamedWindowDeltaData deltaData;
     private final Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo;
+    private volatile int consumersPending;
 
     public abstract void await();
 
@@ -25,6 +29,45 @@ public abstract class NamedWindowConsumerLatch {
 
     public abstract void done();
 
+    /**
+     * Blocking call that returns only when all consumer deliveries handed to consumer dispatch threads completed,
+     * providing an ordering barrier between this result and any later result of the same named window.
+     */
+    public abstract void awaitConsumers();
+
+    /**
+     * Indicate that delivery to a number of consuming statements was handed to consumer dispatch threads.
+     *
+     * @param count number of deliveries
+     */
+    public void addConsumersPending(int count) {
+        CONSUMERS_PENDING.addAndGet(this, count);
+    }
+
+    /**
+     * Called by a consumer dispatch thread to indicate that a delivery completed.
+     */
+    public void consumerDone() {
+        if (CONSUMERS_PENDING.decrementAndGet(this) == 0) {
+            consumersCompleted();
+        }
+    }
+
+    /**
+     * Returns true when no consumer deliveries are outstanding.
+     *
+     * @return indicator
+     */
+    public boolean isConsumersCompleted() {
+        return consumersPending <= 0;
+    }
+
+    /**
+     * Called when the last outstanding consumer delivery completed.
+     */
+    protected void consumersCompleted() {
+    }
+
     public NamedWindowConsumerLatch(NamedWindowDeltaData deltaData, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> dispatchTo) {
         this.deltaData = deltaData;
         this.dispatchTo = dispatchTo;
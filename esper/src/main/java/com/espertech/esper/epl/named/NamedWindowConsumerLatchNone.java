@@ -33,4 +33,7 @@ public class NamedWindowConsumerLatchNone extends NamedWindowConsumerLatch {
 
     public void done() {
     }
+
+    public void awaitConsumers() {
+    }
 }
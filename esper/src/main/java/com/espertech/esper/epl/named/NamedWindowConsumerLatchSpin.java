@@ -78,6 +78,25 @@ public class NamedWindowConsumerLatchSpin extends NamedWindowConsumerLatch {
         }
     }
 
+    /**
+     * Blocking call that returns only when all consumer deliveries of this latch completed.
+     */
+    public void awaitConsumers() {
+        if (isConsumersCompleted()) {
+            return;
+        }
+
+        long spinStartTime = factory.getTimeSourceService().getTimeMillis();
+        while (!isConsumersCompleted()) {
+            Thread.yield();
+            long spinDelta = factory.getTimeSourceService().getTimeMillis() - spinStartTime;
+            if (spinDelta > factory.getMsecWait()) {
+                log.info("Spin wait timeout exceeded in named window '" + factory.getName() + "' consumer dispatch threads at " + factory.getMsecWait() + "ms for " + factory.getName() + ", consider disabling named window consumer dispatch latching for better performance");
+                break;
+            }
+        }
+    }
+
     public Thread getCurrentThread() {
         return currentThread;
     }
@@ -93,6 +93,39 @@ public class NamedWindowConsumerLatchWait extends NamedWindowConsumerLatch {
         }
     }
 
+    /**
+     * Blocking call that returns only when all consumer deliveries of this latch completed.
+     */
+    public void awaitConsumers() {
+        if (isConsumersCompleted()) {
+            return;
+        }
+
+        long waitStartTime = factory.getTimeSourceService().getTimeMillis();
+        synchronized (this) {
+            while (!isConsumersCompleted()) {
+                long remaining = factory.getMsecWait() - (factory.getTimeSourceService().getTimeMillis() - waitStartTime);
+                if (remaining <= 0) {
+                    log.info("Wait timeout exceeded for named window '" + factory.getName() + "' consumer dispatch threads with notify");
+                    break;
+                }
+                try {
+                    this.wait(remaining);
+                } catch (InterruptedException e) {
+                    log.error("Interrupted: " + e.getMessage(), e);
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+        }
+    }
+
+    protected void consumersCompleted() {
+        synchronized (this) {
+            this.notifyAll();
+        }
+    }
+
     public Thread getCurrentThread() {
         return currentThread;
     }
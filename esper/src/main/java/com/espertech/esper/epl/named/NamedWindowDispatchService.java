@@ -39,6 +39,13 @@ public interface NamedWindowDispatchService {
      */
     boolean dispatch();
 
+    /**
+     * Returns true if there are no named window results waiting for dispatch by the current thread.
+     *
+     * @return indicator whether there is nothing to dispatch
+     */
+    boolean isEmpty();
+
     /**
      * For use to add a result of a named window that must be dispatched to consuming views.
      *
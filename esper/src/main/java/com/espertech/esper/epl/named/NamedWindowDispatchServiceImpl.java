@@ -19,6 +19,7 @@ import com.espertech.esper.core.context.util.EPStatementAgentInstanceHandle;
 import com.espertech.esper.core.service.ExceptionHandlingService;
 import com.espertech.esper.core.service.StatementContext;
 import com.espertech.esper.core.service.StatementResultService;
+import com.espertech.esper.core.thread.ThreadingService;
 import com.espertech.esper.epl.metric.MetricReportingPath;
 import com.espertech.esper.epl.metric.MetricReportingService;
 import com.espertech.esper.epl.table.mgmt.TableService;
@@ -31,6 +32,7 @@ import com.espertech.esper.util.ManagedReadWriteLock;
 import com.espertech.esper.util.MetricUtil;
 
 import java.util.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * This service hold for each named window a dedicated processor and a lock to the named window.
@@ -44,6 +46,17 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
     private final boolean isPrioritized;
     private final ManagedReadWriteLock eventProcessingRWLock;
     private final MetricReportingService metricReportingService;
+    private final int consumerDispatchBatchSize;
+    private final long consumerDispatchBatchMaxDelay;
+    private final ThreadingService threadingService;
+    private final boolean isConsumerThreading;
+
+    // micro-batching: results accumulate into the pending batch, the delivery lock serializes delivery of swapped-out batches
+    private final Object batchLock = new Object();
+    private final ReentrantLock batchDeliveryLock = new ReentrantLock();
+    private NamedWindowConsumerDispatchBatch batchPending = new NamedWindowConsumerDispatchBatch();
+    private NamedWindowConsumerDispatchBatch batchDelivering = new NamedWindowConsumerDispatchBatch();
+    private volatile boolean batchPendingNotEmpty;
 
     private ThreadLocal<List<NamedWindowConsumerLatch>> threadLocal = new ThreadLocal<List<NamedWindowConsumerLatch>>() {
         protected synchronized List<NamedWindowConsumerLatch> initialValue() {
@@ -57,6 +70,14 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         }
     };
 
+    private ThreadLocal<Boolean> isConsumerDispatchThreadTL = new ThreadLocal<Boolean>();
+
+    private ThreadLocal<LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData>> deltaPerConsumerTL = new ThreadLocal<LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData>>() {
+        protected synchronized LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> initialValue() {
+            return new LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData>();
+        }
+    };
+
     public NamedWindowDispatchServiceImpl(SchedulingService schedulingService,
                                           VariableService variableService,
                                           TableService tableService,
@@ -64,6 +85,19 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
                                           ManagedReadWriteLock eventProcessingRWLock,
                                           ExceptionHandlingService exceptionHandlingService,
                                           MetricReportingService metricReportingService) {
+        this(schedulingService, variableService, tableService, isPrioritized, eventProcessingRWLock, exceptionHandlingService, metricReportingService, 0, 0, null);
+    }
+
+    public NamedWindowDispatchServiceImpl(SchedulingService schedulingService,
+                                          VariableService variableService,
+                                          TableService tableService,
+                                          boolean isPrioritized,
+                                          ManagedReadWriteLock eventProcessingRWLock,
+                                          ExceptionHandlingService exceptionHandlingService,
+                                          MetricReportingService metricReportingService,
+                                          int consumerDispatchBatchSize,
+                                          long consumerDispatchBatchMaxDelay,
+                                          ThreadingService threadingService) {
         this.schedulingService = schedulingService;
         this.variableService = variableService;
         this.tableService = tableService;
@@ -71,6 +105,11 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         this.eventProcessingRWLock = eventProcessingRWLock;
         this.exceptionHandlingService = exceptionHandlingService;
         this.metricReportingService = metricReportingService;
+        this.consumerDispatchBatchSize = consumerDispatchBatchSize;
+        this.consumerDispatchBatchMaxDelay = consumerDispatchBatchMaxDelay;
+        this.threadingService = threadingService;
+        // consumer threads deliver in order per consuming statement which does not honor statement priority
+        this.isConsumerThreading = threadingService != null && threadingService.isNamedWindowConsumerThreading() && !isPrioritized;
     }
 
     public NamedWindowProcessor createProcessor(String name, NamedWindowMgmtServiceImpl namedWindowMgmtService, NamedWindowDispatchService namedWindowDispatchService, String contextName, EventType eventType, StatementResultService statementResultService, ValueAddEventProcessor revisionProcessor, String eplExpression, String statementName, boolean isPrioritized, boolean isEnableSubqueryIndexShare, boolean enableQueryPlanLog, MetricReportingService metricReportingService, boolean isBatchingDataWindow, boolean isVirtualDataWindow, Set<String> optionalUniqueKeyProps, String eventTypeAsName, StatementContext statementContextCreateWindow) {
@@ -84,6 +123,12 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
     public void destroy() {
         threadLocal.remove();
         dispatchesPerStmtTL.remove();
+        deltaPerConsumerTL.remove();
+        isConsumerDispatchThreadTL.remove();
+        synchronized (batchLock) {
+            batchPending.clear();
+            batchPendingNotEmpty = false;
+        }
     }
 
     public void addDispatch(NamedWindowConsumerLatchFactory latchFactory, NamedWindowDeltaData delta, Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumers) {
@@ -91,7 +136,18 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         threadLocal.get().add(latch);
     }
 
+    public boolean isEmpty() {
+        return threadLocal.get().isEmpty();
+    }
+
     public boolean dispatch() {
+        if (consumerDispatchBatchSize > 1) {
+            return dispatchBatched();
+        }
+        if (isConsumerThreading) {
+            return dispatchConsumerThreading();
+        }
+
         List<NamedWindowConsumerLatch> dispatches = threadLocal.get();
         if (dispatches.isEmpty()) {
             return false;
@@ -121,6 +177,315 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         return true;
     }
 
+    private boolean dispatchConsumerThreading() {
+        List<NamedWindowConsumerLatch> dispatches = threadLocal.get();
+        if (dispatches.isEmpty()) {
+            return false;
+        }
+
+        while (!dispatches.isEmpty()) {
+            NamedWindowConsumerLatch[] units = dispatches.toArray(new NamedWindowConsumerLatch[dispatches.size()]);
+            dispatches.clear();
+
+            // Submitted without holding the main processing lock: consumer threads acquire it for delivery, and
+            // submission waits for queue capacity, which would deadlock with a statement management thread waiting for the lock
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().qNamedWindowDispatch(exceptionHandlingService.getEngineURI());
+            }
+            try {
+                submitDispatches(units);
+            } catch (RuntimeException ex) {
+                throw new EPException(ex);
+            } finally {
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aNamedWindowDispatch();
+                }
+            }
+
+            // Ordering barrier: the thread continues, for example with insert-into, only after consumers completed.
+            // Waited for outside of the processing lock as consumer threads may need it. Consumer threads do not wait
+            // as the consumers may be queued behind them.
+            if (isConsumerDispatchThreadTL.get() == null) {
+                for (NamedWindowConsumerLatch latch : units) {
+                    latch.awaitConsumers();
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void submitDispatches(NamedWindowConsumerLatch[] dispatches) {
+        boolean isConsumerThread = isConsumerDispatchThreadTL.get() != null;
+
+        // the latches order the submission of results to consumer threads, that each deliver in submission order
+        if (dispatches.length == 1) {
+            NamedWindowConsumerLatch latch = dispatches[0];
+            try {
+                latch.await();
+                latch.addConsumersPending(latch.getDispatchTo().size());
+                for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+                    threadingService.submitNamedWindowConsumer(new NamedWindowConsumerDispatchUnit(this, entry.getKey(), entry.getValue(), latch), isConsumerThread);
+                }
+            } finally {
+                latch.done();
+            }
+            return;
+        }
+
+        // multiple results to the same statement are aggregated per consumer view, same as when dispatching on the current thread
+        Map<EPStatementAgentInstanceHandle, Object> dispatchesPerStmt = dispatchesPerStmtTL.get();
+        try {
+            for (NamedWindowConsumerLatch latch : dispatches) {
+                latch.await();
+                for (Map.Entry<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> entry : latch.getDispatchTo().entrySet()) {
+                    EPStatementAgentInstanceHandle handle = entry.getKey();
+                    Object perStmtObj = dispatchesPerStmt.get(handle);
+                    if (perStmtObj == null) {
+                        dispatchesPerStmt.put(handle, latch);
+                    } else if (perStmtObj instanceof List) {
+                        List<NamedWindowConsumerLatch> list = (List<NamedWindowConsumerLatch>) perStmtObj;
+                        list.add(latch);
+                    } else {
+                        NamedWindowConsumerLatch unitObj = (NamedWindowConsumerLatch) perStmtObj;
+                        List<NamedWindowConsumerLatch> list = new ArrayList<NamedWindowConsumerLatch>();
+                        list.add(unitObj);
+                        list.add(latch);
+                        dispatchesPerStmt.put(handle, list);
+                    }
+                }
+            }
+
+            for (Map.Entry<EPStatementAgentInstanceHandle, Object> entry : dispatchesPerStmt.entrySet()) {
+                EPStatementAgentInstanceHandle handle = entry.getKey();
+                Object perStmtObj = entry.getValue();
+                if (perStmtObj instanceof NamedWindowConsumerLatch) {
+                    NamedWindowConsumerLatch latch = (NamedWindowConsumerLatch) perStmtObj;
+                    latch.addConsumersPending(1);
+                    threadingService.submitNamedWindowConsumer(new NamedWindowConsumerDispatchUnit(this, handle, latch.getDispatchTo().get(handle), latch), isConsumerThread);
+                    continue;
+                }
+
+                List<NamedWindowConsumerLatch> list = (List<NamedWindowConsumerLatch>) perStmtObj;
+                LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumerReused = getDeltaPerConsumer(perStmtObj, handle);
+                Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = new LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData>(deltaPerConsumerReused);
+                deltaPerConsumerReused.clear();
+                for (NamedWindowConsumerLatch latch : list) {
+                    latch.addConsumersPending(1);
+                }
+                threadingService.submitNamedWindowConsumer(new NamedWindowConsumerDispatchUnit(this, handle, deltaPerConsumer, list), isConsumerThread);
+            }
+        } finally {
+            dispatchesPerStmt.clear();
+            for (NamedWindowConsumerLatch latch : dispatches) {
+                latch.done();
+            }
+        }
+    }
+
+    /**
+     * Deliver a single result to consumer views of a statement, for use by consumer threads.
+     *
+     * @param handle    consuming statement
+     * @param consumers consumer views
+     * @param deltaData result
+     */
+    protected void deliverUnit(EPStatementAgentInstanceHandle handle, List<NamedWindowConsumerView> consumers, NamedWindowDeltaData deltaData) {
+        isConsumerDispatchThreadTL.set(Boolean.TRUE);
+
+        // Acquire main processing lock which locks out statement management
+        eventProcessingRWLock.acquireReadLock();
+        try {
+            // the statement may have been destroyed while the unit was queued
+            if (handle.isDestroyed()) {
+                return;
+            }
+
+            if (MetricReportingPath.isMetricsEnabled && handle.getStatementHandle().getMetricsHandle().isEnabled()) {
+                long cpuTimeBefore = MetricUtil.getCPUCurrentThread();
+                long wallTimeBefore = MetricUtil.getWall();
+
+                processHandle(handle, consumers, deltaData.getNewData(), deltaData.getOldData());
+
+                long wallTimeAfter = MetricUtil.getWall();
+                long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
+                long deltaCPU = cpuTimeAfter - cpuTimeBefore;
+                long deltaWall = wallTimeAfter - wallTimeBefore;
+                metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+            } else {
+                processHandle(handle, consumers, deltaData.getNewData(), deltaData.getOldData());
+            }
+        } finally {
+            eventProcessingRWLock.releaseReadLock();
+        }
+    }
+
+    /**
+     * Deliver multiple results aggregated per consumer view to a statement, for use by consumer threads.
+     *
+     * @param handle           consuming statement
+     * @param deltaPerConsumer results per consumer view
+     */
+    protected void deliverUnit(EPStatementAgentInstanceHandle handle, Map<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer) {
+        isConsumerDispatchThreadTL.set(Boolean.TRUE);
+
+        // Acquire main processing lock which locks out statement management
+        eventProcessingRWLock.acquireReadLock();
+        try {
+            // the statement may have been destroyed while the unit was queued
+            if (handle.isDestroyed()) {
+                return;
+            }
+
+            if (MetricReportingPath.isMetricsEnabled && handle.getStatementHandle().getMetricsHandle().isEnabled()) {
+                long cpuTimeBefore = MetricUtil.getCPUCurrentThread();
+                long wallTimeBefore = MetricUtil.getWall();
+
+                processHandleMultiple(handle, deltaPerConsumer);
+
+                long wallTimeAfter = MetricUtil.getWall();
+                long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
+                long deltaCPU = cpuTimeAfter - cpuTimeBefore;
+                long deltaWall = wallTimeAfter - wallTimeBefore;
+                metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+            } else {
+                processHandleMultiple(handle, deltaPerConsumer);
+            }
+        } finally {
+            eventProcessingRWLock.releaseReadLock();
+        }
+    }
+
+    private boolean dispatchBatched() {
+        List<NamedWindowConsumerLatch> dispatches = threadLocal.get();
+        if (dispatches.isEmpty() && !batchPendingNotEmpty) {
+            return false;
+        }
+
+        boolean delivered = false;
+        do {
+            // Acquire main processing lock which locks out statement management
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().qNamedWindowDispatch(exceptionHandlingService.getEngineURI());
+            }
+            eventProcessingRWLock.acquireReadLock();
+            try {
+                if (!dispatches.isEmpty()) {
+                    NamedWindowConsumerLatch[] units = dispatches.toArray(new NamedWindowConsumerLatch[dispatches.size()]);
+                    dispatches.clear();
+                    accumulateDispatches(units);
+                }
+                delivered |= deliverBatchIfDue();
+            } catch (RuntimeException ex) {
+                throw new EPException(ex);
+            } finally {
+                eventProcessingRWLock.releaseReadLock();
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aNamedWindowDispatch();
+                }
+            }
+        }
+        while (!dispatches.isEmpty());
+
+        return delivered;
+    }
+
+    private void accumulateDispatches(NamedWindowConsumerLatch[] dispatches) {
+        long time = schedulingService.getTime();
+        for (NamedWindowConsumerLatch latch : dispatches) {
+            // the latch orders accumulation of results produced by different threads
+            latch.await();
+            try {
+                synchronized (batchLock) {
+                    batchPending.add(latch, time);
+                    batchPendingNotEmpty = true;
+                }
+            } finally {
+                latch.done();
+            }
+        }
+    }
+
+    private boolean deliverBatchIfDue() {
+        // results produced while delivering a batch are left for the next delivery
+        if (batchDeliveryLock.isHeldByCurrentThread()) {
+            return false;
+        }
+        synchronized (batchLock) {
+            if (!isBatchDue()) {
+                return false;
+            }
+        }
+
+        batchDeliveryLock.lock();
+        try {
+            synchronized (batchLock) {
+                // another thread may have delivered in the meantime
+                if (!isBatchDue()) {
+                    return false;
+                }
+                NamedWindowConsumerDispatchBatch swapped = batchDelivering;
+                batchDelivering = batchPending;
+                batchPending = swapped;
+                batchPendingNotEmpty = false;
+            }
+
+            try {
+                deliverBatch(batchDelivering);
+            } finally {
+                batchDelivering.clear();
+            }
+            return true;
+        } finally {
+            batchDeliveryLock.unlock();
+        }
+    }
+
+    private boolean isBatchDue() {
+        int count = batchPending.getCount();
+        if (count == 0) {
+            return false;
+        }
+        return count >= consumerDispatchBatchSize || schedulingService.getTime() - batchPending.getFirstTime() >= consumerDispatchBatchMaxDelay;
+    }
+
+    private void deliverBatch(NamedWindowConsumerDispatchBatch batch) {
+        LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = deltaPerConsumerTL.get();
+        for (Map.Entry<EPStatementAgentInstanceHandle, LinkedHashMap<NamedWindowConsumerView, NamedWindowConsumerDispatchBatch.DeltaAccumulator>> entry : batch.getPerHandle().entrySet()) {
+            EPStatementAgentInstanceHandle handle = entry.getKey();
+            if (handle.isDestroyed()) {
+                continue;
+            }
+
+            for (Map.Entry<NamedWindowConsumerView, NamedWindowConsumerDispatchBatch.DeltaAccumulator> entryConsumer : entry.getValue().entrySet()) {
+                deltaPerConsumer.put(entryConsumer.getKey(), entryConsumer.getValue().toDeltaData());
+            }
+
+            try {
+                if (MetricReportingPath.isMetricsEnabled && handle.getStatementHandle().getMetricsHandle().isEnabled()) {
+                    long cpuTimeBefore = MetricUtil.getCPUCurrentThread();
+                    long wallTimeBefore = MetricUtil.getWall();
+
+                    processHandleMultiple(handle, deltaPerConsumer);
+
+                    long wallTimeAfter = MetricUtil.getWall();
+                    long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
+                    long deltaCPU = cpuTimeAfter - cpuTimeBefore;
+                    long deltaWall = wallTimeAfter - wallTimeBefore;
+                    metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+                } else {
+                    processHandleMultiple(handle, deltaPerConsumer);
+                }
+            } finally {
+                deltaPerConsumer.clear();
+            }
+
+            if (isPrioritized && handle.isPreemptive()) {
+                break;
+            }
+        }
+    }
+
     private void processDispatches(NamedWindowConsumerLatch[] dispatches) {
 
         if (dispatches.length == 1) {
@@ -239,19 +604,23 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
 
                     // dispatch of multiple results to a the same statement, need to aggregate per consumer view
                     LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = getDeltaPerConsumer(perStmtObj, handle);
-                    if (handle.getStatementHandle().getMetricsHandle().isEnabled()) {
-                        long cpuTimeBefore = MetricUtil.getCPUCurrentThread();
-                        long wallTimeBefore = MetricUtil.getWall();
+                    try {
+                        if (handle.getStatementHandle().getMetricsHandle().isEnabled()) {
+                            long cpuTimeBefore = MetricUtil.getCPUCurrentThread();
+                            long wallTimeBefore = MetricUtil.getWall();
 
-                        processHandleMultiple(handle, deltaPerConsumer);
+                            processHandleMultiple(handle, deltaPerConsumer);
 
-                        long wallTimeAfter = MetricUtil.getWall();
-                        long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
-                        long deltaCPU = cpuTimeAfter - cpuTimeBefore;
-                        long deltaWall = wallTimeAfter - wallTimeBefore;
-                        metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
-                    } else {
-                        processHandleMultiple(handle, deltaPerConsumer);
+                            long wallTimeAfter = MetricUtil.getWall();
+                            long cpuTimeAfter = MetricUtil.getCPUCurrentThread();
+                            long deltaCPU = cpuTimeAfter - cpuTimeBefore;
+                            long deltaWall = wallTimeAfter - wallTimeBefore;
+                            metricReportingService.accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
+                        } else {
+                            processHandleMultiple(handle, deltaPerConsumer);
+                        }
+                    } finally {
+                        deltaPerConsumer.clear();
                     }
 
                     if (isPrioritized && handle.isPreemptive()) {
@@ -281,7 +650,11 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
 
                     // dispatch of multiple results to a the same statement, need to aggregate per consumer view
                     LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = getDeltaPerConsumer(perStmtObj, handle);
-                    processHandleMultiple(handle, deltaPerConsumer);
+                    try {
+                        processHandleMultiple(handle, deltaPerConsumer);
+                    } finally {
+                        deltaPerConsumer.clear();
+                    }
 
                     if (isPrioritized && handle.isPreemptive()) {
                         break;
@@ -358,7 +731,9 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
 
     public LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> getDeltaPerConsumer(Object perStmtObj, EPStatementAgentInstanceHandle handle) {
         List<NamedWindowConsumerLatch> list = (List<NamedWindowConsumerLatch>) perStmtObj;
-        LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = new LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData>();
+        // the map is reused by the thread and cleared by the caller after processing
+        LinkedHashMap<NamedWindowConsumerView, NamedWindowDeltaData> deltaPerConsumer = deltaPerConsumerTL.get();
+        deltaPerConsumer.clear();
         for (NamedWindowConsumerLatch unit : list) {
             // for each unit
             for (NamedWindowConsumerView consumerView : unit.getDispatchTo().get(handle)) {
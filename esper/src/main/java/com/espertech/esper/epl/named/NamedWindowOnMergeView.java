@@ -131,13 +131,14 @@ public class NamedWindowOnMergeView extends NamedWindowOnExprBaseView {
 
             // Events to delete are indicated via old data
             // The on-merge listeners receive the events deleted, but only if there is interest
+            // listeners receive the events as held by the named window
             if (parent.getStatementResultService().isMakeNatural()) {
-                EventBean[] eventsPerStreamNaturalNew = newData.isEmpty() ? null : newData.toArray();
+                EventBean[] eventsPerStreamNaturalNew = newData.isEmpty() ? null : this.rootView.adaptNewData(newData.toArray());
                 EventBean[] eventsPerStreamNaturalOld = (oldData == null || oldData.isEmpty()) ? null : oldData.toArray();
                 this.rootView.update(EventBeanUtility.denaturalize(eventsPerStreamNaturalNew), EventBeanUtility.denaturalize(eventsPerStreamNaturalOld));
                 updateChildren(eventsPerStreamNaturalNew, eventsPerStreamNaturalOld);
             } else {
-                EventBean[] eventsPerStreamNew = newData.isEmpty() ? null : newData.toArray();
+                EventBean[] eventsPerStreamNew = newData.isEmpty() ? null : this.rootView.adaptNewData(newData.toArray());
                 EventBean[] eventsPerStreamOld = (oldData == null || oldData.isEmpty()) ? null : oldData.toArray();
                 this.rootView.update(eventsPerStreamNew, eventsPerStreamOld);
                 if (parent.getStatementResultService().isMakeSynthetic()) {
@@ -60,12 +60,14 @@ public class NamedWindowOnUpdateView extends NamedWindowOnExprBaseView {
         }
 
         if (!newData.isEmpty()) {
-            // Events to delete are indicated via old data
-            this.rootView.update(newData.toArray(), oldData.toArray());
+            // Events to delete are indicated via old data, listeners receive the events as held by the named window
+            EventBean[] newEvents = this.rootView.adaptNewData(newData.toArray());
+            EventBean[] oldEvents = oldData.toArray();
+            this.rootView.update(newEvents, oldEvents);
 
             // The on-delete listeners receive the events deleted, but only if there is interest
             if (parent.getStatementResultService().isMakeNatural() || parent.getStatementResultService().isMakeSynthetic()) {
-                updateChildren(newData.toArray(), oldData.toArray());
+                updateChildren(newEvents, oldEvents);
             }
         }
 
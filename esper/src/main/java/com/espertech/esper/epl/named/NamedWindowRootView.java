@@ -33,14 +33,16 @@ public class NamedWindowRootView {
     private final boolean isChildBatching;
     private final boolean isEnableIndexShare;
     private final Set<String> optionalUniqueKeyProps;
+    private final boolean isOffHeap;
 
-    public NamedWindowRootView(ValueAddEventProcessor revisionProcessor, boolean queryPlanLogging, MetricReportingService metricReportingService, EventType eventType, boolean childBatching, boolean isEnableIndexShare, Set<String> optionalUniqueKeyProps) {
+    public NamedWindowRootView(ValueAddEventProcessor revisionProcessor, boolean queryPlanLogging, MetricReportingService metricReportingService, EventType eventType, boolean childBatching, boolean isEnableIndexShare, Set<String> optionalUniqueKeyProps, boolean isOffHeap) {
         this.revisionProcessor = revisionProcessor;
         this.queryPlanLogging = queryPlanLogging;
         this.eventType = eventType;
         this.isChildBatching = childBatching;
         this.isEnableIndexShare = isEnableIndexShare;
         this.optionalUniqueKeyProps = optionalUniqueKeyProps;
+        this.isOffHeap = isOffHeap;
     }
 
     public Set<String> getOptionalUniqueKeyProps() {
@@ -70,4 +72,8 @@ public class NamedWindowRootView {
     public boolean isEnableIndexShare() {
         return isEnableIndexShare;
     }
+
+    public boolean isOffHeap() {
+        return isOffHeap;
+    }
 }
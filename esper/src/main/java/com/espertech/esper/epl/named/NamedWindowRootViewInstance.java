@@ -22,6 +22,8 @@ import com.espertech.esper.epl.join.table.EventTable;
 import com.espertech.esper.epl.join.table.EventTableUtil;
 import com.espertech.esper.epl.lookup.*;
 import com.espertech.esper.epl.virtualdw.VirtualDWView;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.arr.ObjectArrayOffHeapStore;
 import com.espertech.esper.util.CollectionUtil;
 import com.espertech.esper.view.ViewSupport;
 import com.espertech.esper.view.Viewable;
@@ -43,6 +45,7 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
     private final EventTableIndexRepository indexRepository;
     private final Map<SubordWMatchExprLookupStrategy, EventTable[]> tablePerMultiLookup;
+    private final ObjectArrayOffHeapStore offHeapStore;
 
     private Iterable<EventBean> dataWindowContents;
 
@@ -59,6 +62,12 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         }
 
         this.tablePerMultiLookup = new HashMap<SubordWMatchExprLookupStrategy, EventTable[]>();
+
+        if (rootView.isOffHeap() && rootView.getEventType() instanceof ObjectArrayEventType) {
+            this.offHeapStore = new ObjectArrayOffHeapStore((ObjectArrayEventType) rootView.getEventType(), ObjectArrayOffHeapStore.DEFAULT_SEGMENT_SIZE);
+        } else {
+            this.offHeapStore = null;
+        }
     }
 
     public AgentInstanceContext getAgentInstanceContext() {
@@ -73,6 +82,46 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         return indexRepository.getIndexDescriptors();
     }
 
+    /**
+     * Returns the off-heap row store, or null if the named window keeps rows on-heap.
+     *
+     * @return store
+     */
+    public ObjectArrayOffHeapStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    /**
+     * Returns the events as held by the named window, i.e. rows of the off-heap row store if the named window keeps rows off-heap.
+     *
+     * @param events events to insert
+     * @return events to hold
+     */
+    public EventBean[] adaptNewData(EventBean[] events) {
+        if (offHeapStore == null || events == null) {
+            return events;
+        }
+        return offHeapStore.adapt(events);
+    }
+
+    /**
+     * Called by tail view to indicate the events that the named window now holds and no longer holds, for the off-heap
+     * row store to track sparse segments and compact them.
+     *
+     * @param newData events held
+     * @param oldData events no longer held
+     */
+    public void updateOffHeapStore(EventBean[] newData, EventBean[] oldData) {
+        if (offHeapStore == null) {
+            return;
+        }
+        offHeapStore.hold(newData);
+        offHeapStore.release(oldData);
+        if (offHeapStore.isCompactionRequired()) {
+            offHeapStore.compact(dataWindowContents);
+        }
+    }
+
     public Iterable<EventBean> getDataWindowContents() {
         return dataWindowContents;
     }
@@ -117,6 +166,7 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
     // Called by deletion strategy and also the insert-into for new events only
     public void update(EventBean[] newData, EventBean[] oldData) {
+        newData = adaptNewData(newData);
         if (rootView.getRevisionProcessor() != null) {
             rootView.getRevisionProcessor().onUpdate(newData, oldData, this, indexRepository);
         } else {
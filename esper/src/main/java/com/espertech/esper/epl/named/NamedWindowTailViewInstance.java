@@ -68,6 +68,7 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
         if (newData != null) {
             numberOfEvents += newData.length;
         }
+        rootViewInstance.updateOffHeapStore(newData, oldData);
 
         // Post to child views, only if there are listeners or subscribers
         if (tailView.getStatementResultService().isMakeNatural() || tailView.getStatementResultService().isMakeSynthetic()) {
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.epl.table.mgmt;
 
+import com.espertech.esper.client.EPException;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.Pair;
@@ -51,6 +52,7 @@ public class TableMetadata {
     private TableStateFactory tableStateFactory;
     private TableMetadataContext tableMetadataContext;
     private TableRowKeyFactory tableRowKeyFactory;
+    private int implicitIndexNumber;
 
     public TableMetadata(String tableName, String eplExpression, String statementName, Class[] keyTypes, Map<String, TableMetadataColumn> tableColumns, TableStateRowFactory rowFactory, int numberMethodAggregations, StatementContext createTableStatementContext, ObjectArrayEventType internalEventType, ObjectArrayEventType publicEventType, TableMetadataInternalEventToPublic eventToPublic, boolean queryPlanLogging)
             throws ExprValidationException {
@@ -158,12 +160,17 @@ public class TableMetadata {
         }
 
         // assign new strategies
-        for (Map.Entry<String, List<TableUpdateStrategyReceiverDesc>> stmtEntry : stmtNameToUpdateStrategyReceivers.entrySet()) {
-            for (TableUpdateStrategyReceiverDesc strategyReceiver : stmtEntry.getValue()) {
-                TableUpdateStrategy strategy = TableUpdateStrategyFactory.validateGetTableUpdateStrategy(this, strategyReceiver.getUpdateHelper(), strategyReceiver.isOnMerge());
-                strategyReceiver.getReceiver().update(strategy);
-            }
-        }
+        assignUpdateStrategies();
+    }
+
+    /**
+     * Allocate a name for an index that the engine creates implicitly for an on-trigger statement.
+     *
+     * @return index name
+     */
+    public String allocateImplicitIndexName() {
+        implicitIndexNumber++;
+        return tableName + "-implicit-" + implicitIndexNumber;
     }
 
     public void addTableUpdateStrategyReceiver(String statementName, TableUpdateStrategyReceiver receiver, EventBeanUpdateHelper updateHelper, boolean onMerge) {
@@ -197,6 +204,24 @@ public class TableMetadata {
                 }
             }
         }
+
+        // the update strategies must no longer maintain removed indexes
+        if (!indexesDereferenced.isEmpty()) {
+            try {
+                assignUpdateStrategies();
+            } catch (ExprValidationException ex) {
+                throw new EPException("Failed to reassign table update strategies: " + ex.getMessage(), ex);
+            }
+        }
+    }
+
+    private void assignUpdateStrategies() throws ExprValidationException {
+        for (Map.Entry<String, List<TableUpdateStrategyReceiverDesc>> stmtEntry : stmtNameToUpdateStrategyReceivers.entrySet()) {
+            for (TableUpdateStrategyReceiverDesc strategyReceiver : stmtEntry.getValue()) {
+                TableUpdateStrategy strategy = TableUpdateStrategyFactory.validateGetTableUpdateStrategy(this, strategyReceiver.getUpdateHelper(), strategyReceiver.isOnMerge());
+                strategyReceiver.getReceiver().update(strategy);
+            }
+        }
     }
 
     public TableStateInstance getState(int agentInstanceId) {
@@ -18,6 +18,7 @@ import com.espertech.esper.core.thread.ThreadingService;
 import com.espertech.esper.epl.core.EngineImportService;
 import com.espertech.esper.event.avro.EventAdapterAvroHandler;
 import com.espertech.esper.event.bean.BeanEventTypeFactory;
+import com.espertech.esper.event.serde.EventBeanSerdeRegistry;
 import com.espertech.esper.event.xml.SchemaModel;
 import com.espertech.esper.plugin.PlugInEventRepresentation;
 import com.espertech.esper.util.TypeWidenerCustomizer;
@@ -432,4 +433,11 @@ public interface EventAdapterService extends EventBeanService {
     public TypeWidenerCustomizer getTypeWidenerCustomizer(EventType resultEventType);
 
     public EngineImportService getEngineImportService();
+
+    /**
+     * Returns the registry of binary serialization of event objects per event type.
+     *
+     * @return serde registry
+     */
+    public EventBeanSerdeRegistry getEventBeanSerdeRegistry();
 }
@@ -26,6 +26,8 @@ import com.espertech.esper.event.bean.BeanEventType;
 import com.espertech.esper.event.bean.BeanEventTypeFactory;
 import com.espertech.esper.event.map.MapEventBean;
 import com.espertech.esper.event.map.MapEventType;
+import com.espertech.esper.event.serde.EventBeanSerdeRegistry;
+import com.espertech.esper.event.serde.EventBeanSerdeRegistryImpl;
 import com.espertech.esper.event.xml.*;
 import com.espertech.esper.plugin.*;
 import com.espertech.esper.util.TypeWidenerCustomizer;
@@ -69,6 +71,7 @@ public class EventAdapterServiceImpl implements EventAdapterService {
     private final EventAdapterServiceAnonymousTypeCache anonymousTypeCache;
     private final EventAdapterAvroHandler avroHandler;
     private final EngineImportService engineImportService;
+    private final EventBeanSerdeRegistry eventBeanSerdeRegistry;
 
     public EventAdapterServiceImpl(EventTypeIdGenerator eventTypeIdGenerator,
                                    int anonymousTypeCacheSize,
@@ -77,6 +80,7 @@ public class EventAdapterServiceImpl implements EventAdapterService {
         this.eventTypeIdGenerator = eventTypeIdGenerator;
         this.avroHandler = avroHandler;
         this.engineImportService = engineImportService;
+        this.eventBeanSerdeRegistry = new EventBeanSerdeRegistryImpl(avroHandler);
 
         nameToTypeMap = new HashMap<String, EventType>();
         xmldomRootElementNames = new HashMap<String, EventType>();
@@ -795,6 +799,7 @@ public class EventAdapterServiceImpl implements EventAdapterService {
         }
 
         nameToHandlerMap.remove(name);
+        eventBeanSerdeRegistry.removeSerde(eventType);
         return true;
     }
 
@@ -861,4 +866,8 @@ public class EventAdapterServiceImpl implements EventAdapterService {
     public TypeWidenerCustomizer getTypeWidenerCustomizer(EventType resultEventType) {
         return resultEventType instanceof AvroSchemaEventType ? avroHandler.getTypeWidenerCustomizer(resultEventType) : null;
     }
+
+    public EventBeanSerdeRegistry getEventBeanSerdeRegistry() {
+        return eventBeanSerdeRegistry;
+    }
 }
@@ -0,0 +1,112 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.core.service.EPStatementListenerSet;
+import com.espertech.esper.core.service.StatementResultService;
+import com.espertech.esper.event.arr.ObjectArrayEventBeanPooled;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.map.MapEventBeanPooled;
+import com.espertech.esper.util.AuditPath;
+
+import java.util.ArrayDeque;
+import java.util.Map;
+
+/**
+ * Pool of event bean wrappers for the object-array or map events that a statement inserts into a stream.
+ * <p>
+ * The runtime returns a wrapper to the pool after processing the routed event, only if all statements
+ * that the event matched are known to not retain the event and the producing statement has no listener or subscriber
+ * and is not audited.
+ * Wrappers are kept per thread as the thread that routes an event is the thread that processes it.
+ * </p>
+ */
+public class EventBeanPool {
+    private static final int MAX_FREE_PER_THREAD = 16;
+
+    private final EventType eventType;
+    private final boolean objectArray;
+    private final StatementResultService statementResultService;
+    private final EventAdapterService eventAdapterService;
+    private final ThreadLocal<ArrayDeque<EventBeanPooled>> free = new ThreadLocal<ArrayDeque<EventBeanPooled>>() {
+        protected synchronized ArrayDeque<EventBeanPooled> initialValue() {
+            return new ArrayDeque<EventBeanPooled>();
+        }
+    };
+
+    /**
+     * Ctor.
+     *
+     * @param eventType              object-array or map event type of the events
+     * @param statementResultService result service of the producing statement
+     * @param eventAdapterService    event adapter service
+     */
+    public EventBeanPool(EventType eventType, StatementResultService statementResultService, EventAdapterService eventAdapterService) {
+        this.eventType = eventType;
+        this.objectArray = eventType instanceof ObjectArrayEventType;
+        this.statementResultService = statementResultService;
+        this.eventAdapterService = eventAdapterService;
+    }
+
+    /**
+     * Returns an event bean for the underlying object-array or map, reusing a released wrapper when available.
+     *
+     * @param underlying object-array or map
+     * @return event bean
+     */
+    public EventBean allocate(Object underlying) {
+        if (isProducerRetaining()) {
+            if (objectArray) {
+                return eventAdapterService.adapterForTypedObjectArray((Object[]) underlying, eventType);
+            }
+            return eventAdapterService.adapterForTypedMap((Map<String, Object>) underlying, eventType);
+        }
+        EventBeanPooled bean = free.get().pollFirst();
+        if (bean == null) {
+            if (objectArray) {
+                return new ObjectArrayEventBeanPooled(this, (Object[]) underlying, eventType);
+            }
+            return new MapEventBeanPooled(this, (Map<String, Object>) underlying, eventType);
+        }
+        bean.setUnderlying(underlying);
+        return bean;
+    }
+
+    /**
+     * Returns a wrapper to the pool if the last processing of the event found that no statement retains the event.
+     *
+     * @param bean wrapper
+     */
+    public void release(EventBeanPooled bean) {
+        if (!bean.isReleasable()) {
+            return;
+        }
+        bean.setReleasable(false);
+        if (isProducerRetaining()) {
+            return;
+        }
+        ArrayDeque<EventBeanPooled> deque = free.get();
+        if (deque.size() < MAX_FREE_PER_THREAD) {
+            bean.setUnderlying(null);
+            deque.addFirst(bean);
+        }
+    }
+
+    private boolean isProducerRetaining() {
+        if (AuditPath.isAuditEnabled) {
+            return true;
+        }
+        EPStatementListenerSet listeners = statementResultService.getStatementListenerSet();
+        return listeners != null && (listeners.getListeners().length > 0 || listeners.getStmtAwareListeners().length > 0 || listeners.getSubscriber() != null);
+    }
+}
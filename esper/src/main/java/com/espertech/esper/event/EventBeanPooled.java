@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event;
+
+/**
+ * An event bean wrapper that is handed out by an {@link EventBeanPool} and that may be returned to the pool
+ * for reuse with a different underlying once no statement retains the event.
+ */
+public interface EventBeanPooled extends EventBeanSPI {
+    /**
+     * Returns the pool that handed out the wrapper.
+     *
+     * @return pool
+     */
+    public EventBeanPool getPool();
+
+    /**
+     * Returns indicator whether the last processing of the event found no statement retaining the event.
+     *
+     * @return indicator whether the wrapper can be returned to the pool
+     */
+    public boolean isReleasable();
+
+    /**
+     * Sets the indicator whether the last processing of the event found no statement retaining the event.
+     *
+     * @param releasable indicator whether the wrapper can be returned to the pool
+     */
+    public void setReleasable(boolean releasable);
+}
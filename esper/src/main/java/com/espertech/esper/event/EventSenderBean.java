@@ -78,6 +78,24 @@ public class EventSenderBean implements EventSender {
         }
     }
 
+    public void sendEvents(Object[] events) {
+        EventBean[] eventBeans = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            if (events[i] == null) {
+                throw new NullPointerException("No event object provided to sendEvents method");
+            }
+            eventBeans[i] = getEventBean(events[i]);
+        }
+
+        if ((ThreadingOption.isThreadingEnabled) && (threadingService.isInboundThreading())) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(new InboundUnitSendWrapped(eventBean, runtime));
+            }
+        } else {
+            runtime.processWrappedEvents(eventBeans);
+        }
+    }
+
     public void route(Object theEvent) throws EPException {
         EventBean eventBean = getEventBean(theEvent);
         runtime.routeEventBean(eventBean);
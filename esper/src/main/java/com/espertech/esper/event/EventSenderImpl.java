@@ -56,7 +56,47 @@ public class EventSenderImpl implements EventSender {
         sendIn(theEvent, true);
     }
 
+    public void sendEvents(Object[] events) throws EPException {
+        EventBean[] eventBeans = new EventBean[events.length];
+        int count = 0;
+        for (Object theEvent : events) {
+            EventBean eventBean = getEventBean(theEvent);
+            if (eventBean != null) {
+                eventBeans[count++] = eventBean;
+            }
+        }
+        if (count < eventBeans.length) {
+            EventBean[] resized = new EventBean[count];
+            System.arraycopy(eventBeans, 0, resized, 0, count);
+            eventBeans = resized;
+        }
+
+        if ((ThreadingOption.isThreadingEnabled) && (threadingService.isInboundThreading())) {
+            for (EventBean eventBean : eventBeans) {
+                threadingService.submitInbound(new InboundUnitSendWrapped(eventBean, epRuntime));
+            }
+        } else {
+            epRuntime.processWrappedEvents(eventBeans);
+        }
+    }
+
     private void sendIn(Object theEvent, boolean isRoute) throws EPException {
+        EventBean eventBean = getEventBean(theEvent);
+        if (eventBean == null) {
+            return;
+        }
+        if (isRoute) {
+            epRuntime.routeEventBean(eventBean);
+        } else {
+            if ((ThreadingOption.isThreadingEnabled) && (threadingService.isInboundThreading())) {
+                threadingService.submitInbound(new InboundUnitSendWrapped(eventBean, epRuntime));
+            } else {
+                epRuntime.processWrappedEvent(eventBean);
+            }
+        }
+    }
+
+    private EventBean getEventBean(Object theEvent) {
         // Ask each factory in turn to take care of it
         for (EventSenderURIDesc entry : handlingFactories) {
             EventBean eventBean = null;
@@ -68,17 +108,9 @@ public class EventSenderImpl implements EventSender {
             }
 
             if (eventBean != null) {
-                if (isRoute) {
-                    epRuntime.routeEventBean(eventBean);
-                } else {
-                    if ((ThreadingOption.isThreadingEnabled) && (threadingService.isInboundThreading())) {
-                        threadingService.submitInbound(new InboundUnitSendWrapped(eventBean, epRuntime));
-                    } else {
-                        epRuntime.processWrappedEvent(eventBean);
-                    }
-                }
-                return;
+                return eventBean;
             }
         }
+        return null;
     }
 }
@@ -46,6 +46,9 @@ public class ObjectArrayEntryPropertyGetter implements ObjectArrayEventPropertyG
     }
 
     public Object get(EventBean obj) {
+        if (obj instanceof ObjectArrayOffHeapEventBean) {
+            return ((ObjectArrayOffHeapEventBean) obj).getProperty(propertyIndex);
+        }
         Object[] arr = BaseNestableEventUtil.checkedCastUnderlyingObjectArray(obj);
         return getObjectArray(arr);
     }
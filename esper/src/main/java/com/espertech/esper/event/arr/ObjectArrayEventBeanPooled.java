@@ -0,0 +1,47 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.arr;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.event.EventBeanPool;
+import com.espertech.esper.event.EventBeanPooled;
+
+/**
+ * Object-array event bean wrapper that is handed out by an {@link EventBeanPool}.
+ */
+public class ObjectArrayEventBeanPooled extends ObjectArrayEventBean implements EventBeanPooled {
+    private final EventBeanPool pool;
+    private boolean releasable;
+
+    /**
+     * Ctor.
+     *
+     * @param pool           pool handing out the wrapper
+     * @param propertyValues event property values
+     * @param eventType      event type
+     */
+    public ObjectArrayEventBeanPooled(EventBeanPool pool, Object[] propertyValues, EventType eventType) {
+        super(propertyValues, eventType);
+        this.pool = pool;
+    }
+
+    public EventBeanPool getPool() {
+        return pool;
+    }
+
+    public boolean isReleasable() {
+        return releasable;
+    }
+
+    public void setReleasable(boolean releasable) {
+        this.releasable = releasable;
+    }
+}
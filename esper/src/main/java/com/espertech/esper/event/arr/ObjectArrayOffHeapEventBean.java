@@ -0,0 +1,97 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.arr;
+
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.PropertyAccessException;
+import com.espertech.esper.event.ObjectArrayBackedEventBean;
+
+/**
+ * Object-array event whose column values reside in a row of an {@link ObjectArrayOffHeapStore}.
+ * <p>
+ * Simple property getters read the single column from the row. Each call to {@link #getUnderlying()} materializes
+ * a new object array from the row, and changes to the returned array have no effect on property values.
+ * </p>
+ */
+public class ObjectArrayOffHeapEventBean implements ObjectArrayBackedEventBean {
+    private final ObjectArrayOffHeapStore store;
+    volatile ObjectArrayOffHeapStore.Segment segment;
+    volatile int offset;
+    volatile Object[] heapValues;
+    boolean held; // guarded by the store
+
+    /**
+     * Ctor.
+     *
+     * @param store row store
+     */
+    protected ObjectArrayOffHeapEventBean(ObjectArrayOffHeapStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Returns the row store.
+     *
+     * @return store
+     */
+    public ObjectArrayOffHeapStore getStore() {
+        return store;
+    }
+
+    /**
+     * Returns a single property value.
+     *
+     * @param index property index
+     * @return value
+     */
+    public Object getProperty(int index) {
+        return store.read(this, index);
+    }
+
+    public EventType getEventType() {
+        return store.getEventType();
+    }
+
+    public Object[] getProperties() {
+        return store.readAll(this);
+    }
+
+    public void setPropertyValues(Object[] objects) {
+        store.update(this, objects);
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        EventPropertyGetter getter = store.getEventType().getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getUnderlying() {
+        return getProperties();
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = store.getEventType().getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    void setRow(ObjectArrayOffHeapStore.Segment segment, int offset, Object[] heapValues) {
+        this.segment = segment;
+        this.offset = offset;
+        this.heapValues = heapValues;
+    }
+}
@@ -0,0 +1,634 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.arr;
+
+import com.espertech.esper.client.EventBean;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Map;
+
+/**
+ * Row store for object-array events that keeps column values in direct (off-heap) byte buffer segments,
+ * such that a row held by a named window is a single small heap object rather than an object array plus one boxed object per column.
+ * <p>
+ * Columns of type String, boolean, char and the primitive numeric types and their boxed types are stored off-heap.
+ * Columns of any other type remain on-heap and are referenced by the row.
+ * A row is written once and never updated in place. Segments are allocated in fixed-size chunks.
+ * </p>
+ * <p>
+ * The store tracks the number of bytes of each segment that belong to rows held by the named window, as indicated
+ * by {@link #hold(EventBean[])} and {@link #release(EventBean[])}. When a segment other than the current segment
+ * becomes sparse, {@link #compact(Iterable)} relocates the rows still held into the current segment, after which the
+ * store no longer refers to the sparse segment. A segment and its native memory are freed once no row refers to it,
+ * including rows removed from the named window that remain referenced elsewhere.
+ * Relocated rows remain readable by other threads: the bytes of a segment are never overwritten and readers
+ * re-read the row position if a relocation was in progress.
+ * </p>
+ */
+public class ObjectArrayOffHeapStore {
+    /**
+     * Default size of a segment.
+     */
+    public final static int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+
+    /**
+     * A segment is compacted when the bytes of held rows fall below this fraction of its size (1 / ratio).
+     */
+    public final static int COMPACT_RATIO = 4;
+
+    private final static Charset CHARSET = StandardCharsets.UTF_8;
+
+    private final static byte TYPE_HEAP = 0;
+    private final static byte TYPE_INT = 1;
+    private final static byte TYPE_LONG = 2;
+    private final static byte TYPE_DOUBLE = 3;
+    private final static byte TYPE_FLOAT = 4;
+    private final static byte TYPE_SHORT = 5;
+    private final static byte TYPE_BYTE = 6;
+    private final static byte TYPE_BOOLEAN = 7;
+    private final static byte TYPE_CHAR = 8;
+    private final static byte TYPE_STRING = 9;
+
+    private final static int[] TYPE_WIDTH = new int[]{0, 4, 8, 8, 4, 2, 1, 1, 2, -1};
+    private final static Class[] TYPE_CLASS = new Class[]{null, Integer.class, Long.class, Double.class, Float.class, Short.class, Byte.class, Boolean.class, Character.class, String.class};
+
+    private final ObjectArrayEventType eventType;
+    private final int segmentSize;
+    private final byte[] columnTypes;
+    private final int[] fixedOffsets;
+    private final int numNullBytes;
+    private final int fixedWidth;
+    private final boolean hasHeapColumns;
+
+    private final ArrayList<Segment> segments = new ArrayList<Segment>();
+    private Segment current;
+    private boolean compactionRequired;
+    private volatile int version;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType   object-array event type of rows
+     * @param segmentSize number of bytes per segment
+     */
+    public ObjectArrayOffHeapStore(ObjectArrayEventType eventType, int segmentSize) {
+        this.eventType = eventType;
+        this.segmentSize = segmentSize;
+
+        Map<String, Integer> indexes = eventType.getPropertiesIndexes();
+        columnTypes = new byte[indexes.size()];
+        boolean heapColumns = false;
+        for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            byte type = getColumnType(eventType.getTypes().get(entry.getKey()));
+            columnTypes[entry.getValue()] = type;
+            heapColumns |= type == TYPE_HEAP;
+        }
+        hasHeapColumns = heapColumns;
+        numNullBytes = (columnTypes.length + 7) / 8;
+
+        // columns that follow fixed-width columns only have a fixed offset within the row
+        fixedOffsets = new int[columnTypes.length];
+        int offset = numNullBytes;
+        int width = 0;
+        for (int i = 0; i < columnTypes.length; i++) {
+            fixedOffsets[i] = offset;
+            if (offset != -1) {
+                offset = TYPE_WIDTH[columnTypes[i]] == -1 ? -1 : offset + TYPE_WIDTH[columnTypes[i]];
+            }
+            if (TYPE_WIDTH[columnTypes[i]] != -1) {
+                width += TYPE_WIDTH[columnTypes[i]];
+            }
+        }
+        fixedWidth = numNullBytes + width;
+    }
+
+    /**
+     * Returns the event type.
+     *
+     * @return type
+     */
+    public ObjectArrayEventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Returns the number of segments that the store refers to, i.e. the current segment and segments not yet compacted.
+     *
+     * @return count
+     */
+    public synchronized int getNumSegments() {
+        return segments.size();
+    }
+
+    /**
+     * Indicates that the named window holds the events, for accounting the bytes of held rows per segment.
+     *
+     * @param events events held, or null
+     */
+    public synchronized void hold(EventBean[] events) {
+        if (events == null) {
+            return;
+        }
+        for (EventBean theEvent : events) {
+            ObjectArrayOffHeapEventBean bean = getBean(theEvent);
+            if (bean == null || bean.held) {
+                continue;
+            }
+            bean.held = true;
+            Segment segment = bean.segment;
+            if (segment == null) {
+                continue;
+            }
+            if (segment.sparse) {
+                // an event held again after its segment was compacted
+                relocate(bean, segment);
+            } else {
+                segment.heldBytes += getRowSize(segment.buffer, bean.offset);
+            }
+        }
+    }
+
+    /**
+     * Indicates that the named window no longer holds the events. The rows remain readable.
+     *
+     * @param events events no longer held, or null
+     */
+    public synchronized void release(EventBean[] events) {
+        if (events == null) {
+            return;
+        }
+        for (EventBean theEvent : events) {
+            ObjectArrayOffHeapEventBean bean = getBean(theEvent);
+            if (bean == null || !bean.held) {
+                continue;
+            }
+            bean.held = false;
+            if (bean.segment != null) {
+                releaseRow(bean.segment, bean.offset);
+            }
+        }
+    }
+
+    /**
+     * Returns indicator whether a segment became sparse since the last compaction.
+     *
+     * @return indicator
+     */
+    public synchronized boolean isCompactionRequired() {
+        return compactionRequired;
+    }
+
+    /**
+     * Relocates the held rows of sparse segments into the current segment and drops the sparse segments.
+     * The held bytes of all segments are recounted from the rows provided.
+     *
+     * @param heldRows all events held by the named window
+     */
+    public synchronized void compact(Iterable<EventBean> heldRows) {
+        compactionRequired = false;
+        if (heldRows == null) {
+            return;
+        }
+        for (Segment segment : segments) {
+            segment.heldBytes = 0;
+        }
+        for (EventBean theEvent : heldRows) {
+            ObjectArrayOffHeapEventBean bean = getBean(theEvent);
+            if (bean == null) {
+                continue;
+            }
+            bean.held = true;
+            if (bean.segment != null) {
+                bean.segment.heldBytes += getRowSize(bean.segment.buffer, bean.offset);
+            }
+        }
+
+        ArrayList<Segment> sparse = new ArrayList<Segment>();
+        for (Segment segment : segments) {
+            if (segment != current && isSparse(segment)) {
+                segment.sparse = true;
+                sparse.add(segment);
+            }
+        }
+        if (sparse.isEmpty()) {
+            return;
+        }
+
+        for (EventBean theEvent : heldRows) {
+            ObjectArrayOffHeapEventBean bean = getBean(theEvent);
+            if (bean != null && bean.segment != null && bean.segment.sparse) {
+                relocate(bean, bean.segment);
+            }
+        }
+        segments.removeAll(sparse);
+    }
+
+    /**
+     * Returns an off-heap event for the event provided, or the same event if it already is an off-heap event of this store.
+     *
+     * @param theEvent event to adapt
+     * @return off-heap event
+     */
+    public EventBean adapt(EventBean theEvent) {
+        if (theEvent instanceof ObjectArrayOffHeapEventBean && ((ObjectArrayOffHeapEventBean) theEvent).getStore() == this) {
+            return theEvent;
+        }
+        if (!(theEvent.getUnderlying() instanceof Object[])) {
+            return theEvent;
+        }
+        ObjectArrayOffHeapEventBean bean = new ObjectArrayOffHeapEventBean(this);
+        write(bean, (Object[]) theEvent.getUnderlying());
+        return bean;
+    }
+
+    /**
+     * Returns off-heap events for the events provided.
+     *
+     * @param events events to adapt
+     * @return off-heap events
+     */
+    public EventBean[] adapt(EventBean[] events) {
+        EventBean[] result = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            result[i] = adapt(events[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Write the values into a new row and point the event to the row.
+     * <p>
+     * Values that do not match the declared column types are kept on-heap entirely.
+     * </p>
+     *
+     * @param bean   event to point to the row
+     * @param values values to write
+     */
+    protected synchronized void write(ObjectArrayOffHeapEventBean bean, Object[] values) {
+        if (values.length != columnTypes.length) {
+            setRow(bean, null, 0, values);
+            return;
+        }
+
+        // determine row size, validating value types
+        int size = fixedWidth;
+        byte[][] strings = null;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            byte type = columnTypes[i];
+            if (value == null || type == TYPE_HEAP) {
+                if (type == TYPE_STRING) {
+                    size += 4;
+                }
+                continue;
+            }
+            if (value.getClass() != TYPE_CLASS[type]) {
+                setRow(bean, null, 0, values);
+                return;
+            }
+            if (type == TYPE_STRING) {
+                if (strings == null) {
+                    strings = new byte[values.length][];
+                }
+                strings[i] = ((String) value).getBytes(CHARSET);
+                size += 4 + strings[i].length;
+            }
+        }
+
+        Segment segment = allocate(size);
+        ByteBuffer buf = segment.buffer;
+        int offset = buf.position();
+
+        for (int i = 0; i < numNullBytes; i++) {
+            byte nulls = 0;
+            for (int bit = 0; bit < 8 && i * 8 + bit < values.length; bit++) {
+                if (values[i * 8 + bit] == null) {
+                    nulls |= 1 << bit;
+                }
+            }
+            buf.put(nulls);
+        }
+
+        Object[] heapValues = null;
+        for (int i = 0; i < values.length; i++) {
+            Object value = values[i];
+            switch (columnTypes[i]) {
+                case TYPE_HEAP:
+                    if (value != null) {
+                        if (heapValues == null) {
+                            heapValues = new Object[values.length];
+                        }
+                        heapValues[i] = value;
+                    }
+                    break;
+                case TYPE_INT:
+                    buf.putInt(value == null ? 0 : (Integer) value);
+                    break;
+                case TYPE_LONG:
+                    buf.putLong(value == null ? 0 : (Long) value);
+                    break;
+                case TYPE_DOUBLE:
+                    buf.putDouble(value == null ? 0 : (Double) value);
+                    break;
+                case TYPE_FLOAT:
+                    buf.putFloat(value == null ? 0 : (Float) value);
+                    break;
+                case TYPE_SHORT:
+                    buf.putShort(value == null ? 0 : (Short) value);
+                    break;
+                case TYPE_BYTE:
+                    buf.put(value == null ? 0 : (Byte) value);
+                    break;
+                case TYPE_BOOLEAN:
+                    buf.put(value != null && (Boolean) value ? (byte) 1 : (byte) 0);
+                    break;
+                case TYPE_CHAR:
+                    buf.putChar(value == null ? 0 : (Character) value);
+                    break;
+                case TYPE_STRING:
+                    if (value == null) {
+                        buf.putInt(0);
+                    } else {
+                        buf.putInt(strings[i].length);
+                        buf.put(strings[i]);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unrecognized column type " + columnTypes[i]);
+            }
+        }
+        setRow(bean, segment, offset, hasHeapColumns ? heapValues : null);
+    }
+
+    /**
+     * Write the values into a new row and point the event to the row, moving the bytes accounted for a held event
+     * from the prior row to the new row.
+     *
+     * @param bean   event to point to the row
+     * @param values values to write
+     */
+    protected synchronized void update(ObjectArrayOffHeapEventBean bean, Object[] values) {
+        Segment prior = bean.segment;
+        int priorOffset = bean.offset;
+        write(bean, values);
+        if (!bean.held) {
+            return;
+        }
+        if (prior != null) {
+            releaseRow(prior, priorOffset);
+        }
+        if (bean.segment != null) {
+            bean.segment.heldBytes += getRowSize(bean.segment.buffer, bean.offset);
+        }
+    }
+
+    /**
+     * Read a single column value of the row of an event.
+     *
+     * @param bean  event
+     * @param index column index
+     * @return value
+     */
+    protected Object read(ObjectArrayOffHeapEventBean bean, int index) {
+        while (true) {
+            int before = version;
+            Segment segment = bean.segment;
+            int offset = bean.offset;
+            Object[] heapValues = bean.heapValues;
+            if ((before & 1) == 0 && before == version) {
+                if (segment == null) {
+                    return heapValues[index];
+                }
+                return read(segment.buffer, offset, heapValues, index);
+            }
+        }
+    }
+
+    /**
+     * Read all column values of the row of an event.
+     *
+     * @param bean event
+     * @return values
+     */
+    protected Object[] readAll(ObjectArrayOffHeapEventBean bean) {
+        while (true) {
+            int before = version;
+            Segment segment = bean.segment;
+            int offset = bean.offset;
+            Object[] heapValues = bean.heapValues;
+            if ((before & 1) == 0 && before == version) {
+                if (segment == null) {
+                    return heapValues;
+                }
+                return readAll(segment.buffer, offset, heapValues);
+            }
+        }
+    }
+
+    private Segment allocate(int size) {
+        if (current == null || current.buffer.remaining() < size) {
+            current = new Segment(ByteBuffer.allocateDirect(Math.max(segmentSize, size)));
+            segments.add(current);
+        }
+        return current;
+    }
+
+    private void relocate(ObjectArrayOffHeapEventBean bean, Segment from) {
+        int size = getRowSize(from.buffer, bean.offset);
+        Segment to = allocate(size);
+        int offset = to.buffer.position();
+        ByteBuffer source = from.buffer.duplicate();
+        source.limit(bean.offset + size).position(bean.offset);
+        to.buffer.put(source);
+        to.heldBytes += size;
+        setRow(bean, to, offset, bean.heapValues);
+    }
+
+    private void setRow(ObjectArrayOffHeapEventBean bean, Segment segment, int offset, Object[] heapValues) {
+        // a row that may be visible to other threads changes position under an odd version
+        boolean published = bean.segment != null || bean.heapValues != null;
+        if (published) {
+            version++;
+        }
+        bean.setRow(segment, offset, heapValues);
+        if (published) {
+            version++;
+        }
+    }
+
+    private void releaseRow(Segment segment, int offset) {
+        segment.heldBytes -= getRowSize(segment.buffer, offset);
+        if (segment != current && isSparse(segment)) {
+            compactionRequired = true;
+        }
+    }
+
+    private ObjectArrayOffHeapEventBean getBean(EventBean theEvent) {
+        if (!(theEvent instanceof ObjectArrayOffHeapEventBean)) {
+            return null;
+        }
+        ObjectArrayOffHeapEventBean bean = (ObjectArrayOffHeapEventBean) theEvent;
+        if (bean.getStore() != this) {
+            return null;
+        }
+        return bean;
+    }
+
+    private boolean isSparse(Segment segment) {
+        return segment.heldBytes < segment.buffer.capacity() / COMPACT_RATIO;
+    }
+
+    private int getRowSize(ByteBuffer buf, int offset) {
+        int pos = offset + numNullBytes;
+        for (int i = 0; i < columnTypes.length; i++) {
+            pos += getWidth(buf, pos, i);
+        }
+        return pos - offset;
+    }
+
+    /**
+     * Read a single column value of a row at a given position.
+     *
+     * @param buf        segment
+     * @param offset     row offset
+     * @param heapValues on-heap values
+     * @param index      column index
+     * @return value
+     */
+    private Object read(ByteBuffer buf, int offset, Object[] heapValues, int index) {
+        byte type = columnTypes[index];
+        if (type == TYPE_HEAP) {
+            return heapValues == null ? null : heapValues[index];
+        }
+        if ((buf.get(offset + (index >> 3)) & (1 << (index & 7))) != 0) {
+            return null;
+        }
+        int pos;
+        if (fixedOffsets[index] != -1) {
+            pos = offset + fixedOffsets[index];
+        } else {
+            int col = index - 1;
+            while (fixedOffsets[col] == -1) {
+                col--;
+            }
+            pos = offset + fixedOffsets[col];
+            for (; col < index; col++) {
+                pos += getWidth(buf, pos, col);
+            }
+        }
+        return readValue(buf, pos, type);
+    }
+
+    /**
+     * Read all column values of a row at a given position.
+     *
+     * @param buf        segment
+     * @param offset     row offset
+     * @param heapValues on-heap values
+     * @return values
+     */
+    private Object[] readAll(ByteBuffer buf, int offset, Object[] heapValues) {
+        Object[] values = new Object[columnTypes.length];
+        int pos = offset + numNullBytes;
+        for (int i = 0; i < columnTypes.length; i++) {
+            byte type = columnTypes[i];
+            if (type == TYPE_HEAP) {
+                values[i] = heapValues == null ? null : heapValues[i];
+                continue;
+            }
+            if ((buf.get(offset + (i >> 3)) & (1 << (i & 7))) == 0) {
+                values[i] = readValue(buf, pos, type);
+            }
+            pos += getWidth(buf, pos, i);
+        }
+        return values;
+    }
+
+    private int getWidth(ByteBuffer buf, int pos, int index) {
+        byte type = columnTypes[index];
+        if (type == TYPE_STRING) {
+            return 4 + buf.getInt(pos);
+        }
+        return TYPE_WIDTH[type];
+    }
+
+    private static Object readValue(ByteBuffer buf, int pos, byte type) {
+        switch (type) {
+            case TYPE_INT:
+                return buf.getInt(pos);
+            case TYPE_LONG:
+                return buf.getLong(pos);
+            case TYPE_DOUBLE:
+                return buf.getDouble(pos);
+            case TYPE_FLOAT:
+                return buf.getFloat(pos);
+            case TYPE_SHORT:
+                return buf.getShort(pos);
+            case TYPE_BYTE:
+                return buf.get(pos);
+            case TYPE_BOOLEAN:
+                return buf.get(pos) != 0;
+            case TYPE_CHAR:
+                return buf.getChar(pos);
+            case TYPE_STRING:
+                byte[] bytes = new byte[buf.getInt(pos)];
+                ByteBuffer dup = buf.duplicate();
+                dup.position(pos + 4);
+                dup.get(bytes);
+                return new String(bytes, CHARSET);
+            default:
+                throw new IllegalStateException("Unrecognized column type " + type);
+        }
+    }
+
+    private static byte getColumnType(Object type) {
+        if (!(type instanceof Class)) {
+            return TYPE_HEAP;
+        }
+        Class clazz = (Class) type;
+        if (clazz == int.class || clazz == Integer.class) {
+            return TYPE_INT;
+        } else if (clazz == long.class || clazz == Long.class) {
+            return TYPE_LONG;
+        } else if (clazz == double.class || clazz == Double.class) {
+            return TYPE_DOUBLE;
+        } else if (clazz == float.class || clazz == Float.class) {
+            return TYPE_FLOAT;
+        } else if (clazz == short.class || clazz == Short.class) {
+            return TYPE_SHORT;
+        } else if (clazz == byte.class || clazz == Byte.class) {
+            return TYPE_BYTE;
+        } else if (clazz == boolean.class || clazz == Boolean.class) {
+            return TYPE_BOOLEAN;
+        } else if (clazz == char.class || clazz == Character.class) {
+            return TYPE_CHAR;
+        } else if (clazz == String.class) {
+            return TYPE_STRING;
+        }
+        return TYPE_HEAP;
+    }
+
+    /**
+     * Segment of rows.
+     */
+    static final class Segment {
+        private final ByteBuffer buffer;
+        private int heldBytes;
+        private boolean sparse;
+
+        private Segment(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+    }
+}
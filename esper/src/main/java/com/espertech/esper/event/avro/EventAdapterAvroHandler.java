@@ -18,6 +18,7 @@ import com.espertech.esper.event.EventAdapterService;
 import com.espertech.esper.event.EventBeanManufacturer;
 import com.espertech.esper.event.EventTypeMetadata;
 import com.espertech.esper.event.WriteablePropertyDescriptor;
+import com.espertech.esper.event.serde.EventBeanSerde;
 import com.espertech.esper.util.TypeWidenerCustomizer;
 
 import java.lang.annotation.Annotation;
@@ -48,4 +49,6 @@ public interface EventAdapterAvroHandler {
     Object convertEvent(EventBean theEvent, AvroSchemaEventType targetType);
 
     TypeWidenerCustomizer getTypeWidenerCustomizer(EventType eventType);
+
+    EventBeanSerde getEventBeanSerde(AvroSchemaEventType avroSchemaEventType);
 }
@@ -18,6 +18,7 @@ import com.espertech.esper.event.EventAdapterService;
 import com.espertech.esper.event.EventBeanManufacturer;
 import com.espertech.esper.event.EventTypeMetadata;
 import com.espertech.esper.event.WriteablePropertyDescriptor;
+import com.espertech.esper.event.serde.EventBeanSerde;
 import com.espertech.esper.util.TypeWidenerCustomizer;
 
 import java.lang.annotation.Annotation;
@@ -74,6 +75,10 @@ public class EventAdapterAvroHandlerUnsupported implements EventAdapterAvroHandl
         throw getUnsupported();
     }
 
+    public EventBeanSerde getEventBeanSerde(AvroSchemaEventType avroSchemaEventType) {
+        throw getUnsupported();
+    }
+
     private UnsupportedOperationException getUnsupported() {
         throw new UnsupportedOperationException("Esper-Avro is not part of your classpath");
     }
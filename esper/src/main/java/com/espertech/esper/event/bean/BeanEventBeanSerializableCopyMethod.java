@@ -13,14 +13,15 @@ package com.espertech.esper.event.bean;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.event.EventAdapterService;
 import com.espertech.esper.event.EventBeanCopyMethod;
-import com.espertech.esper.util.SerializableObjectCopier;
+import com.espertech.esper.event.serde.EventBeanSerde;
+import com.espertech.esper.event.serde.EventBeanSerdeFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 
 /**
- * Copy method for bean events utilizing serializable.
+ * Copy method for bean events utilizing the serde registered for the event type, which by default uses Java serialization.
  */
 public class BeanEventBeanSerializableCopyMethod implements EventBeanCopyMethod {
     private static final Logger log = LoggerFactory.getLogger(BeanEventBeanSerializableCopyMethod.class);
@@ -40,16 +41,13 @@ public class BeanEventBeanSerializableCopyMethod implements EventBeanCopyMethod
     }
 
     public EventBean copy(EventBean theEvent) {
-        Object underlying = theEvent.getUnderlying();
+        EventBeanSerde serde = eventAdapterService.getEventBeanSerdeRegistry().getSerde(beanEventType);
         Object copied;
         try {
-            copied = SerializableObjectCopier.copy(underlying);
+            copied = EventBeanSerdeFactory.fromByteArray(serde, EventBeanSerdeFactory.toByteArray(serde, theEvent.getUnderlying()));
         } catch (IOException e) {
             log.error("IOException copying event object for update: " + e.getMessage(), e);
             return null;
-        } catch (ClassNotFoundException e) {
-            log.error("Exception copying event object for update: " + e.getMessage(), e);
-            return null;
         }
 
         return eventAdapterService.adapterForTypedBean(copied, beanEventType);
@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Binary serialization of the underlying objects of the events of an event type.
+ */
+public interface EventBeanSerde {
+    /**
+     * Write an underlying event object.
+     *
+     * @param underlying event object
+     * @param stream     to write to
+     * @throws IOException if the stream fails
+     */
+    public void write(Object underlying, DataOutputStream stream) throws IOException;
+
+    /**
+     * Read an underlying event object.
+     *
+     * @param stream to read from
+     * @return event object
+     * @throws IOException if the stream fails or the content cannot be read
+     */
+    public Object read(DataInputStream stream) throws IOException;
+}
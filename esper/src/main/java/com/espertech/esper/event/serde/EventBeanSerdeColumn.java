@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.util.Serializer;
+import com.espertech.esper.util.SerializerFactory;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Serialization of a single property value, writing primitive values without type information when the property type
+ * is a primitive or boxed primitive type.
+ */
+public class EventBeanSerdeColumn {
+    private static final byte NULL_VALUE = 0;
+    private static final byte TYPED_VALUE = 1;
+    private static final byte OBJECT_VALUE = 2;
+
+    private final Serializer typed;
+    private final Serializer object;
+
+    private EventBeanSerdeColumn(Serializer typed) {
+        this.typed = typed;
+        this.object = SerializerFactory.getObjectSerializer();
+    }
+
+    /**
+     * Returns the serialization for a property of the given type.
+     *
+     * @param type property type, or null if the property type is not known
+     * @return column serialization
+     */
+    public static EventBeanSerdeColumn forType(Class type) {
+        Serializer typed = null;
+        if (type != null && type != String.class) {
+            Serializer serializer = SerializerFactory.getSerializer(type);
+            if (serializer != SerializerFactory.getObjectSerializer()) {
+                typed = serializer;
+            }
+        }
+        return new EventBeanSerdeColumn(typed);
+    }
+
+    /**
+     * Write a value.
+     *
+     * @param value  to write, or null
+     * @param stream to write to
+     * @throws IOException if the stream fails
+     */
+    public void write(Object value, DataOutputStream stream) throws IOException {
+        if (typed == null) {
+            object.serialize(value, stream);
+        } else if (value == null) {
+            stream.writeByte(NULL_VALUE);
+        } else if (typed.accepts(value.getClass())) {
+            stream.writeByte(TYPED_VALUE);
+            typed.serialize(value, stream);
+        } else {
+            stream.writeByte(OBJECT_VALUE);
+            object.serialize(value, stream);
+        }
+    }
+
+    /**
+     * Read a value.
+     *
+     * @param stream to read from
+     * @return value, or null
+     * @throws IOException if the stream fails
+     */
+    public Object read(DataInputStream stream) throws IOException {
+        if (typed == null) {
+            return object.deserialize(stream);
+        }
+        byte flag = stream.readByte();
+        if (flag == NULL_VALUE) {
+            return null;
+        }
+        if (flag == TYPED_VALUE) {
+            return typed.deserialize(stream);
+        }
+        return object.deserialize(stream);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.map.MapEventType;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Factory for serdes and helper for serializing events to byte arrays.
+ */
+public class EventBeanSerdeFactory {
+    /**
+     * Returns a serde generated from the properties of an object-array or map event type,
+     * or a serde using Java serialization for other event types.
+     *
+     * @param eventType event type
+     * @return serde
+     */
+    public static EventBeanSerde getDefaultSerde(EventType eventType) {
+        if (eventType instanceof ObjectArrayEventType) {
+            return new EventBeanSerdeObjectArray((ObjectArrayEventType) eventType);
+        }
+        if (eventType instanceof MapEventType) {
+            return new EventBeanSerdeMap((MapEventType) eventType);
+        }
+        return EventBeanSerdeSerializable.INSTANCE;
+    }
+
+    /**
+     * Serialize an underlying event object to a byte array.
+     *
+     * @param serde      serde
+     * @param underlying event object
+     * @return bytes
+     * @throws IOException if the serde fails
+     */
+    public static byte[] toByteArray(EventBeanSerde serde, Object underlying) throws IOException {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        serde.write(underlying, new DataOutputStream(buf));
+        return buf.toByteArray();
+    }
+
+    /**
+     * De-serialize an underlying event object from a byte array.
+     *
+     * @param serde serde
+     * @param bytes to read
+     * @return event object
+     * @throws IOException if the serde fails
+     */
+    public static Object fromByteArray(EventBeanSerde serde, byte[] bytes) throws IOException {
+        return serde.read(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+}
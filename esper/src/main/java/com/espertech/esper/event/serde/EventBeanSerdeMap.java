@@ -0,0 +1,100 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.event.map.MapEventType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serde for map events generated from the properties of the event type.
+ * <p>
+ * Values of the properties of the event type are written in property order without the property name.
+ * Entries of the map that are not properties of the event type are written with their key.
+ * </p>
+ */
+public class EventBeanSerdeMap implements EventBeanSerde {
+    private static final byte ABSENT = 0;
+    private static final byte PRESENT = 1;
+
+    private final String[] propertyNames;
+    private final EventBeanSerdeColumn[] columns;
+    private final EventBeanSerdeColumn untyped;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType map event type
+     */
+    public EventBeanSerdeMap(MapEventType eventType) {
+        propertyNames = eventType.getPropertyNames();
+        columns = new EventBeanSerdeColumn[propertyNames.length];
+        for (int i = 0; i < propertyNames.length; i++) {
+            columns[i] = EventBeanSerdeColumn.forType(eventType.getPropertyType(propertyNames[i]));
+        }
+        untyped = EventBeanSerdeColumn.forType(null);
+    }
+
+    public void write(Object underlying, DataOutputStream stream) throws IOException {
+        Map<String, Object> map = (Map<String, Object>) underlying;
+        int numPresent = 0;
+        for (int i = 0; i < propertyNames.length; i++) {
+            Object value = map.get(propertyNames[i]);
+            if (value == null && !map.containsKey(propertyNames[i])) {
+                stream.writeByte(ABSENT);
+                continue;
+            }
+            stream.writeByte(PRESENT);
+            columns[i].write(value, stream);
+            numPresent++;
+        }
+
+        int numOther = map.size() - numPresent;
+        stream.writeInt(numOther);
+        if (numOther == 0) {
+            return;
+        }
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            if (!isProperty(entry.getKey())) {
+                stream.writeUTF(entry.getKey());
+                untyped.write(entry.getValue(), stream);
+            }
+        }
+    }
+
+    public Object read(DataInputStream stream) throws IOException {
+        Map<String, Object> map = new HashMap<String, Object>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            if (stream.readByte() == PRESENT) {
+                map.put(propertyNames[i], columns[i].read(stream));
+            }
+        }
+        int numOther = stream.readInt();
+        for (int i = 0; i < numOther; i++) {
+            String key = stream.readUTF();
+            map.put(key, untyped.read(stream));
+        }
+        return map;
+    }
+
+    private boolean isProperty(String key) {
+        for (String propertyName : propertyNames) {
+            if (propertyName.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Serde for object-array events generated from the properties of the event type.
+ */
+public class EventBeanSerdeObjectArray implements EventBeanSerde {
+    private final EventBeanSerdeColumn[] columns;
+    private final EventBeanSerdeColumn untyped;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType object-array event type
+     */
+    public EventBeanSerdeObjectArray(ObjectArrayEventType eventType) {
+        Map<String, Integer> indexes = eventType.getPropertiesIndexes();
+        columns = new EventBeanSerdeColumn[indexes.size()];
+        for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+            columns[entry.getValue()] = EventBeanSerdeColumn.forType(eventType.getPropertyType(entry.getKey()));
+        }
+        untyped = EventBeanSerdeColumn.forType(null);
+    }
+
+    public void write(Object underlying, DataOutputStream stream) throws IOException {
+        Object[] row = (Object[]) underlying;
+        stream.writeInt(row.length);
+        for (int i = 0; i < row.length; i++) {
+            getColumn(i).write(row[i], stream);
+        }
+    }
+
+    public Object read(DataInputStream stream) throws IOException {
+        Object[] row = new Object[stream.readInt()];
+        for (int i = 0; i < row.length; i++) {
+            row[i] = getColumn(i).read(stream);
+        }
+        return row;
+    }
+
+    private EventBeanSerdeColumn getColumn(int index) {
+        return index < columns.length && columns[index] != null ? columns[index] : untyped;
+    }
+}
@@ -0,0 +1,46 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.client.EventType;
+
+/**
+ * Registry of the binary serialization for the underlying objects of events, keyed by event type.
+ * <p>
+ * Unless a serde is registered for an event type, the registry provides a serde generated from the properties of
+ * object-array and map event types, a serde using the Avro binary encoding for Avro event types
+ * and a serde using Java serialization for all other event types.
+ * </p>
+ */
+public interface EventBeanSerdeRegistry {
+    /**
+     * Returns the serde for the event type.
+     *
+     * @param eventType event type
+     * @return serde
+     */
+    public EventBeanSerde getSerde(EventType eventType);
+
+    /**
+     * Registers a serde for the event type, replacing the serde the registry would otherwise provide.
+     *
+     * @param eventType event type
+     * @param serde     serde
+     */
+    public void registerSerde(EventType eventType, EventBeanSerde serde);
+
+    /**
+     * Removes any serde kept for the event type.
+     *
+     * @param eventType event type
+     */
+    public void removeSerde(EventType eventType);
+}
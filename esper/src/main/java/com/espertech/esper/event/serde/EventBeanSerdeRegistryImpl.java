@@ -0,0 +1,56 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.event.avro.AvroSchemaEventType;
+import com.espertech.esper.event.avro.EventAdapterAvroHandler;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of serdes that creates a serde for an event type when first requested.
+ */
+public class EventBeanSerdeRegistryImpl implements EventBeanSerdeRegistry {
+    private final EventAdapterAvroHandler avroHandler;
+    private final ConcurrentHashMap<EventType, EventBeanSerde> serdes = new ConcurrentHashMap<EventType, EventBeanSerde>();
+
+    /**
+     * Ctor.
+     *
+     * @param avroHandler for serdes of Avro event types
+     */
+    public EventBeanSerdeRegistryImpl(EventAdapterAvroHandler avroHandler) {
+        this.avroHandler = avroHandler;
+    }
+
+    public EventBeanSerde getSerde(EventType eventType) {
+        EventBeanSerde serde = serdes.get(eventType);
+        if (serde != null) {
+            return serde;
+        }
+        if (eventType instanceof AvroSchemaEventType) {
+            serde = avroHandler.getEventBeanSerde((AvroSchemaEventType) eventType);
+        } else {
+            serde = EventBeanSerdeFactory.getDefaultSerde(eventType);
+        }
+        EventBeanSerde existing = serdes.putIfAbsent(eventType, serde);
+        return existing != null ? existing : serde;
+    }
+
+    public void registerSerde(EventType eventType, EventBeanSerde serde) {
+        serdes.put(eventType, serde);
+    }
+
+    public void removeSerde(EventType eventType) {
+        serdes.remove(eventType);
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.util.SerializerUtil;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Serde using Java serialization, for event types that have no generated serde.
+ */
+public class EventBeanSerdeSerializable implements EventBeanSerde {
+    public final static EventBeanSerdeSerializable INSTANCE = new EventBeanSerdeSerializable();
+
+    private EventBeanSerdeSerializable() {
+    }
+
+    public void write(Object underlying, DataOutputStream stream) throws IOException {
+        byte[] bytes;
+        try {
+            bytes = SerializerUtil.objectToByteArr(underlying);
+        } catch (RuntimeException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+        stream.writeInt(bytes.length);
+        stream.write(bytes);
+    }
+
+    public Object read(DataInputStream stream) throws IOException {
+        byte[] bytes = new byte[stream.readInt()];
+        stream.readFully(bytes);
+        try {
+            return SerializerUtil.byteArrToObject(bytes);
+        } catch (RuntimeException e) {
+            throw new IOException(e.getMessage(), e);
+        }
+    }
+}
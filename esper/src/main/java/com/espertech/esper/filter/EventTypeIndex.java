@@ -31,10 +31,14 @@ import java.util.concurrent.locks.ReadWriteLock;
 public class EventTypeIndex implements EventEvaluator {
     private Map<EventType, FilterHandleSetNode> eventTypes;
     private ReadWriteLock eventTypesRWLock;
+    private final boolean copyOnWrite;
+    private volatile Map<EventType, FilterHandleSetNode> eventTypesSnapshot;
 
     public EventTypeIndex(FilterServiceGranularLockFactory lockFactory) {
         eventTypes = new HashMap<EventType, FilterHandleSetNode>();
         eventTypesRWLock = lockFactory.obtainNew();
+        copyOnWrite = lockFactory.isCopyOnWrite();
+        eventTypesSnapshot = new HashMap<EventType, FilterHandleSetNode>();
     }
 
     /**
@@ -42,6 +46,7 @@ public class EventTypeIndex implements EventEvaluator {
      */
     public void destroy() {
         eventTypes.clear();
+        eventTypesSnapshot = new HashMap<EventType, FilterHandleSetNode>();
     }
 
     /**
@@ -58,6 +63,9 @@ public class EventTypeIndex implements EventEvaluator {
                 throw new IllegalStateException("Event type already in index, add not performed, type=" + eventType);
             }
             eventTypes.put(eventType, rootNode);
+            if (copyOnWrite) {
+                eventTypesSnapshot = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+            }
         } finally {
             eventTypesRWLock.writeLock().unlock();
         }
@@ -68,6 +76,9 @@ public class EventTypeIndex implements EventEvaluator {
         eventTypesRWLock.writeLock().lock();
         try {
             eventTypes.remove(type);
+            if (copyOnWrite) {
+                eventTypesSnapshot = new HashMap<EventType, FilterHandleSetNode>(eventTypes);
+            }
         } finally {
             eventTypesRWLock.writeLock().unlock();
         }
@@ -131,12 +142,16 @@ public class EventTypeIndex implements EventEvaluator {
     }
 
     private void matchType(EventType eventType, EventBean eventBean, Collection<FilterHandle> matches) {
-        eventTypesRWLock.readLock().lock();
         FilterHandleSetNode rootNode = null;
-        try {
-            rootNode = eventTypes.get(eventType);
-        } finally {
-            eventTypesRWLock.readLock().unlock();
+        if (copyOnWrite) {
+            rootNode = eventTypesSnapshot.get(eventType);
+        } else {
+            eventTypesRWLock.readLock().lock();
+            try {
+                rootNode = eventTypes.get(eventType);
+            } finally {
+                eventTypesRWLock.readLock().unlock();
+            }
         }
 
         // If the top class node is null, no filters have yet been registered for this event type.
@@ -13,6 +13,7 @@ package com.espertech.esper.filter;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.core.service.ExprEvaluatorContextWTableAccess;
 import com.espertech.esper.core.service.StatementContext;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.variable.VariableService;
@@ -24,6 +25,7 @@ public class FilterBooleanExpressionFactoryImpl implements FilterBooleanExpressi
         int filterSpecId = node.getFilterSpecId();
         int filterSpecParamPathNum = node.getFilterSpecParamPathNum();
         ExprNode exprNode = node.getExprNode();
+        ExprEvaluator exprNodeEval = node.getExprEvaluator();
         VariableService variableService = node.getVariableService();
 
         // handle table evaluator context
@@ -37,13 +39,13 @@ public class FilterBooleanExpressionFactoryImpl implements FilterBooleanExpressi
 
             // if a subquery is present in a filter stream acquire the agent instance lock
             if (node.isHasFilterStreamSubquery()) {
-                adapter = getLockableSingle(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableService, statementContext, agentInstanceId);
+                adapter = getLockableSingle(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableService, statementContext, agentInstanceId);
             } else if (!node.isHasVariable()) {
                 // no-variable no-prior event evaluation
-                adapter = new ExprNodeAdapterBase(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext);
+                adapter = new ExprNodeAdapterBase(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext);
             } else {
                 // with-variable no-prior event evaluation
-                adapter = new ExprNodeAdapterBaseVariables(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableService);
+                adapter = new ExprNodeAdapterBaseVariables(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableService);
             }
         } else {
             // pattern cases
@@ -52,16 +54,16 @@ public class FilterBooleanExpressionFactoryImpl implements FilterBooleanExpressi
                 // no-threadlocal evaluation
                 // if a subquery is present in a pattern filter acquire the agent instance lock
                 if (node.isHasFilterStreamSubquery()) {
-                    adapter = getLockableMultiStreamNoTL(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableServiceToUse, events);
+                    adapter = getLockableMultiStreamNoTL(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableServiceToUse, events);
                 } else {
-                    adapter = new ExprNodeAdapterMultiStreamNoTL(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableServiceToUse, events);
+                    adapter = new ExprNodeAdapterMultiStreamNoTL(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableServiceToUse, events);
                 }
             } else {
                 if (node.isHasFilterStreamSubquery()) {
-                    adapter = getLockableMultiStream(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableServiceToUse, events);
+                    adapter = getLockableMultiStream(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableServiceToUse, events);
                 } else {
                     // evaluation with threadlocal cache
-                    adapter = new ExprNodeAdapterMultiStream(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableServiceToUse, events);
+                    adapter = new ExprNodeAdapterMultiStream(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableServiceToUse, events);
                 }
             }
         }
@@ -71,18 +73,18 @@ public class FilterBooleanExpressionFactoryImpl implements FilterBooleanExpressi
         }
 
         // handle table
-        return new ExprNodeAdapterBaseWTableAccess(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, adapter, node.getTableService());
+        return new ExprNodeAdapterBaseWTableAccess(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, adapter, node.getTableService());
     }
 
-    protected ExprNodeAdapterBase getLockableSingle(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext exprEvaluatorContext, VariableService variableService, StatementContext statementContext, int agentInstanceId) {
-        return new ExprNodeAdapterBaseStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableService);
+    protected ExprNodeAdapterBase getLockableSingle(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext exprEvaluatorContext, VariableService variableService, StatementContext statementContext, int agentInstanceId) {
+        return new ExprNodeAdapterBaseStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableService);
     }
 
-    protected ExprNodeAdapterBase getLockableMultiStreamNoTL(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EventBean[] events) {
-        return new ExprNodeAdapterMultiStreamNoTLStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableServiceToUse, events);
+    protected ExprNodeAdapterBase getLockableMultiStreamNoTL(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EventBean[] events) {
+        return new ExprNodeAdapterMultiStreamNoTLStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableServiceToUse, events);
     }
 
-    protected ExprNodeAdapterBase getLockableMultiStream(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EventBean[] events) {
-        return new ExprNodeAdapterMultiStreamStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprEvaluatorContext, variableServiceToUse, events);
+    protected ExprNodeAdapterBase getLockableMultiStream(int filterSpecId, int filterSpecParamPathNum, ExprNode exprNode, ExprEvaluator exprNodeEval, ExprEvaluatorContext exprEvaluatorContext, VariableService variableServiceToUse, EventBean[] events) {
+        return new ExprNodeAdapterMultiStreamStmtLock(filterSpecId, filterSpecParamPathNum, exprNode, exprNodeEval, exprEvaluatorContext, variableServiceToUse, events);
     }
 }
@@ -25,12 +25,30 @@ import java.util.concurrent.locks.ReadWriteLock;
  * adding any filter callbacks in this node to the "matches" list of callbacks.
  */
 public final class FilterHandleSetNode implements EventEvaluator {
+    private static final FilterHandle[] EMPTY_CALLBACKS = new FilterHandle[0];
+    private static final FilterParamIndexBase[] EMPTY_INDIZES = new FilterParamIndexBase[0];
+
     private final ReadWriteLock nodeRWLock;
     private final Set<FilterHandle> callbackSet;
     private final List<FilterParamIndexBase> indizes;
+    private final boolean copyOnWrite;
+    private volatile FilterHandle[] callbackSnapshot = EMPTY_CALLBACKS;
+    private volatile FilterParamIndexBase[] indizesSnapshot = EMPTY_INDIZES;
 
     public FilterHandleSetNode(ReadWriteLock nodeRWLock) {
+        this(nodeRWLock, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param nodeRWLock  lock for changes to the node
+     * @param copyOnWrite true to publish an immutable snapshot of callbacks and indizes upon each change
+     *                    and match events against the snapshot without locking
+     */
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean copyOnWrite) {
         this.nodeRWLock = nodeRWLock;
+        this.copyOnWrite = copyOnWrite;
         callbackSet = new LinkedHashSet<FilterHandle>();
         indizes = new LinkedList<FilterParamIndexBase>();
     }
@@ -84,6 +102,11 @@ public final class FilterHandleSetNode implements EventEvaluator {
      * @param matches  is the list of callbacks to add to for any matches found
      */
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (copyOnWrite) {
+            matchEventSnapshot(theEvent, matches);
+            return;
+        }
+
         nodeRWLock.readLock().lock();
         try {
             if (InstrumentationHelper.ENABLED) {
@@ -139,6 +162,9 @@ public final class FilterHandleSetNode implements EventEvaluator {
      */
     public final void add(FilterParamIndexBase index) {
         indizes.add(index);
+        if (copyOnWrite) {
+            indizesSnapshot = indizes.toArray(new FilterParamIndexBase[indizes.size()]);
+        }
     }
 
     /**
@@ -150,7 +176,11 @@ public final class FilterHandleSetNode implements EventEvaluator {
      * @return true if found, false if not existing
      */
     public final boolean remove(FilterParamIndexBase index) {
-        return indizes.remove(index);
+        boolean removed = indizes.remove(index);
+        if (removed && copyOnWrite) {
+            indizesSnapshot = indizes.toArray(new FilterParamIndexBase[indizes.size()]);
+        }
+        return removed;
     }
 
     /**
@@ -162,7 +192,10 @@ public final class FilterHandleSetNode implements EventEvaluator {
      * @param filterCallback is the callback to add
      */
     public final void add(FilterHandle filterCallback) {
-        callbackSet.add(filterCallback);
+        boolean added = callbackSet.add(filterCallback);
+        if (added && copyOnWrite) {
+            callbackSnapshot = callbackSet.toArray(new FilterHandle[callbackSet.size()]);
+        }
     }
 
     /**
@@ -174,10 +207,46 @@ public final class FilterHandleSetNode implements EventEvaluator {
      * @return true if found, false if not existing
      */
     public final boolean remove(FilterHandle filterCallback) {
-        return callbackSet.remove(filterCallback);
+        boolean removed = callbackSet.remove(filterCallback);
+        if (removed && copyOnWrite) {
+            callbackSnapshot = callbackSet.toArray(new FilterHandle[callbackSet.size()]);
+        }
+        return removed;
     }
 
     public Set<FilterHandle> getCallbackSet() {
         return callbackSet;
     }
+
+    private void matchEventSnapshot(EventBean theEvent, Collection<FilterHandle> matches) {
+        FilterParamIndexBase[] indizesCurrent = indizesSnapshot;
+        if (InstrumentationHelper.ENABLED) {
+            if (indizesCurrent.length > 0) {
+                InstrumentationHelper.get().qFilterHandleSetIndexes(Arrays.asList(indizesCurrent));
+            }
+        }
+
+        // Ask each of the indizes to match against the attribute values
+        for (FilterParamIndexBase index : indizesCurrent) {
+            index.matchEvent(theEvent, matches);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            if (indizesCurrent.length > 0) {
+                InstrumentationHelper.get().aFilterHandleSetIndexes();
+            }
+        }
+
+        FilterHandle[] callbacksCurrent = callbackSnapshot;
+        if (InstrumentationHelper.ENABLED) {
+            if (callbacksCurrent.length > 0) {
+                InstrumentationHelper.get().qaFilterHandleSetCallbacks(new LinkedHashSet<FilterHandle>(Arrays.asList(callbacksCurrent)));
+            }
+        }
+
+        // Add each filter callback stored in this node to the matching list
+        for (FilterHandle filterCallback : callbacksCurrent) {
+            matches.add(filterCallback);
+        }
+    }
 }
@@ -65,6 +65,21 @@ public abstract class FilterParamIndexBase implements EventEvaluator {
      */
     public abstract void remove(Object filterConstant);
 
+    /**
+     * Replace the event evaluation instance for the given constant, which must exist.
+     * Copy-on-write indexes publish the replacement as a single change, so that evaluation never
+     * finds the constant missing.
+     * The calling class must make sure that access to the underlying resource is protected
+     * for multi-threaded writes, the getReadWriteLock() method must supply a lock for this purpose.
+     *
+     * @param filterConstant is the value supplied in the filter paremeter
+     * @param evaluator      to be stored for the constant
+     */
+    public void replace(Object filterConstant, EventEvaluator evaluator) {
+        remove(filterConstant);
+        put(filterConstant, evaluator);
+    }
+
     /**
      * Return the number of distinct filter parameter constants stored, which can be an expensive call.
      * The calling class must make sure that access to the underlying resource is protected
@@ -11,24 +11,47 @@
 package com.espertech.esper.filter;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprNodeUtility;
+import com.espertech.esper.epl.expression.visitor.ExprNodeFilterShareableVisitor;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
+import java.util.ArrayDeque;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.locks.ReadWriteLock;
 
 /**
  * Index that simply maintains a list of boolean expressions.
+ * <p>
+ * Expressions that only consist of operators, constants and properties of the filtered event are keyed by their
+ * expression text. When more than one statement registers the same such expression the index evaluates the
+ * expression once per event.
+ * </p>
  */
 public final class FilterParamIndexBooleanExpr extends FilterParamIndexBase {
     private final Map<ExprNodeAdapterBase, EventEvaluator> evaluatorsMap;
+    private final Map<ExprNodeAdapterBase, SharedExpression> sharedPerAdapter;
+    private final Map<String, SharedExpression> sharedPerKey;
+    private final ArrayDeque<Integer> freeSlots;
     private final ReadWriteLock constantsMapRWLock;
+    private final ThreadLocal<SharedResults> sharedResults = new ThreadLocal<SharedResults>() {
+        protected synchronized SharedResults initialValue() {
+            return new SharedResults();
+        }
+    };
+    private int numSlots;
+    private int numSharedKeys;
 
     public FilterParamIndexBooleanExpr(ReadWriteLock readWriteLock) {
         super(FilterOperator.BOOLEAN_EXPRESSION);
 
         evaluatorsMap = new LinkedHashMap<ExprNodeAdapterBase, EventEvaluator>();
+        sharedPerAdapter = new HashMap<ExprNodeAdapterBase, SharedExpression>();
+        sharedPerKey = new HashMap<String, SharedExpression>();
+        freeSlots = new ArrayDeque<Integer>();
         constantsMapRWLock = readWriteLock;
     }
 
@@ -39,12 +62,54 @@ public final class FilterParamIndexBooleanExpr extends FilterParamIndexBase {
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
         ExprNodeAdapterBase keys = (ExprNodeAdapterBase) filterConstant;
-        evaluatorsMap.put(keys, evaluator);
+        if (evaluatorsMap.put(keys, evaluator) != null) {
+            return;
+        }
+        String shareKey = getShareKey(keys);
+        if (shareKey == null) {
+            return;
+        }
+
+        // the slot of a share key holds the result of the expression during matching of an event
+        SharedExpression shared = sharedPerKey.get(shareKey);
+        if (shared == null) {
+            int slot = freeSlots.isEmpty() ? numSlots++ : freeSlots.pop();
+            shared = new SharedExpression(shareKey, slot);
+            sharedPerKey.put(shareKey, shared);
+        }
+        sharedPerAdapter.put(keys, shared);
+        shared.count++;
+        if (shared.count == 2) {
+            numSharedKeys++;
+        }
     }
 
     public final void remove(Object filterConstant) {
         ExprNodeAdapterBase keys = (ExprNodeAdapterBase) filterConstant;
-        evaluatorsMap.remove(keys);
+        if (evaluatorsMap.remove(keys) == null) {
+            return;
+        }
+        SharedExpression shared = sharedPerAdapter.remove(keys);
+        if (shared == null) {
+            return;
+        }
+        shared.count--;
+        if (shared.count == 0) {
+            sharedPerKey.remove(shared.shareKey);
+            freeSlots.push(shared.slot);
+        }
+        if (shared.count == 1) {
+            numSharedKeys--;
+        }
+    }
+
+    /**
+     * Returns the number of expressions that more than one statement registered.
+     *
+     * @return number of shared expressions
+     */
+    public int getNumSharedExpressions() {
+        return numSharedKeys;
     }
 
     public final int sizeExpensive() {
@@ -77,12 +142,30 @@ public final class FilterParamIndexBooleanExpr extends FilterParamIndexBase {
                         evals.getValue().matchEvent(theEvent, matches);
                     }
                 }
-            } else {
+            } else if (numSharedKeys == 0) {
                 for (Map.Entry<ExprNodeAdapterBase, EventEvaluator> evals : evaluatorsMap.entrySet()) {
                     if (evals.getKey().evaluate(theEvent)) {
                         evals.getValue().matchEvent(theEvent, matches);
                     }
                 }
+            } else {
+                SharedResults results = sharedResults.get();
+                results.reset(numSlots);
+                for (Map.Entry<ExprNodeAdapterBase, EventEvaluator> evals : evaluatorsMap.entrySet()) {
+                    SharedExpression shared = sharedPerAdapter.get(evals.getKey());
+                    boolean result;
+                    if (shared == null) {
+                        result = evals.getKey().evaluate(theEvent);
+                    } else if (results.isEvaluated(shared.slot)) {
+                        result = results.getResult(shared.slot);
+                    } else {
+                        result = evals.getKey().evaluate(theEvent);
+                        results.setResult(shared.slot, result);
+                    }
+                    if (result) {
+                        evals.getValue().matchEvent(theEvent, matches);
+                    }
+                }
             }
         } finally {
             constantsMapRWLock.readLock().unlock();
@@ -91,4 +174,65 @@ public final class FilterParamIndexBooleanExpr extends FilterParamIndexBase {
             InstrumentationHelper.get().aFilterBoolean();
         }
     }
+
+    private static String getShareKey(ExprNodeAdapterBase adapter) {
+        // only the plain adapter evaluates independent of variables, tables, subqueries and pattern events
+        if (adapter.getClass() != ExprNodeAdapterBase.class) {
+            return null;
+        }
+        ExprNodeFilterShareableVisitor visitor = new ExprNodeFilterShareableVisitor();
+        adapter.getExprNode().accept(visitor);
+        if (!visitor.isShareable()) {
+            return null;
+        }
+        return ExprNodeUtility.toExpressionStringMinPrecedenceSafe(adapter.getExprNode());
+    }
+
+    private final static class SharedExpression {
+        private final String shareKey;
+        private final int slot;
+        private int count;
+
+        private SharedExpression(String shareKey, int slot) {
+            this.shareKey = shareKey;
+            this.slot = slot;
+        }
+    }
+
+    /**
+     * Results of shared expressions for the event a thread is matching, by slot. A slot holds a result only if
+     * its generation is the current generation, so that starting the next event does not need to clear results.
+     */
+    private final static class SharedResults {
+        private int[] generations = new int[8];
+        private boolean[] results = new boolean[8];
+        private int generation;
+
+        private void reset(int numSlots) {
+            if (numSlots > results.length) {
+                int size = Math.max(numSlots, results.length * 2);
+                generations = new int[size];
+                results = new boolean[size];
+                generation = 0;
+            }
+            generation++;
+            if (generation == 0) {
+                Arrays.fill(generations, 0);
+                generation = 1;
+            }
+        }
+
+        private boolean isEvaluated(int slot) {
+            return generations[slot] == generation;
+        }
+
+        private boolean getResult(int slot) {
+            return results[slot];
+        }
+
+        private void setResult(int slot, boolean result) {
+            generations[slot] = generation;
+            results[slot] = result;
+        }
+    }
 }
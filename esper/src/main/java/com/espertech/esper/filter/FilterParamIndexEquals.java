@@ -25,6 +25,10 @@ public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
         super(lookupable, readWriteLock, FilterOperator.EQUAL);
     }
 
+    public FilterParamIndexEquals(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.EQUAL, copyOnWrite);
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches) {
         Object attributeValue = lookupable.getGetter().get(theEvent);
         if (InstrumentationHelper.ENABLED) {
@@ -39,13 +43,7 @@ public final class FilterParamIndexEquals extends FilterParamIndexEqualsBase {
         }
 
         // Look up in hashtable
-        EventEvaluator evaluator = null;
-        constantsMapRWLock.readLock().lock();
-        try {
-            evaluator = constantsMap.get(attributeValue);
-        } finally {
-            constantsMapRWLock.readLock().unlock();
-        }
+        EventEvaluator evaluator = lookupForMatch(attributeValue);
 
         // No listener found for the value, return
         if (evaluator == null) {
@@ -21,12 +21,22 @@ import java.util.concurrent.locks.ReadWriteLock;
 public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupableBase {
     protected final Map<Object, EventEvaluator> constantsMap;
     protected final ReadWriteLock constantsMapRWLock;
+    protected final boolean copyOnWrite;
+    private volatile Map<Object, EventEvaluator> constantsMapSnapshot;
 
     protected FilterParamIndexEqualsBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+        this(lookupable, readWriteLock, filterOperator, false);
+    }
+
+    protected FilterParamIndexEqualsBase(FilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new HashMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
+        if (copyOnWrite) {
+            constantsMapSnapshot = new HashMap<Object, EventEvaluator>();
+        }
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -35,10 +45,20 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
         constantsMap.put(filterConstant, evaluator);
+        if (copyOnWrite) {
+            constantsMapSnapshot = new HashMap<Object, EventEvaluator>(constantsMap);
+        }
     }
 
     public final void remove(Object filterConstant) {
         constantsMap.remove(filterConstant);
+        if (copyOnWrite) {
+            constantsMapSnapshot = new HashMap<Object, EventEvaluator>(constantsMap);
+        }
+    }
+
+    public final void replace(Object filterConstant, EventEvaluator evaluator) {
+        put(filterConstant, evaluator);
     }
 
     public final int sizeExpensive() {
@@ -52,4 +72,23 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
     public final ReadWriteLock getReadWriteLock() {
         return constantsMapRWLock;
     }
+
+    /**
+     * Look up the evaluator for a value of an event, for use when matching events.
+     * When copy-on-write, the lookup reads the current immutable snapshot without locking.
+     *
+     * @param attributeValue event property value
+     * @return evaluator or null if not found
+     */
+    protected final EventEvaluator lookupForMatch(Object attributeValue) {
+        if (copyOnWrite) {
+            return constantsMapSnapshot.get(attributeValue);
+        }
+        constantsMapRWLock.readLock().lock();
+        try {
+            return constantsMap.get(attributeValue);
+        } finally {
+            constantsMapRWLock.readLock().unlock();
+        }
+    }
 }
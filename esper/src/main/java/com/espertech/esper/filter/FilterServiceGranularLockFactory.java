@@ -14,4 +14,12 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public interface FilterServiceGranularLockFactory {
     public ReadWriteLock obtainNew();
+
+    /**
+     * Returns indicator whether index nodes publish immutable snapshots upon change, such that
+     * event matching does not need to acquire the read lock.
+     *
+     * @return copy-on-write indicator
+     */
+    public boolean isCopyOnWrite();
 }
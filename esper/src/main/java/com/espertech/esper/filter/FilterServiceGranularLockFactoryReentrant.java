@@ -14,7 +14,27 @@ import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class FilterServiceGranularLockFactoryReentrant implements FilterServiceGranularLockFactory {
+    private final boolean copyOnWrite;
+
+    public FilterServiceGranularLockFactoryReentrant() {
+        this(false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param copyOnWrite true for index nodes that publish immutable snapshots for lock-free matching,
+     *                    with the locks only coordinating concurrent changes
+     */
+    public FilterServiceGranularLockFactoryReentrant(boolean copyOnWrite) {
+        this.copyOnWrite = copyOnWrite;
+    }
+
     public ReadWriteLock obtainNew() {
         return new ReentrantReadWriteLock();
     }
+
+    public boolean isCopyOnWrite() {
+        return copyOnWrite;
+    }
 }
@@ -32,6 +32,10 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
         lock.writeLock().unlock();
     }
 
+    public boolean isWriteLockPerOperation() {
+        return true;
+    }
+
     public FilterSet take(Set<Integer> statementId) {
         lock.writeLock().lock();
         try {
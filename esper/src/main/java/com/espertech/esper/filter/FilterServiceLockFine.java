@@ -32,6 +32,10 @@ public final class FilterServiceLockFine extends FilterServiceBase {
         lock.writeLock().unlock();
     }
 
+    public boolean isWriteLockPerOperation() {
+        return false;
+    }
+
     public FilterSet take(Set<Integer> statementId) {
         lock.readLock().lock();
         try {
@@ -0,0 +1,148 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Filter service that evaluates events without acquiring locks: the event type index, the filter callback
+ * nodes and the equals-indexes publish immutable snapshots upon change (copy-on-write) and evaluation reads the
+ * current snapshots. Other index types retain their fine-grained per-index lock.
+ * <p>
+ * Filter changes are serialized by the per-node write locks as in the fine-grained lock service.
+ * Holders of the service-wide write lock, such as a start-now context replacing its context partition, change
+ * multiple filters as one unit. Evaluation therefore reads optimistically: it compares the write lock version
+ * before and after evaluating and, if the write lock was acquired meanwhile, evaluates again under the read lock.
+ * </p>
+ */
+public final class FilterServiceLockFree extends FilterServiceBase {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final ThreadLocal<ArrayList<FilterHandle>> optimisticMatches = new ThreadLocal<ArrayList<FilterHandle>>() {
+        protected synchronized ArrayList<FilterHandle> initialValue() {
+            return new ArrayList<FilterHandle>();
+        }
+    };
+
+    // odd while the write lock is held, incremented when the outermost write lock is acquired and released
+    private volatile long writeLockVersion;
+
+    public FilterServiceLockFree(boolean allowIsolation) {
+        super(new FilterServiceGranularLockFactoryReentrant(true), allowIsolation);
+    }
+
+    public void acquireWriteLock() {
+        lock.writeLock().lock();
+        if (lock.getWriteHoldCount() == 1) {
+            writeLockVersion++;
+        }
+    }
+
+    public void releaseWriteLock() {
+        if (lock.getWriteHoldCount() == 1) {
+            writeLockVersion++;
+        }
+        lock.writeLock().unlock();
+    }
+
+    public boolean isWriteLockPerOperation() {
+        return false;
+    }
+
+    public FilterSet take(Set<Integer> statementId) {
+        lock.readLock().lock();
+        try {
+            return super.takeInternal(statementId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void apply(FilterSet filterSet) {
+        lock.readLock().lock();
+        try {
+            super.applyInternal(filterSet);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches) {
+        if (lock.isWriteLockedByCurrentThread()) {
+            return super.evaluateInternal(theEvent, matches);
+        }
+        long version = writeLockVersion;
+        if ((version & 1) == 0) {
+            ArrayList<FilterHandle> optimistic = optimisticMatches.get();
+            try {
+                long result = super.evaluateInternal(theEvent, optimistic);
+                if (writeLockVersion == version) {
+                    for (int i = 0; i < optimistic.size(); i++) {
+                        matches.add(optimistic.get(i));
+                    }
+                    return result;
+                }
+            } finally {
+                optimistic.clear();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return super.evaluateInternal(theEvent, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId) {
+        if (lock.isWriteLockedByCurrentThread()) {
+            return super.evaluateInternal(theEvent, matches, statementId);
+        }
+        long version = writeLockVersion;
+        if ((version & 1) == 0) {
+            ArrayList<FilterHandle> optimistic = optimisticMatches.get();
+            try {
+                long result = super.evaluateInternal(theEvent, optimistic, statementId);
+                if (writeLockVersion == version) {
+                    for (int i = 0; i < optimistic.size(); i++) {
+                        matches.add(optimistic.get(i));
+                    }
+                    return result;
+                }
+            } finally {
+                optimistic.clear();
+            }
+        }
+        lock.readLock().lock();
+        try {
+            return super.evaluateInternal(theEvent, matches, statementId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FilterServiceEntry add(FilterValueSet filterValueSet, FilterHandle callback) {
+        return super.addInternal(filterValueSet, callback);
+    }
+
+    public void remove(FilterHandle callback, FilterServiceEntry filterServiceEntry) {
+        super.removeInternal(callback, filterServiceEntry);
+    }
+
+    public void removeType(EventType type) {
+        super.removeTypeInternal(type);
+    }
+}
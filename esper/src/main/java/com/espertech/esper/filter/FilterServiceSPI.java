@@ -55,6 +55,14 @@ public interface FilterServiceSPI extends FilterService {
 
     public void releaseWriteLock();
 
+    /**
+     * Returns indicator whether each add and remove operation acquires the write lock, such that a caller
+     * performing multiple add or remove operations in a row may hold the write lock across them.
+     *
+     * @return indicator
+     */
+    public boolean isWriteLockPerOperation();
+
     /**
      * Initialization is optional and provides a chance to preload things after statements are available.
      */
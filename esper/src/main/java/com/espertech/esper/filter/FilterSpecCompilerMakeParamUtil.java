@@ -457,6 +457,22 @@ public final class FilterSpecCompilerMakeParamUtil {
                 return new FilterSpecParamConstant(lookupable, opReversed, constant);
             }
         }
+        // check arithmetic over properties and constant combination, i.e. a.b + c > 5
+        if (op != FilterOperator.IS && op != FilterOperator.IS_NOT) {
+            if ((ExprNodeUtility.isConstantValueExpr(right)) && (left instanceof ExprMathNode)) {
+                FilterSpecParam param = handleMathNode((ExprMathNode) left, op, (ExprConstantNode) right, exprEvaluatorContext);
+                if (param != null) {
+                    return param;
+                }
+            }
+            if ((ExprNodeUtility.isConstantValueExpr(left)) && (right instanceof ExprMathNode)) {
+                FilterOperator opReversed = op.isComparisonOperator() ? op.reversedRelationalOp() : op;
+                FilterSpecParam param = handleMathNode((ExprMathNode) right, opReversed, (ExprConstantNode) left, exprEvaluatorContext);
+                if (param != null) {
+                    return param;
+                }
+            }
+        }
         // check identifier and expression containing other streams
         if ((left instanceof ExprIdentNode) && (right instanceof ExprIdentNode)) {
             ExprIdentNode identNodeLeft = (ExprIdentNode) left;
@@ -493,6 +509,48 @@ public final class FilterSpecCompilerMakeParamUtil {
         return null;
     }
 
+    /**
+     * Arithmetic over properties of the filtered event compared to a constant becomes a lookupable that evaluates the
+     * arithmetic, so that statements with the same arithmetic share a filter index and evaluate it once per event.
+     * Returns null, leaving the expression a boolean expression, when the constant cannot be coerced to the
+     * arithmetic result type.
+     */
+    private static FilterSpecParam handleMathNode(ExprMathNode mathNode, FilterOperator op, ExprConstantNode constantNode, ExprEvaluatorContext exprEvaluatorContext) {
+        if (!isMathFilterLookupEligible(mathNode)) {
+            return null;
+        }
+        Object constant = constantNode.getConstantValue(exprEvaluatorContext);
+        ExprEvaluator evaluator = mathNode.getExprEvaluator();
+        Class returnType = evaluator.getType();
+        if (!(constant instanceof Number) || !JavaClassHelper.canCoerce(constant.getClass(), returnType)) {
+            return null;
+        }
+        constant = JavaClassHelper.coerceBoxed((Number) constant, JavaClassHelper.getBoxedType(returnType));
+        FilterSpecLookupable lookupable = new FilterSpecLookupable(ExprNodeUtility.toExpressionStringMinPrecedenceSafe(mathNode), new FilterSpecLookupableExprEvalGetter(evaluator), returnType, true);
+        return new FilterSpecParamConstant(lookupable, op, constant);
+    }
+
+    private static boolean isMathFilterLookupEligible(ExprNode node) {
+        boolean hasProperty = false;
+        for (ExprNode child : node.getChildNodes()) {
+            if (child instanceof ExprMathNode) {
+                if (!isMathFilterLookupEligible(child)) {
+                    return false;
+                }
+                hasProperty = true;
+            } else if (child instanceof ExprIdentNode) {
+                if (!((ExprIdentNode) child).getFilterLookupEligible()) {
+                    return false;
+                }
+                hasProperty = true;
+            } else if (!(child instanceof ExprConstantNodeImpl) || !ExprNodeUtility.isConstantValueExpr(child)) {
+                // declared expressions are constant nodes as well however their text does not identify their value
+                return false;
+            }
+        }
+        return hasProperty;
+    }
+
     private static FilterOperator getReversedOperator(ExprNode constituent, FilterOperator op) {
         if (!(constituent instanceof ExprRelationalOpNode)) {
             return op;
@@ -0,0 +1,55 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.filter;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventPropertyGetter;
+import com.espertech.esper.client.PropertyAccessException;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
+
+/**
+ * Getter for use as a filter lookupable that evaluates an expression against the filtered event as stream zero.
+ */
+public class FilterSpecLookupableExprEvalGetter implements EventPropertyGetter {
+    private final ExprEvaluator evaluator;
+    private final ThreadLocal<EventBean[]> eventsPerStream = new ThreadLocal<EventBean[]>() {
+        protected synchronized EventBean[] initialValue() {
+            return new EventBean[1];
+        }
+    };
+
+    /**
+     * Ctor.
+     *
+     * @param evaluator expression that only refers to properties of the filtered event
+     */
+    public FilterSpecLookupableExprEvalGetter(ExprEvaluator evaluator) {
+        this.evaluator = evaluator;
+    }
+
+    public Object get(EventBean eventBean) throws PropertyAccessException {
+        EventBean[] events = eventsPerStream.get();
+        events[0] = eventBean;
+        try {
+            return evaluator.evaluate(events, true, null);
+        } finally {
+            events[0] = null;
+        }
+    }
+
+    public boolean isExistsProperty(EventBean eventBean) {
+        return false;
+    }
+
+    public Object getFragment(EventBean eventBean) throws PropertyAccessException {
+        return null;
+    }
+}
@@ -16,6 +16,8 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.epl.expression.codegen.ExprCodegenCompiler;
+import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprNode;
 import com.espertech.esper.epl.expression.visitor.ExprNodeVariableVisitor;
 import com.espertech.esper.epl.table.mgmt.TableService;
@@ -31,6 +33,7 @@ import java.util.Map;
  */
 public final class FilterSpecParamExprNode extends FilterSpecParam {
     private final ExprNode exprNode;
+    private transient ExprEvaluator exprEvaluator;
     private final LinkedHashMap<String, Pair<EventType, String>> taggedEventTypes;
     private final LinkedHashMap<String, Pair<EventType, String>> arrayEventTypes;
     private final transient EventAdapterService eventAdapterService;
@@ -65,6 +68,7 @@ public final class FilterSpecParamExprNode extends FilterSpecParam {
             throw new IllegalArgumentException("Invalid filter operator for filter expression node");
         }
         this.exprNode = exprNode;
+        this.exprEvaluator = ExprCodegenCompiler.getEvaluator(exprNode, configurationInformation);
         this.taggedEventTypes = taggedEventTypes;
         this.arrayEventTypes = arrayEventTypes;
         this.variableService = variableService;
@@ -89,6 +93,18 @@ public final class FilterSpecParamExprNode extends FilterSpecParam {
         return exprNode;
     }
 
+    /**
+     * Returns the evaluator for the boolean expression, which may be generated code if expression code generation is enabled.
+     *
+     * @return evaluator
+     */
+    public ExprEvaluator getExprEvaluator() {
+        if (exprEvaluator == null) {
+            exprEvaluator = exprNode.getExprEvaluator();
+        }
+        return exprEvaluator;
+    }
+
     /**
      * Returns the map of tag/stream names to event types that the filter expressions map use (for patterns)
      *
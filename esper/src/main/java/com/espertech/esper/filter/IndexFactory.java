@@ -33,7 +33,7 @@ public class IndexFactory {
 
         // Handle all EQUAL comparisons
         if (filterOperator == FilterOperator.EQUAL) {
-            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
@@ -44,7 +44,7 @@ public class IndexFactory {
         }
 
         if (filterOperator == FilterOperator.IS) {
-            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
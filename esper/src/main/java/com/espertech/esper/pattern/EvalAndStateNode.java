@@ -12,6 +12,7 @@ package com.espertech.esper.pattern;
 
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.filter.FilterServiceSPI;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -90,11 +91,16 @@ public class EvalAndStateNode extends EvalStateNode implements Evaluator {
             activeChildNodes[count++] = childState;
         }
 
-        // Start all child nodes
-        for (EvalStateNode child : activeChildNodes) {
-            if (child != null) {
-                child.start(beginState);
+        // Start all child nodes, registering their filters under a single acquisition of the filter service lock
+        FilterServiceSPI filterService = EvalFilterServiceBatch.acquire(evalAndNode.getContext(), activeChildNodes.length);
+        try {
+            for (EvalStateNode child : activeChildNodes) {
+                if (child != null) {
+                    child.start(beginState);
+                }
             }
+        } finally {
+            EvalFilterServiceBatch.release(filterService);
         }
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aPatternAndStart();
@@ -331,10 +337,15 @@ public class EvalAndStateNode extends EvalStateNode implements Evaluator {
     }
 
     private void quitInternal() {
-        for (EvalStateNode child : activeChildNodes) {
-            if (child != null) {
-                child.quit();
+        FilterServiceSPI filterService = EvalFilterServiceBatch.acquire(evalAndNode.getContext(), activeChildNodes.length);
+        try {
+            for (EvalStateNode child : activeChildNodes) {
+                if (child != null) {
+                    child.quit();
+                }
             }
+        } finally {
+            EvalFilterServiceBatch.release(filterService);
         }
         Arrays.fill(activeChildNodes, null);
         eventsPerChild = null;
@@ -27,6 +27,7 @@ public class EvalEveryStateNode extends EvalStateNode implements Evaluator {
     protected final EvalEveryNode evalEveryNode;
     protected final List<EvalStateNode> spawnedNodes;
     protected MatchedEventMap beginState;
+    private EvalEveryStateSpawnEvaluator spawnEvaluator;
 
     /**
      * Constructor.
@@ -67,7 +68,7 @@ public class EvalEveryStateNode extends EvalStateNode implements Evaluator {
         // During the start of the child we need to use the temporary evaluator to catch any event created during a start.
         // Events created during the start would likely come from the "not" operator.
         // Quit the new child again if
-        EvalEveryStateSpawnEvaluator spawnEvaluator = new EvalEveryStateSpawnEvaluator(evalEveryNode.getContext().getPatternContext().getStatementName());
+        EvalEveryStateSpawnEvaluator spawnEvaluator = getSpawnEvaluator();
         childState.setParentEvaluator(spawnEvaluator);
         childState.start(beginState);
 
@@ -100,7 +101,7 @@ public class EvalEveryStateNode extends EvalStateNode implements Evaluator {
         // Spawn all nodes below this EVERY node
         // During the start of a child we need to use the temporary evaluator to catch any event created during a start
         // Such events can be raised when the "not" operator is used.
-        EvalEveryStateSpawnEvaluator spawnEvaluator = new EvalEveryStateSpawnEvaluator(evalEveryNode.getContext().getPatternContext().getStatementName());
+        EvalEveryStateSpawnEvaluator spawnEvaluator = getSpawnEvaluator();
         EvalStateNode spawned = evalEveryNode.getChildNode().newState(spawnEvaluator, null, 0L);
         spawned.start(beginState);
 
@@ -131,7 +132,7 @@ public class EvalEveryStateNode extends EvalStateNode implements Evaluator {
             // Spawn all nodes below this EVERY node
             // During the start of a child we need to use the temporary evaluator to catch any event created during a start
             // Such events can be raised when the "not" operator is used.
-            EvalEveryStateSpawnEvaluator spawnEvaluator = new EvalEveryStateSpawnEvaluator(evalEveryNode.getContext().getPatternContext().getStatementName());
+            EvalEveryStateSpawnEvaluator spawnEvaluator = getSpawnEvaluator();
             EvalStateNode spawned = evalEveryNode.getChildNode().newState(spawnEvaluator, null, 0L);
             spawned.start(beginState);
 
@@ -187,6 +188,19 @@ public class EvalEveryStateNode extends EvalStateNode implements Evaluator {
         return false;
     }
 
+    /**
+     * Returns the evaluator for use during the start of a spawned child, reset to not-evaluated.
+     * The evaluator is only in use while a child starts and is therefore shared by all spawns of this node.
+     */
+    private EvalEveryStateSpawnEvaluator getSpawnEvaluator() {
+        if (spawnEvaluator == null) {
+            spawnEvaluator = new EvalEveryStateSpawnEvaluator(evalEveryNode.getContext().getPatternContext().getStatementName());
+        } else {
+            spawnEvaluator.reset();
+        }
+        return spawnEvaluator;
+    }
+
     public final String toString() {
         return "EvalEveryStateNode spawnedChildren=" + spawnedNodes.size();
     }
@@ -30,6 +30,13 @@ public final class EvalEveryStateSpawnEvaluator implements Evaluator {
         this.statementName = statementName;
     }
 
+    /**
+     * Resets the evaluator for use by another spawn.
+     */
+    public final void reset() {
+        isEvaluatedTrue = false;
+    }
+
     public final boolean isEvaluatedTrue() {
         return isEvaluatedTrue;
     }
@@ -14,12 +14,16 @@ import com.espertech.esper.filter.FilterValueSetParam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayDeque;
+
 /**
  * This class represents a filter of events in the evaluation tree representing any event expressions.
  */
 public class EvalFilterNode extends EvalNodeBase {
     protected final EvalFilterFactoryNode factoryNode;
     private final FilterValueSetParam[][] addendumFilters;
+    private ArrayDeque<EvalFilterStateNode> pooled;
+    private int numReleased;
 
     public EvalFilterNode(PatternAgentInstanceContext context, EvalFilterFactoryNode factoryNode) {
         super(context);
@@ -41,11 +45,43 @@ public class EvalFilterNode extends EvalNodeBase {
 
     public EvalStateNode newState(Evaluator parentNode,
                                   EvalStateNodeNumber stateNodeNumber, long stateNodeId) {
+        if (pooled != null && !pooled.isEmpty()) {
+            EvalFilterStateNode node = pooled.removeLast();
+            node.reset(parentNode);
+            return node;
+        }
         if (getContext().getConsumptionHandler() != null) {
             return new EvalFilterStateNodeConsumeImpl(parentNode, this);
         }
         return new EvalFilterStateNode(parentNode, this);
     }
 
+    /**
+     * Reserves room for a filter state node that quit and that becomes available for reuse later.
+     *
+     * @return false if the pooled and released filter state nodes of this filter node reached the maximum
+     */
+    protected boolean reserveReleased() {
+        int numPooled = pooled == null ? 0 : pooled.size();
+        if (numPooled + numReleased >= EvalFilterStateNodePool.MAX_POOLED_PER_FILTER) {
+            return false;
+        }
+        numReleased++;
+        return true;
+    }
+
+    /**
+     * Adds a filter state node that quit, and for which room was reserved, for reuse by a subsequent new state.
+     *
+     * @param node to reuse
+     */
+    protected void addPooled(EvalFilterStateNode node) {
+        if (pooled == null) {
+            pooled = new ArrayDeque<EvalFilterStateNode>();
+        }
+        numReleased--;
+        pooled.add(node);
+    }
+
     private static final Logger log = LoggerFactory.getLogger(EvalFilterNode.class);
 }
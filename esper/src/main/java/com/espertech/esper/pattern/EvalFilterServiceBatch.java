@@ -0,0 +1,59 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.pattern;
+
+import com.espertech.esper.filter.FilterService;
+import com.espertech.esper.filter.FilterServiceSPI;
+
+/**
+ * Holds the filter service write lock across the filter registrations or removals of multiple child state nodes
+ * that start or quit together, such as the children of an "and" or "or" operator.
+ * <p>
+ * Only applies to filter services that acquire the write lock for each add and remove operation. Filter services
+ * that lock at a finer granularity, or not at all, gain nothing from batching and are left alone.
+ * </p>
+ */
+public final class EvalFilterServiceBatch {
+    private EvalFilterServiceBatch() {
+    }
+
+    /**
+     * Acquires the filter service write lock if there are multiple operations and the filter service acquires the
+     * write lock per operation.
+     *
+     * @param context       pattern context
+     * @param numOperations number of child state nodes to start or quit
+     * @return filter service to pass to {@link #release(FilterServiceSPI)}, or null if the lock was not acquired
+     */
+    public static FilterServiceSPI acquire(PatternAgentInstanceContext context, int numOperations) {
+        if (numOperations < 2) {
+            return null;
+        }
+        FilterService service = context.getPatternContext().getFilterService();
+        if (!(service instanceof FilterServiceSPI) || !((FilterServiceSPI) service).isWriteLockPerOperation()) {
+            return null;
+        }
+        FilterServiceSPI filterService = (FilterServiceSPI) service;
+        filterService.acquireWriteLock();
+        return filterService;
+    }
+
+    /**
+     * Releases the filter service write lock if acquired.
+     *
+     * @param filterService as returned by acquire, or null
+     */
+    public static void release(FilterServiceSPI filterService) {
+        if (filterService != null) {
+            filterService.releaseWriteLock();
+        }
+    }
+}
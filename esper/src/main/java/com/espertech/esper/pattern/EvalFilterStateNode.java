@@ -46,6 +46,19 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
         this.evalFilterNode = evalFilterNode;
     }
 
+    /**
+     * Prepares a filter state node that quit for reuse.
+     *
+     * @param parentNode is the parent evaluator to call to indicate truth value
+     */
+    protected void reset(Evaluator parentNode) {
+        setParentEvaluator(parentNode);
+        beginState = null;
+        handle = null;
+        filterServiceEntry = null;
+        isStarted = false;
+    }
+
     @Override
     public EvalNode getFactoryNode() {
         return evalFilterNode;
@@ -95,6 +108,10 @@ public class EvalFilterStateNode extends EvalStateNode implements FilterHandleCa
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qPatternFilterMatch(evalFilterNode, theEvent);
         }
+        EvalFilterStateNodePool pool = evalFilterNode.getContext().getFilterStateNodePool();
+        if (pool != null) {
+            pool.matchFound(theEvent);
+        }
 
         if (!isStarted) {
             if (InstrumentationHelper.ENABLED) {
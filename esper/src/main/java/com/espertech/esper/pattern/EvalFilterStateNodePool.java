@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.pattern;
+
+import com.espertech.esper.client.EventBean;
+
+import java.util.ArrayList;
+
+/**
+ * Pool of filter state nodes that quit, for use by the filter nodes of a pattern to start new filter state nodes
+ * without allocating.
+ * <p>
+ * A filter state node that quits while the engine processes an event may still receive a match callback for the same
+ * event, since the filter service returned all matches before processing. Such a node is therefore not made available
+ * for reuse until any filter state node of the same pattern receives a different event.
+ * </p>
+ */
+public class EvalFilterStateNodePool {
+    /**
+     * Maximum number of filter state nodes retained for reuse, per filter node, counting both nodes available for
+     * reuse and released nodes not yet available.
+     */
+    public final static int MAX_POOLED_PER_FILTER = 1024;
+
+    private final ArrayList<EvalFilterStateNode> released = new ArrayList<EvalFilterStateNode>();
+    private EventBean lastEvent;
+
+    /**
+     * Indicates that a filter state node received a match, making nodes that quit earlier available for reuse if
+     * the event is a different event.
+     *
+     * @param theEvent the matching event
+     */
+    public void matchFound(EventBean theEvent) {
+        if (theEvent == lastEvent) {
+            return;
+        }
+        lastEvent = theEvent;
+        if (released.isEmpty()) {
+            return;
+        }
+        for (EvalFilterStateNode node : released) {
+            node.getEvalFilterNode().addPooled(node);
+        }
+        released.clear();
+    }
+
+    /**
+     * Releases a filter state node that quit and that is no longer referenced by its parent.
+     *
+     * @param node to release
+     */
+    public void release(EvalFilterStateNode node) {
+        if (node.getEvalFilterNode().reserveReleased()) {
+            released.add(node);
+        }
+    }
+}
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.pattern;
 
+import com.espertech.esper.pattern.pool.PatternStateNodeStmtCounter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -19,11 +20,13 @@ import org.slf4j.LoggerFactory;
 public class EvalFollowedByNode extends EvalNodeBase {
     protected final EvalFollowedByFactoryNode factoryNode;
     private final EvalNode[] childNodes;
+    private final PatternStateNodeStmtCounter counter;
 
     public EvalFollowedByNode(PatternAgentInstanceContext context, EvalFollowedByFactoryNode factoryNode, EvalNode[] childNodes) {
         super(context);
         this.factoryNode = factoryNode;
         this.childNodes = childNodes;
+        this.counter = context.getStatementContext().getPatternStateNodeCounter();
     }
 
     public EvalNode[] getChildNodes() {
@@ -34,6 +37,10 @@ public class EvalFollowedByNode extends EvalNodeBase {
         return factoryNode;
     }
 
+    public PatternStateNodeStmtCounter getCounter() {
+        return counter;
+    }
+
     public EvalStateNode newState(Evaluator parentNode,
                                   EvalStateNodeNumber stateNodeNumber, long stateNodeId) {
         switch (factoryNode.opType) {
@@ -12,9 +12,11 @@ package com.espertech.esper.pattern;
 
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.filter.FilterServiceSPI;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 
 import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -66,8 +68,8 @@ public class EvalFollowedByStateNode extends EvalStateNode implements Evaluator
             InstrumentationHelper.get().qPatternFollowedByEvaluateTrue(evalFollowedByNode, matchEvent, index);
         }
 
-        if (isQuitted) {
-            nodes.remove(fromNode);
+        if (isQuitted && nodes.remove(fromNode) != null) {
+            release(fromNode, index);
         }
 
         // the node may already have quit as a result of an outer state quitting this state,
@@ -93,6 +95,7 @@ public class EvalFollowedByStateNode extends EvalStateNode implements Evaluator
             EvalNode child = evalFollowedByNode.getChildNodes()[index + 1];
             EvalStateNode childState = child.newState(this, null, 0L);
             nodes.put(childState, index + 1);
+            evalFollowedByNode.getCounter().increaseActive();
             childState.start(matchEvent);
         }
         if (InstrumentationHelper.ENABLED) {
@@ -105,7 +108,10 @@ public class EvalFollowedByStateNode extends EvalStateNode implements Evaluator
             InstrumentationHelper.get().qPatternFollowedByEvalFalse(evalFollowedByNode);
         }
         fromNode.quit();
-        nodes.remove(fromNode);
+        Integer index = nodes.remove(fromNode);
+        if (index != null) {
+            release(fromNode, index);
+        }
 
         if (nodes.isEmpty()) {
             this.getParentEvaluator().evaluateFalse(this, true);
@@ -157,9 +163,28 @@ public class EvalFollowedByStateNode extends EvalStateNode implements Evaluator
     }
 
     private final void quitInternal() {
-        for (EvalStateNode child : nodes.keySet()) {
-            child.quit();
+        // when quitting multiple children, remove their filters under a single acquisition of the filter service lock
+        FilterServiceSPI filterService = EvalFilterServiceBatch.acquire(evalFollowedByNode.getContext(), nodes.size());
+        try {
+            for (EvalStateNode child : nodes.keySet()) {
+                child.quit();
+            }
+        } finally {
+            EvalFilterServiceBatch.release(filterService);
+        }
+        for (Map.Entry<EvalStateNode, Integer> entry : nodes.entrySet()) {
+            release(entry.getKey(), entry.getValue());
         }
         nodes.clear();
     }
+
+    private void release(EvalStateNode child, int index) {
+        if (index > 0) {
+            evalFollowedByNode.getCounter().decreaseActive();
+        }
+        EvalFilterStateNodePool pool = evalFollowedByNode.getContext().getFilterStateNodePool();
+        if (pool != null && child.getClass() == EvalFilterStateNode.class) {
+            pool.release((EvalFilterStateNode) child);
+        }
+    }
 }
@@ -69,6 +69,7 @@ public class EvalFollowedByWithMaxStateNodeManaged extends EvalStateNode impleme
         if (isQuitted) {
             nodes.remove(fromNode);
             if (index != null && index > 0) {
+                evalFollowedByNode.getCounter().decreaseActive();
                 if (evalFollowedByNode.isTrackWithMax()) {
                     countActivePerChild[index - 1]--;
                 }
@@ -123,6 +124,7 @@ public class EvalFollowedByWithMaxStateNodeManaged extends EvalStateNode impleme
             EvalNode child = evalFollowedByNode.getChildNodes()[index + 1];
             EvalStateNode childState = child.newState(this, null, 0L);
             nodes.put(childState, index + 1);
+            evalFollowedByNode.getCounter().increaseActive();
             childState.start(matchEvent);
         }
     }
@@ -131,6 +133,7 @@ public class EvalFollowedByWithMaxStateNodeManaged extends EvalStateNode impleme
         fromNode.quit();
         Integer index = nodes.remove(fromNode);
         if (index != null && index > 0) {
+            evalFollowedByNode.getCounter().decreaseActive();
             if (evalFollowedByNode.isTrackWithMax()) {
                 countActivePerChild[index - 1]--;
             }
@@ -166,6 +169,9 @@ public class EvalFollowedByWithMaxStateNodeManaged extends EvalStateNode impleme
     public final void quit() {
         for (Map.Entry<EvalStateNode, Integer> entry : nodes.entrySet()) {
             entry.getKey().quit();
+            if (entry.getValue() > 0) {
+                evalFollowedByNode.getCounter().decreaseActive();
+            }
             if (evalFollowedByNode.isTrackWithPool()) {
                 if (entry.getValue() > 0) {
                     PatternSubexpressionPoolStmtSvc poolSvc = evalFollowedByNode.getContext().getStatementContext().getPatternSubexpressionPoolSvc();
@@ -174,6 +180,7 @@ public class EvalFollowedByWithMaxStateNodeManaged extends EvalStateNode impleme
                 }
             }
         }
+        nodes.clear();
     }
 
     public final void accept(EvalStateNodeVisitor visitor) {
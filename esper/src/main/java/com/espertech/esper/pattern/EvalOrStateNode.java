@@ -12,6 +12,7 @@ package com.espertech.esper.pattern;
 
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.filter.FilterServiceSPI;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -65,11 +66,16 @@ public class EvalOrStateNode extends EvalStateNode implements Evaluator {
             childNodes[count++] = childState;
         }
 
-        // In an "or" expression we start all child listeners
+        // In an "or" expression we start all child listeners, registering their filters under a single acquisition of the filter service lock
         EvalStateNode[] childNodeCopy = new EvalStateNode[childNodes.length];
         System.arraycopy(childNodes, 0, childNodeCopy, 0, childNodes.length);
-        for (EvalStateNode child : childNodeCopy) {
-            child.start(beginState);
+        FilterServiceSPI filterService = EvalFilterServiceBatch.acquire(evalOrNode.getContext(), childNodeCopy.length);
+        try {
+            for (EvalStateNode child : childNodeCopy) {
+                child.start(beginState);
+            }
+        } finally {
+            EvalFilterServiceBatch.release(filterService);
         }
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aPatternOrStart();
@@ -162,10 +168,15 @@ public class EvalOrStateNode extends EvalStateNode implements Evaluator {
     }
 
     private void quitInternal() {
-        for (EvalStateNode child : childNodes) {
-            if (child != null) {
-                child.quit();
+        FilterServiceSPI filterService = EvalFilterServiceBatch.acquire(evalOrNode.getContext(), childNodes.length);
+        try {
+            for (EvalStateNode child : childNodes) {
+                if (child != null) {
+                    child.quit();
+                }
             }
+        } finally {
+            EvalFilterServiceBatch.release(filterService);
         }
         Arrays.fill(childNodes, null);
     }
@@ -20,6 +20,7 @@ public class PatternAgentInstanceContext {
     private final PatternContext patternContext;
     private final AgentInstanceContext agentInstanceContext;
     private final EvalFilterConsumptionHandler consumptionHandler;
+    private final EvalFilterStateNodePool filterStateNodePool;
 
     public PatternAgentInstanceContext(PatternContext patternContext, AgentInstanceContext agentInstanceContext, boolean hasConsumingFilter) {
         this.patternContext = patternContext;
@@ -27,8 +28,10 @@ public class PatternAgentInstanceContext {
 
         if (hasConsumingFilter) {
             consumptionHandler = new EvalFilterConsumptionHandler();
+            filterStateNodePool = null;
         } else {
             consumptionHandler = null;
+            filterStateNodePool = new EvalFilterStateNodePool();
         }
     }
 
@@ -44,6 +47,10 @@ public class PatternAgentInstanceContext {
         return consumptionHandler;
     }
 
+    public EvalFilterStateNodePool getFilterStateNodePool() {
+        return filterStateNodePool;
+    }
+
     public StatementContext getStatementContext() {
         return agentInstanceContext.getStatementContext();
     }
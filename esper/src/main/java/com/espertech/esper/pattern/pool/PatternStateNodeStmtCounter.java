@@ -0,0 +1,38 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.pattern.pool;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts, for a statement, the pattern instances that are currently active, i.e. the followed-by sub-expressions
+ * started by a match of the preceding sub-expression and that did not yet match or quit.
+ */
+public class PatternStateNodeStmtCounter {
+    private final AtomicLong numActive = new AtomicLong();
+
+    /**
+     * Returns the number of active pattern instances.
+     *
+     * @return active count
+     */
+    public long getNumActive() {
+        return numActive.get();
+    }
+
+    public void increaseActive() {
+        numActive.incrementAndGet();
+    }
+
+    public void decreaseActive() {
+        numActive.decrementAndGet();
+    }
+}
@@ -65,6 +65,8 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
 
     private final RegexNFAState[] startStates;
     protected final RegexNFAState[] allStates;
+    private final RegexNFATransitionTable transitionTable;
+    private final EventBean[] startStateEventsPerStream;
 
     private final String[] multimatchVariablesArray;
     private final int[] multimatchStreamNumToVariable;
@@ -95,6 +97,7 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                                 boolean isDefineAsksMultimatches,
                                 ObjectArrayBackedEventBean defineMultimatchEventBean,
                                 boolean[] isExprRequiresMultimatchState,
+                                boolean[] isDefineEventLocal,
                                 boolean isUnbound,
                                 boolean isIterateOnly,
                                 boolean isCollectMultimatches,
@@ -173,9 +176,12 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         RegexNFAStrandResult strand = EventRowRegexHelper.recursiveBuildStartStates(expandedPatternNode, variableDefinitions, variableStreams, isExprRequiresMultimatchState);
         startStates = strand.getStartStates().toArray(new RegexNFAState[strand.getStartStates().size()]);
         allStates = strand.getAllStates().toArray(new RegexNFAState[strand.getAllStates().size()]);
+        transitionTable = RegexNFATransitionTable.make(allStates, isDefineEventLocal, variableStreams.size());
+        startStateEventsPerStream = transitionTable == null ? null : new EventBean[numEventsEventsPerStreamDefine];
 
         if (log.isDebugEnabled() || IS_DEBUG) {
             log.info("NFA tree:\n" + EventRowRegexNFAViewUtil.print(startStates));
+            log.info("NFA transition table: " + (transitionTable == null ? "none" : (transitionTable.isDeterministic() ? "deterministic" : "partial")));
         }
 
         // create evaluators
@@ -196,7 +202,8 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         } else {
             RegexPartitionStateRepoGroupMeta stateRepoGroupMeta = new RegexPartitionStateRepoGroupMeta(matchRecognizeSpec.getInterval() != null,
                     ExprNodeUtility.toArray(matchRecognizeSpec.getPartitionByExpressions()),
-                    ExprNodeUtility.getEvaluators(matchRecognizeSpec.getPartitionByExpressions()), agentInstanceContext);
+                    ExprNodeUtility.getEvaluators(matchRecognizeSpec.getPartitionByExpressions()), agentInstanceContext,
+                    factory.getPartitionEvictAgedTime(), factory.getPartitionEvictMaxCount(), agentInstanceContext.getStatementContext().getMatchRecognizeStatePoolStmtSvc());
             regexPartitionStateRepo = repoFactory.makePartitioned(prevGetter, stateRepoGroupMeta, agentInstanceContext, this, matchRecognizeSpec.getInterval() != null, terminationStateCompare);
         }
     }
@@ -787,6 +794,9 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                                           int currentEventSequenceNumber,
                                           Object partitionKey) {
         List<RegexNFAStateEntry> terminationStates = null;  // always null or a list of entries (no singleton list)
+        if (transitionTable != null) {
+            transitionTable.reset();
+        }
 
         // handle current state matching
         for (; currentStatesIterator.hasNext(); ) {
@@ -808,7 +818,8 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                 eventsPerStream[numEventsEventsPerStreamDefine - 1] = getMultimatchState(currentState);
             }
 
-            if (currentState.getState().matches(eventsPerStream, agentInstanceContext)) {
+            boolean matches = transitionTable == null ? currentState.getState().matches(eventsPerStream, agentInstanceContext) : transitionTable.matches(currentState.getState(), eventsPerStream, agentInstanceContext);
+            if (matches) {
                 if (isRetainEventSet) {
                     this.windowMatchedEventset.add(theEvent);
                 }
@@ -900,11 +911,10 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
                 InstrumentationHelper.get().qRegExStateStart(startState, variableStreams, multimatchStreamNumToVariable);
             }
 
-            EventBean[] eventsPerStream = new EventBean[numEventsEventsPerStreamDefine];
             int currentStateStreamNum = startState.getStreamNum();
-            eventsPerStream[currentStateStreamNum] = theEvent;
+            EventBean[] eventsPerStream = matchStartState(startState, currentStateStreamNum, theEvent);
 
-            if (startState.matches(eventsPerStream, agentInstanceContext)) {
+            if (eventsPerStream != null) {
                 if (isRetainEventSet) {
                     this.windowMatchedEventset.add(theEvent);
                 }
@@ -969,6 +979,27 @@ public class EventRowRegexNFAView extends ViewSupport implements StopCallback, E
         return terminationStates;   // only for immediate use, not for scheduled use as no copy of state
     }
 
+    /**
+     * Returns the events for a new state entry of a start state, or null if the event does not match the start state.
+     */
+    private EventBean[] matchStartState(RegexNFAState startState, int streamNum, EventBean theEvent) {
+        if (transitionTable != null && transitionTable.isEventLocal(startState)) {
+            // the condition only depends on the current event, evaluate before allocating
+            startStateEventsPerStream[streamNum] = theEvent;
+            boolean matches = transitionTable.matches(startState, startStateEventsPerStream, agentInstanceContext);
+            startStateEventsPerStream[streamNum] = null;
+            if (!matches) {
+                return null;
+            }
+            EventBean[] eventsPerStream = new EventBean[numEventsEventsPerStreamDefine];
+            eventsPerStream[streamNum] = theEvent;
+            return eventsPerStream;
+        }
+        EventBean[] eventsPerStream = new EventBean[numEventsEventsPerStreamDefine];
+        eventsPerStream[streamNum] = theEvent;
+        return startState.matches(eventsPerStream, agentInstanceContext) ? eventsPerStream : null;
+    }
+
     private ObjectArrayBackedEventBean getMultimatchState(RegexNFAStateEntry currentState) {
         if (currentState.getOptionalMultiMatches() == null || !currentState.getState().isExprRequiresMultimatchState()) {
             return null;
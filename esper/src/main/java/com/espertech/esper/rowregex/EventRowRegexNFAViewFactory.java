@@ -12,6 +12,7 @@ package com.espertech.esper.rowregex;
 
 import com.espertech.esper.client.ConfigurationEngineDefaults;
 import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.annotation.Hint;
 import com.espertech.esper.client.annotation.HintEnum;
 import com.espertech.esper.collection.Pair;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
@@ -29,10 +30,12 @@ import com.espertech.esper.epl.expression.baseagg.ExprAggregateNodeUtil;
 import com.espertech.esper.epl.expression.core.*;
 import com.espertech.esper.epl.expression.prev.ExprPreviousMatchRecognizeNode;
 import com.espertech.esper.epl.expression.prev.ExprPreviousNode;
+import com.espertech.esper.epl.expression.visitor.ExprNodeFunctionCallVisitor;
 import com.espertech.esper.epl.expression.visitor.ExprNodeIdentifierVisitor;
 import com.espertech.esper.epl.expression.visitor.ExprNodePreviousVisitorWParent;
 import com.espertech.esper.epl.expression.visitor.ExprNodeStreamRequiredVisitor;
 import com.espertech.esper.epl.expression.visitor.ExprNodeStreamUseCollectVisitor;
+import com.espertech.esper.epl.expression.visitor.ExprNodeSubselectDeclaredDotVisitor;
 import com.espertech.esper.epl.spec.MatchRecognizeDefineItem;
 import com.espertech.esper.epl.spec.MatchRecognizeMeasureItem;
 import com.espertech.esper.epl.spec.MatchRecognizeSpec;
@@ -63,8 +66,11 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
     protected final boolean isDefineAsksMultimatches;
     protected final ObjectArrayBackedEventBean defineMultimatchEventBean;
     protected final boolean[] isExprRequiresMultimatchState;
+    protected final boolean[] isDefineEventLocal;
     protected final RowRegexExprNode expandedPatternNode;
     protected final ConfigurationEngineDefaults.MatchRecognize matchRecognizeConfig;
+    protected final long partitionEvictAgedTime;
+    protected final int partitionEvictMaxCount;
 
     /**
      * Ctor.
@@ -86,6 +92,15 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
         this.matchRecognizeConfig = matchRecognizeConfig;
         StatementContext statementContext = agentInstanceContext.getStatementContext();
 
+        // determine partition eviction
+        Double partitionAgedSeconds = getHintNumber(HintEnum.MATCHRECOG_PARTITION_AGED, annotations);
+        this.partitionEvictAgedTime = partitionAgedSeconds == null ? -1 : statementContext.getTimeAbacus().deltaForSecondsDouble(partitionAgedSeconds);
+        Double partitionMax = getHintNumber(HintEnum.MATCHRECOG_PARTITION_MAX, annotations);
+        this.partitionEvictMaxCount = partitionMax == null ? -1 : partitionMax.intValue();
+        if ((partitionEvictAgedTime != -1 || partitionEvictMaxCount != -1) && matchRecognizeSpec.getPartitionByExpressions().isEmpty()) {
+            throw new ExprValidationException("Hint '" + (partitionEvictAgedTime != -1 ? HintEnum.MATCHRECOG_PARTITION_AGED : HintEnum.MATCHRECOG_PARTITION_MAX) + "' requires match-recognize partition-by");
+        }
+
         // Expand repeats and permutations
         expandedPatternNode = RegexPatternExpandUtil.expand(matchRecognizeSpec.getPattern());
 
@@ -137,6 +152,8 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
         List<ExprAggregateNode> aggregateNodes = new ArrayList<ExprAggregateNode>();
         ExprEvaluatorContextStatement exprEvaluatorContext = new ExprEvaluatorContextStatement(statementContext, false);
         this.isExprRequiresMultimatchState = new boolean[variableStreams.size()];
+        boolean[] defineEventLocal = new boolean[variableStreams.size()];
+        Arrays.fill(defineEventLocal, true);
 
         for (int defineIndex = 0; defineIndex < matchRecognizeSpec.getDefines().size(); defineIndex++) {
             MatchRecognizeDefineItem defineItem = matchRecognizeSpec.getDefines().get(defineIndex);
@@ -170,14 +187,30 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
             ExprNodeStreamRequiredVisitor visitor = new ExprNodeStreamRequiredVisitor();
             validated.accept(visitor);
             Set<Integer> streamsRequired = visitor.getStreamsRequired();
+            int streamNumDefine = variableStreams.get(defineItem.getIdentifier()).getFirst();
             for (int streamRequired : streamsRequired) {
                 if (streamRequired >= variableStreams.size()) {
-                    int streamNumIdent = variableStreams.get(defineItem.getIdentifier()).getFirst();
-                    isExprRequiresMultimatchState[streamNumIdent] = true;
+                    isExprRequiresMultimatchState[streamNumDefine] = true;
                     break;
                 }
             }
+
+            // determine whether the condition only depends on the current event, and not on events matched by other variables
+            // or on application code that may return a different result for each partial match
+            ExprNodeSubselectDeclaredDotVisitor subselectVisitor = new ExprNodeSubselectDeclaredDotVisitor();
+            validated.accept(subselectVisitor);
+            ExprNodeFunctionCallVisitor functionCallVisitor = new ExprNodeFunctionCallVisitor();
+            validated.accept(functionCallVisitor);
+            if (!subselectVisitor.getSubselects().isEmpty() || functionCallVisitor.isHasFunctionCall() || isExprRequiresMultimatchState[streamNumDefine]) {
+                defineEventLocal[streamNumDefine] = false;
+            }
+            for (int streamRequired : streamsRequired) {
+                if (streamRequired != streamNumDefine) {
+                    defineEventLocal[streamNumDefine] = false;
+                }
+            }
         }
+        this.isDefineEventLocal = HintEnum.DISABLE_MATCHRECOG_TRANSITION_TABLE.getHint(annotations) != null ? null : defineEventLocal;
         isDefineAsksMultimatches = CollectionUtil.isAnySet(isExprRequiresMultimatchState);
         defineMultimatchEventBean = isDefineAsksMultimatches ? EventRowRegexNFAViewFactoryHelper.getDefineMultimatchBean(statementContext, variableStreams, parentViewType) : null;
 
@@ -428,6 +461,7 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
                 isDefineAsksMultimatches,
                 defineMultimatchEventBean,
                 isExprRequiresMultimatchState,
+                isDefineEventLocal,
                 isUnbound,
                 isIterateOnly,
                 isCollectMultimatches,
@@ -443,6 +477,24 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
         return view;
     }
 
+    /**
+     * Returns the time after which a partition without partial matches that receives no events is evicted, or -1 if not evicting by time.
+     *
+     * @return time in the engine time unit
+     */
+    public long getPartitionEvictAgedTime() {
+        return partitionEvictAgedTime;
+    }
+
+    /**
+     * Returns the number of partitions above which least-recently used partitions without partial matches are evicted, or -1 if not evicting by count.
+     *
+     * @return maximum number of partitions
+     */
+    public int getPartitionEvictMaxCount() {
+        return partitionEvictMaxCount;
+    }
+
     public EventType getEventType() {
         return rowEventType;
     }
@@ -471,4 +523,25 @@ public class EventRowRegexNFAViewFactory extends ViewFactorySupport {
     public String getViewName() {
         return "Match-recognize";
     }
+
+    private static Double getHintNumber(HintEnum hintEnum, Annotation[] annotations) throws ExprValidationException {
+        Hint hint = hintEnum.getHint(annotations);
+        if (hint == null) {
+            return null;
+        }
+        String hintValue = hintEnum.getHintAssignedValue(hint);
+        if (hintValue == null) {
+            throw new ExprValidationException("Required hint value for hint '" + hintEnum + "' has not been provided");
+        }
+        double value;
+        try {
+            value = Double.parseDouble(hintValue);
+        } catch (RuntimeException ex) {
+            throw new ExprValidationException("Required hint value for hint '" + hintEnum + "' value '" + hintValue + "' could not be parsed as a double value");
+        }
+        if (value <= 0) {
+            throw new ExprValidationException("Hint value for hint '" + hintEnum + "' must be a positive number but received '" + hintValue + "'");
+        }
+        return value;
+    }
 }
@@ -12,6 +12,7 @@ package com.espertech.esper.rowregex;
 
 import com.espertech.esper.client.hook.ConditionMatchRecognizeStatesMax;
 import com.espertech.esper.core.context.util.AgentInstanceContext;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.util.ExecutionPathDebugLog;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,12 +26,14 @@ public class MatchRecognizeStatePoolEngineSvc {
     private volatile long maxPoolCountConfigured;
     private final boolean preventStart;
     private final AtomicLong poolCount;
+    private final AtomicLong partitionsEvictedCount;
     private final Set<StatementEntry> matchRecognizeContexts;
 
     public MatchRecognizeStatePoolEngineSvc(long maxPoolCountConfigured, boolean preventStart) {
         this.maxPoolCountConfigured = maxPoolCountConfigured;
         this.preventStart = preventStart;
         this.poolCount = new AtomicLong();
+        this.partitionsEvictedCount = new AtomicLong();
         this.matchRecognizeContexts = Collections.synchronizedSet(new HashSet<StatementEntry>());
     }
 
@@ -97,6 +100,29 @@ public class MatchRecognizeStatePoolEngineSvc {
         logDecrease(agentInstanceContext, newMax);
     }
 
+    /**
+     * Counts partitions that were evicted for having no partial matches.
+     *
+     * @param exprEvaluatorContext context
+     * @param numEvicted           number of partitions evicted
+     */
+    public void increasePartitionsEvicted(ExprEvaluatorContext exprEvaluatorContext, int numEvicted) {
+        long total = partitionsEvictedCount.addAndGet(numEvicted);
+        if ((ExecutionPathDebugLog.isDebugEnabled) && log.isDebugEnabled()) {
+            String stmtName = exprEvaluatorContext.getStatementName();
+            log.debug(".increasePartitionsEvicted For statement '" + stmtName + "' evicted " + numEvicted + " partitions, engine total " + total);
+        }
+    }
+
+    /**
+     * Returns the number of partitions evicted, engine-wide.
+     *
+     * @return count of evicted partitions
+     */
+    public long getPartitionsEvictedCount() {
+        return partitionsEvictedCount.get();
+    }
+
     private void logDecrease(AgentInstanceContext agentInstanceContext, long newMax) {
         if ((ExecutionPathDebugLog.isDebugEnabled) && log.isDebugEnabled()) {
             MatchRecognizeStatePoolStmtHandler stmtHandler = agentInstanceContext.getStatementContext().getMatchRecognizeStatePoolStmtSvc().getStmtHandler();
@@ -13,11 +13,25 @@ package com.espertech.esper.rowregex;
 public class MatchRecognizeStatePoolStmtHandler {
 
     private int count;
+    private long countPartitionsEvicted;
 
     public int getCount() {
         return count;
     }
 
+    /**
+     * Returns the number of partitions evicted for having no partial matches.
+     *
+     * @return count of evicted partitions
+     */
+    public long getCountPartitionsEvicted() {
+        return countPartitionsEvicted;
+    }
+
+    public void increasePartitionsEvicted(int num) {
+        countPartitionsEvicted += num;
+    }
+
     public void decreaseCount() {
         count--;
         if (count < 0) {
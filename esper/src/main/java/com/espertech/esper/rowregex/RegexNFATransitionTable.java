@@ -0,0 +1,126 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.rowregex;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
+
+import java.util.Arrays;
+
+/**
+ * Table-driven evaluation of the transitions of the states of the NFA for a given event.
+ * <p>
+ * Each state is identified by its flat node number. A state of a variable whose define-clause condition only depends on the
+ * current event, and not on events matched by other variables, maps to the stream number of the variable. For such states
+ * the condition is evaluated at most once per event and the result is looked up for all further states and state entries
+ * of the same variable. States of other variables map to no stream and their condition is evaluated for each state entry
+ * by the NFA as before.
+ * </p>
+ * <p>
+ * When the conditions of all variables only depend on the current event the NFA is deterministic for a given event,
+ * i.e. the set of next states of each state only depends on the event, and evaluating an event costs one condition
+ * evaluation per variable regardless of the number of active state entries.
+ * </p>
+ */
+public class RegexNFATransitionTable {
+    private static final byte UNEVALUATED = 0;
+    private static final byte TRUE = 1;
+    private static final byte FALSE = 2;
+
+    private final int[] streamPerState;
+    private final byte[] resultPerStream;
+    private final boolean deterministic;
+
+    private RegexNFATransitionTable(int[] streamPerState, int numStreams, boolean deterministic) {
+        this.streamPerState = streamPerState;
+        this.resultPerStream = new byte[numStreams];
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Builds a table for the states.
+     *
+     * @param allStates          all states
+     * @param isDefineEventLocal indicator per stream whether the variable condition only depends on the current event
+     * @param numStreams         number of variable streams
+     * @return table or null if no state has a condition that only depends on the current event
+     */
+    public static RegexNFATransitionTable make(RegexNFAState[] allStates, boolean[] isDefineEventLocal, int numStreams) {
+        if (isDefineEventLocal == null) {
+            return null;
+        }
+        int[] streamPerState = new int[allStates.length];
+        boolean any = false;
+        boolean all = true;
+        for (RegexNFAState state : allStates) {
+            int stream = state.getStreamNum();
+            if (isDefineEventLocal[stream]) {
+                streamPerState[state.getNodeNumFlat()] = stream;
+                any = true;
+            } else {
+                streamPerState[state.getNodeNumFlat()] = -1;
+                all = false;
+            }
+        }
+        if (!any) {
+            return null;
+        }
+        return new RegexNFATransitionTable(streamPerState, numStreams, all);
+    }
+
+    /**
+     * Clears condition results, for use before evaluating a new event.
+     */
+    public void reset() {
+        Arrays.fill(resultPerStream, UNEVALUATED);
+    }
+
+    /**
+     * Returns true when the condition of the state only depends on the current event.
+     *
+     * @param state state
+     * @return indicator
+     */
+    public boolean isEventLocal(RegexNFAState state) {
+        return streamPerState[state.getNodeNumFlat()] != -1;
+    }
+
+    /**
+     * Returns true when the conditions of all states only depend on the current event.
+     *
+     * @return indicator
+     */
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Returns the state condition result for the current event, evaluating the condition only if the result is not already known.
+     *
+     * @param state                 state
+     * @param eventsPerStream       events
+     * @param exprEvaluatorContext  context
+     * @return indicator whether the event matches the state
+     */
+    public boolean matches(RegexNFAState state, EventBean[] eventsPerStream, ExprEvaluatorContext exprEvaluatorContext) {
+        int stream = streamPerState[state.getNodeNumFlat()];
+        if (stream == -1) {
+            return state.matches(eventsPerStream, exprEvaluatorContext);
+        }
+        byte result = resultPerStream[stream];
+        if (result == UNEVALUATED) {
+            boolean matches = state.matches(eventsPerStream, exprEvaluatorContext);
+            resultPerStream[stream] = matches ? TRUE : FALSE;
+            return matches;
+        }
+        return result == TRUE;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.rowregex;
+
+import com.espertech.esper.collection.MultiKeyUntyped;
+
+import java.util.Arrays;
+
+/**
+ * Reusable lookup key for partitions keyed by {@link MultiKeyUntyped}, for looking up the partition of an event without
+ * allocating a multi-key for each event.
+ * <p>
+ * The probe has the same hash code as a multi-key of the same key objects and equals such multi-key,
+ * for use as the argument to {@link java.util.Map#get(Object)}. The probe must not itself be used as a map key,
+ * use {@link #toMultiKey()} instead.
+ * </p>
+ */
+public class RegexPartitionMultiKeyProbe {
+    private final Object[] keys;
+    private int hashCode;
+
+    /**
+     * Ctor.
+     *
+     * @param numKeys number of key objects
+     */
+    public RegexPartitionMultiKeyProbe(int numKeys) {
+        this.keys = new Object[numKeys];
+    }
+
+    /**
+     * Returns the key objects for assignment, to be followed by a call to {@link #computeHashCode()}.
+     *
+     * @return keys
+     */
+    public Object[] getKeys() {
+        return keys;
+    }
+
+    /**
+     * Computes the hash code after the key objects have been assigned.
+     */
+    public void computeHashCode() {
+        hashCode = MultiKeyUntyped.computeHashCode(keys);
+    }
+
+    /**
+     * Returns a new multi-key for the current key objects.
+     *
+     * @return multi-key
+     */
+    public MultiKeyUntyped toMultiKey() {
+        return new MultiKeyUntyped(Arrays.copyOf(keys, keys.length));
+    }
+
+    public boolean equals(Object other) {
+        if (other instanceof MultiKeyUntyped) {
+            return Arrays.equals(keys, ((MultiKeyUntyped) other).getKeys());
+        }
+        return false;
+    }
+
+    public int hashCode() {
+        return hashCode;
+    }
+}
@@ -13,6 +13,7 @@ package com.espertech.esper.rowregex;
 import com.espertech.esper.client.EventBean;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -23,6 +24,7 @@ public class RegexPartitionStateImpl implements RegexPartitionState {
     private RegexPartitionStateRandomAccess randomAccess;
     private List<RegexNFAStateEntry> currentStates = new ArrayList<RegexNFAStateEntry>();
     private Object optionalKeys;
+    private long lastAccess;
 
     /**
      * Ctor.
@@ -87,7 +89,8 @@ public class RegexPartitionStateImpl implements RegexPartitionState {
      * @param currentStates state to set
      */
     public void setCurrentStates(List<RegexNFAStateEntry> currentStates) {
-        this.currentStates = currentStates;
+        // idle partitions share the empty list rather than retaining an empty list instance each
+        this.currentStates = currentStates.isEmpty() ? Collections.<RegexNFAStateEntry>emptyList() : currentStates;
     }
 
     /**
@@ -137,6 +140,24 @@ public class RegexPartitionStateImpl implements RegexPartitionState {
         return currentSize - keepList.size();
     }
 
+    /**
+     * Returns the engine time or access sequence at which the partition last received an event, for use with eviction.
+     *
+     * @return last access
+     */
+    public long getLastAccess() {
+        return lastAccess;
+    }
+
+    /**
+     * Sets the engine time or access sequence at which the partition last received an event, for use with eviction.
+     *
+     * @param lastAccess last access
+     */
+    public void setLastAccess(long lastAccess) {
+        this.lastAccess = lastAccess;
+    }
+
     public int getNumStates() {
         return currentStates.size();
     }
@@ -11,7 +11,10 @@
 package com.espertech.esper.rowregex;
 
 import com.espertech.esper.client.EventBean;
+import com.espertech.esper.collection.IntKeyOpenHashMap;
+import com.espertech.esper.collection.LongKeyOpenHashMap;
 import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.collection.StringKeyOpenHashMap;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
@@ -34,6 +37,9 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
 
     private int currentCollectionSize = INITIAL_COLLECTION_MIN;
     private int eventSequenceNumber;
+    private long accessSequenceNumber;
+    private Long nextAgedSweepTime;
+    private int evictCheckSize;
 
     public RegexPartitionStateRepoGroup(RegexPartitionStateRandomAccessGetter getter,
                                         RegexPartitionStateRepoGroupMeta meta,
@@ -41,8 +47,9 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
                                         RegexPartitionTerminationStateComparator terminationStateCompare) {
         this.getter = getter;
         this.meta = meta;
-        this.states = new HashMap<Object, RegexPartitionStateImpl>();
+        this.states = newStatesMap(meta.getSpecializedKeyType());
         this.optionalIntervalSchedules = keepScheduleState ? new RegexPartitionStateRepoScheduleStateImpl(terminationStateCompare) : null;
+        this.evictCheckSize = meta.getEvictMaxCount();
     }
 
     public int incrementAndGetEventSequenceNum() {
@@ -65,7 +72,9 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
     public RegexPartitionStateRepo copyForIterate(boolean forOutOfOrderReprocessing) {
         RegexPartitionStateRepoGroup copy = new RegexPartitionStateRepoGroup(getter, meta, false, null);
         for (Map.Entry<Object, RegexPartitionStateImpl> entry : states.entrySet()) {
-            copy.states.put(entry.getKey(), new RegexPartitionStateImpl(entry.getValue().getRandomAccess(), entry.getKey()));
+            RegexPartitionStateImpl state = new RegexPartitionStateImpl(entry.getValue().getRandomAccess(), entry.getKey());
+            state.setLastAccess(entry.getValue().getLastAccess());
+            copy.states.put(entry.getKey(), state);
         }
         return copy;
     }
@@ -89,7 +98,7 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
             if (getter != null) {
                 // we will need to remove event-by-event
                 for (int i = 0; i < oldData.length; i++) {
-                    RegexPartitionStateImpl partitionState = getState(oldData[i], true);
+                    RegexPartitionStateImpl partitionState = lookupState(oldData[i]);
                     if (partitionState == null) {
                         continue;
                     }
@@ -103,7 +112,7 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
         // we will need to remove event-by-event
         int countRemoved = 0;
         for (int i = 0; i < oldData.length; i++) {
-            RegexPartitionStateImpl partitionState = getState(oldData[i], true);
+            RegexPartitionStateImpl partitionState = lookupState(oldData[i]);
             if (partitionState == null) {
                 continue;
             }
@@ -151,17 +160,43 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
             }
         }
 
-        Object key = getKeys(theEvent, meta);
+        boolean isEvict = meta.getEvictAgedTime() != -1 || meta.getEvictMaxCount() != -1;
+        long access = 0;
+        if (isEvict) {
+            access = meta.getEvictAgedTime() != -1 ? meta.getExprEvaluatorContext().getTimeProvider().getTime() : ++accessSequenceNumber;
+        }
+
+        Object key;
+        RegexPartitionMultiKeyProbe probe = meta.getMultiKeyProbe();
+        if (probe == null) {
+            key = getKeys(theEvent, meta);
+        } else {
+            assignKeys(theEvent, meta, probe);
+            key = probe;
+        }
 
         RegexPartitionStateImpl state = states.get(key);
         if (state != null) {
+            if (isEvict) {
+                state.setLastAccess(access);
+                if (isCollect) {
+                    evict(access, state);
+                }
+            }
             if (InstrumentationHelper.ENABLED) {
                 InstrumentationHelper.get().aRegExPartition(true, state);
             }
             return state;
         }
 
-        state = new RegexPartitionStateImpl(getter, new ArrayList<RegexNFAStateEntry>(), key);
+        if (isEvict && isCollect) {
+            evict(access, null);
+        }
+        if (probe != null) {
+            key = probe.toMultiKey();
+        }
+        state = new RegexPartitionStateImpl(getter, Collections.<RegexNFAStateEntry>emptyList(), key);
+        state.setLastAccess(access);
         states.put(key, state);
 
         if (InstrumentationHelper.ENABLED) {
@@ -170,6 +205,16 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
         return state;
     }
 
+    // removal of old events is not access to the partition: no last-access update, no eviction and no new state
+    private RegexPartitionStateImpl lookupState(EventBean theEvent) {
+        RegexPartitionMultiKeyProbe probe = meta.getMultiKeyProbe();
+        if (probe == null) {
+            return states.get(getKeys(theEvent, meta));
+        }
+        assignKeys(theEvent, meta, probe);
+        return states.get(probe);
+    }
+
     public void accept(EventRowRegexNFAViewServiceVisitor visitor) {
         visitor.visitPartitioned((Map) states);
     }
@@ -222,6 +267,94 @@ public class RegexPartitionStateRepoGroup implements RegexPartitionStateRepo {
         return new MultiKeyUntyped(keys);
     }
 
+    private static void assignKeys(EventBean theEvent, RegexPartitionStateRepoGroupMeta meta, RegexPartitionMultiKeyProbe probe) {
+        EventBean[] eventsPerStream = meta.getEventsPerStream();
+        eventsPerStream[0] = theEvent;
+
+        ExprEvaluator[] partitionExpressions = meta.getPartitionExpressions();
+        Object[] keys = probe.getKeys();
+        ExprEvaluatorContext exprEvaluatorContext = meta.getExprEvaluatorContext();
+        for (int i = 0; i < partitionExpressions.length; i++) {
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().qExprValue(meta.getPartitionExpressionNodes()[i], eventsPerStream);
+            }
+            keys[i] = partitionExpressions[i].evaluate(eventsPerStream, true, exprEvaluatorContext);
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aExprValue(keys[i]);
+            }
+        }
+        probe.computeHashCode();
+    }
+
+    private void evict(long access, RegexPartitionStateImpl accessed) {
+        int numEvicted = 0;
+
+        // evict partitions without partial matches that have not received events within the configured time
+        if (meta.getEvictAgedTime() != -1 && (nextAgedSweepTime == null || nextAgedSweepTime <= access)) {
+            long evictBefore = access - meta.getEvictAgedTime();
+            List<Object> removeList = null;
+            for (Map.Entry<Object, RegexPartitionStateImpl> entry : states.entrySet()) {
+                RegexPartitionStateImpl state = entry.getValue();
+                if (state != accessed && state.isEmptyCurrentState() && state.getLastAccess() <= evictBefore) {
+                    if (removeList == null) {
+                        removeList = new ArrayList<Object>();
+                    }
+                    removeList.add(entry.getKey());
+                }
+            }
+            if (removeList != null) {
+                for (Object removeKey : removeList) {
+                    states.remove(removeKey);
+                }
+                numEvicted += removeList.size();
+            }
+            nextAgedSweepTime = access + meta.getEvictAgedTime();
+        }
+
+        // evict least-recently used partitions without partial matches down to three quarters of the configured maximum
+        if (meta.getEvictMaxCount() != -1 && states.size() >= evictCheckSize) {
+            List<RegexPartitionStateImpl> idle = new ArrayList<RegexPartitionStateImpl>();
+            for (Map.Entry<Object, RegexPartitionStateImpl> entry : states.entrySet()) {
+                if (entry.getValue() != accessed && entry.getValue().isEmptyCurrentState()) {
+                    idle.add(entry.getValue());
+                }
+            }
+            int lowWater = meta.getEvictMaxCount() - meta.getEvictMaxCount() / 4;
+            int numRemove = Math.min(idle.size(), states.size() - lowWater);
+            if (numRemove > 0) {
+                Collections.sort(idle, LAST_ACCESS_COMPARATOR);
+                for (int i = 0; i < numRemove; i++) {
+                    states.remove(idle.get(i).getOptionalKeys());
+                }
+                numEvicted += numRemove;
+            }
+            // when partitions with partial matches remain above the maximum, check again only after further partitions get added
+            evictCheckSize = states.size() <= lowWater ? meta.getEvictMaxCount() : states.size() + meta.getEvictMaxCount() / 4 + 1;
+        }
+
+        if (numEvicted > 0 && meta.getOptionalPoolSvc() != null) {
+            meta.getOptionalPoolSvc().getEngineSvc().increasePartitionsEvicted(meta.getExprEvaluatorContext(), numEvicted);
+            meta.getOptionalPoolSvc().getStmtHandler().increasePartitionsEvicted(numEvicted);
+        }
+    }
+
+    private static Map<Object, RegexPartitionStateImpl> newStatesMap(Class keyType) {
+        if (keyType == Long.class) {
+            return new LongKeyOpenHashMap<RegexPartitionStateImpl>();
+        } else if (keyType == Integer.class) {
+            return new IntKeyOpenHashMap<RegexPartitionStateImpl>();
+        } else if (keyType == String.class) {
+            return new StringKeyOpenHashMap<RegexPartitionStateImpl>();
+        }
+        return new HashMap<Object, RegexPartitionStateImpl>();
+    }
+
+    private static final Comparator<RegexPartitionStateImpl> LAST_ACCESS_COMPARATOR = new Comparator<RegexPartitionStateImpl>() {
+        public int compare(RegexPartitionStateImpl o1, RegexPartitionStateImpl o2) {
+            return o1.getLastAccess() < o2.getLastAccess() ? -1 : (o1.getLastAccess() == o2.getLastAccess() ? 0 : 1);
+        }
+    };
+
     public void destroy() {
     }
 }
\ No newline at end of file
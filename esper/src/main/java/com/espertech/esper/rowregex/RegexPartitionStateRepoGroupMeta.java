@@ -14,6 +14,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.epl.expression.core.ExprNode;
+import com.espertech.esper.util.JavaClassHelper;
 
 public class RegexPartitionStateRepoGroupMeta {
     private final boolean hasInterval;
@@ -21,12 +22,35 @@ public class RegexPartitionStateRepoGroupMeta {
     private final ExprEvaluator[] partitionExpressions;
     private final ExprEvaluatorContext exprEvaluatorContext;
     private final EventBean[] eventsPerStream = new EventBean[1];
+    private final RegexPartitionMultiKeyProbe multiKeyProbe;
+    private final long evictAgedTime;
+    private final int evictMaxCount;
+    private final MatchRecognizeStatePoolStmtSvc optionalPoolSvc;
 
     public RegexPartitionStateRepoGroupMeta(boolean hasInterval, ExprNode[] partitionExpressionNodes, ExprEvaluator[] partitionExpressions, ExprEvaluatorContext exprEvaluatorContext) {
+        this(hasInterval, partitionExpressionNodes, partitionExpressions, exprEvaluatorContext, -1, -1, null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param hasInterval              indicator whether an interval is specified
+     * @param partitionExpressionNodes partition-by expressions
+     * @param partitionExpressions     partition-by evaluators
+     * @param exprEvaluatorContext     context
+     * @param evictAgedTime            time after which a partition without partial matches that receives no events is evicted, or -1
+     * @param evictMaxCount            number of partitions above which least-recently used partitions without partial matches are evicted, or -1
+     * @param optionalPoolSvc          state counters for reporting evictions, if counting states
+     */
+    public RegexPartitionStateRepoGroupMeta(boolean hasInterval, ExprNode[] partitionExpressionNodes, ExprEvaluator[] partitionExpressions, ExprEvaluatorContext exprEvaluatorContext, long evictAgedTime, int evictMaxCount, MatchRecognizeStatePoolStmtSvc optionalPoolSvc) {
         this.hasInterval = hasInterval;
         this.partitionExpressionNodes = partitionExpressionNodes;
         this.partitionExpressions = partitionExpressions;
         this.exprEvaluatorContext = exprEvaluatorContext;
+        this.multiKeyProbe = partitionExpressions.length > 1 ? new RegexPartitionMultiKeyProbe(partitionExpressions.length) : null;
+        this.evictAgedTime = evictAgedTime;
+        this.evictMaxCount = evictMaxCount;
+        this.optionalPoolSvc = optionalPoolSvc;
     }
 
     public boolean isHasInterval() {
@@ -48,4 +72,41 @@ public class RegexPartitionStateRepoGroupMeta {
     public EventBean[] getEventsPerStream() {
         return eventsPerStream;
     }
-}
\ No newline at end of file
+
+    /**
+     * Returns the reusable lookup key when partitioning by multiple expressions.
+     *
+     * @return probe or null when partitioning by a single expression
+     */
+    public RegexPartitionMultiKeyProbe getMultiKeyProbe() {
+        return multiKeyProbe;
+    }
+
+    /**
+     * Returns the key type when partitioning by a single expression returning int, long or string values.
+     *
+     * @return key type or null for any other type or multiple expressions
+     */
+    public Class getSpecializedKeyType() {
+        if (partitionExpressions.length != 1) {
+            return null;
+        }
+        Class type = JavaClassHelper.getBoxedType(partitionExpressions[0].getType());
+        if (type == Integer.class || type == Long.class || type == String.class) {
+            return type;
+        }
+        return null;
+    }
+
+    public long getEvictAgedTime() {
+        return evictAgedTime;
+    }
+
+    public int getEvictMaxCount() {
+        return evictMaxCount;
+    }
+
+    public MatchRecognizeStatePoolStmtSvc getOptionalPoolSvc() {
+        return optionalPoolSvc;
+    }
+}
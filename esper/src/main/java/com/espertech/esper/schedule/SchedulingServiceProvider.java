@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.schedule;
 
+import com.espertech.esper.client.ConfigurationEngineDefaults;
 import com.espertech.esper.timer.TimeSourceService;
 
 /**
@@ -25,4 +26,18 @@ public final class SchedulingServiceProvider {
     public static SchedulingServiceSPI newService(TimeSourceService timeSourceService) {
         return new SchedulingServiceImpl(timeSourceService);
     }
+
+    /**
+     * Creates an implementation of the SchedulingService interface.
+     *
+     * @param schedulingServiceProfile config
+     * @param timeSourceService        time source provider
+     * @return implementation
+     */
+    public static SchedulingServiceSPI newService(ConfigurationEngineDefaults.SchedulingServiceProfile schedulingServiceProfile, TimeSourceService timeSourceService) {
+        if (schedulingServiceProfile == ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheelImpl(timeSourceService);
+        }
+        return new SchedulingServiceImpl(timeSourceService);
+    }
 }
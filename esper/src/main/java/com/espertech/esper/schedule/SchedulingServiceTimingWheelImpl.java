@@ -0,0 +1,501 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.schedule;
+
+import com.espertech.esper.client.util.DateTime;
+import com.espertech.esper.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.metrics.jmx.JmxGetter;
+import com.espertech.esper.timer.TimeSourceService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+/**
+ * Implements the schedule service as a hierarchical timing wheel.
+ * <p>
+ * The wheel has a level for each byte of the trigger time, each level having a bucket per byte value.
+ * A schedule is placed into the level of the most significant byte in which its trigger time differs from the
+ * wheel time, so that adding and removing a schedule is constant-time. Advancing time visits only non-empty buckets
+ * and moves their schedules to lower levels until a schedule reaches the trigger time.
+ * <p>
+ * Handles that trigger at the same evaluation are returned ordered by trigger time and then schedule slot,
+ * the same as {@link SchedulingServiceImpl}.
+ * <p>
+ * Synchronized since statement creation and event evaluation by multiple (event send) threads
+ * can lead to callbacks added/removed asynchronously.
+ */
+public final class SchedulingServiceTimingWheelImpl implements SchedulingServiceSPI {
+    private static final int BITS_PER_LEVEL = 8;
+    private static final int NUM_BUCKETS = 1 << BITS_PER_LEVEL;
+    private static final int BUCKET_MASK = NUM_BUCKETS - 1;
+    private static final int NUM_LEVELS = 64 / BITS_PER_LEVEL;
+    private static final int LEVEL_DUE = -1;
+    private static final int MAX_FREE_ENTRIES = 1024;
+
+    private static final Comparator<Entry> TIME_SLOT_COMPARATOR = new Comparator<Entry>() {
+        public int compare(Entry o1, Entry o2) {
+            int result = Long.compare(o1.time, o2.time);
+            return result != 0 ? result : Long.compare(o1.slot, o2.slot);
+        }
+    };
+
+    // Per level and bucket the head of a doubly-linked list of entries
+    private final Entry[][] buckets = new Entry[NUM_LEVELS][NUM_BUCKETS];
+
+    // Per level a bit set of non-empty buckets
+    private final long[][] occupied = new long[NUM_LEVELS][NUM_BUCKETS / 64];
+
+    // Map of handle and entry for removal
+    private final Map<ScheduleHandle, Entry> handleEntryMap = new HashMap<ScheduleHandle, Entry>();
+
+    // Entries at or before the wheel time
+    private Entry dueHead;
+
+    // Entries no longer in use, for reuse
+    private Entry freeHead;
+    private int freeCount;
+
+    private final ArrayList<Entry> dueSorted = new ArrayList<Entry>();
+
+    // Time that the wheel has advanced to, never after the current time
+    private long wheelTime;
+
+    // Nearest trigger time when known
+    private long nearestTime;
+    private boolean nearestValid;
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    /**
+     * Constructor.
+     *
+     * @param timeSourceService time source provider
+     */
+    public SchedulingServiceTimingWheelImpl(TimeSourceService timeSourceService) {
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.wheelTime = currentTime;
+    }
+
+    public synchronized void destroy() {
+        log.debug("Destroying scheduling service");
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            Arrays.fill(buckets[level], null);
+            Arrays.fill(occupied[level], 0);
+        }
+        handleEntryMap.clear();
+        dueHead = null;
+        freeHead = null;
+        freeCount = 0;
+        nearestValid = false;
+    }
+
+    public long getTime() {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public synchronized final void setTime(long currentTime) {
+        this.currentTime = currentTime;
+        if (currentTime < wheelTime) {
+            rewind(currentTime);
+        }
+    }
+
+    public synchronized final void add(long afterTime, ScheduleHandle handle, long slot)
+            throws ScheduleServiceException {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleAdd(currentTime, afterTime, handle, slot);
+        }
+        long triggerOnTime = currentTime + afterTime;
+
+        Entry entry = handleEntryMap.get(handle);
+        if (entry != null) {
+            unlink(entry);
+            if (nearestValid && entry.time == nearestTime) {
+                nearestValid = false;
+            }
+        } else {
+            entry = allocateEntry(handle);
+            handleEntryMap.put(handle, entry);
+        }
+        entry.time = triggerOnTime;
+        entry.slot = slot;
+        place(entry);
+
+        if (nearestValid && triggerOnTime < nearestTime) {
+            nearestTime = triggerOnTime;
+        }
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleAdd();
+        }
+    }
+
+    public synchronized final void remove(ScheduleHandle handle, long slot) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleRemove(handle, slot);
+        }
+        Entry entry = handleEntryMap.remove(handle);
+        if (entry == null) {
+            // If it already has been removed then that's fine;
+            // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aScheduleRemove();
+            }
+            return;
+        }
+        unlink(entry);
+        if (nearestValid && entry.time == nearestTime) {
+            nearestValid = false;
+        }
+        freeEntry(entry);
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleRemove();
+        }
+    }
+
+    public synchronized final void evaluate(Collection<ScheduleHandle> handles) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleEval(currentTime);
+        }
+        if (currentTime > wheelTime) {
+            advance(currentTime);
+        }
+
+        if (dueHead == null) {
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aScheduleEval(Collections.<ScheduleHandle>emptyList());
+            }
+            return;
+        }
+
+        // Order by time and slot
+        for (Entry entry = dueHead; entry != null; entry = entry.next) {
+            dueSorted.add(entry);
+        }
+        dueHead = null;
+        if (dueSorted.size() > 1) {
+            Collections.sort(dueSorted, TIME_SLOT_COMPARATOR);
+        }
+
+        for (Entry entry : dueSorted) {
+            handles.add(entry.handle);
+            handleEntryMap.remove(entry.handle);
+            freeEntry(entry);
+        }
+        dueSorted.clear();
+        nearestValid = false;
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleEval(handles);
+        }
+    }
+
+    public synchronized ScheduleSet take(Set<Integer> statementIds) {
+        List<Entry> entries = new ArrayList<Entry>();
+        for (Entry entry : handleEntryMap.values()) {
+            if (statementIds.contains(entry.handle.getStatementId())) {
+                entries.add(entry);
+            }
+        }
+        Collections.sort(entries, TIME_SLOT_COMPARATOR);
+
+        List<ScheduleSetEntry> list = new ArrayList<ScheduleSetEntry>(entries.size());
+        long currentTime = getTime();
+        for (Entry entry : entries) {
+            list.add(new ScheduleSetEntry(entry.time - currentTime, entry.slot, entry.handle));
+        }
+
+        for (ScheduleSetEntry entry : list) {
+            remove(entry.getHandle(), entry.getScheduleSlot());
+        }
+
+        return new ScheduleSet(list);
+    }
+
+    public synchronized void apply(ScheduleSet scheduleSet) {
+        for (ScheduleSetEntry entry : scheduleSet.getList()) {
+            add(entry.getTime(), entry.getHandle(), entry.getScheduleSlot());
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public synchronized int getTimeHandleCount() {
+        Set<Long> times = new HashSet<Long>();
+        for (Entry entry : handleEntryMap.values()) {
+            times.add(entry.time);
+        }
+        return times.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate() {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate() {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public synchronized Long getFurthestTimeHandle() {
+        if (handleEntryMap.isEmpty()) {
+            return null;
+        }
+        // the furthest entry is in the last non-empty bucket of the highest non-empty level
+        for (int level = NUM_LEVELS - 1; level >= 0; level--) {
+            int index = lastOccupied(level);
+            if (index != -1) {
+                return maxTime(buckets[level][index]);
+            }
+        }
+        return maxTime(dueHead);
+    }
+
+    public synchronized int getScheduleHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    public synchronized boolean isScheduled(ScheduleHandle handle) {
+        return handleEntryMap.containsKey(handle);
+    }
+
+    public synchronized Long getNearestTimeHandle() {
+        if (handleEntryMap.isEmpty()) {
+            return null;
+        }
+        if (!nearestValid) {
+            nearestTime = computeNearest();
+            nearestValid = true;
+        }
+        return nearestTime;
+    }
+
+    public synchronized void visitSchedules(ScheduleVisitor visitor) {
+        List<Entry> entries = new ArrayList<Entry>(handleEntryMap.values());
+        Collections.sort(entries, TIME_SLOT_COMPARATOR);
+
+        ScheduleVisit visit = new ScheduleVisit();
+        for (Entry entry : entries) {
+            visit.setTimestamp(entry.time);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    private void advance(long targetTime) {
+        while (true) {
+            // The earliest non-empty bucket is the first bucket after the wheel time in the lowest non-empty level
+            int level = 0;
+            int index = -1;
+            for (; level < NUM_LEVELS; level++) {
+                int shift = level * BITS_PER_LEVEL;
+                index = nextOccupied(level, ((int) (wheelTime >>> shift) & BUCKET_MASK) + 1);
+                if (index != -1) {
+                    break;
+                }
+            }
+            if (index == -1) {
+                wheelTime = targetTime;
+                return;
+            }
+
+            int shift = level * BITS_PER_LEVEL;
+            long prefix = level == NUM_LEVELS - 1 ? 0 : (wheelTime >>> (shift + BITS_PER_LEVEL)) << (shift + BITS_PER_LEVEL);
+            long bucketStart = prefix | ((long) index << shift);
+            if (bucketStart > targetTime) {
+                wheelTime = targetTime;
+                return;
+            }
+
+            // Move the wheel to the start of the bucket and redistribute the bucket's entries to lower levels
+            wheelTime = bucketStart;
+            Entry entry = buckets[level][index];
+            buckets[level][index] = null;
+            occupied[level][index >>> 6] &= ~(1L << index);
+            while (entry != null) {
+                Entry next = entry.next;
+                place(entry);
+                entry = next;
+            }
+        }
+    }
+
+    private void rewind(long time) {
+        // time moved backwards: re-place all entries relative to the new time
+        List<Entry> entries = new ArrayList<Entry>(handleEntryMap.values());
+        for (Entry entry : entries) {
+            unlink(entry);
+        }
+        wheelTime = time;
+        for (Entry entry : entries) {
+            place(entry);
+        }
+    }
+
+    private void place(Entry entry) {
+        if (entry.time <= wheelTime) {
+            entry.level = LEVEL_DUE;
+            entry.prev = null;
+            entry.next = dueHead;
+            if (dueHead != null) {
+                dueHead.prev = entry;
+            }
+            dueHead = entry;
+            return;
+        }
+
+        int level = (63 - Long.numberOfLeadingZeros(entry.time ^ wheelTime)) / BITS_PER_LEVEL;
+        int index = (int) (entry.time >>> (level * BITS_PER_LEVEL)) & BUCKET_MASK;
+        Entry head = buckets[level][index];
+        entry.level = level;
+        entry.index = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        } else {
+            occupied[level][index >>> 6] |= 1L << index;
+        }
+        buckets[level][index] = entry;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (entry.level == LEVEL_DUE) {
+            dueHead = entry.next;
+        } else {
+            buckets[entry.level][entry.index] = entry.next;
+            if (entry.next == null) {
+                occupied[entry.level][entry.index >>> 6] &= ~(1L << entry.index);
+            }
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    private long computeNearest() {
+        // entries that are due are at or before the wheel time and thus before any entry in the wheel
+        if (dueHead != null) {
+            return minTime(dueHead);
+        }
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            int index = nextOccupied(level, ((int) (wheelTime >>> (level * BITS_PER_LEVEL)) & BUCKET_MASK) + 1);
+            if (index != -1) {
+                return minTime(buckets[level][index]);
+            }
+        }
+        throw new IllegalStateException("Failed to find nearest schedule");
+    }
+
+    private int nextOccupied(int level, int fromIndex) {
+        if (fromIndex >= NUM_BUCKETS) {
+            return -1;
+        }
+        long[] bits = occupied[level];
+        int word = fromIndex >>> 6;
+        long current = bits[word] & (-1L << fromIndex);
+        while (true) {
+            if (current != 0) {
+                return word * 64 + Long.numberOfTrailingZeros(current);
+            }
+            if (++word == bits.length) {
+                return -1;
+            }
+            current = bits[word];
+        }
+    }
+
+    private int lastOccupied(int level) {
+        long[] bits = occupied[level];
+        for (int word = bits.length - 1; word >= 0; word--) {
+            if (bits[word] != 0) {
+                return word * 64 + 63 - Long.numberOfLeadingZeros(bits[word]);
+            }
+        }
+        return -1;
+    }
+
+    private static long minTime(Entry head) {
+        long min = Long.MAX_VALUE;
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            min = Math.min(min, entry.time);
+        }
+        return min;
+    }
+
+    private static long maxTime(Entry head) {
+        long max = Long.MIN_VALUE;
+        for (Entry entry = head; entry != null; entry = entry.next) {
+            max = Math.max(max, entry.time);
+        }
+        return max;
+    }
+
+    private Entry allocateEntry(ScheduleHandle handle) {
+        Entry entry = freeHead;
+        if (entry == null) {
+            return new Entry(handle);
+        }
+        freeHead = entry.next;
+        freeCount--;
+        entry.next = null;
+        entry.handle = handle;
+        return entry;
+    }
+
+    private void freeEntry(Entry entry) {
+        entry.handle = null;
+        entry.prev = null;
+        if (freeCount < MAX_FREE_ENTRIES) {
+            entry.next = freeHead;
+            freeHead = entry;
+            freeCount++;
+        } else {
+            entry.next = null;
+        }
+    }
+
+    private static final class Entry {
+        private ScheduleHandle handle;
+        private long time;
+        private long slot;
+        private int level;
+        private int index;
+        private Entry prev;
+        private Entry next;
+
+        private Entry(ScheduleHandle handle) {
+            this.handle = handle;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheelImpl.class);
+}
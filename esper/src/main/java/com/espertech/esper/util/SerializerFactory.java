@@ -30,21 +30,74 @@ public class SerializerFactory {
             return null;
         }
     };
+    private static final int TAG_NULL = -1;
+    private static final int TAG_OBJECT_ARRAY = -2;
+    private static final int TAG_SERIALIZED = -3;
+    private static final int MAX_UTF_CHARS = 65535 / 3;
+
+    /**
+     * Serializer for values of any class: writes a tag and uses the serializer for the value's class if there is one,
+     * recurses into object arrays, and resorts to Java serialization otherwise.
+     */
     private static final Serializer OBJECT_SERIALIZER = new Serializer() {
         public boolean accepts(Class c) {
             throw new UnsupportedOperationException("Not supported for object serializer");
         }
 
         public void serialize(Object object, DataOutputStream stream) throws IOException {
-            new ObjectOutputStream(stream).writeObject(object);
+            if (object == null) {
+                stream.writeByte(TAG_NULL);
+                return;
+            }
+            // typed arrays such as String[] are Java-serialized so they deserialize to their own array type
+            if (object.getClass() == Object[].class) {
+                Object[] array = (Object[]) object;
+                stream.writeByte(TAG_OBJECT_ARRAY);
+                stream.writeInt(array.length);
+                for (Object item : array) {
+                    serialize(item, stream);
+                }
+                return;
+            }
+            if (!(object instanceof String) || ((String) object).length() <= MAX_UTF_CHARS) {
+                Class clazz = object.getClass();
+                for (int i = 0; i < SERIALIZERS.size(); i++) {
+                    Serializer serializer = SERIALIZERS.get(i);
+                    if (serializer.accepts(clazz)) {
+                        stream.writeByte(i);
+                        serializer.serialize(object, stream);
+                        return;
+                    }
+                }
+            }
+            byte[] bytes = SerializerUtil.objectToByteArr(object);
+            stream.writeByte(TAG_SERIALIZED);
+            stream.writeInt(bytes.length);
+            stream.write(bytes);
         }
 
         public Object deserialize(DataInputStream stream) throws IOException {
-            try {
-                return new ObjectInputStreamWithTCCL(stream).readObject();
-            } catch (ClassNotFoundException e) {
-                throw new IOException(e);
+            int tag = stream.readByte();
+            if (tag == TAG_NULL) {
+                return null;
+            }
+            if (tag == TAG_OBJECT_ARRAY) {
+                Object[] array = new Object[stream.readInt()];
+                for (int i = 0; i < array.length; i++) {
+                    array[i] = deserialize(stream);
+                }
+                return array;
+            }
+            if (tag == TAG_SERIALIZED) {
+                byte[] bytes = new byte[stream.readInt()];
+                stream.readFully(bytes);
+                try {
+                    return SerializerUtil.byteArrToObject(bytes);
+                } catch (RuntimeException e) {
+                    throw new IOException(e.getMessage(), e);
+                }
             }
+            return SERIALIZERS.get(tag).deserialize(stream);
         }
     };
 
@@ -165,6 +218,15 @@ public class SerializerFactory {
         return serializers;
     }
 
+    /**
+     * Returns the serializer for values of any class.
+     *
+     * @return serializer
+     */
+    public static Serializer getObjectSerializer() {
+        return OBJECT_SERIALIZER;
+    }
+
     public static Serializer getSerializer(Class clazz) {
         if (clazz == null) {
             return NULL_SERIALIZER;
@@ -190,6 +252,39 @@ public class SerializerFactory {
         return buf.toByteArray();
     }
 
+    /**
+     * Serializes a value of any class.
+     *
+     * @param object to serialize, or null
+     * @return bytes
+     */
+    public static byte[] serializeObject(Object object) {
+        ByteArrayOutputStream buf = new ByteArrayOutputStream();
+        try {
+            OBJECT_SERIALIZER.serialize(object, new DataOutputStream(buf));
+        } catch (IOException e) {
+            throw new RuntimeException("IO error serializing object: " + e.getMessage(), e);
+        }
+        return buf.toByteArray();
+    }
+
+    /**
+     * De-serializes a value serialized by {@link #serializeObject(Object)}.
+     *
+     * @param bytes to read
+     * @return value
+     */
+    public static Object deserializeObject(byte[] bytes) {
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            return OBJECT_SERIALIZER.deserialize(new DataInputStream(new ByteArrayInputStream(bytes)));
+        } catch (IOException e) {
+            throw new RuntimeException("IO error de-serializing object: " + e.getMessage(), e);
+        }
+    }
+
     public static Object[] deserialize(int numObjects, byte[] bytes, Serializer[] serializers) throws IOException {
         ByteArrayInputStream buf = new ByteArrayInputStream(bytes);
         DataInputStream ds = new DataInputStream(buf);
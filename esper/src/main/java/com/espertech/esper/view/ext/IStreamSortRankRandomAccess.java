@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.view.ext;
 
+import com.espertech.esper.collection.OrderStatisticEventTree;
 import com.espertech.esper.view.window.RandomAccessByIndex;
 
 import java.util.TreeMap;
@@ -19,4 +20,6 @@ import java.util.TreeMap;
  */
 public interface IStreamSortRankRandomAccess extends RandomAccessByIndex {
     void refresh(TreeMap<Object, Object> sortedEvents, int currentSize, int maxSize);
+
+    void refresh(OrderStatisticEventTree sortedEvents, int currentSize, int maxSize);
 }
@@ -13,10 +13,12 @@ package com.espertech.esper.view.ext;
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.collection.ArrayMaxEventCollectionRO;
 import com.espertech.esper.collection.ArrayMaxEventIterator;
+import com.espertech.esper.collection.OrderStatisticEventTree;
 import com.espertech.esper.view.window.RandomAccessByIndex;
 import com.espertech.esper.view.window.RandomAccessByIndexObserver;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.TreeMap;
@@ -28,6 +30,7 @@ public class IStreamSortRankRandomAccessImpl implements RandomAccessByIndex, ISt
     private final RandomAccessByIndexObserver updateObserver;
 
     private TreeMap<Object, Object> sortedEvents;
+    private OrderStatisticEventTree sortedTree;
     private int currentSize;
 
     private Iterator<Object> iterator;
@@ -53,6 +56,7 @@ public class IStreamSortRankRandomAccessImpl implements RandomAccessByIndex, ISt
     public void refresh(TreeMap<Object, Object> sortedEvents, int currentSize, int maxSize) {
         updateObserver.updated(this);
         this.sortedEvents = sortedEvents;
+        this.sortedTree = null;
         this.currentSize = currentSize;
 
         this.iterator = null;
@@ -62,7 +66,27 @@ public class IStreamSortRankRandomAccessImpl implements RandomAccessByIndex, ISt
         }
     }
 
+    /**
+     * Refreshes the random access data with the updated information, for use with sorted windows that
+     * support positional access and therefore do not require a cache.
+     *
+     * @param sortedEvents is the sorted window contents
+     * @param currentSize  is the current size of the window
+     * @param maxSize      is the maximum size of the window
+     */
+    public void refresh(OrderStatisticEventTree sortedEvents, int currentSize, int maxSize) {
+        updateObserver.updated(this);
+        this.sortedTree = sortedEvents;
+        this.sortedEvents = null;
+        this.currentSize = currentSize;
+        this.iterator = null;
+        this.cacheFilledTo = 0;
+    }
+
     public EventBean getNewData(int index) {
+        if (sortedTree != null) {
+            return index < currentSize ? sortedTree.get(index) : null;
+        }
         if (iterator == null) {
             iterator = sortedEvents.values().iterator();
         }
@@ -116,6 +140,9 @@ public class IStreamSortRankRandomAccessImpl implements RandomAccessByIndex, ISt
     }
 
     public EventBean getNewDataTail(int index) {
+        if (sortedTree != null) {
+            return index >= 0 && index < currentSize ? sortedTree.get(currentSize - index - 1) : null;
+        }
         initCache();
 
         if ((index < cacheFilledTo) && (index >= 0)) {
@@ -126,11 +153,17 @@ public class IStreamSortRankRandomAccessImpl implements RandomAccessByIndex, ISt
     }
 
     public Iterator<EventBean> getWindowIterator() {
+        if (sortedTree != null) {
+            return sortedTree.iterator();
+        }
         initCache();
         return new ArrayMaxEventIterator(cache, cacheFilledTo);
     }
 
     public Collection<EventBean> getWindowCollectionReadOnly() {
+        if (sortedTree != null) {
+            return Collections.unmodifiableCollection(sortedTree);
+        }
         initCache();
         return new ArrayMaxEventCollectionRO(cache, cacheFilledTo);
     }
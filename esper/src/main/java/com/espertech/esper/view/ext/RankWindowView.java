@@ -14,6 +14,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.MultiKeyUntyped;
 import com.espertech.esper.collection.OneEventCollection;
+import com.espertech.esper.collection.OrderStatisticEventTree;
 import com.espertech.esper.core.context.util.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprEvaluatorContext;
@@ -51,8 +52,8 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
 
     private final Comparator<Object> comparator;
 
-    protected TreeMap<Object, Object> sortedEvents;   // key is computed sort-key, value is either List<EventBean> or EventBean
-    protected Map<Object, Object> uniqueKeySortKeys;  // key is computed unique-key, value is computed sort-key
+    protected OrderStatisticEventTree sortedEvents;
+    protected Map<Object, OrderStatisticEventTree.Node> uniqueKeySortKeys;  // key is computed unique-key, value is the tree node holding sort-key and event
     protected int numberOfEvents;
 
     public RankWindowView(RankWindowViewFactory rankWindowViewFactory,
@@ -76,8 +77,8 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
         this.agentInstanceViewFactoryContext = agentInstanceViewFactoryContext;
 
         comparator = CollectionUtil.getComparator(sortCriteriaEvaluators, isSortUsingCollator, isDescendingValues);
-        sortedEvents = new TreeMap<Object, Object>(comparator);
-        uniqueKeySortKeys = new HashMap<Object, Object>();
+        sortedEvents = new OrderStatisticEventTree(comparator);
+        uniqueKeySortKeys = new HashMap<Object, OrderStatisticEventTree.Node>();
     }
 
     public View cloneView() {
@@ -100,18 +101,17 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
         if (oldData != null) {
             for (int i = 0; i < oldData.length; i++) {
                 Object uniqueKey = getUniqueValues(oldData[i]);
-                Object existingSortKey = uniqueKeySortKeys.get(uniqueKey);
+                OrderStatisticEventTree.Node existing = uniqueKeySortKeys.get(uniqueKey);
 
-                if (existingSortKey == null) {
+                if (existing == null) {
                     continue;
                 }
 
-                EventBean event = removeFromSortedEvents(existingSortKey, uniqueKey);
-                if (event != null) {
+                if (sortedEvents.remove(existing)) {
                     numberOfEvents--;
                     uniqueKeySortKeys.remove(uniqueKey);
-                    removedEvents.add(event);
-                    internalHandleRemovedKey(existingSortKey, oldData[i]);
+                    removedEvents.add(existing.getEvent());
+                    internalHandleRemovedKey(existing.getKey(), oldData[i]);
                 }
             }
         }
@@ -121,27 +121,29 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
             for (int i = 0; i < newData.length; i++) {
                 Object uniqueKey = getUniqueValues(newData[i]);
                 Object newSortKey = getSortValues(newData[i]);
-                Object existingSortKey = uniqueKeySortKeys.get(uniqueKey);
+                OrderStatisticEventTree.Node existing = uniqueKeySortKeys.get(uniqueKey);
 
                 // not currently found: its a new entry
-                if (existingSortKey == null) {
+                if (existing == null) {
                     compareAndAddOrPassthru(newData[i], uniqueKey, newSortKey, removedEvents);
                 } else {
                     // same unique-key event found already, remove and add again
                     // key did not change, perform in-place substitute of event
-                    if (existingSortKey.equals(newSortKey)) {
-                        EventBean replaced = inplaceReplaceSortedEvents(existingSortKey, uniqueKey, newData[i]);
-                        if (replaced != null) {
+                    if (existing.getKey().equals(newSortKey)) {
+                        EventBean replaced = null;
+                        if (sortedEvents.remove(existing)) {
+                            replaced = existing.getEvent();
                             removedEvents.add(replaced);
+                            uniqueKeySortKeys.put(uniqueKey, sortedEvents.addLast(newSortKey, newData[i]));  // add to back as this is now the newest event
                         }
                         internalHandleReplacedKey(newSortKey, newData[i], replaced);
                     } else {
-                        EventBean removed = removeFromSortedEvents(existingSortKey, uniqueKey);
-                        if (removed != null) {
+                        if (sortedEvents.remove(existing)) {
                             numberOfEvents--;
-                            removedEvents.add(removed);
-                            internalHandleRemovedKey(existingSortKey, removed);
+                            removedEvents.add(existing.getEvent());
+                            internalHandleRemovedKey(existing.getKey(), existing.getEvent());
                         }
+                        uniqueKeySortKeys.remove(uniqueKey);
                         compareAndAddOrPassthru(newData[i], uniqueKey, newSortKey, removedEvents);
                     }
                 }
@@ -151,30 +153,12 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
         // Remove data that sorts to the bottom of the window
         if (numberOfEvents > sortWindowSize) {
             while (numberOfEvents > sortWindowSize) {
-                Object lastKey = sortedEvents.lastKey();
-                Object existing = sortedEvents.get(lastKey);
-                if (existing instanceof List) {
-                    List<EventBean> existingList = (List<EventBean>) existing;
-                    while (numberOfEvents > sortWindowSize && !existingList.isEmpty()) {
-                        EventBean newestEvent = existingList.remove(0);
-                        Object uniqueKey = getUniqueValues(newestEvent);
-                        uniqueKeySortKeys.remove(uniqueKey);
-                        numberOfEvents--;
-                        removedEvents.add(newestEvent);
-                        internalHandleRemovedKey(existing, newestEvent);
-                    }
-                    if (existingList.isEmpty()) {
-                        sortedEvents.remove(lastKey);
-                    }
-                } else {
-                    EventBean lastSortedEvent = (EventBean) existing;
-                    Object uniqueKey = getUniqueValues(lastSortedEvent);
-                    uniqueKeySortKeys.remove(uniqueKey);
-                    numberOfEvents--;
-                    removedEvents.add(lastSortedEvent);
-                    sortedEvents.remove(lastKey);
-                    internalHandleRemovedKey(lastKey, lastSortedEvent);
-                }
+                // Remove the oldest event among the events of the last key
+                OrderStatisticEventTree.Node removed = sortedEvents.removeFirstOfLastKey();
+                uniqueKeySortKeys.remove(getUniqueValues(removed.getEvent()));
+                numberOfEvents--;
+                removedEvents.add(removed.getEvent());
+                internalHandleRemovedKey(removed.getKey(), removed.getEvent());
             }
         }
 
@@ -224,75 +208,20 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
                 removedEvents.add(eventBean);
             } else {
                 // this new event is higher in sort key then the last entry so we are interested
-                uniqueKeySortKeys.put(uniqueKey, newSortKey);
+                uniqueKeySortKeys.put(uniqueKey, sortedEvents.addLast(newSortKey, eventBean));
                 numberOfEvents++;
-                CollectionUtil.addEventByKeyLazyListMapBack(newSortKey, eventBean, sortedEvents);
                 internalHandleAddedKey(newSortKey, eventBean);
             }
         } else {
             // not yet filled, need to add
-            uniqueKeySortKeys.put(uniqueKey, newSortKey);
+            uniqueKeySortKeys.put(uniqueKey, sortedEvents.addLast(newSortKey, eventBean));
             numberOfEvents++;
-            CollectionUtil.addEventByKeyLazyListMapBack(newSortKey, eventBean, sortedEvents);
             internalHandleAddedKey(newSortKey, eventBean);
         }
     }
 
-    private EventBean removeFromSortedEvents(Object sortKey, Object uniqueKeyToRemove) {
-        Object existing = sortedEvents.get(sortKey);
-
-        EventBean removedOldEvent = null;
-        if (existing != null) {
-            if (existing instanceof List) {
-                List<EventBean> existingList = (List<EventBean>) existing;
-                Iterator<EventBean> it = existingList.iterator();
-                for (; it.hasNext(); ) {
-                    EventBean eventForRank = it.next();
-                    if (getUniqueValues(eventForRank).equals(uniqueKeyToRemove)) {
-                        it.remove();
-                        removedOldEvent = eventForRank;
-                        break;
-                    }
-                }
-
-                if (existingList.isEmpty()) {
-                    sortedEvents.remove(sortKey);
-                }
-            } else {
-                removedOldEvent = (EventBean) existing;
-                sortedEvents.remove(sortKey);
-            }
-        }
-        return removedOldEvent;
-    }
-
-    private EventBean inplaceReplaceSortedEvents(Object sortKey, Object uniqueKeyToReplace, EventBean newData) {
-        Object existing = sortedEvents.get(sortKey);
-
-        EventBean replaced = null;
-        if (existing != null) {
-            if (existing instanceof List) {
-                List<EventBean> existingList = (List<EventBean>) existing;
-                Iterator<EventBean> it = existingList.iterator();
-                for (; it.hasNext(); ) {
-                    EventBean eventForRank = it.next();
-                    if (getUniqueValues(eventForRank).equals(uniqueKeyToReplace)) {
-                        it.remove();
-                        replaced = eventForRank;
-                        break;
-                    }
-                }
-                existingList.add(newData);  // add to back as this is now the newest event
-            } else {
-                replaced = (EventBean) existing;
-                sortedEvents.put(sortKey, newData);
-            }
-        }
-        return replaced;
-    }
-
     public final Iterator<EventBean> iterator() {
-        return new RankWindowIterator(sortedEvents);
+        return sortedEvents.iterator();
     }
 
     public final String toString() {
@@ -342,7 +271,7 @@ public class RankWindowView extends ViewSupport implements DataWindowView, Clone
     }
 
     public void visitView(ViewDataVisitor viewDataVisitor) {
-        viewDataVisitor.visitPrimary(sortedEvents, false, rankWindowViewFactory.getViewName(), numberOfEvents, sortedEvents.size());
+        viewDataVisitor.visitPrimary(sortedEvents, true, rankWindowViewFactory.getViewName(), numberOfEvents);
     }
 
     public ViewFactory getViewFactory() {
@@ -15,7 +15,7 @@ import com.espertech.esper.collection.MixedEventBeanAndCollectionIteratorBase;
 import java.util.SortedMap;
 
 /**
- * Iterator for use by {@link SortWindowView}.
+ * Iterator for use by {@link TimeOrderView}, over a sorted map of keys to an event or a list of events.
  */
 public final class SortWindowIterator extends MixedEventBeanAndCollectionIteratorBase {
     private final SortedMap<Object, Object> window;
@@ -14,6 +14,7 @@ import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
 import com.espertech.esper.collection.MultiKeyUntyped;
 import com.espertech.esper.collection.OneEventCollection;
+import com.espertech.esper.collection.OrderStatisticEventTree;
 import com.espertech.esper.core.context.util.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.epl.expression.core.ExprNode;
@@ -36,6 +37,9 @@ import java.util.*;
  * with equal sort values the oldest event leaves the sort window first.
  * <p>
  * Old values removed from a prior view are removed from the sort view.
+ * <p>
+ * Events are kept in an order-statistic tree so that insertion, removal and positional access for "prev" all
+ * take logarithmic time.
  */
 public class SortWindowView extends ViewSupport implements DataWindowView, CloneableView {
     private final SortWindowViewFactory sortWindowViewFactory;
@@ -47,7 +51,7 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
     private final IStreamSortRankRandomAccess optionalSortedRandomAccess;
     protected final AgentInstanceViewFactoryChainContext agentInstanceViewFactoryContext;
 
-    protected TreeMap<Object, Object> sortedEvents;
+    protected OrderStatisticEventTree sortedEvents;
     protected int eventCount;
 
     public SortWindowView(SortWindowViewFactory sortWindowViewFactory,
@@ -67,7 +71,7 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
         this.agentInstanceViewFactoryContext = agentInstanceViewFactoryContext;
 
         Comparator<Object> comparator = CollectionUtil.getComparator(sortCriteriaEvaluators, isSortUsingCollator, isDescendingValues);
-        sortedEvents = new TreeMap<Object, Object>(comparator);
+        sortedEvents = new OrderStatisticEventTree(comparator);
     }
 
     /**
@@ -118,7 +122,7 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
             for (int i = 0; i < oldData.length; i++) {
                 EventBean oldDataItem = oldData[i];
                 Object sortValues = getSortValues(oldDataItem);
-                boolean result = CollectionUtil.removeEventByKeyLazyListMap(sortValues, oldDataItem, sortedEvents);
+                boolean result = sortedEvents.remove(sortValues, oldDataItem);
                 if (result) {
                     eventCount--;
                     if (removedEvents == null) {
@@ -135,7 +139,7 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
             for (int i = 0; i < newData.length; i++) {
                 EventBean newDataItem = newData[i];
                 Object sortValues = getSortValues(newDataItem);
-                CollectionUtil.addEventByKeyLazyListMapFront(sortValues, newDataItem, sortedEvents);
+                sortedEvents.addFirst(sortValues, newDataItem);    // add to front, newest are listed first
                 eventCount++;
                 internalHandleAdd(sortValues, newDataItem);
             }
@@ -145,31 +149,14 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
         if (eventCount > sortWindowSize) {
             int removeCount = eventCount - sortWindowSize;
             for (int i = 0; i < removeCount; i++) {
-                // Remove the last element of the last key - sort order is key and then natural order of arrival
-                Object lastKey = sortedEvents.lastKey();
-                Object lastEntry = sortedEvents.get(lastKey);
-                if (lastEntry instanceof List) {
-                    List<EventBean> events = (List<EventBean>) lastEntry;
-                    EventBean theEvent = events.remove(events.size() - 1);  // remove oldest event, newest events are first in list
-                    eventCount--;
-                    if (events.isEmpty()) {
-                        sortedEvents.remove(lastKey);
-                    }
-                    if (removedEvents == null) {
-                        removedEvents = new OneEventCollection();
-                    }
-                    removedEvents.add(theEvent);
-                    internalHandleRemoved(lastKey, theEvent);
-                } else {
-                    EventBean theEvent = (EventBean) lastEntry;
-                    eventCount--;
-                    sortedEvents.remove(lastKey);
-                    if (removedEvents == null) {
-                        removedEvents = new OneEventCollection();
-                    }
-                    removedEvents.add(theEvent);
-                    internalHandleRemoved(lastKey, theEvent);
+                // Remove the last event - sort order is key and then natural order of arrival, newest first
+                OrderStatisticEventTree.Node last = sortedEvents.removeLast();
+                eventCount--;
+                if (removedEvents == null) {
+                    removedEvents = new OneEventCollection();
                 }
+                removedEvents.add(last.getEvent());
+                internalHandleRemoved(last.getKey(), last.getEvent());
             }
         }
 
@@ -207,7 +194,7 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
     }
 
     public final Iterator<EventBean> iterator() {
-        return new SortWindowIterator(sortedEvents);
+        return sortedEvents.iterator();
     }
 
     public final String toString() {
@@ -244,7 +231,7 @@ public class SortWindowView extends ViewSupport implements DataWindowView, Clone
     }
 
     public void visitView(ViewDataVisitor viewDataVisitor) {
-        viewDataVisitor.visitPrimary(sortedEvents, false, sortWindowViewFactory.getViewName(), eventCount, null);
+        viewDataVisitor.visitPrimary(sortedEvents, true, sortWindowViewFactory.getViewName(), eventCount);
     }
 
     public ViewFactory getViewFactory() {
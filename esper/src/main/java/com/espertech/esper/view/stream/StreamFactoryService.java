@@ -45,6 +45,7 @@ public interface StreamFactoryService {
      * @param isCanIterateUnbound            whether we can iterate unbound
      * @param stateless                      whether stateless
      * @param streamNum                      stream number
+     * @param nonRetaining                   whether the consumer is known to not keep a reference to matching events
      * @return event stream representing active filter
      */
     public Pair<EventStream, StatementAgentInstanceLock> createStream(final int statementId,
@@ -58,7 +59,8 @@ public interface StreamFactoryService {
                                                                       Annotation[] annotations,
                                                                       boolean stateless,
                                                                       int streamNum,
-                                                                      boolean isCanIterateUnbound);
+                                                                      boolean isCanIterateUnbound,
+                                                                      boolean nonRetaining);
 
     /**
      * Drop the event stream associated with the filter passed in.
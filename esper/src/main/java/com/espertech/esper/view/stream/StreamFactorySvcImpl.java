@@ -103,7 +103,8 @@ public class StreamFactorySvcImpl implements StreamFactoryService {
                                                                       Annotation[] annotations,
                                                                       boolean stateless,
                                                                       final int streamNum,
-                                                                      boolean isCanIterateUnbound
+                                                                      boolean isCanIterateUnbound,
+                                                                      boolean nonRetaining
     ) {
         if (log.isDebugEnabled()) {
             log.debug(".createStream hashCode=" + filterSpec.hashCode() + " filter=" + filterSpec);
@@ -183,6 +184,7 @@ public class StreamFactorySvcImpl implements StreamFactoryService {
             };
         }
         EPStatementHandleCallback handle = new EPStatementHandleCallback(epStatementAgentInstanceHandle, filterCallback);
+        handle.setNonRetaining(nonRetaining && forceNewStream && !isCanIterateUnbound && filterSpec.getOptionalPropertyEvaluator() == null);
 
         // Store stream for reuse
         entry = new StreamEntry(eventStream, handle);
@@ -12,7 +12,7 @@ package com.espertech.esper.view.window;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.client.EventType;
-import com.espertech.esper.collection.TimeWindow;
+import com.espertech.esper.collection.TimeWindowColumnar;
 import com.espertech.esper.collection.ViewUpdatedCollection;
 import com.espertech.esper.core.context.util.AgentInstanceViewFactoryChainContext;
 import com.espertech.esper.core.service.EPStatementHandleCallback;
@@ -24,13 +24,12 @@ import com.espertech.esper.schedule.ScheduleHandleCallback;
 import com.espertech.esper.util.StopCallback;
 import com.espertech.esper.view.*;
 
-import java.util.ArrayDeque;
 import java.util.Iterator;
 
 /**
  * This view is a moving timeWindow extending the specified amount of milliseconds into the past.
  * The view bases the timeWindow on the time obtained from the scheduling service.
- * All incoming events receive a timestamp and are placed in a sorted map by timestamp.
+ * All incoming events receive a timestamp and are placed in a columnar time window in timestamp order.
  * The view does not care about old data published by the parent view to this view.
  * <p>
  * Events leave or expire from the time timeWindow by means of a scheduled callback registered with the
@@ -41,7 +40,7 @@ import java.util.Iterator;
 public class TimeWindowView extends ViewSupport implements CloneableView, DataWindowView, ScheduleAdjustmentCallback, StoppableView, StopCallback {
     private final TimeWindowViewFactory timeWindowViewFactory;
     private final ExprTimePeriodEvalDeltaConst timeDeltaComputation;
-    protected final TimeWindow timeWindow;
+    protected final TimeWindowColumnar timeWindow;
     private final ViewUpdatedCollection viewUpdatedCollection;
     protected final AgentInstanceViewFactoryChainContext agentInstanceContext;
     private final long scheduleSlot;
@@ -62,7 +61,7 @@ public class TimeWindowView extends ViewSupport implements CloneableView, DataWi
         this.timeDeltaComputation = timeDeltaComputation;
         this.viewUpdatedCollection = viewUpdatedCollection;
         this.scheduleSlot = agentInstanceContext.getStatementContext().getScheduleBucket().allocateSlot();
-        this.timeWindow = new TimeWindow(agentInstanceContext.isRemoveStream());
+        this.timeWindow = new TimeWindowColumnar(agentInstanceContext.isRemoveStream());
 
         ScheduleHandleCallback callback = new ScheduleHandleCallback() {
             public void scheduledTrigger(EngineLevelExtensionServicesContext extensionServicesContext) {
@@ -160,12 +159,11 @@ public class TimeWindowView extends ViewSupport implements CloneableView, DataWi
 
         // Remove from the timeWindow any events that have an older or timestamp then the given timestamp
         // The window extends from X to (X - millisecondsBeforeExpiry + 1)
-        ArrayDeque<EventBean> expired = timeWindow.expireEvents(expireBeforeTimestamp);
+        EventBean[] oldEvents = timeWindow.expireEvents(expireBeforeTimestamp);
 
         // If there are child views, fireStatementStopped update method
         if (this.hasViews()) {
-            if ((expired != null) && (!expired.isEmpty())) {
-                EventBean[] oldEvents = expired.toArray(new EventBean[expired.size()]);
+            if (oldEvents != null) {
                 if (viewUpdatedCollection != null) {
                     viewUpdatedCollection.update(null, oldEvents);
                 }
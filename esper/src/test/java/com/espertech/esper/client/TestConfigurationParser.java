@@ -54,14 +54,25 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolTimerExecNumThreads());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolInboundCapacity());
+        assertNull(config.getEngineDefaults().getThreading().getThreadPoolInboundShardContext());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolOutboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolRouteExecCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolTimerExecCapacity());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolInboundWaitStrategy());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolOutboundWaitStrategy());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolRouteExecWaitStrategy());
+        assertFalse(config.getEngineDefaults().getThreading().isThreadPoolNamedWindowConsumer());
+        assertEquals(2, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerNumThreads());
+        assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerCapacity());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerWaitStrategy());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolTimerExecWaitStrategy());
         assertFalse(config.getEngineDefaults().getThreading().isEngineFairlock());
         assertFalse(config.getEngineDefaults().getMetricsReporting().isJmxEngineMetrics());
         assertTrue(config.getEngineDefaults().getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(Long.MAX_VALUE, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(ConfigurationEngineDefaults.Threading.Locking.SPIN, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchLocking());
+        assertEquals(0, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchBatchSize());
+        assertEquals(100, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchBatchMaxDelay());
 
         assertEquals(Configuration.PropertyResolutionStyle.CASE_SENSITIVE, config.getEngineDefaults().getEventMeta().getClassPropertyResolutionStyle());
         assertEquals(ConfigurationEventTypeLegacy.AccessorStyle.JAVABEAN, config.getEngineDefaults().getEventMeta().getDefaultAccessorStyle());
@@ -93,8 +104,15 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(config.getEngineDefaults().getExecution().isAllowIsolatedService());
         assertEquals(ConfigurationEngineDefaults.ThreadingProfile.NORMAL, config.getEngineDefaults().getExecution().getThreadingProfile());
         assertEquals(ConfigurationEngineDefaults.FilterServiceProfile.READMOSTLY, config.getEngineDefaults().getExecution().getFilterServiceProfile());
+        assertEquals(ConfigurationEngineDefaults.SchedulingServiceProfile.SORTED, config.getEngineDefaults().getExecution().getSchedulingServiceProfile());
         assertEquals(16, config.getEngineDefaults().getExecution().getFilterServiceMaxFilterWidth());
         assertEquals(1, config.getEngineDefaults().getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(0, config.getEngineDefaults().getExecution().getParallelIndexBuildThreshold());
+        assertEquals(0, config.getEngineDefaults().getExecution().getParallelFireAndForgetThreshold());
+        assertEquals(0, config.getEngineDefaults().getExecution().getJoinReplanInterval());
+        assertFalse(config.getEngineDefaults().getExecution().isEventBeanPooling());
+        assertNull(config.getEngineDefaults().getExecution().getCheckpointDirectory());
+        assertEquals(60000, config.getEngineDefaults().getExecution().getCheckpointInterval());
 
         assertEquals(StreamSelector.ISTREAM_ONLY, config.getEngineDefaults().getStreamSelection().getDefaultStreamSelector());
         assertFalse(config.getEngineDefaults().getLanguage().isSortUsingCollator());
@@ -106,6 +124,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(config.getEngineDefaults().getExpression().isDuckTyping());
         assertNull(config.getEngineDefaults().getExpression().getMathContext());
         assertEquals(TimeZone.getDefault(), config.getEngineDefaults().getExpression().getTimeZone());
+        assertFalse(config.getEngineDefaults().getExpression().isCodeGeneration());
         assertNull(config.getEngineDefaults().getExceptionHandling().getHandlerFactories());
         assertEquals(ConfigurationEngineDefaults.ExceptionHandling.UndeployRethrowPolicy.WARN, config.getEngineDefaults().getExceptionHandling().getUndeployRethrowPolicy());
         assertNull(config.getEngineDefaults().getConditionHandling().getHandlerFactories());
@@ -391,6 +410,8 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(config.getEngineDefaults().getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(4000, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(ConfigurationEngineDefaults.Threading.Locking.SUSPEND, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchLocking());
+        assertEquals(50, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchBatchSize());
+        assertEquals(250, config.getEngineDefaults().getThreading().getNamedWindowConsumerDispatchBatchMaxDelay());
 
         assertFalse(config.getEngineDefaults().getThreading().isListenerDispatchPreserveOrder());
         assertEquals(2000, config.getEngineDefaults().getThreading().getListenerDispatchTimeout());
@@ -404,9 +425,18 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(3, config.getEngineDefaults().getThreading().getThreadPoolTimerExecNumThreads());
         assertEquals(4, config.getEngineDefaults().getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(1000, (int) config.getEngineDefaults().getThreading().getThreadPoolInboundCapacity());
+        assertEquals("MyContext", config.getEngineDefaults().getThreading().getThreadPoolInboundShardContext());
         assertEquals(1500, (int) config.getEngineDefaults().getThreading().getThreadPoolOutboundCapacity());
         assertEquals(null, config.getEngineDefaults().getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) config.getEngineDefaults().getThreading().getThreadPoolRouteExecCapacity());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolInboundWaitStrategy());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.YIELD, config.getEngineDefaults().getThreading().getThreadPoolOutboundWaitStrategy());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BLOCKING, config.getEngineDefaults().getThreading().getThreadPoolTimerExecWaitStrategy());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.PARK, config.getEngineDefaults().getThreading().getThreadPoolRouteExecWaitStrategy());
+        assertTrue(config.getEngineDefaults().getThreading().isThreadPoolNamedWindowConsumer());
+        assertEquals(5, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerNumThreads());
+        assertEquals(2500, (int) config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerCapacity());
+        assertEquals(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.YIELD, config.getEngineDefaults().getThreading().getThreadPoolNamedWindowConsumerWaitStrategy());
 
         assertFalse(config.getEngineDefaults().getThreading().isInternalTimerEnabled());
         assertEquals(1234567, config.getEngineDefaults().getThreading().getInternalTimerMsecResolution());
@@ -442,8 +472,15 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(config.getEngineDefaults().getExecution().isAllowIsolatedService());
         assertEquals(ConfigurationEngineDefaults.ThreadingProfile.LARGE, config.getEngineDefaults().getExecution().getThreadingProfile());
         assertEquals(ConfigurationEngineDefaults.FilterServiceProfile.READWRITE, config.getEngineDefaults().getExecution().getFilterServiceProfile());
+        assertEquals(ConfigurationEngineDefaults.SchedulingServiceProfile.TIMINGWHEEL, config.getEngineDefaults().getExecution().getSchedulingServiceProfile());
         assertEquals(100, config.getEngineDefaults().getExecution().getFilterServiceMaxFilterWidth());
         assertEquals(101, config.getEngineDefaults().getExecution().getDeclaredExprValueCacheSize());
+        assertEquals(100000, config.getEngineDefaults().getExecution().getParallelIndexBuildThreshold());
+        assertEquals(200000, config.getEngineDefaults().getExecution().getParallelFireAndForgetThreshold());
+        assertEquals(1000, config.getEngineDefaults().getExecution().getJoinReplanInterval());
+        assertTrue(config.getEngineDefaults().getExecution().isEventBeanPooling());
+        assertEquals("/var/esper/checkpoint", config.getEngineDefaults().getExecution().getCheckpointDirectory());
+        assertEquals(5000, config.getEngineDefaults().getExecution().getCheckpointInterval());
 
         ConfigurationMetricsReporting metrics = config.getEngineDefaults().getMetricsReporting();
         assertTrue(metrics.isEnableMetricsReporting());
@@ -479,6 +516,7 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(2, config.getEngineDefaults().getExpression().getMathContext().getPrecision());
         assertEquals(RoundingMode.CEILING, config.getEngineDefaults().getExpression().getMathContext().getRoundingMode());
         assertEquals(TimeZone.getTimeZone("GMT-4:00"), config.getEngineDefaults().getExpression().getTimeZone());
+        assertTrue(config.getEngineDefaults().getExpression().isCodeGeneration());
         assertEquals(2, config.getEngineDefaults().getExceptionHandling().getHandlerFactories().size());
         assertEquals("my.company.cep.LoggingExceptionHandlerFactory", config.getEngineDefaults().getExceptionHandling().getHandlerFactories().get(0));
         assertEquals("my.company.cep.AlertExceptionHandlerFactory", config.getEngineDefaults().getExceptionHandling().getHandlerFactories().get(1));
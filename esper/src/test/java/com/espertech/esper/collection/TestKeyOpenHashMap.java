@@ -0,0 +1,132 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestKeyOpenHashMap extends TestCase {
+
+    public void testLongKeys() {
+        LongKeyOpenHashMap<String> map = new LongKeyOpenHashMap<String>();
+        assertNull(map.put(1L, "a"));
+        assertEquals("a", map.put(1L, "b"));
+        assertEquals("b", map.get(1L));
+        assertNull(map.get(1));
+        assertNull(map.get(2L));
+
+        // null key and keys of another type are kept separately
+        assertNull(map.put(null, "n"));
+        assertNull(map.put(1, "i"));
+        assertEquals(3, map.size());
+        assertEquals("n", map.get(null));
+        assertEquals("i", map.get(1));
+        assertEquals("b", map.get(1L));
+        assertEquals(new HashSet<Object>(Arrays.<Object>asList(1L, 1, null)), new HashSet<Object>(map.keySet()));
+        assertEquals("i", map.remove(1));
+        assertEquals("n", map.remove(null));
+        assertEquals(1, map.size());
+
+        try {
+            map.put(5L, null);
+            fail();
+        } catch (NullPointerException ex) {
+            // expected
+        }
+
+        runAssertionRandom(map, new KeyGen() {
+            public Object make(Random random, int range) {
+                return (long) random.nextInt(range) * 1000000007L;
+            }
+        });
+    }
+
+    public void testIntKeys() {
+        IntKeyOpenHashMap<String> map = new IntKeyOpenHashMap<String>();
+        assertNull(map.put(1, "a"));
+        assertNull(map.get(1L));
+        assertEquals("a", map.get(1));
+        assertTrue(map.containsKey(1));
+        assertFalse(map.containsKey(2));
+
+        runAssertionRandom(map, new KeyGen() {
+            public Object make(Random random, int range) {
+                return random.nextInt(range) - range / 2;
+            }
+        });
+    }
+
+    public void testStringKeys() {
+        StringKeyOpenHashMap<String> map = new StringKeyOpenHashMap<String>();
+        assertNull(map.put("a", "x"));
+        assertEquals("x", map.get(new String("a")));
+        assertNull(map.get("b"));
+
+        // colliding hash codes
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+        map.put("Aa", "1");
+        map.put("BB", "2");
+        assertEquals("1", map.get("Aa"));
+        assertEquals("2", map.get("BB"));
+        assertEquals("1", map.remove("Aa"));
+        assertEquals("2", map.get("BB"));
+
+        runAssertionRandom(map, new KeyGen() {
+            public Object make(Random random, int range) {
+                return "K" + random.nextInt(range);
+            }
+        });
+    }
+
+    private void runAssertionRandom(Map<Object, String> map, KeyGen keyGen) {
+        map.clear();
+        assertTrue(map.isEmpty());
+        Map<Object, String> expected = new HashMap<Object, String>();
+        Random random = new Random(1);
+        for (int i = 0; i < 100000; i++) {
+            Object key = keyGen.make(random, 5000);
+            int op = random.nextInt(10);
+            if (op < 5) {
+                assertEquals(expected.put(key, "v" + i), map.put(key, "v" + i));
+            } else if (op < 8) {
+                assertEquals(expected.remove(key), map.remove(key));
+            } else {
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.containsKey(key));
+            }
+            assertEquals(expected.size(), map.size());
+            if (i % 10000 == 0) {
+                assertEquals(expected, map);
+            }
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.keySet(), map.keySet());
+
+        Iterator<Object> it = map.keySet().iterator();
+        it.next();
+        map.put(keyGen.make(random, 1) + "_", "new");
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException ex) {
+            // expected
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.entrySet().iterator().hasNext());
+    }
+
+    private interface KeyGen {
+        Object make(Random random, int range);
+    }
+}
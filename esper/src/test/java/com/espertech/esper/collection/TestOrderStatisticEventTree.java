@@ -0,0 +1,124 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestOrderStatisticEventTree extends TestCase {
+    private final static Comparator<Object> COMPARATOR = new Comparator<Object>() {
+        public int compare(Object o1, Object o2) {
+            return ((Comparable) o1).compareTo(o2);
+        }
+    };
+
+    private OrderStatisticEventTree tree;
+    private EventBean[] events;
+
+    public void setUp() {
+        tree = new OrderStatisticEventTree(COMPARATOR);
+        events = new EventBean[10];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = SupportEventBeanFactory.createObject(new SupportBean("E" + i, i));
+        }
+    }
+
+    public void testAddRemove() {
+        assertTrue(tree.isEmpty());
+        assertNull(tree.get(0));
+        assertNull(tree.lastKey());
+        assertNull(tree.removeLast());
+
+        tree.addFirst("C", events[0]);
+        tree.addFirst("A", events[1]);
+        tree.addFirst("C", events[2]);
+        tree.addLast("C", events[3]);
+        tree.addFirst("B", events[4]);
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{events[1], events[4], events[2], events[0], events[3]}, tree.iterator());
+        assertEquals(5, tree.size());
+        assertEquals("C", tree.lastKey());
+        for (int i = 0; i < tree.size(); i++) {
+            assertSame(tree.toArray()[i], tree.get(i));
+        }
+        assertNull(tree.get(5));
+        assertNull(tree.get(-1));
+
+        assertFalse(tree.remove("A", events[0]));
+        assertTrue(tree.remove("C", events[0]));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{events[1], events[4], events[2], events[3]}, tree.iterator());
+
+        assertSame(events[2], tree.removeFirstOfLastKey().getEvent());
+        assertSame(events[3], tree.removeLast().getEvent());
+        assertEquals("B", tree.lastKey());
+
+        OrderStatisticEventTree.Node node = tree.addLast("A", events[5]);
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{events[1], events[5], events[4]}, tree.iterator());
+        assertTrue(tree.remove(node));
+        assertFalse(tree.remove(node));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{events[1], events[4]}, tree.iterator());
+
+        Iterator<EventBean> it = tree.iterator();
+        tree.addLast("Z", events[6]);
+        try {
+            it.next();
+            fail();
+        } catch (ConcurrentModificationException ex) {
+            // expected
+        }
+
+        tree.clear();
+        assertTrue(tree.isEmpty());
+        assertFalse(tree.iterator().hasNext());
+    }
+
+    public void testRandomized() {
+        Random random = new Random(1);
+        List<Object[]> expected = new ArrayList<Object[]>();   // key and node, in expected order
+        for (int i = 0; i < 20000; i++) {
+            int op = random.nextInt(10);
+            if (op < 5 || expected.isEmpty()) {
+                Integer key = random.nextInt(100);
+                boolean first = random.nextBoolean();
+                EventBean theEvent = events[random.nextInt(events.length)];
+                OrderStatisticEventTree.Node node = first ? tree.addFirst(key, theEvent) : tree.addLast(key, theEvent);
+                // added-first events sort before, added-last events sort after, any events of the same key
+                int index = 0;
+                while (index < expected.size()) {
+                    int compared = ((Integer) expected.get(index)[0]).compareTo(key);
+                    if (compared > 0 || (compared == 0 && first)) {
+                        break;
+                    }
+                    index++;
+                }
+                expected.add(index, new Object[]{key, node});
+            } else if (op < 8) {
+                int index = random.nextInt(expected.size());
+                Object[] removed = expected.remove(index);
+                assertTrue(tree.remove((OrderStatisticEventTree.Node) removed[1]));
+            } else {
+                OrderStatisticEventTree.Node last = tree.removeLast();
+                assertSame(expected.remove(expected.size() - 1)[1], last);
+            }
+
+            assertEquals(expected.size(), tree.size());
+            if (i % 100 == 0) {
+                for (int j = 0; j < expected.size(); j++) {
+                    assertSame(((OrderStatisticEventTree.Node) expected.get(j)[1]).getEvent(), tree.get(j));
+                }
+            }
+        }
+    }
+}
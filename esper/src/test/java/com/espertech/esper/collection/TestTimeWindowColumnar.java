@@ -0,0 +1,127 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.collection;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TestTimeWindowColumnar extends TestCase {
+    private final TimeWindowColumnar window = new TimeWindowColumnar(false);
+    private final TimeWindowColumnar windowRemovable = new TimeWindowColumnar(true);
+    private final EventBean[] beans = new EventBean[6];
+
+    public void setUp() {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = createBean();
+        }
+    }
+
+    public void testAdd() {
+        assertNull(window.getOldestTimestamp());
+        assertTrue(window.isEmpty());
+
+        window.add(19, beans[0]);
+        assertEquals(19L, (long) window.getOldestTimestamp());
+        assertFalse(window.isEmpty());
+        window.add(19, beans[1]);
+        window.add(20, beans[2]);
+        window.add(20, beans[3]);
+        window.add(21, beans[4]);
+        window.add(22, beans[5]);
+        assertEquals(19L, (long) window.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(beans, window.iterator());
+
+        assertNull(window.expireEvents(19));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[0], beans[1]}, window.expireEvents(20));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[2], beans[3]}, window.expireEvents(21));
+        assertEquals(21L, (long) window.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[4]}, window.expireEvents(22));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[5]}, window.expireEvents(23));
+        assertTrue(window.isEmpty());
+        assertNull(window.getOldestTimestamp());
+        assertNull(window.expireEvents(23));
+
+        try {
+            window.remove(beans[0]);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    public void testAddRemove() {
+        for (int i = 0; i < beans.length; i++) {
+            windowRemovable.add(19 + i / 2, beans[i]);
+        }
+        assertNull(windowRemovable.getReverseIndex());
+
+        windowRemovable.remove(beans[4]);
+        windowRemovable.remove(beans[0]);
+        windowRemovable.remove(beans[3]);
+        windowRemovable.remove(beans[3]);
+        assertEquals(3, windowRemovable.size());
+        assertEquals(19L, (long) windowRemovable.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[1], beans[2], beans[5]}, windowRemovable.iterator());
+
+        assertNull(windowRemovable.expireEvents(19));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[1]}, windowRemovable.expireEvents(20));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[2]}, windowRemovable.expireEvents(21));
+        assertEquals(21L, (long) windowRemovable.getOldestTimestamp());
+        assertNull(windowRemovable.expireEvents(21));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{beans[5]}, windowRemovable.expireEvents(22));
+        assertTrue(windowRemovable.isEmpty());
+        assertNull(windowRemovable.getOldestTimestamp());
+        assertEquals(0, windowRemovable.getReverseIndex().size());
+    }
+
+    public void testGrowAndWrap() {
+        List<EventBean> expected = new ArrayList<EventBean>();
+        long time = 0;
+        int expiredCount = 0;
+        for (int i = 0; i < 1000; i++) {
+            EventBean bean = createBean();
+            windowRemovable.add(time, bean);
+            expected.add(bean);
+            if (i % 7 == 0) {
+                windowRemovable.remove(expected.remove(expected.size() / 2));
+            }
+            if (i % 50 == 0) {
+                time++;
+                EventBean[] expired = windowRemovable.expireEvents(time - 3);
+                if (expired != null) {
+                    for (EventBean expiredBean : expired) {
+                        assertSame(expected.remove(0), expiredBean);
+                        expiredCount++;
+                    }
+                }
+            }
+            assertEquals(expected.size(), windowRemovable.size());
+        }
+        assertTrue(expiredCount > 0);
+        EPAssertionUtil.assertEqualsExactOrder(expected.toArray(), windowRemovable.iterator());
+        EPAssertionUtil.assertEqualsExactOrder(expected.toArray(), windowRemovable.toArray());
+
+        windowRemovable.adjust(100);
+        assertNull(windowRemovable.expireEvents(time + 90));
+        assertEquals(expected.size(), windowRemovable.expireEvents(Long.MAX_VALUE).length);
+        assertTrue(windowRemovable.isEmpty());
+    }
+
+    private EventBean createBean() {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+}
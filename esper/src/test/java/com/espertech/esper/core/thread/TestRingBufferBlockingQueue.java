@@ -0,0 +1,221 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.core.thread;
+
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class TestRingBufferBlockingQueue extends TestCase {
+
+    public void testSingleThreaded() throws Exception {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(3, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.PARK);
+        assertEquals(4, queue.getCapacity());
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+        assertFalse(queue.offer(4));
+        assertFalse(queue.offer(4, 1, TimeUnit.MILLISECONDS));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(0, (int) queue.peek());
+
+        Iterator<Integer> it = queue.iterator();
+        for (int i = 0; i < 4; i++) {
+            assertEquals(i, (int) it.next());
+        }
+        assertFalse(it.hasNext());
+
+        assertEquals(0, (int) queue.take());
+        assertEquals(1, (int) queue.poll(1, TimeUnit.MILLISECONDS));
+        queue.put(4);
+        List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(3, queue.drainTo(drained));
+        assertEquals(3, drained.size());
+        assertEquals(4, (int) drained.get(2));
+        assertNull(queue.poll(1, TimeUnit.MILLISECONDS));
+
+        // wrap around many times
+        for (int i = 0; i < 1000; i++) {
+            queue.offer(i);
+            queue.offer(i + 1);
+            assertEquals(i, (int) queue.poll());
+            assertEquals(i + 1, (int) queue.poll());
+        }
+        queue.offer(1);
+        queue.clear();
+        assertTrue(queue.isEmpty());
+    }
+
+    public void testDrainBatch() throws Exception {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(8, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.PARK);
+        List<Integer> drained = new ArrayList<Integer>();
+        assertEquals(0, queue.drainTo(drained, 4));
+
+        // drain across the wrap-around with a limit
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 6; i++) {
+                assertTrue(queue.offer(round * 10 + i));
+            }
+            drained.clear();
+            assertEquals(4, queue.drainTo(drained, 4));
+            assertEquals(2, queue.size());
+            assertEquals(2, queue.drainTo(drained));
+            for (int i = 0; i < 6; i++) {
+                assertEquals(round * 10 + i, (int) drained.get(i));
+            }
+            assertTrue(queue.isEmpty());
+        }
+
+        // a full queue drains completely and accepts new elements
+        for (int i = 0; i < 8; i++) {
+            assertTrue(queue.offer(i));
+        }
+        drained.clear();
+        assertEquals(8, queue.drainTo(drained));
+        assertEquals(8, queue.remainingCapacity());
+        assertEquals(0, queue.drainTo(drained, 0));
+    }
+
+    public void testInterrupt() throws Exception {
+        final RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<Integer>(2, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.YIELD);
+        final CountDownLatch latch = new CountDownLatch(1);
+        Thread thread = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    queue.take();
+                } catch (InterruptedException e) {
+                    latch.countDown();
+                }
+            }
+        });
+        thread.start();
+        thread.interrupt();
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    public void testMultiThreaded() throws Exception {
+        runAssertionMultiThreaded(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.YIELD);
+        runAssertionMultiThreaded(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.PARK);
+
+        // busy-spin requires a CPU per spinning thread
+        if (Runtime.getRuntime().availableProcessors() >= 5) {
+            runAssertionMultiThreaded(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.BUSYSPIN);
+        }
+    }
+
+    public void testMultiThreadedDrain() throws Exception {
+        final RingBufferBlockingQueue<Long> queue = new RingBufferBlockingQueue<Long>(64, ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy.YIELD);
+        final int numProducers = 3;
+        final int numConsumers = 2;
+        final int numPerProducer = 50000;
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numProducers + numConsumers);
+        List<Future> producers = new ArrayList<Future>();
+        for (int p = 0; p < numProducers; p++) {
+            producers.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    for (long i = 1; i <= numPerProducer; i++) {
+                        queue.put(i);
+                    }
+                    return null;
+                }
+            }));
+        }
+        for (int c = 0; c < numConsumers; c++) {
+            executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    List<Long> batch = new ArrayList<Long>();
+                    while (!Thread.currentThread().isInterrupted()) {
+                        queue.drainTo(batch, 16);
+                        for (Long value : batch) {
+                            sum.addAndGet(value);
+                        }
+                        count.addAndGet(batch.size());
+                        batch.clear();
+                        Thread.yield();
+                    }
+                    return null;
+                }
+            });
+        }
+        for (Future producer : producers) {
+            producer.get(30, TimeUnit.SECONDS);
+        }
+        long start = System.currentTimeMillis();
+        while (count.get() < numProducers * numPerProducer && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(10);
+        }
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(numProducers * numPerProducer, count.get());
+        assertEquals(numProducers * ((long) numPerProducer * (numPerProducer + 1) / 2), sum.get());
+        assertTrue(queue.isEmpty());
+    }
+
+    private void runAssertionMultiThreaded(ConfigurationEngineDefaults.Threading.ThreadPoolWaitStrategy strategy) throws Exception {
+        final RingBufferBlockingQueue<Long> queue = new RingBufferBlockingQueue<Long>(16, strategy);
+        final int numProducers = 3;
+        final int numConsumers = 2;
+        final int numPerProducer = 50000;
+        final AtomicLong sum = new AtomicLong();
+        final AtomicLong count = new AtomicLong();
+
+        ExecutorService executor = Executors.newFixedThreadPool(numProducers + numConsumers);
+        List<Future> producers = new ArrayList<Future>();
+        for (int p = 0; p < numProducers; p++) {
+            producers.add(executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    for (long i = 1; i <= numPerProducer; i++) {
+                        queue.put(i);
+                    }
+                    return null;
+                }
+            }));
+        }
+        for (int c = 0; c < numConsumers; c++) {
+            executor.submit(new Callable<Object>() {
+                public Object call() throws Exception {
+                    while (true) {
+                        Long value = queue.take();
+                        sum.addAndGet(value);
+                        count.incrementAndGet();
+                    }
+                }
+            });
+        }
+        for (Future producer : producers) {
+            producer.get(30, TimeUnit.SECONDS);
+        }
+        long start = System.currentTimeMillis();
+        while (count.get() < numProducers * numPerProducer && System.currentTimeMillis() - start < 10000) {
+            Thread.sleep(10);
+        }
+        executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(numProducers * numPerProducer, count.get());
+        assertEquals(numProducers * ((long) numPerProducer * (numPerProducer + 1) / 2), sum.get());
+        assertTrue(queue.isEmpty());
+    }
+}
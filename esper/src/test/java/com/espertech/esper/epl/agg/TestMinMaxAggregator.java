@@ -11,6 +11,7 @@
 package com.espertech.esper.epl.agg;
 
 import com.espertech.esper.epl.agg.aggregator.AggregatorMinMax;
+import com.espertech.esper.epl.agg.aggregator.AggregatorMinMaxEverDouble;
 import com.espertech.esper.type.MinMaxTypeEnum;
 import junit.framework.TestCase;
 
@@ -48,4 +49,23 @@ public class TestMinMaxAggregator extends TestCase {
         agg.leave(10);
         assertEquals(null, agg.getValue());
     }
+
+    public void testAggregatorMinMaxEverDouble() {
+        AggregatorMinMaxEverDouble agg = new AggregatorMinMaxEverDouble(MinMaxTypeEnum.MAX);
+        assertEquals(null, agg.getValue());
+        agg.enterDouble(10);
+        assertEquals(10d, agg.getValue());
+        agg.enter(20d);
+        agg.enterDouble(15);
+        assertEquals(20d, agg.getValue());
+        agg.enterDouble(Double.NaN);
+        assertEquals(Double.NaN, agg.getValue());
+
+        agg = new AggregatorMinMaxEverDouble(MinMaxTypeEnum.MIN);
+        agg.enterDouble(0d);
+        agg.enterDouble(-0d);
+        assertEquals(-0d, agg.getValue());
+        agg.enterDouble(5);
+        assertEquals(-0d, agg.getValue());
+    }
 }
@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.expression.codegen;
+
+import com.espertech.esper.client.Configuration;
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.epl.agg.factory.AggregationFactoryFactoryDefault;
+import com.espertech.esper.epl.core.EngineImportService;
+import com.espertech.esper.epl.core.EngineImportServiceImpl;
+import com.espertech.esper.epl.core.StreamTypeService;
+import com.espertech.esper.epl.core.StreamTypeServiceImpl;
+import com.espertech.esper.epl.expression.core.*;
+import com.espertech.esper.epl.expression.ops.*;
+import com.espertech.esper.epl.expression.time.TimeAbacusMilliseconds;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.epl.SupportExprNode;
+import com.espertech.esper.supportunit.epl.SupportExprNodeFactory;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
+import com.espertech.esper.type.MathArithTypeEnum;
+import com.espertech.esper.type.RelationalOpEnum;
+import com.espertech.esper.util.support.SupportExprEvaluatorContext;
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TimeZone;
+
+public class TestExprCodegenCompiler extends TestCase {
+    private List<EventBean[]> eventsList;
+
+    public void setUp() {
+        eventsList = new ArrayList<EventBean[]>();
+        eventsList.add(new EventBean[]{null});
+        Integer[] ints = new Integer[]{null, 0, 5, -3};
+        Long[] longs = new Long[]{null, 0L, 7L};
+        Double[] doubles = new Double[]{null, 0d, -0d, 2.5d, Double.NaN};
+        Boolean[] bools = new Boolean[]{null, true, false};
+        for (Integer intBoxed : ints) {
+            for (Long longBoxed : longs) {
+                for (Double doubleBoxed : doubles) {
+                    for (Boolean boolBoxed : bools) {
+                        SupportBean bean = new SupportBean("E", intBoxed == null ? 1 : intBoxed * 2);
+                        bean.setIntBoxed(intBoxed);
+                        bean.setLongBoxed(longBoxed);
+                        bean.setDoubleBoxed(doubleBoxed);
+                        bean.setBoolBoxed(boolBoxed);
+                        bean.setShortBoxed(intBoxed == null ? null : intBoxed.shortValue());
+                        bean.setDoublePrimitive(doubleBoxed == null ? 1.5d : doubleBoxed);
+                        eventsList.add(new EventBean[]{SupportEventBeanFactory.createObject(bean)});
+                    }
+                }
+            }
+        }
+    }
+
+    public void testMath() throws Exception {
+        for (MathArithTypeEnum op : MathArithTypeEnum.values()) {
+            assertCompiled(math(op, ident("intBoxed"), ident("intPrimitive")));
+            assertCompiled(math(op, ident("intBoxed"), ident("longBoxed")));
+            assertCompiled(math(op, ident("doubleBoxed"), ident("longBoxed")));
+            assertCompiled(math(op, ident("shortBoxed"), ident("intBoxed")));
+            assertCompiled(math(op, ident("doublePrimitive"), constant(2)));
+            assertCompiled(math(op, constant(10L), math(op, ident("intBoxed"), constant(3))));
+        }
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, true, false, ident("intPrimitive"), ident("intBoxed")));
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, true, false, ident("longBoxed"), ident("intBoxed")));
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, false, true, ident("doubleBoxed"), ident("intBoxed")));
+        assertCompiled(math(MathArithTypeEnum.DIVIDE, false, true, ident("doubleBoxed"), ident("doubleBoxed")));
+    }
+
+    public void testRelational() throws Exception {
+        for (RelationalOpEnum op : RelationalOpEnum.values()) {
+            assertCompiled(relational(op, ident("intBoxed"), ident("intPrimitive")));
+            assertCompiled(relational(op, ident("intBoxed"), ident("longBoxed")));
+            assertCompiled(relational(op, ident("doubleBoxed"), ident("intBoxed")));
+            assertCompiled(relational(op, ident("doubleBoxed"), constant(0d)));
+            assertCompiled(relational(op, math(MathArithTypeEnum.ADD, ident("intBoxed"), ident("doubleBoxed")), ident("longBoxed")));
+        }
+    }
+
+    public void testEquals() throws Exception {
+        for (boolean isNot : new boolean[]{false, true}) {
+            assertCompiled(equals(isNot, ident("intBoxed"), ident("intPrimitive")));
+            assertCompiled(equals(isNot, ident("intBoxed"), ident("longBoxed")));
+            assertCompiled(equals(isNot, ident("doubleBoxed"), ident("doubleBoxed")));
+            assertCompiled(equals(isNot, ident("doubleBoxed"), constant(0d)));
+            assertCompiled(equals(isNot, ident("shortBoxed"), ident("intBoxed")));
+        }
+        assertNull(ExprCodegenCompiler.compile(validate(new ExprEqualsNodeImpl(false, true), ident("intBoxed"), ident("intPrimitive"))));
+    }
+
+    public void testLogical() throws Exception {
+        ExprNode relOne = relational(RelationalOpEnum.GT, ident("intBoxed"), constant(0));
+        ExprNode relTwo = relational(RelationalOpEnum.LE, ident("doubleBoxed"), ident("longBoxed"));
+        assertCompiled(validate(new ExprAndNodeImpl(), relOne, ident("boolBoxed"), relTwo));
+        assertCompiled(validate(new ExprOrNode(), ident("boolBoxed"), relOne, relTwo));
+        assertCompiled(validate(new ExprNotNode(), validate(new ExprOrNode(), relTwo, ident("boolBoxed"))));
+        assertCompiled(validate(new ExprAndNodeImpl(), validate(new ExprNotNode(), ident("boolBoxed")), equals(true, ident("intBoxed"), ident("longBoxed"))));
+    }
+
+    public void testOpaqueChildren() throws Exception {
+        for (Object value : new Object[]{null, 0, 10}) {
+            assertCompiled(math(MathArithTypeEnum.DIVIDE, true, false, ident("intBoxed"), new SupportExprNode(value, Integer.class)));
+            assertCompiled(relational(RelationalOpEnum.LT, new SupportExprNode(value, Integer.class), ident("doubleBoxed")));
+        }
+        for (Object value : new Object[]{null, true, false}) {
+            assertCompiled(validate(new ExprAndNodeImpl(), ident("boolBoxed"), new SupportExprNode(value, Boolean.class)));
+        }
+    }
+
+    public void testNotCompiled() throws Exception {
+        assertNull(ExprCodegenCompiler.compile(ident("intBoxed")));
+        assertNull(ExprCodegenCompiler.compile(constant(1)));
+        assertNull(ExprCodegenCompiler.compile(math(MathArithTypeEnum.ADD, new SupportExprNode(new BigDecimal(1)), ident("intBoxed"))));
+        assertNull(ExprCodegenCompiler.compile(math(MathArithTypeEnum.ADD, new SupportExprNode(1f), new SupportExprNode(2f))));
+
+        ExprNode node = math(MathArithTypeEnum.ADD, ident("intBoxed"), ident("intPrimitive"));
+        assertSame(node.getExprEvaluator(), ExprCodegenCompiler.getEvaluator(node, new Configuration()));
+        assertNull(ExprCodegenCompiler.getEvaluator(null, new Configuration()));
+
+        Configuration configuration = new Configuration();
+        configuration.getEngineDefaults().getExpression().setCodeGeneration(true);
+        assertTrue(ExprCodegenCompiler.getEvaluator(node, configuration) instanceof ExprCodegenEvaluatorBase);
+    }
+
+    private void assertCompiled(ExprNode node) {
+        ExprEvaluator compiled = ExprCodegenCompiler.compile(node);
+        String text = ExprNodeUtility.toExpressionStringMinPrecedenceSafe(node);
+        assertNotNull("Not compiled: " + text, compiled);
+        assertEquals(node.getExprEvaluator().getType(), compiled.getType());
+
+        ExprEvaluator interpreted = node.getExprEvaluator();
+        for (EventBean[] events : eventsList) {
+            Object expected;
+            try {
+                expected = interpreted.evaluate(events, true, null);
+            } catch (ArithmeticException ex) {
+                try {
+                    compiled.evaluate(events, true, null);
+                    fail("Expected exception for " + text);
+                } catch (ArithmeticException expectedEx) {
+                    // expected
+                }
+                continue;
+            }
+            Object result = compiled.evaluate(events, true, null);
+            assertEquals("Mismatch for " + text + " and " + (events[0] == null ? null : events[0].getUnderlying()), expected, result);
+        }
+    }
+
+    private static ExprNode ident(String property) throws Exception {
+        return SupportExprNodeFactory.makeIdentNodeBean(property);
+    }
+
+    private static ExprNode constant(Object value) {
+        return new ExprConstantNodeImpl(value);
+    }
+
+    private static ExprNode math(MathArithTypeEnum op, ExprNode left, ExprNode right) throws Exception {
+        return math(op, false, false, left, right);
+    }
+
+    private static ExprNode math(MathArithTypeEnum op, boolean isIntegerDivision, boolean isDivisionByZeroReturnsNull, ExprNode left, ExprNode right) throws Exception {
+        return validate(new ExprMathNode(op, isIntegerDivision, isDivisionByZeroReturnsNull), left, right);
+    }
+
+    private static ExprNode relational(RelationalOpEnum op, ExprNode left, ExprNode right) throws Exception {
+        return validate(new ExprRelationalOpNodeImpl(op), left, right);
+    }
+
+    private static ExprNode equals(boolean isNotEquals, ExprNode left, ExprNode right) throws Exception {
+        return validate(new ExprEqualsNodeImpl(isNotEquals, false), left, right);
+    }
+
+    private static ExprNode validate(ExprNode parent, ExprNode... children) throws Exception {
+        for (ExprNode child : children) {
+            parent.addChildNode(child);
+        }
+        EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        StreamTypeService streamTypeService = new StreamTypeServiceImpl(eventType, "s0", false, "uri");
+        EngineImportService engineImportService = new EngineImportServiceImpl(false, false, false, false, null, TimeZone.getDefault(), TimeAbacusMilliseconds.INSTANCE, ConfigurationEngineDefaults.ThreadingProfile.NORMAL, null, AggregationFactoryFactoryDefault.INSTANCE);
+        ExprValidationContext validationContext = new ExprValidationContext(streamTypeService, engineImportService, null, null, null, null, null, new SupportExprEvaluatorContext(null), null, null, -1, null, null, false, false, false, false, null, false);
+        ExprNodeUtility.getValidatedSubtree(ExprNodeOrigin.SELECT, parent, validationContext);
+        return parent;
+    }
+}
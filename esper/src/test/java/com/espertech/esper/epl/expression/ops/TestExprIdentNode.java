@@ -12,11 +12,13 @@ package com.espertech.esper.epl.expression.ops;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.epl.core.StreamTypeService;
+import com.espertech.esper.epl.expression.core.ExprEvaluatorPrimitive;
 import com.espertech.esper.epl.expression.core.ExprIdentNode;
 import com.espertech.esper.epl.expression.core.ExprIdentNodeImpl;
 import com.espertech.esper.epl.expression.core.ExprNodeUtility;
 import com.espertech.esper.epl.expression.core.ExprValidationException;
 import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.epl.SupportExprNodeFactory;
 import com.espertech.esper.supportunit.epl.SupportStreamTypeSvc3Stream;
 import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import com.espertech.esper.util.support.SupportExprValidationContextFactory;
@@ -106,6 +108,21 @@ public class TestExprIdentNode extends TestCase {
         assertNull(identNodes[3].getExprEvaluator().evaluate(new EventBean[2], false, null));
     }
 
+    public void testEvaluatePrimitive() throws Exception {
+        EventBean[] events = new EventBean[]{makeEvent(10)};
+
+        identNodes[3].validate(SupportExprValidationContextFactory.make(streamTypeService));
+        assertFalse(((ExprEvaluatorPrimitive) identNodes[3].getExprEvaluator()).isPrimitiveNonNull());
+
+        ExprEvaluatorPrimitive primitive = (ExprEvaluatorPrimitive) SupportExprNodeFactory.makeIdentNodeBean("intPrimitive").getExprEvaluator();
+        assertTrue(primitive.isPrimitiveNonNull());
+        assertEquals(10L, primitive.evaluateLong(events, true, null));
+        assertEquals(10d, primitive.evaluateDouble(events, true, null));
+
+        assertFalse(((ExprEvaluatorPrimitive) SupportExprNodeFactory.makeIdentNodeBean("intBoxed").getExprEvaluator()).isPrimitiveNonNull());
+        assertFalse(((ExprEvaluatorPrimitive) SupportExprNodeFactory.makeIdentNodeBean("boolPrimitive").getExprEvaluator()).isPrimitiveNonNull());
+    }
+
     public void testEvaluatePerformance() throws Exception {
         // test performance of evaluate for indexed events
         // fails if the getter is not in place
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.epl.expression.ops;
 
+import com.espertech.esper.epl.expression.core.ExprConstantNodeImpl;
 import com.espertech.esper.epl.expression.core.ExprNodeOrigin;
 import com.espertech.esper.epl.expression.core.ExprNodeUtility;
 import com.espertech.esper.epl.expression.core.ExprValidationException;
@@ -82,6 +83,37 @@ public class TestExprMathNode extends TestCase {
         assertNull(arithNode.evaluate(null, false, null));
     }
 
+    public void testEvaluatePrimitive() throws Exception {
+        arithNode = makeConstantNode(MathArithTypeEnum.MULTIPLY, false, 10, 1.5d);
+        assertTrue(arithNode.isPrimitiveNonNull());
+        assertEquals(15d, arithNode.evaluateDouble(null, false, null));
+        assertEquals(arithNode.evaluate(null, false, null), arithNode.evaluateDouble(null, false, null));
+
+        arithNode = makeConstantNode(MathArithTypeEnum.ADD, false, Integer.MAX_VALUE, 1);
+        assertTrue(arithNode.isPrimitiveNonNull());
+        assertEquals(arithNode.evaluate(null, false, null), (int) arithNode.evaluateLong(null, false, null));
+
+        arithNode = makeConstantNode(MathArithTypeEnum.MODULO, false, 10L, 3);
+        assertEquals(1L, arithNode.evaluateLong(null, false, null));
+        assertEquals(1d, arithNode.evaluateDouble(null, false, null));
+
+        arithNode = makeConstantNode(MathArithTypeEnum.DIVIDE, false, 10, 4);
+        assertTrue(arithNode.isPrimitiveNonNull());
+        assertEquals(2.5d, arithNode.evaluateDouble(null, false, null));
+
+        // division that may return null
+        assertFalse(makeConstantNode(MathArithTypeEnum.DIVIDE, true, 10, 4).isPrimitiveNonNull());
+        arithNode = new ExprMathNode(MathArithTypeEnum.DIVIDE, false, true);
+        arithNode.addChildNode(new ExprConstantNodeImpl(10d));
+        arithNode.addChildNode(new ExprConstantNodeImpl(0d));
+        SupportExprNodeUtil.validate(arithNode);
+        assertFalse(arithNode.isPrimitiveNonNull());
+
+        // child that may return null
+        arithNode = makeNode(5, Integer.class, 2d, Double.class);
+        assertFalse(arithNode.isPrimitiveNonNull());
+    }
+
     public void testEqualsNode() throws Exception {
         assertTrue(arithNode.equalsNode(arithNode, false));
         assertFalse(arithNode.equalsNode(new ExprMathNode(MathArithTypeEnum.DIVIDE, false, false), false));
@@ -94,4 +126,12 @@ public class TestExprMathNode extends TestCase {
         SupportExprNodeUtil.validate(mathNode);
         return mathNode;
     }
+
+    private ExprMathNode makeConstantNode(MathArithTypeEnum type, boolean isIntegerDivision, Object valueLeft, Object valueRight) throws Exception {
+        ExprMathNode mathNode = new ExprMathNode(type, isIntegerDivision, false);
+        mathNode.addChildNode(new ExprConstantNodeImpl(valueLeft));
+        mathNode.addChildNode(new ExprConstantNodeImpl(valueRight));
+        SupportExprNodeUtil.validate(mathNode);
+        return mathNode;
+    }
 }
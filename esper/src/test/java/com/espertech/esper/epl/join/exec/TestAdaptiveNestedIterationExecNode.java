@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.exec;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.epl.join.exec.base.AdaptiveNestedIterationExecNode;
+import com.espertech.esper.epl.join.exec.base.ExecNode;
+import com.espertech.esper.epl.join.exec.base.JoinStreamCardinality;
+import com.espertech.esper.epl.join.table.EventTable;
+import com.espertech.esper.supportunit.epl.SupportQueryExecNode;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+
+public class TestAdaptiveNestedIterationExecNode extends TestCase {
+    private SupportQueryExecNode nodeOneTwo;
+    private SupportQueryExecNode nodeTwoOne;
+    private AdaptiveNestedIterationExecNode exec;
+
+    public void setUp() {
+        nodeOneTwo = new SupportQueryExecNode("12");
+        nodeTwoOne = new SupportQueryExecNode("21");
+        exec = new AdaptiveNestedIterationExecNode(new int[][]{{1, 2}, {2, 1}}, new ExecNode[]{nodeOneTwo, nodeTwoOne}, new EventTable[2][2], 10);
+    }
+
+    public void testReplan() {
+        JoinStreamCardinality cardinality = new JoinStreamCardinality(3);
+        exec.setStreamCardinality(cardinality);
+
+        // stream 2 empty, looking up stream 2 first is cheaper
+        cardinality.update(1, new Object[100], null);
+        assertProcessed(9, nodeOneTwo);
+        assertProcessed(1, nodeTwoOne);
+        assertEquals(2, exec.getCurrentNestingOrder()[0]);
+
+        // stream 1 empty, looking up stream 1 first is cheaper
+        cardinality.update(1, null, new Object[100]);
+        cardinality.update(2, new Object[100], null);
+        assertProcessed(9, nodeTwoOne);
+        assertProcessed(1, nodeOneTwo);
+        assertEquals(1, exec.getCurrentNestingOrder()[0]);
+
+        // similar cost does not change lookup order
+        cardinality.update(1, new Object[90], null);
+        assertProcessed(20, nodeOneTwo);
+    }
+
+    public void testNoCardinality() {
+        assertProcessed(100, nodeOneTwo);
+    }
+
+    private void assertProcessed(int numLookups, SupportQueryExecNode expected) {
+        for (int i = 0; i < numLookups; i++) {
+            nodeOneTwo.process(null, null, null, null);
+            nodeTwoOne.process(null, null, null, null);
+            EventBean[] prefill = new EventBean[0];
+            exec.process(null, prefill, new ArrayList<EventBean[]>(), null);
+            assertSame(prefill, expected.getLastPrefillPath());
+        }
+    }
+}
@@ -23,6 +23,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.List;
 
 public class TestNStreamQueryPlanBuilder extends TestCase {
     private EventType[] typesPerStream;
@@ -49,7 +50,7 @@ public class TestNStreamQueryPlanBuilder extends TestCase {
     }
 
     public void testBuild() {
-        QueryPlan plan = NStreamQueryPlanBuilder.build(queryGraph, typesPerStream, new HistoricalViewableDesc(6), dependencyGraph, null, false, new String[queryGraph.getNumStreams()][][], new TableMetadata[queryGraph.getNumStreams()]);
+        QueryPlan plan = NStreamQueryPlanBuilder.build(queryGraph, typesPerStream, new HistoricalViewableDesc(6), dependencyGraph, null, false, new String[queryGraph.getNumStreams()][][], new TableMetadata[queryGraph.getNumStreams()], 0);
 
         log.debug(".testBuild plan=" + plan);
     }
@@ -99,6 +100,32 @@ public class TestNStreamQueryPlanBuilder extends TestCase {
         assertTrue(Arrays.equals(bestChain.getChain(), new int[]{0, 1, 2, 3, 4}));
     }
 
+    public void testBuildAdaptive() {
+        EventType[] types = Arrays.copyOf(typesPerStream, 3);
+        QueryGraph graph = new QueryGraph(3, null, false);
+        graph.addStrictEquals(0, "p00", make(0, "p00"), 1, "p10", make(1, "p10"));
+        graph.addStrictEquals(1, "p11", make(1, "p11"), 2, "p20", make(2, "p20"));
+        graph.addStrictEquals(0, "p01", make(0, "p01"), 2, "p21", make(2, "p21"));
+
+        List<int[]> chains = NStreamQueryPlanBuilder.computeNavigableChains(0, graph, 10);
+        assertEquals(2, chains.size());
+        assertTrue(Arrays.equals(new int[]{1, 2}, chains.get(0)));
+        assertTrue(Arrays.equals(new int[]{2, 1}, chains.get(1)));
+        assertEquals(1, NStreamQueryPlanBuilder.computeNavigableChains(0, graph, 1).size());
+
+        QueryPlan plan = NStreamQueryPlanBuilder.build(graph, types, new HistoricalViewableDesc(3), new DependencyGraph(3, false), null, false, new String[3][][], new TableMetadata[3], 0);
+        assertTrue(plan.getExecNodeSpecs()[0] instanceof NestedIterationNode);
+
+        plan = NStreamQueryPlanBuilder.build(graph, types, new HistoricalViewableDesc(3), new DependencyGraph(3, false), null, false, new String[3][][], new TableMetadata[3], 100);
+        for (int i = 0; i < 3; i++) {
+            AdaptiveNestedIterationNode adaptive = (AdaptiveNestedIterationNode) plan.getExecNodeSpecs()[i];
+            assertEquals(2, adaptive.getCandidates().size());
+        }
+        AdaptiveNestedIterationNode adaptive = (AdaptiveNestedIterationNode) plan.getExecNodeSpecs()[0];
+        assertTrue(Arrays.equals(new int[]{1, 2}, adaptive.getCandidates().get(0).getNestingOrder()));
+        assertTrue(Arrays.equals(new int[]{2, 1}, adaptive.getCandidates().get(1).getNestingOrder()));
+    }
+
     public void testComputeNavigableDepth() {
         queryGraph.addStrictEquals(3, "p30", null, 2, "p20", null);
         queryGraph.addStrictEquals(2, "p30", null, 1, "p20", null);
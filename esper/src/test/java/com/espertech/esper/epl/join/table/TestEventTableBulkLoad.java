@@ -0,0 +1,149 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.epl.join.table;
+
+import com.espertech.esper.client.EPException;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
+import com.espertech.esper.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+public class TestEventTableBulkLoad extends TestCase {
+    private EventType eventType;
+    private EventBean[] events;
+    private ThreadPoolExecutor pool;
+
+    public void setUp() {
+        eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        Random random = new Random(1);
+        events = new EventBean[10000];
+        for (int i = 0; i < events.length; i++) {
+            SupportBean bean = new SupportBean(random.nextInt(10) == 0 ? null : "E" + random.nextInt(500), i);
+            bean.setLongBoxed(random.nextInt(10) == 0 ? null : (long) random.nextInt(500));
+            events[i] = SupportEventBeanFactory.createObject(bean);
+        }
+        pool = new ThreadPoolExecutor(4, 4, 1, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>());
+    }
+
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    public void testHashNonUnique() {
+        for (ThreadPoolExecutor parallel : new ThreadPoolExecutor[]{null, pool}) {
+            assertSameContents(new PropertyIndexedEventTableFactory(0, eventType, new String[]{"theString", "longBoxed"}, false, null), parallel);
+            assertSameContents(new PropertyIndexedEventTableSingleFactory(0, eventType, "theString", false, null), parallel);
+        }
+    }
+
+    public void testHashUnique() {
+        for (ThreadPoolExecutor parallel : new ThreadPoolExecutor[]{null, pool}) {
+            assertSameContents(new PropertyIndexedEventTableFactory(0, eventType, new String[]{"intPrimitive", "theString"}, true, null), parallel);
+            assertSameContents(new PropertyIndexedEventTableSingleFactory(0, eventType, "intPrimitive", true, null), parallel);
+
+            EventTable table = new PropertyIndexedEventTableSingleFactory(0, eventType, "theString", true, "MyIndex").makeEventTables(null, null)[0];
+            try {
+                ((EventTableBulkLoad) table).addBulk(events, parallel, null);
+                fail();
+            } catch (EPException ex) {
+                assertTrue(ex.getMessage().startsWith("Unique index violation, index 'MyIndex' is a unique index and key"));
+            }
+        }
+    }
+
+    public void testSorted() {
+        for (ThreadPoolExecutor parallel : new ThreadPoolExecutor[]{null, pool}) {
+            PropertySortedEventTable bulk = (PropertySortedEventTable) assertSameContents(new PropertySortedEventTableFactory(0, eventType, "longBoxed"), parallel);
+            EPAssertionUtil.assertEqualsAnyOrder(bulk.lookupRange(100L, true, 200L, false, false).toArray(), lookupRange(100, 200));
+
+            bulk = (PropertySortedEventTable) assertSameContents(new PropertySortedEventTableCoercedFactory(0, eventType, "intPrimitive", Long.class), parallel);
+            assertEquals(3, bulk.lookupRange(10L, true, 12L, true, false).size());
+
+            assertSameContents(new PropertySortedEventTableFactory(0, eventType, "theString"), parallel);
+        }
+    }
+
+    public void testBulkLoadNonEmpty() {
+        EventTable[] tables = new EventTable[]{
+            new PropertySortedEventTableFactory(0, eventType, "longBoxed").makeEventTables(null, null)[0],
+            new PropertyIndexedEventTableSingleFactory(0, eventType, "intPrimitive", true, null).makeEventTables(null, null)[0]
+        };
+        for (EventTable table : tables) {
+            table.add(events[0], null);
+            ((EventTableBulkLoad) table).addBulk(Arrays.copyOfRange(events, 1, events.length), null, null);
+            assertEquals(events.length, countIterator(table.iterator()));
+        }
+    }
+
+    public void testSortStable() {
+        Integer[] values = new Integer[5000];
+        Random random = new Random(2);
+        for (int i = 0; i < values.length; i++) {
+            values[i] = new Integer(random.nextInt(100));
+        }
+        Comparator<Integer> comparator = new Comparator<Integer>() {
+            public int compare(Integer o1, Integer o2) {
+                return o1.compareTo(o2);
+            }
+        };
+        Integer[] expected = values.clone();
+        Arrays.sort(expected, 0, 4000, comparator);
+        Integer[] sorted = values.clone();
+        EventTableUtil.sort(sorted, 4000, comparator, pool);
+        for (int i = 0; i < values.length; i++) {
+            assertSame(expected[i], sorted[i]);
+        }
+    }
+
+    private EventTable assertSameContents(EventTableFactory factory, ThreadPoolExecutor parallel) {
+        EventTable expected = factory.makeEventTables(null, null)[0];
+        expected.add(events, null);
+        EventTable bulk = factory.makeEventTables(null, null)[0];
+        ((EventTableBulkLoad) bulk).addBulk(events, parallel, null);
+
+        assertEquals(expected.getNumKeys(), bulk.getNumKeys());
+        assertEquals(expected.getIndex(), bulk.getIndex());
+        if (expected instanceof PropertySortedEventTable) {
+            EPAssertionUtil.assertEqualsExactOrder(EPAssertionUtil.iteratorToArray(expected.iterator()), bulk.iterator());
+        } else {
+            EPAssertionUtil.assertEqualsAnyOrder(EPAssertionUtil.iteratorToArray(expected.iterator()), EPAssertionUtil.iteratorToArray(bulk.iterator()));
+        }
+        return bulk;
+    }
+
+    private Object[] lookupRange(long start, long end) {
+        List<EventBean> result = new ArrayList<EventBean>();
+        for (EventBean event : events) {
+            Long value = ((SupportBean) event.getUnderlying()).getLongBoxed();
+            if (value != null && value >= start && value < end) {
+                result.add(event);
+            }
+        }
+        return result.toArray();
+    }
+
+    private int countIterator(Iterator<EventBean> it) {
+        int count = 0;
+        while (it.hasNext()) {
+            it.next();
+            count++;
+        }
+        return count;
+    }
+}
@@ -34,7 +34,7 @@ public class TestFilterStreamSpecRaw extends TestCase {
 
     public void testMultipleExpr() throws Exception {
         FilterStreamSpecRaw raw = makeSpec("select * from " + SupportBean.class.getName() +
-                "(intPrimitive-1>2 and intBoxed-5>3)");
+                "(intPrimitive-1>intBoxed and intBoxed-5>longPrimitive)");
         FilterSpecCompiled spec = compile(raw);
         assertEquals(SupportBean.class, spec.getFilterForEventType().getUnderlyingType());
         assertEquals(1, spec.getParameters().length);
@@ -46,6 +46,24 @@ public class TestFilterStreamSpecRaw extends TestCase {
         assertTrue(exprNode.getExprNode() instanceof ExprAndNode);
     }
 
+    public void testMathWithConstant() throws Exception {
+        FilterStreamSpecRaw raw = makeSpec("select * from " + SupportBean.class.getName() +
+                "(intPrimitive-1>2 and 3<intBoxed-5)");
+        FilterSpecCompiled spec = compile(raw);
+        assertEquals(1, spec.getParameters().length);
+        assertEquals(2, spec.getParameters()[0].length);
+
+        // expecting arithmetic compared to a constant to become a lookupable
+        FilterSpecParamConstant first = (FilterSpecParamConstant) spec.getParameters()[0][0];
+        assertEquals("intPrimitive-1", first.getLookupable().getExpression());
+        assertEquals(FilterOperator.GREATER, first.getFilterOperator());
+        assertEquals(2, first.getFilterConstant());
+        FilterSpecParamConstant second = (FilterSpecParamConstant) spec.getParameters()[0][1];
+        assertEquals("intBoxed-5", second.getLookupable().getExpression());
+        assertEquals(FilterOperator.GREATER, second.getFilterOperator());
+        assertEquals(3, second.getFilterConstant());
+    }
+
     public void testInvalid() throws Exception {
         tryInvalid("select * from " + SupportBean.class.getName() + "(intPrimitive=5L)");
         tryInvalid("select * from " + SupportBean.class.getName() + "(5d = byteBoxed)");
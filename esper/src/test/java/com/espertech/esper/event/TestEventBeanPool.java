@@ -0,0 +1,95 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event;
+
+import com.espertech.esper.client.ConfigurationEngineDefaults;
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.scopetest.SupportUpdateListener;
+import com.espertech.esper.core.service.EPStatementListenerSet;
+import com.espertech.esper.core.service.StatementResultServiceImpl;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.core.thread.ThreadingServiceImpl;
+import junit.framework.TestCase;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class TestEventBeanPool extends TestCase {
+    private EventAdapterService eventAdapterService;
+    private StatementResultServiceImpl statementResultService;
+    private EventType oaType;
+    private EventType mapType;
+
+    public void setUp() {
+        eventAdapterService = SupportEventAdapterService.getService();
+        statementResultService = new StatementResultServiceImpl("name", null, null, new ThreadingServiceImpl(new ConfigurationEngineDefaults.Threading()));
+        statementResultService.setUpdateListeners(new EPStatementListenerSet(), false);
+        Map<String, Object> props = Collections.<String, Object>singletonMap("p0", String.class);
+        oaType = eventAdapterService.createAnonymousObjectArrayType("TestEventBeanPoolOA", props);
+        mapType = eventAdapterService.createAnonymousMapType("TestEventBeanPoolMap", props, true);
+    }
+
+    public void testObjectArray() {
+        EventBeanPool pool = new EventBeanPool(oaType, statementResultService, eventAdapterService);
+        EventBean first = pool.allocate(new Object[]{"a"});
+        assertTrue(first instanceof EventBeanPooled);
+        assertSame(oaType, first.getEventType());
+        assertEquals("a", first.get("p0"));
+
+        // not releasable unless the runtime found no retaining statement
+        pool.release((EventBeanPooled) first);
+        EventBean second = pool.allocate(new Object[]{"b"});
+        assertNotSame(first, second);
+
+        ((EventBeanPooled) first).setReleasable(true);
+        pool.release((EventBeanPooled) first);
+        assertNull(first.getUnderlying());
+        EventBean third = pool.allocate(new Object[]{"c"});
+        assertSame(first, third);
+        assertEquals("c", third.get("p0"));
+        assertFalse(((EventBeanPooled) third).isReleasable());
+        assertEquals("b", second.get("p0"));
+    }
+
+    public void testMap() {
+        EventBeanPool pool = new EventBeanPool(mapType, statementResultService, eventAdapterService);
+        EventBean first = pool.allocate(makeMap("a"));
+        assertTrue(first instanceof EventBeanPooled);
+        ((EventBeanPooled) first).setReleasable(true);
+        pool.release((EventBeanPooled) first);
+
+        EventBean second = pool.allocate(makeMap("b"));
+        assertSame(first, second);
+        assertEquals("b", second.get("p0"));
+    }
+
+    public void testListenedProducer() {
+        EventBeanPool pool = new EventBeanPool(oaType, statementResultService, eventAdapterService);
+        EventBean first = pool.allocate(new Object[]{"a"});
+        ((EventBeanPooled) first).setReleasable(true);
+
+        // a listener may retain events, the pool hands out plain wrappers and does not reuse wrappers
+        EPStatementListenerSet listeners = new EPStatementListenerSet();
+        listeners.addListener(new SupportUpdateListener());
+        statementResultService.setUpdateListeners(listeners, false);
+        pool.release((EventBeanPooled) first);
+        assertEquals("a", first.get("p0"));
+        assertFalse(pool.allocate(new Object[]{"b"}) instanceof EventBeanPooled);
+    }
+
+    private static Map<String, Object> makeMap(String value) {
+        Map<String, Object> map = new HashMap<String, Object>();
+        map.put("p0", value);
+        return map;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.arr;
+
+import com.espertech.esper.client.EventBean;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.event.EventTypeMetadata;
+import com.espertech.esper.supportunit.bean.SupportBeanComplexProps;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestObjectArrayOffHeapStore extends TestCase {
+    private final static String[] PROPS = new String[]{"aString", "anInt", "aLong", "aDouble", "aBool", "aChar", "bString", "myComplexBean", "aShort", "aFloat", "aByte"};
+    private final static Object[] TYPES = new Object[]{String.class, Integer.class, long.class, Double.class, boolean.class, Character.class, String.class, SupportBeanComplexProps.class, short.class, Float.class, Byte.class};
+
+    private ObjectArrayEventType eventType;
+    private ObjectArrayOffHeapStore store;
+
+    public void setUp() {
+        Map<String, Object> typeRep = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < PROPS.length; i++) {
+            typeRep.put(PROPS[i], TYPES[i]);
+        }
+        EventTypeMetadata metadata = EventTypeMetadata.createNonPojoApplicationType(EventTypeMetadata.ApplicationType.OBJECTARR, "testtype", true, true, true, false, false);
+        eventType = new ObjectArrayEventType(metadata, "", 1, SupportEventAdapterService.getService(), typeRep, null, null, null);
+        store = new ObjectArrayOffHeapStore(eventType, 100);
+    }
+
+    public void testReadWrite() {
+        SupportBeanComplexProps complex = SupportBeanComplexProps.makeDefaultBean();
+        Object[] values = new Object[]{"tést", 10, 20L, 1.5d, true, 'x', "other", complex, (short) 3, 2.5f, (byte) 4};
+        EventBean theEvent = store.adapt(new ObjectArrayEventBean(values.clone(), eventType));
+        assertTrue(theEvent instanceof ObjectArrayOffHeapEventBean);
+        assertSame(theEvent, store.adapt(theEvent));
+        assertSame(eventType, theEvent.getEventType());
+
+        EPAssertionUtil.assertEqualsExactOrder(values, (Object[]) theEvent.getUnderlying());
+        for (int i = 0; i < PROPS.length; i++) {
+            assertEquals(values[i], theEvent.get(PROPS[i]));
+        }
+        assertSame(complex, theEvent.get("myComplexBean"));
+        assertEquals("nestedValue", theEvent.get("myComplexBean.nested.nestedValue"));
+
+        // null values, in particular preceding variable-length columns
+        Object[] nulls = new Object[]{null, null, 1L, null, false, null, null, null, (short) 0, null, null};
+        EventBean nullEvent = store.adapt(new ObjectArrayEventBean(nulls.clone(), eventType));
+        EPAssertionUtil.assertEqualsExactOrder(nulls, (Object[]) nullEvent.getUnderlying());
+        for (int i = 0; i < PROPS.length; i++) {
+            assertEquals(nulls[i], nullEvent.get(PROPS[i]));
+        }
+
+        // rows that do not fit the remaining segment go to a new segment
+        for (int i = 0; i < 10; i++) {
+            store.adapt(new ObjectArrayEventBean(values.clone(), eventType));
+        }
+        assertTrue(store.getNumSegments() > 1);
+        assertEquals("other", theEvent.get("bString"));
+
+        // rows larger than a segment
+        StringBuilder large = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            large.append(i);
+        }
+        values[6] = large.toString();
+        EventBean largeEvent = store.adapt(new ObjectArrayEventBean(values.clone(), eventType));
+        assertEquals(large.toString(), largeEvent.get("bString"));
+        assertEquals((byte) 4, largeEvent.get("aByte"));
+    }
+
+    public void testCompaction() {
+        store = new ObjectArrayOffHeapStore(eventType, 200);
+        EventBean[] rows = new EventBean[12];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = store.adapt(new ObjectArrayEventBean(new Object[]{"a" + (char) ('a' + i), i, 2L, 1.5d, true, 'x', "b", null, (short) 1, 1f, (byte) 1}, eventType));
+        }
+        store.hold(rows);
+        assertEquals(3, store.getNumSegments());
+        assertFalse(store.isCompactionRequired());
+        Object[] underlying = (Object[]) rows[3].getUnderlying();
+        assertNotSame(underlying, rows[3].getUnderlying());
+
+        // the first segment keeps a single held row, the second segment no held row
+        store.release(new EventBean[]{rows[0], rows[1], rows[2], rows[4], rows[5], rows[6], rows[7]});
+        assertTrue(store.isCompactionRequired());
+        List<EventBean> held = new ArrayList<EventBean>();
+        held.add(rows[3]);
+        held.addAll(Arrays.asList(rows).subList(8, 12));
+        store.compact(held);
+        assertFalse(store.isCompactionRequired());
+        assertEquals(2, store.getNumSegments());
+
+        // relocated and released rows remain readable
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(i, rows[i].get("anInt"));
+            assertEquals("a" + (char) ('a' + i), rows[i].get("aString"));
+        }
+        EPAssertionUtil.assertEqualsExactOrder(underlying, (Object[]) rows[3].getUnderlying());
+
+        // a released row held again after its segment was compacted is relocated
+        store.hold(new EventBean[]{rows[0]});
+        assertEquals(0, rows[0].get("anInt"));
+        store.compact(held);
+        assertEquals(2, store.getNumSegments());
+    }
+
+    public void testUpdateHeldRow() {
+        store = new ObjectArrayOffHeapStore(eventType, 200);
+        EventBean[] rows = new EventBean[8];
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = store.adapt(new ObjectArrayEventBean(new Object[]{"a" + (char) ('a' + i), i, 2L, 1.5d, true, 'x', "b", null, (short) 1, 1f, (byte) 1}, eventType));
+        }
+        store.hold(rows);
+        assertEquals(2, store.getNumSegments());
+
+        // updating all rows of the first segment leaves it without held rows
+        for (int i = 0; i < 4; i++) {
+            ((ObjectArrayOffHeapEventBean) rows[i]).setPropertyValues(new Object[]{"u" + (char) ('a' + i), 100 + i, 2L, 1.5d, true, 'x', "b", null, (short) 1, 1f, (byte) 1});
+        }
+        assertEquals(3, store.getNumSegments());
+        assertTrue(store.isCompactionRequired());
+        store.compact(Arrays.asList(rows));
+        assertEquals(2, store.getNumSegments());
+        for (int i = 0; i < rows.length; i++) {
+            assertEquals(i < 4 ? 100 + i : i, rows[i].get("anInt"));
+        }
+
+        // updating a row that is not held does not change the accounting
+        store.release(new EventBean[]{rows[7]});
+        assertFalse(store.isCompactionRequired());
+        ((ObjectArrayOffHeapEventBean) rows[7]).setPropertyValues(new Object[]{"x", 7, 2L, 1.5d, true, 'x', "b", null, (short) 1, 1f, (byte) 1});
+        assertFalse(store.isCompactionRequired());
+    }
+
+    public void testMismatchedValueKeptOnHeap() {
+        Object[] values = new Object[]{"a", 10L, 20L, 1.5d, true, 'x', "b", null, (short) 3, 2.5f, (byte) 4};
+        EventBean theEvent = store.adapt(new ObjectArrayEventBean(values, eventType));
+        assertEquals(10L, theEvent.get("anInt"));
+        assertEquals(0, store.getNumSegments());
+
+        ((ObjectArrayOffHeapEventBean) theEvent).setPropertyValues(new Object[]{"a", 10, 20L, 1.5d, true, 'x', "b", null, (short) 3, 2.5f, (byte) 4});
+        assertEquals(10, theEvent.get("anInt"));
+        assertEquals(1, store.getNumSegments());
+    }
+}
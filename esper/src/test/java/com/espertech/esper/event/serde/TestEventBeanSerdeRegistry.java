@@ -0,0 +1,124 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.event.serde;
+
+import com.espertech.esper.client.EventType;
+import com.espertech.esper.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.core.support.SupportEventAdapterService;
+import com.espertech.esper.event.EventAdapterService;
+import com.espertech.esper.event.EventTypeMetadata;
+import com.espertech.esper.event.arr.ObjectArrayEventType;
+import com.espertech.esper.event.map.MapEventType;
+import com.espertech.esper.supportunit.bean.SupportBean;
+import junit.framework.TestCase;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class TestEventBeanSerdeRegistry extends TestCase {
+    private final static String[] PROPS = new String[]{"aString", "anInt", "aLong", "aDouble", "aBool", "anObject", "aShort"};
+    private final static Object[] TYPES = new Object[]{String.class, Integer.class, long.class, Double.class, boolean.class, Object.class, short.class};
+
+    private EventAdapterService eventAdapterService;
+    private EventBeanSerdeRegistry registry;
+    private Map<String, Object> typeRep;
+
+    public void setUp() {
+        eventAdapterService = SupportEventAdapterService.getService();
+        registry = new EventBeanSerdeRegistryImpl(null);
+        typeRep = new LinkedHashMap<String, Object>();
+        for (int i = 0; i < PROPS.length; i++) {
+            typeRep.put(PROPS[i], TYPES[i]);
+        }
+    }
+
+    public void testObjectArray() throws IOException {
+        EventTypeMetadata metadata = EventTypeMetadata.createNonPojoApplicationType(EventTypeMetadata.ApplicationType.OBJECTARR, "testtype", true, true, true, false, false);
+        ObjectArrayEventType eventType = new ObjectArrayEventType(metadata, "", 1, eventAdapterService, typeRep, null, null, null);
+        EventBeanSerde serde = registry.getSerde(eventType);
+        assertTrue(serde instanceof EventBeanSerdeObjectArray);
+        assertSame(serde, registry.getSerde(eventType));
+
+        char[] longChars = new char[30000];
+        Arrays.fill(longChars, 'é');
+        String longString = new String(longChars);
+        assertRoundTrip(serde, new Object[]{"abc", 10, 20L, 1.5d, true, new Object[]{1, "x", null}, (short) 3});
+        assertRoundTrip(serde, new Object[]{longString, null, null, null, null, new SupportBean("E1", 1), null});
+
+        // value not matching the property type
+        assertRoundTrip(serde, new Object[]{null, 10L, "x", 1, null, 'c', null});
+    }
+
+    public void testMap() throws IOException {
+        EventTypeMetadata metadata = EventTypeMetadata.createNonPojoApplicationType(EventTypeMetadata.ApplicationType.MAP, "testtype", true, true, true, false, false);
+        MapEventType eventType = new MapEventType(metadata, "", 1, eventAdapterService, typeRep, null, null, null);
+        EventBeanSerde serde = registry.getSerde(eventType);
+        assertTrue(serde instanceof EventBeanSerdeMap);
+
+        Map<String, Object> values = new HashMap<String, Object>();
+        values.put("aString", "abc");
+        values.put("anInt", null);
+        values.put("aLong", 20L);
+        values.put("other", 5);
+        Map<String, Object> result = (Map<String, Object>) EventBeanSerdeFactory.fromByteArray(serde, EventBeanSerdeFactory.toByteArray(serde, values));
+        assertEquals(values, result);
+        assertTrue(result.containsKey("anInt"));
+        assertFalse(result.containsKey("aDouble"));
+    }
+
+    public void testRegisterAndBean() throws IOException {
+        EventType eventType = eventAdapterService.addBeanType(SupportBean.class.getName(), SupportBean.class, true, true, true);
+        EventBeanSerde serde = registry.getSerde(eventType);
+        assertSame(EventBeanSerdeSerializable.INSTANCE, serde);
+        SupportBean bean = new SupportBean("E1", 10);
+        SupportBean copy = (SupportBean) EventBeanSerdeFactory.fromByteArray(serde, EventBeanSerdeFactory.toByteArray(serde, bean));
+        assertNotSame(bean, copy);
+        assertEquals("E1", copy.getTheString());
+        assertEquals(10, copy.getIntPrimitive());
+
+        EventBeanSerde custom = new EventBeanSerde() {
+            public void write(Object underlying, DataOutputStream stream) throws IOException {
+                SupportBean value = (SupportBean) underlying;
+                stream.writeUTF(value.getTheString());
+                stream.writeInt(value.getIntPrimitive());
+            }
+
+            public Object read(DataInputStream stream) throws IOException {
+                return new SupportBean(stream.readUTF(), stream.readInt());
+            }
+        };
+        registry.registerSerde(eventType, custom);
+        assertSame(custom, registry.getSerde(eventType));
+        assertEquals(8, EventBeanSerdeFactory.toByteArray(registry.getSerde(eventType), bean).length);
+
+        registry.removeSerde(eventType);
+        assertSame(EventBeanSerdeSerializable.INSTANCE, registry.getSerde(eventType));
+    }
+
+    private static void assertRoundTrip(EventBeanSerde serde, Object[] values) throws IOException {
+        Object[] result = (Object[]) EventBeanSerdeFactory.fromByteArray(serde, EventBeanSerdeFactory.toByteArray(serde, values));
+        assertEquals(values.length, result.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] instanceof Object[]) {
+                EPAssertionUtil.assertEqualsExactOrder((Object[]) values[i], (Object[]) result[i]);
+            } else if (values[i] instanceof SupportBean) {
+                assertEquals(((SupportBean) values[i]).getTheString(), ((SupportBean) result[i]).getTheString());
+            } else {
+                assertEquals(values[i], result[i]);
+            }
+        }
+    }
+}
@@ -71,6 +71,14 @@ public class TestFilterCallbackSetNode extends TestCase {
     }
 
     public void testNodeMatching() {
+        runAssertionNodeMatching(testNode, false);
+    }
+
+    public void testNodeMatchingCopyOnWrite() {
+        runAssertionNodeMatching(new FilterHandleSetNode(new ReentrantReadWriteLock(), true), true);
+    }
+
+    private void runAssertionNodeMatching(FilterHandleSetNode testNode, boolean copyOnWrite) {
         SupportBeanSimple eventObject = new SupportBeanSimple("DepositEvent_1", 1);
         EventBean eventBean = SupportEventBeanFactory.createObject(eventObject);
 
@@ -85,7 +93,7 @@ public class TestFilterCallbackSetNode extends TestCase {
         matches.clear();
 
         // Create, add and populate an index node
-        FilterParamIndexBase index = new FilterParamIndexEquals(makeLookupable("myString", eventBean.getEventType()), new ReentrantReadWriteLock());
+        FilterParamIndexBase index = new FilterParamIndexEquals(makeLookupable("myString", eventBean.getEventType()), new ReentrantReadWriteLock(), copyOnWrite);
         testNode.add(index);
         index.put("DepositEvent_1", testEvaluator);
 
@@ -96,6 +104,14 @@ public class TestFilterCallbackSetNode extends TestCase {
         assertTrue(testEvaluator.getLastEvent() == eventBean);
         assertEquals(1, matches.size());
         assertEquals(expr, matches.get(0));
+        matches.clear();
+
+        // Verify removes are visible to matching
+        testNode.remove(expr);
+        index.remove("DepositEvent_1");
+        testNode.matchEvent(eventBean, matches);
+        assertEquals(0, testEvaluator.getAndResetCountInvoked());
+        assertEquals(0, matches.size());
     }
 
     private FilterSpecLookupable makeLookupable(String fieldName, EventType eventType) {
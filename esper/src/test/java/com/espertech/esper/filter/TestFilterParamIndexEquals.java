@@ -85,6 +85,20 @@ public class TestFilterParamIndexEquals extends TestCase {
         verifyFloatPrimitive(index, 0, 0);
     }
 
+    public void testReplaceCopyOnWrite() {
+        FilterParamIndexEquals index = new FilterParamIndexEquals(makeLookupable("theString"), new ReentrantReadWriteLock(), true);
+        SupportEventEvaluator replacement = new SupportEventEvaluator();
+
+        index.put("hello", testEvaluator);
+        index.replace("hello", replacement);
+        assertEquals(replacement, index.get("hello"));
+
+        testBean.setTheString("hello");
+        index.matchEvent(testEventBean, matchesList);
+        assertEquals(0, testEvaluator.getAndResetCountInvoked());
+        assertEquals(1, replacement.getAndResetCountInvoked());
+    }
+
     private void verifyShortBoxed(FilterParamIndexBase index, Short testValue, int numExpected) {
         testBean.setShortBoxed(testValue);
         index.matchEvent(testEventBean, matchesList);
@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.schedule;
+
+import com.espertech.esper.supportunit.schedule.SupportScheduleCallback;
+import com.espertech.esper.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestSchedulingServiceTimingWheelImpl extends TestCase {
+    private SchedulingServiceTimingWheelImpl service;
+    private SupportScheduleCallback callbacks[];
+
+    public void setUp() {
+        service = new SchedulingServiceTimingWheelImpl(new TimeSourceServiceImpl());
+        callbacks = new SupportScheduleCallback[5];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+    }
+
+    public void tearDown() {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+    }
+
+    public void testTrigger() {
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(0);
+
+        service.add(20, callbacks[3], 4);
+        service.add(20, callbacks[2], 3);
+        service.add(20, callbacks[1], 2);
+        service.add(21, callbacks[0], 1);
+        assertTrue(service.isScheduled(callbacks[3]));
+        assertEquals(4, service.getScheduleHandleCount());
+        assertEquals(2, service.getTimeHandleCount());
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+        assertEquals(21L, (long) service.getFurthestTimeHandle());
+
+        service.setTime(19);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+
+        // ordered by slot within the same time
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(20);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 1, 2, 3, 0});
+        assertFalse(service.isScheduled(callbacks[3]));
+        assertEquals(21L, (long) service.getNearestTimeHandle());
+
+        service.setTime(21);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{4, 0, 0, 0, 0});
+        assertNull(service.getNearestTimeHandle());
+        assertNull(service.getFurthestTimeHandle());
+
+        // re-adding replaces the prior schedule
+        service.add(20, callbacks[0], 1);
+        service.add(28, callbacks[0], 1);
+        assertEquals(1, service.getScheduleHandleCount());
+        assertEquals(49L, (long) service.getNearestTimeHandle());
+        service.remove(callbacks[0], 1);
+        service.remove(callbacks[0], 1);
+        assertNull(service.getNearestTimeHandle());
+
+        // ordered by time across a large jump
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.add(100000, callbacks[0], 1);
+        service.add(300, callbacks[1], 2);
+        service.add(70000, callbacks[2], 0);
+        service.add(0, callbacks[3], 5);
+        service.setTime(21L + Integer.MAX_VALUE);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{4, 2, 3, 1, 0});
+    }
+
+    public void testTimeBackwards() {
+        service.setTime(1000);
+        service.add(100, callbacks[0], 1);
+        service.add(5000, callbacks[1], 2);
+
+        service.setTime(10);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 0, 0, 0, 0});
+        assertEquals(1100L, (long) service.getNearestTimeHandle());
+
+        service.add(10, callbacks[2], 3);
+        SupportScheduleCallback.setCallbackOrderNum(0);
+        service.setTime(1100);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{2, 0, 1, 0, 0});
+
+        service.setTime(6000);
+        evaluateSchedule();
+        checkCallbacks(new Integer[]{0, 3, 0, 0, 0});
+    }
+
+    public void testTakeApply() {
+        service.setTime(1000);
+        service.add(100, callbacks[0], 1);
+        service.add(200, callbacks[1], 2);
+
+        ScheduleSet set = service.take(Collections.singleton(1));
+        assertEquals(0, service.getScheduleHandleCount());
+        assertEquals(2, set.getList().size());
+        assertEquals(100L, (long) set.getList().get(0).getTime());
+        assertEquals(200L, (long) set.getList().get(1).getTime());
+
+        SchedulingServiceImpl other = new SchedulingServiceImpl(new TimeSourceServiceImpl());
+        other.setTime(5000);
+        other.apply(set);
+        assertEquals(5100L, (long) other.getNearestTimeHandle());
+        assertEquals(5200L, (long) other.getFurthestTimeHandle());
+
+        service.apply(other.take(Collections.singleton(1)));
+        assertEquals(1100L, (long) service.getNearestTimeHandle());
+        assertEquals(1200L, (long) service.getFurthestTimeHandle());
+    }
+
+    public void testIncorrectRemove() {
+        service.remove(callbacks[0], 0);
+    }
+
+    public void testCompareSorted() {
+        Random random = new Random(1);
+        SchedulingServiceImpl sorted = new SchedulingServiceImpl(new TimeSourceServiceImpl());
+        SchedulingServiceTimingWheelImpl wheel = new SchedulingServiceTimingWheelImpl(new TimeSourceServiceImpl());
+        SupportScheduleCallback[] handles = new SupportScheduleCallback[500];
+        for (int i = 0; i < handles.length; i++) {
+            handles[i] = new SupportScheduleCallback();
+        }
+
+        long time = 0;
+        sorted.setTime(time);
+        wheel.setTime(time);
+        for (int step = 0; step < 20000; step++) {
+            int action = random.nextInt(10);
+            if (action < 5) {
+                int num = random.nextInt(handles.length);
+                long after = random.nextInt(4) == 0 ? random.nextInt(1000000) : random.nextInt(300);
+                sorted.add(after, handles[num], num);
+                wheel.add(after, handles[num], num);
+            } else if (action < 7) {
+                int num = random.nextInt(handles.length);
+                sorted.remove(handles[num], num);
+                wheel.remove(handles[num], num);
+            } else {
+                int choice = random.nextInt(100);
+                if (choice == 0) {
+                    time = Math.max(0, time - random.nextInt(1000));
+                } else if (choice < 5) {
+                    time += random.nextInt(1000000);
+                } else {
+                    time += random.nextInt(50);
+                }
+                sorted.setTime(time);
+                wheel.setTime(time);
+                List<ScheduleHandle> expected = new ArrayList<ScheduleHandle>();
+                List<ScheduleHandle> received = new ArrayList<ScheduleHandle>();
+                sorted.evaluate(expected);
+                wheel.evaluate(received);
+                assertEquals(expected, received);
+            }
+            assertEquals(sorted.getScheduleHandleCount(), wheel.getScheduleHandleCount());
+            assertEquals(sorted.getNearestTimeHandle(), wheel.getNearestTimeHandle());
+            for (int i = 0; i < 3; i++) {
+                int num = random.nextInt(handles.length);
+                assertEquals(sorted.isScheduled(handles[num]), wheel.isScheduled(handles[num]));
+            }
+        }
+    }
+
+    private void checkCallbacks(Integer[] results) {
+        for (int i = 0; i < callbacks.length; i++) {
+            assertEquals((int) results[i], callbacks[i].clearAndGetOrderTriggered());
+        }
+    }
+
+    private void evaluateSchedule() {
+        Collection<ScheduleHandle> handles = new LinkedList<ScheduleHandle>();
+        service.evaluate(handles);
+
+        for (ScheduleHandle handle : handles) {
+            ScheduleHandleCallback cb = (ScheduleHandleCallback) handle;
+            cb.scheduledTrigger(null);
+        }
+    }
+}
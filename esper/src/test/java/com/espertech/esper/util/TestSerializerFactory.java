@@ -36,6 +36,21 @@ public class TestSerializerFactory extends TestCase {
         assertEquals(0, bytes.length);
     }
 
+    public void testObjectSerializerArrays() {
+        Object[] objects = new Object[]{"a", 1, new Object[]{2L, null}};
+        Object[] objectsResult = (Object[]) SerializerFactory.deserializeObject(SerializerFactory.serializeObject(objects));
+        assertEquals(Object[].class, objectsResult.getClass());
+        assertEquals("a", objectsResult[0]);
+        assertEquals(1, objectsResult[1]);
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{2L, null}, (Object[]) objectsResult[2]);
+
+        // typed arrays keep their type
+        String[] strings = new String[]{"a", null, "b"};
+        Object stringsResult = SerializerFactory.deserializeObject(SerializerFactory.serializeObject(strings));
+        assertEquals(String[].class, stringsResult.getClass());
+        EPAssertionUtil.assertEqualsExactOrder(strings, (String[]) stringsResult);
+    }
+
     public static class MyBean implements Serializable {
         private String id;
 
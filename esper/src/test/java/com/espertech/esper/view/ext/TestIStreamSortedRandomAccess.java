@@ -12,6 +12,7 @@ package com.espertech.esper.view.ext;
 
 import com.espertech.esper.client.EventBean;
 import com.espertech.esper.collection.MultiKeyUntyped;
+import com.espertech.esper.collection.OrderStatisticEventTree;
 import com.espertech.esper.supportunit.bean.SupportBean;
 import com.espertech.esper.supportunit.event.SupportEventBeanFactory;
 import com.espertech.esper.util.MultiKeyCastingComparator;
@@ -86,6 +87,26 @@ public class TestIStreamSortedRandomAccess extends TestCase {
         assertSame(events[9], access.getNewData(5));
     }
 
+    public void testGetTree() {
+        OrderStatisticEventTree tree = new OrderStatisticEventTree(new MultiKeyCastingComparator(new MultiKeyComparator(new boolean[]{false})));
+        access.refresh(tree, 0, 10);
+        assertNull(access.getNewData(0));
+        assertNull(access.getNewDataTail(0));
+
+        tree.addFirst(new MultiKeyUntyped(new Object[]{"C"}), events[0]);
+        tree.addFirst(new MultiKeyUntyped(new Object[]{"E"}), events[1]);
+        tree.addFirst(new MultiKeyUntyped(new Object[]{"A"}), events[2]);
+        tree.addFirst(new MultiKeyUntyped(new Object[]{"C"}), events[4]);
+        access.refresh(tree, 4, 10);
+        assertData(new EventBean[]{events[2], events[4], events[0], events[1]});
+        assertSame(events[1], access.getNewDataTail(0));
+        assertSame(events[2], access.getNewDataTail(3));
+        assertNull(access.getNewDataTail(4));
+        assertEquals(4, access.getWindowCount());
+        assertEquals(4, access.getWindowCollectionReadOnly().size());
+        assertSame(events[2], access.getWindowIterator().next());
+    }
+
     private void assertData(EventBean[] events) {
         for (int i = 0; i < events.length; i++) {
             assertSame("Failed for index " + i, events[i], access.getNewData(i));
@@ -47,11 +47,11 @@ public class TestStreamFactorySvcImpl extends TestCase {
 
     public void testInvalidJoin() {
         streams = new EventStream[3];
-        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
+        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
 
         try {
             // try to reuse the same filter spec object, should fail
-            streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false);
+            streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false);
             fail();
         } catch (IllegalStateException ex) {
             // expected
@@ -60,9 +60,9 @@ public class TestStreamFactorySvcImpl extends TestCase {
 
     public void testCreateJoin() {
         streams = new EventStream[3];
-        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
-        streams[1] = streamFactoryService.createStream(1, filterSpecs[1], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
-        streams[2] = streamFactoryService.createStream(1, filterSpecs[2], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
+        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
+        streams[1] = streamFactoryService.createStream(1, filterSpecs[1], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
+        streams[2] = streamFactoryService.createStream(1, filterSpecs[2], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
 
         // Streams are reused
         assertNotSame(streams[0], streams[1]);
@@ -78,9 +78,9 @@ public class TestStreamFactorySvcImpl extends TestCase {
 
     public void testDropJoin() {
         streams = new EventStream[3];
-        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
-        streams[1] = streamFactoryService.createStream(2, filterSpecs[1], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
-        streams[2] = streamFactoryService.createStream(3, filterSpecs[2], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false).getFirst();
+        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
+        streams[1] = streamFactoryService.createStream(2, filterSpecs[1], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
+        streams[2] = streamFactoryService.createStream(3, filterSpecs[2], supportFilterService, agentHandle, true, null, false, false, null, false, 0, false, false).getFirst();
 
         streamFactoryService.dropStream(filterSpecs[0], supportFilterService, true, false, false, false);
         streamFactoryService.dropStream(filterSpecs[1], supportFilterService, true, false, false, false);
@@ -104,10 +104,10 @@ public class TestStreamFactorySvcImpl extends TestCase {
         EPStatementAgentInstanceHandle stmtAgentHandle = new EPStatementAgentInstanceHandle(stmtHande, new StatementAgentInstanceRWLockImpl(false), -1, null, null);
 
         streams = new EventStream[4];
-        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
-        streams[1] = streamFactoryService.createStream(2, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
-        streams[2] = streamFactoryService.createStream(3, filterSpecs[1], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
-        streams[3] = streamFactoryService.createStream(4, filterSpecs[2], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
+        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
+        streams[1] = streamFactoryService.createStream(2, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
+        streams[2] = streamFactoryService.createStream(3, filterSpecs[1], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
+        streams[3] = streamFactoryService.createStream(4, filterSpecs[2], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
 
         // Streams are reused
         assertSame(streams[0], streams[1]);
@@ -125,10 +125,10 @@ public class TestStreamFactorySvcImpl extends TestCase {
         EPStatementHandle stmtHande = new EPStatementHandle(1, "id", null, StatementType.SELECT, "text", false, null, 1, false, false, new MultiMatchHandlerFactoryImpl().getDefaultHandler());
         EPStatementAgentInstanceHandle stmtAgentHandle = new EPStatementAgentInstanceHandle(stmtHande, new StatementAgentInstanceRWLockImpl(false), -1, null, null);
         streams = new EventStream[4];
-        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
-        streams[1] = streamFactoryService.createStream(2, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
-        streams[2] = streamFactoryService.createStream(3, filterSpecs[1], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
-        streams[3] = streamFactoryService.createStream(4, filterSpecs[2], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false).getFirst();
+        streams[0] = streamFactoryService.createStream(1, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
+        streams[1] = streamFactoryService.createStream(2, filterSpecs[0], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
+        streams[2] = streamFactoryService.createStream(3, filterSpecs[1], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
+        streams[3] = streamFactoryService.createStream(4, filterSpecs[2], supportFilterService, stmtAgentHandle, false, null, false, false, null, false, 0, false, false).getFirst();
 
         streamFactoryService.dropStream(filterSpecs[0], supportFilterService, false, false, false, false);
         streamFactoryService.dropStream(filterSpecs[1], supportFilterService, false, false, false, false);